@@ -3,6 +3,7 @@ package org.optimizationBenchmarking.utils.chart.impl;
 import java.util.LinkedHashSet;
 
 import org.optimizationBenchmarking.utils.chart.impl.export.ExportChartDriver;
+import org.optimizationBenchmarking.utils.chart.impl.java2d.Java2DChartDriver;
 import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
 import org.optimizationBenchmarking.utils.chart.spec.IChartDriver;
 import org.optimizationBenchmarking.utils.error.ErrorUtils;
@@ -39,6 +40,8 @@ public final class ChartDriverParser extends InstanceParser<IChartDriver> {
         paths);
     ReflectionUtils.addPackageOfClassToPrefixList(JFreeChartDriver.class,
         paths);
+    ReflectionUtils.addPackageOfClassToPrefixList(Java2DChartDriver.class,
+        paths);
     return paths.toArray(new String[paths.size()]);
   }
 
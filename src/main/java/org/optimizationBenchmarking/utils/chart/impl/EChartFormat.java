@@ -1,6 +1,8 @@
 package org.optimizationBenchmarking.utils.chart.impl;
 
 import org.optimizationBenchmarking.utils.chart.impl.export.ExportChartDriver;
+import org.optimizationBenchmarking.utils.chart.impl.java2d.Java2DChartDriver;
+import org.optimizationBenchmarking.utils.chart.impl.java2d.RasterChartDriver;
 import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
 import org.optimizationBenchmarking.utils.chart.spec.IChartDriver;
 
@@ -16,6 +18,24 @@ public enum EChartFormat {
     }
   },
 
+  /** the plain Java2D chart format */
+  Java2D {
+    /** {@inheritDoc} */
+    @Override
+    public final IChartDriver getDefaultDriver() {
+      return Java2DChartDriver.getInstance();
+    }
+  },
+
+  /** the software rasterizer chart format */
+  Raster {
+    /** {@inheritDoc} */
+    @Override
+    public final IChartDriver getDefaultDriver() {
+      return RasterChartDriver.getInstance();
+    }
+  },
+
   /** the export chart format */
   EXPORT {
     /** {@inheritDoc} */
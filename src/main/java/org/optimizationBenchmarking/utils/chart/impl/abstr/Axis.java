@@ -302,19 +302,7 @@ final class Axis extends TitledElement implements IAxis {
 
     final Logger logger;
 
-    if (this.m_maximum instanceof IAggregate) {
-      if (this.m_minimum instanceof IAggregate) {
-        this.m_aggregate = new __TwoAggregates(//
-            ((IAggregate) (this.m_minimum)),
-            ((IAggregate) (this.m_maximum)));
-      } else {
-        this.m_aggregate = ((IAggregate) (this.m_maximum));
-      }
-    } else {
-      if (this.m_minimum instanceof IAggregate) {
-        this.m_aggregate = ((IAggregate) (this.m_minimum));
-      }
-    }
+    this.m_aggregate = Axis._aggregate(this.m_minimum, this.m_maximum);
 
     logger = this.getLogger();
     if ((logger != null) && (logger.isLoggable(Level.FINEST))) {
@@ -327,6 +315,31 @@ final class Axis extends TitledElement implements IAxis {
     super.onClose();
   }
 
+  /**
+   * Get the aggregate to compute over the data of an axis
+   *
+   * @param minimum
+   *          the minimum, a number or an aggregate
+   * @param maximum
+   *          the maximum, a number or an aggregate
+   * @return the aggregate, or {@code null} if both the minimum and the
+   *         maximum are fixed numbers
+   */
+  static final IAggregate _aggregate(final Number minimum,
+      final Number maximum) {
+    if (maximum instanceof IAggregate) {
+      if (minimum instanceof IAggregate) {
+        return new __TwoAggregates(((IAggregate) minimum),
+            ((IAggregate) maximum));
+      }
+      return ((IAggregate) maximum);
+    }
+    if (minimum instanceof IAggregate) {
+      return ((IAggregate) minimum);
+    }
+    return null;
+  }
+
   /**
    * Register some data
    *
@@ -335,7 +348,7 @@ final class Axis extends TitledElement implements IAxis {
    */
   final void _registerData(final IMatrix data) {
     if (this.m_aggregate != null) {
-      data.aggregateColumn(this.m_col, this.m_aggregate);
+      _PackedMatrix._aggregateColumn(data, this.m_col, this.m_aggregate);
     }
   }
 
@@ -344,60 +357,71 @@ final class Axis extends TitledElement implements IAxis {
    *
    * @return the axis
    */
-  @SuppressWarnings("resource")
   final CompiledAxis _getAxis() {
-    final ChartDriver driver;
     final Chart chart;
-    final IBasicStyles styles;
-    Font titleFont, tickFont;
-    Stroke axisStroke, gridLineStroke;
-    Color axisColor, gridLineColor;
 
     chart = this.getOwner();
-    styles = chart.m_styles;
-    driver = chart.m_driver;
-
-    if (this.m_title != null) {
-      titleFont = this.m_titleFont;
-      if (titleFont == null) {
-        titleFont = driver.getDefaultAxisTitleFont(styles);
-      } else {
-        titleFont = driver.scaleAxisTitleFont(titleFont);
-      }
-    } else {
-      titleFont = null;
-    }
-
-    axisColor = this.m_axisColor;
-    if (axisColor == null) {
-      axisColor = driver.getDefaultAxisColor(styles);
-    }
-
-    axisStroke = this.m_axisStroke;
-    if (axisStroke == null) {
-      axisStroke = driver.getDefaultAxisStroke(styles);
-    }
+    return Axis._compile(chart.m_driver, chart.m_styles, chart.m_defaults,
+        this.m_title, this.m_titleFont, this.m_tickFont,
+        this.m_axisStroke, this.m_axisColor, this.m_gridLineStroke,
+        this.m_gridLineColor, this.m_minimum, this.m_maximum);
+  }
 
-    tickFont = this.m_tickFont;
-    if (tickFont == null) {
-      tickFont = driver.getDefaultAxisTickFont(styles);
+  /**
+   * Compile an axis, filling in the defaults of the style set for all
+   * properties which have not been set
+   *
+   * @param driver
+   *          the chart driver
+   * @param styles
+   *          the style set
+   * @param defaults
+   *          the defaults of the style set
+   * @param title
+   *          the title, or {@code null} if none was set
+   * @param titleFont
+   *          the title font, or {@code null} if none was set
+   * @param tickFont
+   *          the tick font, or {@code null} if none was set
+   * @param axisStroke
+   *          the axis stroke, or {@code null} if none was set
+   * @param axisColor
+   *          the axis color, or {@code null} if none was set
+   * @param gridLineStroke
+   *          the grid line stroke, or {@code null} if none was set
+   * @param gridLineColor
+   *          the grid line color, or {@code null} if none was set
+   * @param minimum
+   *          the minimum
+   * @param maximum
+   *          the maximum
+   * @return the compiled axis
+   */
+  static final CompiledAxis _compile(final ChartDriver driver,
+      final IBasicStyles styles, final _StyleDefaults defaults,
+      final String title, final Font titleFont, final Font tickFont,
+      final Stroke axisStroke, final Color axisColor,
+      final Stroke gridLineStroke, final Color gridLineColor,
+      final Number minimum, final Number maximum) {
+    final Font useTitleFont, useTickFont;
+
+    if (title != null) {
+      useTitleFont = ((titleFont == null) ? defaults.m_axisTitleFont
+          : driver.scaleAxisTitleFont(styles, titleFont));
     } else {
-      tickFont = driver.scaleAxisTickFont(tickFont);
-    }
-
-    gridLineStroke = this.m_gridLineStroke;
-    if (gridLineStroke == null) {
-      gridLineStroke = driver.getDefaultGridLineStroke(styles);
+      useTitleFont = null;
     }
-
-    gridLineColor = this.m_gridLineColor;
-    if (gridLineColor == null) {
-      gridLineColor = driver.getDefaultGridLineColor(styles);
-    }
-
-    return new CompiledAxis(this.m_title, titleFont, tickFont, axisStroke,
-        axisColor, gridLineStroke, gridLineColor,
-        this.m_minimum.doubleValue(), this.m_maximum.doubleValue());
+    useTickFont = ((tickFont == null) ? defaults.m_axisTickFont
+        : driver.scaleAxisTickFont(styles, tickFont));
+
+    return new CompiledAxis(title, useTitleFont, useTickFont,
+        ((axisStroke == null) ? defaults.m_axisStroke : axisStroke),
+        ((axisColor == null) ? defaults.m_axisColor : axisColor),
+        ((gridLineStroke == null) ? defaults.m_gridLineStroke
+            : gridLineStroke),
+        ((gridLineColor == null) ? defaults.m_gridLineColor
+            : gridLineColor),
+        minimum.doubleValue(), maximum.doubleValue());
   }
 
   /** the aggregate portmanteau */
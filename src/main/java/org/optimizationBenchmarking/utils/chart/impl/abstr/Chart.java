@@ -1,6 +1,14 @@
 package org.optimizationBenchmarking.utils.chart.impl.abstr;
 
+import java.awt.Font;
 import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,8 +24,11 @@ public class Chart extends TitledElement implements IChart {
   /** the show legend has been set */
   private static final int FLAG_HAS_LEGEND_MODE = (TitledElement.FLAG_TITLED_ELEMENT_BUILDER_MAX << 1);
 
+  /** the render executor has been set */
+  private static final int FLAG_HAS_RENDER_EXECUTOR = (Chart.FLAG_HAS_LEGEND_MODE << 1);
+
   /** the show legend has been set */
-  static final int FLAG_CHART_BUILDER_MAX = Chart.FLAG_HAS_LEGEND_MODE;
+  static final int FLAG_CHART_BUILDER_MAX = Chart.FLAG_HAS_RENDER_EXECUTOR;
 
   /** the graphic */
   final Graphics2D m_graphic;
@@ -28,6 +39,9 @@ public class Chart extends TitledElement implements IChart {
   /** the style set */
   final IBasicStyles m_styles;
 
+  /** the defaults of the style set, read by all elements of the chart */
+  final _StyleDefaults m_defaults;
+
   /** the logger */
   private final Logger m_logger;
 
@@ -37,11 +51,24 @@ public class Chart extends TitledElement implements IChart {
   /** the legend mode */
   ELegendMode m_legendMode;
 
+  /**
+   * the executor to render on, or {@code null} to render on the thread
+   * closing the chart
+   */
+  private Executor m_renderExecutor;
+
+  /** the rendering task, or {@code null} if the chart is not closed yet */
+  private volatile __RenderTask m_render;
+
+  /** the compiled chart, if the chart is only compiled */
+  private volatile CompiledChart m_compiled;
+
   /**
    * create the line chart
    *
    * @param graphic
-   *          the graphic
+   *          the graphic, or {@code null} if the chart should only be
+   *          {@link #getCompiledChart() compiled}
    * @param styles
    *          the style set to use
    * @param driver
@@ -53,12 +80,12 @@ public class Chart extends TitledElement implements IChart {
       final Logger logger, final ChartDriver driver) {
     super(null);
 
-    ChartBuilder._checkGraphic(graphic);
     ChartBuilder._checkBasicStyles(styles);
     ChartBuilder._checkChartDriver(driver);
     this.m_styles = styles;
     this.m_graphic = graphic;
     this.m_driver = driver;
+    this.m_defaults = driver._getStyleDefaults(styles);
     this.m_logger = logger;
     this.m_legendMode = ELegendMode.SHOW_COMPLETE_LEGEND;
 
@@ -76,12 +103,44 @@ public class Chart extends TitledElement implements IChart {
         append.append("legendModeSet"); //$NON-NLS-1$
         break;
       }
+      case FLAG_HAS_RENDER_EXECUTOR: {
+        append.append("renderExecutorSet"); //$NON-NLS-1$
+        break;
+      }
       default: {
         super.fsmFlagsAppendName(flagValue, flagIndex, append);
       }
     }
   }
 
+  /**
+   * Get the title font to compile into a chart, shared by the checked and
+   * the unchecked builders
+   *
+   * @param driver
+   *          the chart driver
+   * @param styles
+   *          the style set
+   * @param defaults
+   *          the defaults of the style set
+   * @param title
+   *          the title, or {@code null} if none was set
+   * @param titleFont
+   *          the title font, or {@code null} if none was set
+   * @return the title font, or {@code null} if there is no title
+   */
+  static final Font _compileTitleFont(final ChartDriver driver,
+      final IBasicStyles styles, final _StyleDefaults defaults,
+      final String title, final Font titleFont) {
+    if (title == null) {
+      return null;
+    }
+    if (titleFont == null) {
+      return defaults.m_chartTitleFont;
+    }
+    return driver.scaleTitleFont(styles, titleFont);
+  }
+
   /**
    * Compute the id of the chart
    *
@@ -97,10 +156,12 @@ public class Chart extends TitledElement implements IChart {
       mto.append(System.identityHashCode(this));
       mto.append('@');
       mto.append(this.m_driver.getClass().getSimpleName());
-      mto.append('>');
-      mto.append(this.m_graphic.getClass().getSimpleName());
-      mto.append('#');
-      mto.append(System.identityHashCode(this.m_graphic));
+      if (this.m_graphic != null) {
+        mto.append('>');
+        mto.append(this.m_graphic.getClass().getSimpleName());
+        mto.append('#');
+        mto.append(System.identityHashCode(this.m_graphic));
+      }
       this.m_id = mto.toString();
     }
 
@@ -121,6 +182,130 @@ public class Chart extends TitledElement implements IChart {
     this.m_legendMode = legendMode;
   }
 
+  /**
+   * Set the executor to render this chart on. By default, a chart is
+   * compiled and rendered on the thread which closes it. If an executor is
+   * set, closing the chart only compiles it into an immutable
+   * {@link CompiledChart} and hands the rendering to the executor, so that
+   * the caller can prepare the next chart in the meantime. The graphic
+   * must then neither be used nor disposed until the
+   * {@link #getRenderFuture() rendering} is done.
+   *
+   * @param executor
+   *          the executor to render on
+   */
+  public synchronized final void setRenderExecutor(final Executor executor) {
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertAndUpdate(FSM.FLAG_NOTHING,
+        Chart.FLAG_HAS_RENDER_EXECUTOR, Chart.FLAG_HAS_RENDER_EXECUTOR,
+        FSM.FLAG_NOTHING);
+    if (executor == null) {
+      throw new IllegalArgumentException(//
+          "Cannot set render executor to null, if you want to render synchronously, don't set it in the first place."); //$NON-NLS-1$
+    }
+    this.m_renderExecutor = executor;
+  }
+
+  /**
+   * Get the future of the rendering of this chart. The future completes
+   * only after all work belonging to the rendering, including the closing
+   * of delegates, is done. If the rendering failed or the render executor
+   * rejected it, {@link Future#get()} throws an
+   * {@link java.util.concurrent.ExecutionException} with the cause.
+   *
+   * @return the future of the rendering, or {@code null} if the chart has
+   *         not been closed yet
+   * @see #setRenderExecutor(Executor)
+   */
+  public final Future<Void> getRenderFuture() {
+    return this.m_render;
+  }
+
+  /**
+   * Get the compiled chart. A chart created without graphic, i.e., via
+   * {@link ChartDriver#compile(IBasicStyles, Logger)}, is not rendered
+   * when closed, but compiled into an immutable {@link CompiledChart},
+   * which can then be {@link ChartDriver#render(CompiledChart, Graphics2D)
+   * rendered} any number of times, to different graphics and from
+   * different threads.
+   *
+   * @return the compiled chart, or {@code null} if the chart has not been
+   *         closed yet or was rendered directly
+   */
+  public CompiledChart getCompiledChart() {
+    return this.m_compiled;
+  }
+
+  /**
+   * Keep the compiled chart of a chart created without graphic
+   *
+   * @param compiled
+   *          the compiled chart
+   */
+  final void _setCompiled(final CompiledChart compiled) {
+    this.m_compiled = compiled;
+  }
+
+  /**
+   * Render the compiled chart: on the render executor if one was set,
+   * otherwise directly, in which case errors are thrown to the caller.
+   *
+   * @param render
+   *          the rendering job
+   */
+  final void _render(final Callable<Void> render) {
+    final __RenderTask task;
+    final Throwable cause;
+
+    task = new __RenderTask(render);
+    this.m_render = task;
+    if (this.m_renderExecutor != null) {
+      try {
+        this.m_renderExecutor.execute(task);
+      } catch (final RejectedExecutionException rejected) {
+        // the task is already published, so it must complete anyway
+        task._fail(rejected);
+      }
+      return;
+    }
+
+    task.run();
+    try {
+      task.get();
+    } catch (final InterruptedException interrupted) {
+      Thread.currentThread().interrupt();
+    } catch (final ExecutionException failed) {
+      cause = failed.getCause();
+      if (cause instanceof RuntimeException) {
+        throw ((RuntimeException) cause);
+      }
+      if (cause instanceof Error) {
+        throw ((Error) cause);
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  /**
+   * Perform an action once the rendering of this chart is done: directly
+   * if the chart has been rendered or was never handed to the renderer,
+   * otherwise on the thread finishing the rendering, before the
+   * {@link #getRenderFuture() future} of the rendering completes.
+   *
+   * @param action
+   *          the action
+   */
+  final void _whenRendered(final Runnable action) {
+    final __RenderTask task;
+
+    task = this.m_render;
+    if (task == null) {
+      action.run();
+    } else {
+      task._whenDone(action);
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   protected final Logger getLogger() {
@@ -136,4 +321,139 @@ public class Chart extends TitledElement implements IChart {
     }
     super.onClose();
   }
+
+  /**
+   * The task rendering a compiled chart. The actions registered via
+   * {@link #_whenDone(Runnable)} are performed by the
+   * {@link __RenderJob job} itself, right after the rendering, so that
+   * they are finished when the future completes. Only if the task never
+   * runs, because it is cancelled or rejected, are they performed when it
+   * completes.
+   */
+  private static final class __RenderTask extends FutureTask<Void> {
+
+    /** the job */
+    private final __RenderJob m_job;
+
+    /**
+     * create the task
+     *
+     * @param render
+     *          the rendering job
+     */
+    __RenderTask(final Callable<Void> render) {
+      this(new __RenderJob(render));
+    }
+
+    /**
+     * create the task
+     *
+     * @param job
+     *          the job
+     */
+    private __RenderTask(final __RenderJob job) {
+      super(job);
+      this.m_job = job;
+    }
+
+    /**
+     * Perform an action once the rendering is done
+     *
+     * @param action
+     *          the action
+     */
+    final void _whenDone(final Runnable action) {
+      this.m_job._whenDone(action);
+    }
+
+    /**
+     * Complete this task with an error without running it
+     *
+     * @param error
+     *          the error
+     */
+    final void _fail(final Throwable error) {
+      try {
+        this.m_job._finish();
+      } finally {
+        this.setException(error);
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void done() {
+      this.m_job._finish();
+    }
+  }
+
+  /** the job of a render task: render, then perform the actions */
+  private static final class __RenderJob implements Callable<Void> {
+
+    /** the rendering job */
+    private final Callable<Void> m_render;
+
+    /** the actions to perform when done, or {@code null} if none */
+    private ArrayList<Runnable> m_actions;
+
+    /** is the rendering done? */
+    private boolean m_done;
+
+    /**
+     * create the job
+     *
+     * @param render
+     *          the rendering job
+     */
+    __RenderJob(final Callable<Void> render) {
+      super();
+      this.m_render = render;
+    }
+
+    /**
+     * Perform an action once the rendering is done
+     *
+     * @param action
+     *          the action
+     */
+    final void _whenDone(final Runnable action) {
+      synchronized (this) {
+        if (!(this.m_done)) {
+          if (this.m_actions == null) {
+            this.m_actions = new ArrayList<>();
+          }
+          this.m_actions.add(action);
+          return;
+        }
+      }
+      action.run();
+    }
+
+    /** perform the actions, if this has not been done yet */
+    final void _finish() {
+      final ArrayList<Runnable> actions;
+
+      synchronized (this) {
+        this.m_done = true;
+        actions = this.m_actions;
+        this.m_actions = null;
+      }
+      if (actions != null) {
+        for (final Runnable action : actions) {
+          action.run();
+        }
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Void call() throws Exception {
+      try {
+        this.m_render.call();
+      } finally {
+        this._finish();
+      }
+      return null;
+    }
+  }
 }
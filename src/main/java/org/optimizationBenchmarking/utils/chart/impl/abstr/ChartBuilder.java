@@ -128,4 +128,16 @@ public class ChartBuilder extends
   public ChartSelector create() {
     return new ChartSelector(this);
   }
+
+  /**
+   * Create a selector for charts built in the unchecked mode, which skips
+   * locking and state validation. Such charts must be built entirely by
+   * the calling thread from code which uses the builders correctly.
+   *
+   * @return the chart selector
+   * @see UncheckedChartSelector
+   */
+  public final UncheckedChartSelector createUnchecked() {
+    return new UncheckedChartSelector(this);
+  }
 }
@@ -5,18 +5,48 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Stroke;
-import java.util.HashMap;
-import java.util.WeakHashMap;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.utils.chart.spec.IChartDriver;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.graphics.GraphicUtils;
 import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
 import org.optimizationBenchmarking.utils.hash.HashUtils;
 import org.optimizationBenchmarking.utils.text.TextUtils;
 import org.optimizationBenchmarking.utils.tools.impl.abstr.Tool;
 
-/** the chart driver base class */
+/**
+ * <p>
+ * The chart driver base class.
+ * </p>
+ * <p>
+ * The default styles and scaled fonts are cached per style set, in
+ * partitions which are looked up without locking and which disappear
+ * when their style set is no longer used. All fonts scaled while
+ * building a chart are cached in the partition of the chart's style
+ * set. The scaled fonts of each partition are kept in the order of
+ * their use and bounded by a least-recently-used policy, so that
+ * evicting a font takes constant time, and the
+ * {@link #getFontCacheHits() hits}, {@link #getFontCacheMisses()
+ * misses}, and {@link #getFontCacheEvictions() evictions} of the font
+ * cache are counted.
+ * </p>
+ */
 public abstract class ChartDriver extends Tool implements IChartDriver {
 
   /** the font scale for the chart title: {@value} */
@@ -30,19 +60,42 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
       * (int) (10 * (ChartDriver.FONT_SCALE_AXIS_TITLE
           * ChartDriver.FONT_SCALE_AXIS_TITLE)));
 
-  /** the hash map of scaled fonts */
-  private final HashMap<__FontKey, Font> m_scaled;
+  /** the maximum number of scaled fonts per style set: {@value} */
+  private static final int FONT_CACHE_SIZE = 64;
 
-  /** the defaults */
-  private final WeakHashMap<IBasicStyles, Object[]> m_defaults;
+  /** the partitions of the caches, one per style set */
+  private final ConcurrentHashMap<Object, __Partition> m_partitions;
+
+  /** the queue of style sets which are no longer used */
+  private final ReferenceQueue<IBasicStyles> m_unused;
+
+  /**
+   * the partition for fonts scaled without style set, used only by
+   * callers outside of the chart builders which have no style set at
+   * hand
+   */
+  private final __Partition m_shared;
+
+  /** the number of font cache hits */
+  private final AtomicLong m_hits;
+
+  /** the number of font cache misses */
+  private final AtomicLong m_misses;
+
+  /** the number of font cache evictions */
+  private final AtomicLong m_evictions;
 
   /**
    * the chart driver
    */
   protected ChartDriver() {
     super();
-    this.m_scaled = new HashMap<>();
-    this.m_defaults = new WeakHashMap<>();
+    this.m_partitions = new ConcurrentHashMap<>();
+    this.m_unused = new ReferenceQueue<>();
+    this.m_shared = new __Partition();
+    this.m_hits = new AtomicLong();
+    this.m_misses = new AtomicLong();
+    this.m_evictions = new AtomicLong();
   }
 
   /** {@inheritDoc} */
@@ -52,6 +105,273 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
     return new ChartBuilder(this);
   }
 
+  /**
+   * Get the fork-join pool shared by all chart drivers for parallel
+   * preparation and rendering work.
+   *
+   * @return the shared fork-join pool
+   */
+  protected static final ForkJoinPool getForkJoinPool() {
+    return __ForkJoinPoolLoader.POOL;
+  }
+
+  /**
+   * Create a selector for charts which are only compiled, but not
+   * rendered, when closed. The immutable compiled chart can be obtained
+   * via {@link Chart#getCompiledChart()} and be rendered any number of
+   * times via {@link #render(CompiledChart, Graphics2D)}, to graphics of
+   * different types and sizes, and from different threads.
+   *
+   * @param styles
+   *          the style set
+   * @param logger
+   *          the logger, or {@code null} if none is needed
+   * @return the chart selector
+   */
+  public final ChartSelector compile(final IBasicStyles styles,
+      final Logger logger) {
+    this.checkCanUse();
+    return new ChartSelector(styles, this, logger);
+  }
+
+  /**
+   * Create a selector for charts which are built in the
+   * {@link UncheckedChartSelector unchecked} mode and only compiled, but
+   * not rendered, when closed.
+   *
+   * @param styles
+   *          the style set
+   * @param logger
+   *          the logger, or {@code null} if none is needed
+   * @return the chart selector
+   * @see #compile(IBasicStyles, Logger)
+   */
+  public final UncheckedChartSelector compileUnchecked(
+      final IBasicStyles styles, final Logger logger) {
+    this.checkCanUse();
+    return new UncheckedChartSelector(styles, this, logger);
+  }
+
+  /**
+   * Render a compiled chart on a graphic
+   *
+   * @param chart
+   *          the compiled chart
+   * @param graphic
+   *          the graphic
+   * @see #compile(IBasicStyles, Logger)
+   */
+  public final void render(final CompiledChart chart,
+      final Graphics2D graphic) {
+    this.render(chart, graphic, null);
+  }
+
+  /**
+   * Render a compiled chart on a graphic
+   *
+   * @param chart
+   *          the compiled chart
+   * @param graphic
+   *          the graphic
+   * @param logger
+   *          the logger, or {@code null} if none is needed
+   * @see #compile(IBasicStyles, Logger)
+   */
+  public final void render(final CompiledChart chart,
+      final Graphics2D graphic, final Logger logger) {
+    this.checkCanUse();
+    ChartBuilder._checkGraphic(graphic);
+    if (chart instanceof CompiledLineChart2D) {
+      this.renderLineChart2D(this.prepareLineChart2D(
+          ((CompiledLineChart2D) chart), graphic, logger), graphic, logger);
+      return;
+    }
+    if (chart instanceof CompiledPieChart) {
+      this.renderPieChart(((CompiledPieChart) chart), graphic, logger);
+      return;
+    }
+    throw new IllegalArgumentException(//
+        "Cannot render compiled chart " + chart); //$NON-NLS-1$
+  }
+
+  /**
+   * <p>
+   * Render a batch of charts in parallel. Each chart is built by its
+   * {@link IChartSpecification specification} on its own graphic and
+   * rendered when the specification closes it, just as if it had been
+   * created via {@link #use()}, but the charts are processed concurrently
+   * on {@code executor}, whose number of threads thus bounds the number
+   * of charts rendered at once.
+   * </p>
+   * <p>
+   * All default fonts, strokes, and colors of {@code styles} are resolved
+   * once before the first chart is submitted, so the charts of the batch
+   * share them and only read the caches of this driver.
+   * </p>
+   * <p>
+   * This method returns immediately. The returned list holds one future
+   * per chart, in the order of {@code charts}: A chart is finished when
+   * its future is {@link Future#isDone() done}, and if it failed,
+   * {@link Future#get()} throws an
+   * {@link java.util.concurrent.ExecutionException} with the cause. The
+   * failure of one chart does not affect the others.
+   * </p>
+   *
+   * @param charts
+   *          the charts to render
+   * @param styles
+   *          the style set shared by all charts
+   * @param logger
+   *          the logger, or {@code null} if none is needed
+   * @param executor
+   *          the executor to render the charts on, or {@code null} to use
+   *          the fork-join pool shared by all chart drivers
+   * @return the list of futures indicating the completion of each chart
+   */
+  @SuppressWarnings("unchecked")
+  public final ArrayListView<Future<Void>> renderBatch(
+      final Collection<? extends IChartSpecification> charts,
+      final IBasicStyles styles, final Logger logger,
+      final ExecutorService executor) {
+    final IChartSpecification[] specifications;
+    final Future<Void>[] results;
+    final ExecutorService service;
+    int index;
+
+    this.checkCanUse();
+    if (charts == null) {
+      throw new IllegalArgumentException(//
+          "Collection of charts to render cannot be null."); //$NON-NLS-1$
+    }
+    ChartBuilder._checkBasicStyles(styles);
+
+    specifications = charts
+        .toArray(new IChartSpecification[charts.size()]);
+    for (final IChartSpecification specification : specifications) {
+      if (specification == null) {
+        throw new IllegalArgumentException(//
+            "Chart specification cannot be null."); //$NON-NLS-1$
+      }
+    }
+
+    this._getStyleDefaults(styles);
+
+    service = ((executor != null) ? executor
+        : ChartDriver.getForkJoinPool());
+    results = new Future[specifications.length];
+    for (index = 0; index < specifications.length; index++) {
+      results[index] = service.submit(new __BatchChart(this,
+          specifications[index], styles, logger));
+    }
+    return new ArrayListView<>(results, false);
+  }
+
+  /**
+   * Get the snapshot of all defaults of a style set, which is resolved
+   * only once per style set
+   *
+   * @param styles
+   *          the style set
+   * @return the snapshot
+   */
+  final _StyleDefaults _getStyleDefaults(final IBasicStyles styles) {
+    final __Partition partition;
+    _StyleDefaults defaults;
+
+    partition = this.__getPartition(styles);
+    defaults = partition.m_snapshot;
+    if (defaults == null) {
+      partition.m_snapshot = defaults = new _StyleDefaults(this, styles);
+    }
+    return defaults;
+  }
+
+  /**
+   * Prepare a compiled 2D line chart for rendering on the whole bounds of
+   * a given graphic, via
+   * {@link #prepareLineChart2D(CompiledLineChart2D, Graphics2D, Rectangle2D, Logger)}
+   * .
+   *
+   * @param chart
+   *          the compiled chart
+   * @param graphic
+   *          the graphic the chart will be rendered to
+   * @param logger
+   *          a logger for logging info, or {@code null} if none is needed
+   * @return the chart to render, which may be {@code chart} itself
+   */
+  protected final CompiledLineChart2D prepareLineChart2D(
+      final CompiledLineChart2D chart, final Graphics2D graphic,
+      final Logger logger) {
+    return this.prepareLineChart2D(chart, graphic,
+        GraphicUtils.getBounds(graphic), logger);
+  }
+
+  /**
+   * Get the width of an area of a graphic in device pixels
+   *
+   * @param graphic
+   *          the graphic
+   * @param bounds
+   *          the area, in the user space of the graphic
+   * @return the width in device pixels, or {@code -1} if it is empty or
+   *         too large to be represented as {@code int}
+   */
+  protected static final int getDeviceWidth(final Graphics2D graphic,
+      final Rectangle2D bounds) {
+    final AffineTransform transform;
+    final double width;
+
+    transform = graphic.getTransform();
+    width = Math.ceil(bounds.getWidth() * Math.max(1d, //
+        Math.hypot(transform.getScaleX(), transform.getShearY())));
+    if ((width <= 0d) || (width >= Integer.MAX_VALUE)) {
+      return (-1);
+    }
+    return ((int) width);
+  }
+
+  /**
+   * Prepare a compiled 2D line chart for rendering into an area of a
+   * given graphic. This stage sits between the compilation of the chart
+   * and {@link #renderLineChart2D(CompiledLineChart2D, Graphics2D, Logger)}
+   * . By default, it reduces all lines which have more points than can be
+   * distinguished at the {@link #getDeviceWidth(Graphics2D, Rectangle2D)
+   * device width} of the area, so that rendering time depends on the
+   * number of pixels instead of the size of the data. Drivers which need
+   * the complete data, e.g., for exporting it, should override this
+   * method and return {@code chart}.
+   *
+   * @param chart
+   *          the compiled chart
+   * @param graphic
+   *          the graphic the chart will be rendered to
+   * @param bounds
+   *          the area of the graphic the chart will be rendered into
+   * @param logger
+   *          a logger for logging info, or {@code null} if none is needed
+   * @return the chart to render, which may be {@code chart} itself
+   */
+  protected CompiledLineChart2D prepareLineChart2D(
+      final CompiledLineChart2D chart, final Graphics2D graphic,
+      final Rectangle2D bounds, final Logger logger) {
+    final CompiledLineChart2D result;
+    final int width;
+
+    width = ChartDriver.getDeviceWidth(graphic, bounds);
+    if (width <= 0) {
+      return chart;
+    }
+
+    result = _Line2DReducer._reduce(chart, width);
+    if ((result != chart) && (logger != null)
+        && (logger.isLoggable(Level.FINEST))) {
+      logger.finest("Reduced lines of chart to a width of " + //$NON-NLS-1$
+          width + " pixels."); //$NON-NLS-1$
+    }
+    return result;
+  }
+
   /**
    * render a compiled 2D line chart
    *
@@ -88,8 +408,40 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the scale
    * @return the scaled font
    */
-  public synchronized final Font scaleFont(final Font font,
+  public final Font scaleFont(final Font font, final float scale) {
+    return this.__scaleFont(this.m_shared, font, scale);
+  }
+
+  /**
+   * Scale a font with the base font scale, caching the result in the
+   * partition of a style set
+   *
+   * @param styles
+   *          the style set
+   * @param font
+   *          the font
+   * @param scale
+   *          the scale
+   * @return the scaled font
+   */
+  public final Font scaleFont(final IBasicStyles styles, final Font font,
       final float scale) {
+    return this.__scaleFont(this.__getPartition(styles), font, scale);
+  }
+
+  /**
+   * Scale a font with the base font scale
+   *
+   * @param partition
+   *          the cache partition
+   * @param font
+   *          the font
+   * @param scale
+   *          the scale
+   * @return the scaled font
+   */
+  private final Font __scaleFont(final __Partition partition,
+      final Font font, final float scale) {
     final float oldSize, newSize;
     final int size;
     final __FontKey goalKey, goalKey2;
@@ -112,10 +464,12 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
     }
 
     goalKey = new __FontKey(font, goalSize);
-    found = this.m_scaled.get(goalKey);
+    found = partition._get(goalKey);
     if (found != null) {
+      this.m_hits.incrementAndGet();
       return found;
     }
+    this.m_misses.incrementAndGet();
 
     derived = font.deriveFont((float) goalSize);
     if (derived == null) {
@@ -134,50 +488,121 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
     size = derived.getSize();
     if (size != goalSize) {
       goalKey2 = new __FontKey(font, size);
-      found = this.m_scaled.get(goalKey2);
+      found = partition._get(goalKey2);
       if (found != null) {
-        this.m_scaled.put(goalKey, found);
+        this.m_evictions.addAndGet(partition._put(goalKey, found));
         return found;
       }
     }
 
-    this.m_scaled.put(goalKey, derived);
+    this.m_evictions.addAndGet(partition._put(goalKey, derived));
 
     return derived;
   }
 
   /**
-   * Get the defaults for a given style set
+   * Get the number of times a scaled font was found in the cache
+   *
+   * @return the number of font cache hits
+   */
+  public final long getFontCacheHits() {
+    return this.m_hits.get();
+  }
+
+  /**
+   * Get the number of times a scaled font had to be derived because it
+   * was not found in the cache
+   *
+   * @return the number of font cache misses
+   */
+  public final long getFontCacheMisses() {
+    return this.m_misses.get();
+  }
+
+  /**
+   * Get the number of scaled fonts dropped from the cache because their
+   * partition was full
+   *
+   * @return the number of font cache evictions
+   */
+  public final long getFontCacheEvictions() {
+    return this.m_evictions.get();
+  }
+
+  /**
+   * Get the cache partition of a given style set
    *
    * @param styles
    *          the style set
-   * @return the defaults for a given style set
+   * @return the partition
    */
-  private synchronized final Object[] __getDefaults(
-      final IBasicStyles styles) {
-    Object[] result;
+  private final __Partition __getPartition(final IBasicStyles styles) {
+    final __Partition created, found;
+    __Partition partition;
+    Object unused;
+
+    partition = this.m_partitions.get(new __StylesLookup(styles));
+    if (partition != null) {
+      return partition;
+    }
 
-    result = this.m_defaults.get(styles);
-    if (result == null) {
-      result = new Object[_EDefaults.DEFAULT_COUNT];
-      this.m_defaults.put(styles, result);
-      this.m_scaled.clear();
+    while ((unused = this.m_unused.poll()) != null) {
+      this.m_partitions.remove(unused);
     }
+    created = new __Partition();
+    found = this.m_partitions.putIfAbsent(
+        new __StylesKey(styles, this.m_unused), created);
+    return ((found != null) ? found : created);
+  }
 
-    return result;
+  /**
+   * Get the defaults for a given style set
+   *
+   * @param styles
+   *          the style set
+   * @return the defaults for a given style set
+   */
+  private final AtomicReferenceArray<Object> __getDefaults(
+      final IBasicStyles styles) {
+    return this.__getPartition(styles).m_defaults;
   }
 
   /**
-   * Scale the title font of the chart
+   * Scale the title font of the chart, caching the result in the shared
+   * partition for fonts scaled without style set
    *
    * @param font
    *          the title font
    * @return the scaled font
+   * @see #scaleTitleFont(IBasicStyles, Font)
+   * @deprecated The chart builders and the style defaults only call
+   *             {@link #scaleTitleFont(IBasicStyles, Font)}, so
+   *             overriding this method has no effect on the charts of
+   *             this driver.
+   *             Override and call
+   *             {@link #scaleTitleFont(IBasicStyles, Font)} instead.
    */
-  public synchronized Font scaleTitleFont(final Font font) {
+  @Deprecated
+  public Font scaleTitleFont(final Font font) {
     return this.scaleFont(font, ChartDriver.FONT_SCALE_CHART_TITLE);
   }
 
+  /**
+   * Scale the title font of the chart, caching the result in the
+   * partition of a style set
+   *
+   * @param styles
+   *          the style set
+   * @param font
+   *          the title font
+   * @return the scaled font
+   */
+  public Font scaleTitleFont(final IBasicStyles styles,
+      final Font font) {
+    return this.scaleFont(styles, font,
+        ChartDriver.FONT_SCALE_CHART_TITLE);
+  }
+
   /**
    * Create the default font to be used for the chart title
    *
@@ -185,9 +610,9 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default font to be used for the chart title
    */
-  protected synchronized Font createDefaultChartTitleFont(
+  protected Font createDefaultChartTitleFont(
       final IBasicStyles styles) {
-    return this.scaleTitleFont(styles.getDefaultFont().getFont());
+    return this.scaleTitleFont(styles, styles.getDefaultFont().getFont());
   }
 
   /**
@@ -197,32 +622,59 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default font to be used for the chart title
    */
-  public synchronized final Font getDefaultChartTitleFont(
+  public final Font getDefaultChartTitleFont(
       final IBasicStyles styles) {
     final int key;
-    final Object[] defaults;
+    final AtomicReferenceArray<Object> defaults;
     Font result;
 
     defaults = this.__getDefaults(styles);
     key = _EDefaults.CHART_TITLE_FONT.ordinal();
-    result = ((Font) (defaults[key]));
+    result = ((Font) (defaults.get(key)));
     if (result == null) {
-      defaults[key] = result = this.createDefaultChartTitleFont(styles);
+      result = this.createDefaultChartTitleFont(styles);
+      if (!(defaults.compareAndSet(key, null, result))) {
+        result = ((Font) (defaults.get(key)));
+      }
     }
     return result;
   }
 
   /**
-   * Scale the data title font of a data element
+   * Scale the data title font of a data element, caching the result in
+   * the shared partition for fonts scaled without style set
    *
    * @param font
    *          the data title font
    * @return the scaled font
+   * @see #scaleDataTitleFont(IBasicStyles, Font)
+   * @deprecated The chart builders and the style defaults only call
+   *             {@link #scaleDataTitleFont(IBasicStyles, Font)}, so
+   *             overriding this method has no effect on the charts of
+   *             this driver.
+   *             Override and call
+   *             {@link #scaleDataTitleFont(IBasicStyles, Font)} instead.
    */
-  public synchronized Font scaleDataTitleFont(final Font font) {
+  @Deprecated
+  public Font scaleDataTitleFont(final Font font) {
     return this.scaleFont(font, ChartDriver.FONT_SCALE_DATA_TITLE);
   }
 
+  /**
+   * Scale the data title font of a data element, caching the result in
+   * the partition of a style set
+   *
+   * @param styles
+   *          the style set
+   * @param font
+   *          the data title font
+   * @return the scaled font
+   */
+  public Font scaleDataTitleFont(final IBasicStyles styles,
+      final Font font) {
+    return this.scaleFont(styles, font, ChartDriver.FONT_SCALE_DATA_TITLE);
+  }
+
   /**
    * Create the default font to be used for a data element titles
    *
@@ -230,9 +682,10 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default font to be used for a data element titles
    */
-  protected synchronized Font createDefaultDataTitleFont(
+  protected Font createDefaultDataTitleFont(
       final IBasicStyles styles) {
-    return this.scaleDataTitleFont(styles.getDefaultFont().getFont());
+    return this.scaleDataTitleFont(styles,
+        styles.getDefaultFont().getFont());
   }
 
   /**
@@ -242,17 +695,20 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default font to be used for a data element title
    */
-  public synchronized final Font getDefaultDataTitleFont(
+  public final Font getDefaultDataTitleFont(
       final IBasicStyles styles) {
     final int key;
-    final Object[] defaults;
+    final AtomicReferenceArray<Object> defaults;
     Font result;
 
     defaults = this.__getDefaults(styles);
     key = _EDefaults.DATA_TITLE_FONT.ordinal();
-    result = ((Font) (defaults[key]));
+    result = ((Font) (defaults.get(key)));
     if (result == null) {
-      defaults[key] = result = this.createDefaultDataTitleFont(styles);
+      result = this.createDefaultDataTitleFont(styles);
+      if (!(defaults.compareAndSet(key, null, result))) {
+        result = ((Font) (defaults.get(key)));
+      }
     }
     return result;
   }
@@ -264,7 +720,7 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the styles
    * @return the default data stroke
    */
-  protected synchronized Stroke createDefaultDataStroke(
+  protected Stroke createDefaultDataStroke(
       final IBasicStyles styles) {
     return styles.getDefaultStroke().getStroke();
   }
@@ -276,32 +732,59 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default stroke to be used for a data
    */
-  public synchronized final Stroke getDefaultDataStroke(
+  public final Stroke getDefaultDataStroke(
       final IBasicStyles styles) {
     final int key;
-    final Object[] defaults;
+    final AtomicReferenceArray<Object> defaults;
     Stroke result;
 
     defaults = this.__getDefaults(styles);
     key = _EDefaults.DATA_STROKE.ordinal();
-    result = ((Stroke) (defaults[key]));
+    result = ((Stroke) (defaults.get(key)));
     if (result == null) {
-      defaults[key] = result = this.createDefaultDataStroke(styles);
+      result = this.createDefaultDataStroke(styles);
+      if (!(defaults.compareAndSet(key, null, result))) {
+        result = ((Stroke) (defaults.get(key)));
+      }
     }
     return result;
   }
 
   /**
-   * Scale the axis title font of the chart
+   * Scale the axis title font of the chart, caching the result in the
+   * shared partition for fonts scaled without style set
    *
    * @param font
    *          the axis title font
    * @return the scaled font
+   * @see #scaleAxisTitleFont(IBasicStyles, Font)
+   * @deprecated The chart builders and the style defaults only call
+   *             {@link #scaleAxisTitleFont(IBasicStyles, Font)}, so
+   *             overriding this method has no effect on the charts of
+   *             this driver.
+   *             Override and call
+   *             {@link #scaleAxisTitleFont(IBasicStyles, Font)} instead.
    */
-  public synchronized Font scaleAxisTitleFont(final Font font) {
+  @Deprecated
+  public Font scaleAxisTitleFont(final Font font) {
     return this.scaleFont(font, ChartDriver.FONT_SCALE_AXIS_TITLE);
   }
 
+  /**
+   * Scale the axis title font of the chart, caching the result in the
+   * partition of a style set
+   *
+   * @param styles
+   *          the style set
+   * @param font
+   *          the axis title font
+   * @return the scaled font
+   */
+  public Font scaleAxisTitleFont(final IBasicStyles styles,
+      final Font font) {
+    return this.scaleFont(styles, font, ChartDriver.FONT_SCALE_AXIS_TITLE);
+  }
+
   /**
    * Create the default font to be used for axis titles
    *
@@ -309,10 +792,10 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default font to be used for axis titles
    */
-  protected synchronized Font createDefaultAxisTitleFont(
+  protected Font createDefaultAxisTitleFont(
       final IBasicStyles styles) {
-    return this.scaleFont(styles.getDefaultFont().getFont(),
-        ChartDriver.FONT_SCALE_AXIS_TITLE);
+    return this.scaleAxisTitleFont(styles,
+        styles.getDefaultFont().getFont());
   }
 
   /**
@@ -322,32 +805,59 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default font to be used for an axis title
    */
-  public synchronized final Font getDefaultAxisTitleFont(
+  public final Font getDefaultAxisTitleFont(
       final IBasicStyles styles) {
     final int key;
-    final Object[] defaults;
+    final AtomicReferenceArray<Object> defaults;
     Font result;
 
     defaults = this.__getDefaults(styles);
     key = _EDefaults.AXIS_TITLE_FONT.ordinal();
-    result = ((Font) (defaults[key]));
+    result = ((Font) (defaults.get(key)));
     if (result == null) {
-      defaults[key] = result = this.createDefaultAxisTitleFont(styles);
+      result = this.createDefaultAxisTitleFont(styles);
+      if (!(defaults.compareAndSet(key, null, result))) {
+        result = ((Font) (defaults.get(key)));
+      }
     }
     return result;
   }
 
   /**
-   * Scale the axis tick font of the chart
+   * Scale the axis tick font of the chart, caching the result in the
+   * shared partition for fonts scaled without style set
    *
    * @param font
-   *          the axis title font
+   *          the axis tick font
    * @return the scaled font
+   * @see #scaleAxisTickFont(IBasicStyles, Font)
+   * @deprecated The chart builders and the style defaults only call
+   *             {@link #scaleAxisTickFont(IBasicStyles, Font)}, so
+   *             overriding this method has no effect on the charts of
+   *             this driver.
+   *             Override and call
+   *             {@link #scaleAxisTickFont(IBasicStyles, Font)} instead.
    */
-  public synchronized Font scaleAxisTickFont(final Font font) {
+  @Deprecated
+  public Font scaleAxisTickFont(final Font font) {
     return this.scaleFont(font, ChartDriver.FONT_SCALE_AXIS_TICKS);
   }
 
+  /**
+   * Scale the axis tick font of the chart, caching the result in the
+   * partition of a style set
+   *
+   * @param styles
+   *          the style set
+   * @param font
+   *          the axis tick font
+   * @return the scaled font
+   */
+  public Font scaleAxisTickFont(final IBasicStyles styles,
+      final Font font) {
+    return this.scaleFont(styles, font, ChartDriver.FONT_SCALE_AXIS_TICKS);
+  }
+
   /**
    * Create the default font to be used for axis ticks
    *
@@ -355,10 +865,10 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default font to be used for axis ticks
    */
-  protected synchronized Font createDefaultAxisTickFont(
+  protected Font createDefaultAxisTickFont(
       final IBasicStyles styles) {
-    return this.scaleFont(styles.getDefaultFont().getFont(),
-        ChartDriver.FONT_SCALE_AXIS_TICKS);
+    return this.scaleAxisTickFont(styles,
+        styles.getDefaultFont().getFont());
   }
 
   /**
@@ -368,17 +878,20 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default font to be used for an axis ticks
    */
-  public synchronized final Font getDefaultAxisTickFont(
+  public final Font getDefaultAxisTickFont(
       final IBasicStyles styles) {
     final int key;
-    final Object[] defaults;
+    final AtomicReferenceArray<Object> defaults;
     Font result;
 
     defaults = this.__getDefaults(styles);
     key = _EDefaults.AXIS_TICK_FONT.ordinal();
-    result = ((Font) (defaults[key]));
+    result = ((Font) (defaults.get(key)));
     if (result == null) {
-      defaults[key] = result = this.createDefaultAxisTickFont(styles);
+      result = this.createDefaultAxisTickFont(styles);
+      if (!(defaults.compareAndSet(key, null, result))) {
+        result = ((Font) (defaults.get(key)));
+      }
     }
     return result;
   }
@@ -390,7 +903,7 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the styles
    * @return the axes stroke
    */
-  protected synchronized Stroke createDefaultAxisStroke(
+  protected Stroke createDefaultAxisStroke(
       final IBasicStyles styles) {
     final Stroke defaultStroke, thickStroke;
     final float defaultWidth, thickWidth, goalWidth;
@@ -442,17 +955,20 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default stroke to be used for an axis
    */
-  public synchronized final Stroke getDefaultAxisStroke(
+  public final Stroke getDefaultAxisStroke(
       final IBasicStyles styles) {
     final int key;
-    final Object[] defaults;
+    final AtomicReferenceArray<Object> defaults;
     Stroke result;
 
     defaults = this.__getDefaults(styles);
     key = _EDefaults.AXIS_STROKE.ordinal();
-    result = ((Stroke) (defaults[key]));
+    result = ((Stroke) (defaults.get(key)));
     if (result == null) {
-      defaults[key] = result = this.createDefaultAxisStroke(styles);
+      result = this.createDefaultAxisStroke(styles);
+      if (!(defaults.compareAndSet(key, null, result))) {
+        result = ((Stroke) (defaults.get(key)));
+      }
     }
     return result;
   }
@@ -464,7 +980,7 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the styles
    * @return the axis color
    */
-  protected synchronized Color createDefaultAxisColor(
+  protected Color createDefaultAxisColor(
       final IBasicStyles styles) {
     return styles.getBlack().getColor();
   }
@@ -476,17 +992,20 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default color to be used for an axis
    */
-  public synchronized final Color getDefaultAxisColor(
+  public final Color getDefaultAxisColor(
       final IBasicStyles styles) {
     final int key;
-    final Object[] defaults;
+    final AtomicReferenceArray<Object> defaults;
     Color result;
 
     defaults = this.__getDefaults(styles);
     key = _EDefaults.AXIS_COLOR.ordinal();
-    result = ((Color) (defaults[key]));
+    result = ((Color) (defaults.get(key)));
     if (result == null) {
-      defaults[key] = result = this.createDefaultAxisColor(styles);
+      result = this.createDefaultAxisColor(styles);
+      if (!(defaults.compareAndSet(key, null, result))) {
+        result = ((Color) (defaults.get(key)));
+      }
     }
     return result;
   }
@@ -498,7 +1017,7 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the styles
    * @return the grid line stroke
    */
-  protected synchronized Stroke createDefaultGridLineStroke(
+  protected Stroke createDefaultGridLineStroke(
       final IBasicStyles styles) {
     final Stroke thinStroke;
     final BasicStroke basicStroke;
@@ -530,17 +1049,20 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default stroke to be used for a grid line
    */
-  public synchronized final Stroke getDefaultGridLineStroke(
+  public final Stroke getDefaultGridLineStroke(
       final IBasicStyles styles) {
     final int key;
-    final Object[] defaults;
+    final AtomicReferenceArray<Object> defaults;
     Stroke result;
 
     defaults = this.__getDefaults(styles);
     key = _EDefaults.GRID_STROKE.ordinal();
-    result = ((Stroke) (defaults[key]));
+    result = ((Stroke) (defaults.get(key)));
     if (result == null) {
-      defaults[key] = result = this.createDefaultGridLineStroke(styles);
+      result = this.createDefaultGridLineStroke(styles);
+      if (!(defaults.compareAndSet(key, null, result))) {
+        result = ((Stroke) (defaults.get(key)));
+      }
     }
     return result;
   }
@@ -552,7 +1074,7 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the styles
    * @return the grid line color
    */
-  protected synchronized Color createDefaultGridLineColor(
+  protected Color createDefaultGridLineColor(
       final IBasicStyles styles) {
     return this.getDefaultAxisColor(styles);
   }
@@ -564,27 +1086,228 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
    *          the available style set
    * @return the default color to be used for an grid lines
    */
-  public synchronized final Color getDefaultGridLineColor(
+  public final Color getDefaultGridLineColor(
       final IBasicStyles styles) {
     final int key;
-    final Object[] defaults;
+    final AtomicReferenceArray<Object> defaults;
     Color result;
 
     defaults = this.__getDefaults(styles);
     key = _EDefaults.GRID_COLOR.ordinal();
-    result = ((Color) (defaults[key]));
+    result = ((Color) (defaults.get(key)));
     if (result == null) {
-      defaults[key] = result = this.createDefaultGridLineColor(styles);
+      result = this.createDefaultGridLineColor(styles);
+      if (!(defaults.compareAndSet(key, null, result))) {
+        result = ((Color) (defaults.get(key)));
+      }
     }
     return result;
   }
 
+  /** the task building and rendering one chart of a batch */
+  private static final class __BatchChart implements Callable<Void> {
+
+    /** the chart driver */
+    private final ChartDriver m_driver;
+
+    /** the chart specification */
+    private final IChartSpecification m_specification;
+
+    /** the style set */
+    private final IBasicStyles m_styles;
+
+    /** the logger */
+    private final Logger m_logger;
+
+    /**
+     * create the task
+     *
+     * @param driver
+     *          the chart driver
+     * @param specification
+     *          the chart specification
+     * @param styles
+     *          the style set
+     * @param logger
+     *          the logger
+     */
+    __BatchChart(final ChartDriver driver,
+        final IChartSpecification specification, final IBasicStyles styles,
+        final Logger logger) {
+      super();
+      this.m_driver = driver;
+      this.m_specification = specification;
+      this.m_styles = styles;
+      this.m_logger = logger;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Void call() {
+      this.m_specification.create(new ChartSelector(
+          this.m_specification.getGraphic(), this.m_styles, this.m_driver,
+          this.m_logger));
+      return null;
+    }
+  }
+
+  /** the loader for the shared fork-join pool */
+  private static final class __ForkJoinPoolLoader {
+    /** the shared fork-join pool */
+    static final ForkJoinPool POOL = new ForkJoinPool();
+  }
+
+  /** a partition of the caches, belonging to one style set */
+  private static final class __Partition {
+
+    /** the defaults */
+    final AtomicReferenceArray<Object> m_defaults;
+
+    /** the snapshot of all defaults, or {@code null} if not resolved yet */
+    volatile _StyleDefaults m_snapshot;
+
+    /**
+     * the scaled fonts, in the order of their last use: the eldest entry
+     * is the least-recently used one
+     */
+    private final LinkedHashMap<__FontKey, Font> m_fonts;
+
+    /** create */
+    __Partition() {
+      super();
+      this.m_defaults = new AtomicReferenceArray<>(
+          _EDefaults.DEFAULT_COUNT);
+      this.m_fonts = new LinkedHashMap<>(
+          ((ChartDriver.FONT_CACHE_SIZE << 2) / 3) + 2, 0.75f, true);
+    }
+
+    /**
+     * Get a scaled font and mark it as used
+     *
+     * @param key
+     *          the key
+     * @return the font, or {@code null} if none is cached
+     */
+    final synchronized Font _get(final __FontKey key) {
+      return this.m_fonts.get(key);
+    }
+
+    /**
+     * Store a scaled font, evicting the least-recently used font if the
+     * partition is full
+     *
+     * @param key
+     *          the key
+     * @param font
+     *          the font
+     * @return the number of evicted fonts
+     */
+    final synchronized int _put(final __FontKey key, final Font font) {
+      final Iterator<__FontKey> eldest;
+
+      this.m_fonts.put(key, font);
+      if (this.m_fonts.size() <= ChartDriver.FONT_CACHE_SIZE) {
+        return 0;
+      }
+      eldest = this.m_fonts.keySet().iterator();
+      eldest.next();
+      eldest.remove();
+      return 1;
+    }
+  }
+
+  /**
+   * the key of a style set in the map of partitions, which does not keep
+   * the style set alive
+   */
+  private static final class __StylesKey
+      extends WeakReference<IBasicStyles> {
+
+    /** the hash code */
+    private final int m_hash;
+
+    /**
+     * create
+     *
+     * @param styles
+     *          the style set
+     * @param queue
+     *          the queue to enqueue the key into once the style set is no
+     *          longer used
+     */
+    __StylesKey(final IBasicStyles styles,
+        final ReferenceQueue<IBasicStyles> queue) {
+      super(styles, queue);
+      this.m_hash = styles.hashCode();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int hashCode() {
+      return this.m_hash;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean equals(final Object o) {
+      final IBasicStyles styles;
+      if (o == this) {
+        return true;
+      }
+      if (o instanceof __StylesKey) {
+        styles = this.get();
+        return ((styles != null) && (((__StylesKey) o).m_hash == this.m_hash)
+            && styles.equals(((__StylesKey) o).get()));
+      }
+      return false;
+    }
+  }
+
+  /** the key for looking up the partition of a style set */
+  private static final class __StylesLookup {
+
+    /** the style set */
+    private final IBasicStyles m_styles;
+
+    /** the hash code */
+    private final int m_hash;
+
+    /**
+     * create
+     *
+     * @param styles
+     *          the style set
+     */
+    __StylesLookup(final IBasicStyles styles) {
+      super();
+      this.m_styles = styles;
+      this.m_hash = styles.hashCode();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int hashCode() {
+      return this.m_hash;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean equals(final Object o) {
+      return ((o instanceof __StylesKey)
+          && (((__StylesKey) o).hashCode() == this.m_hash)
+          && this.m_styles.equals(((__StylesKey) o).get()));
+    }
+  }
+
   /** the font key */
   private static final class __FontKey {
 
     /** the font name */
     final String m_fontName;
 
+    /** the style and size */
+    final int m_style;
+
     /** the hash code */
     final int m_hash;
 
@@ -613,7 +1336,8 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
       if (!(GraphicUtils.isFontUnderlined(font))) {
         style |= 4;
       }
-      style |= (font.getSize() << 3);
+      style |= (size << 3);
+      this.m_style = style;
 
       this.m_hash = HashUtils.combineHashes(
           HashUtils.hashCode(//
@@ -637,6 +1361,7 @@ public abstract class ChartDriver extends Tool implements IChartDriver {
       if (o instanceof __FontKey) {
         fk = ((__FontKey) o);
         return ((fk.m_hash == this.m_hash) && //
+            (fk.m_style == this.m_style) && //
             (this.m_fontName.equals(fk.m_fontName)));
       }
 
@@ -54,6 +54,28 @@ public class ChartSelector extends ToolJob implements IChartSelector {
     this.m_driver = driver;
   }
 
+  /**
+   * create a chart selector for charts which are only compiled, but not
+   * rendered
+   *
+   * @param styles
+   *          the style set
+   * @param driver
+   *          the chart driver
+   * @param logger
+   *          the logger
+   * @see ChartDriver#compile(IBasicStyles, Logger)
+   */
+  ChartSelector(final IBasicStyles styles, final ChartDriver driver,
+      final Logger logger) {
+    super(logger);
+    ChartBuilder._checkBasicStyles(styles);
+    ChartBuilder._checkChartDriver(driver);
+    this.m_graphic = null;
+    this.m_styles = styles;
+    this.m_driver = driver;
+  }
+
   /**
    * get the logger
    *
@@ -66,7 +88,8 @@ public class ChartSelector extends ToolJob implements IChartSelector {
   /**
    * Get the graphic to draw the chart on
    *
-   * @return the graphic to draw the chart on
+   * @return the graphic to draw the chart on, or {@code null} if the
+   *         charts are only compiled
    */
   protected final Graphics2D getGraphic() {
     return this.m_graphic;
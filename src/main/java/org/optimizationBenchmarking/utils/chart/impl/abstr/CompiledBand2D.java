@@ -0,0 +1,223 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Stroke;
+import java.awt.geom.Path2D;
+
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+
+/**
+ * A compiled band, i.e., a filled area between a lower and an upper
+ * boundary over common x-coordinates, such as the area between two
+ * quantiles of a group of runs. Bands are painted below all lines of a
+ * chart and do not appear in the legend.
+ */
+public class CompiledBand2D extends CompiledDataElement {
+
+  /** the line type of the boundaries */
+  private final ELineType m_type;
+
+  /** the x-coordinates */
+  private final double[] m_x;
+
+  /** the lower boundary */
+  private final double[] m_lower;
+
+  /** the upper boundary */
+  private final double[] m_upper;
+
+  /** the cached path, or {@code null} if none has been created yet */
+  private Path2D.Double m_path;
+
+  /**
+   * Create a band
+   *
+   * @param id
+   *          the id
+   * @param title
+   *          the title
+   * @param titleFont
+   *          the title font
+   * @param color
+   *          the fill color
+   * @param stroke
+   *          the stroke
+   * @param type
+   *          the line type of the boundaries
+   * @param x
+   *          the x-coordinates, in ascending order
+   * @param lower
+   *          the lower boundary, {@link Double#NaN} where the band is
+   *          interrupted
+   * @param upper
+   *          the upper boundary, {@link Double#NaN} where the band is
+   *          interrupted
+   */
+  protected CompiledBand2D(final int id, final String title,
+      final Font titleFont, final Color color, final Stroke stroke,
+      final ELineType type, final double[] x, final double[] lower,
+      final double[] upper) {
+    super(id, title, titleFont, color, stroke);
+    CompiledLine2D._assertType(type);
+    if ((x == null) || (lower == null) || (upper == null)
+        || (lower.length != x.length) || (upper.length != x.length)) {
+      throw new IllegalArgumentException(//
+          "Band coordinates must not be null and must have equal lengths."); //$NON-NLS-1$
+    }
+    this.m_type = type;
+    this.m_x = x;
+    this.m_lower = lower;
+    this.m_upper = upper;
+  }
+
+  /**
+   * Get the line type of the boundaries
+   *
+   * @return the line type of the boundaries
+   */
+  public final ELineType getType() {
+    return this.m_type;
+  }
+
+  /**
+   * Get the x-coordinates of the band. The array is shared by all
+   * callers, so it must not be modified.
+   *
+   * @return the x-coordinates
+   */
+  public final double[] getXValues() {
+    return this.m_x;
+  }
+
+  /**
+   * Get the lower boundary of the band. The array is shared by all
+   * callers, so it must not be modified.
+   *
+   * @return the lower boundary
+   */
+  public final double[] getLowerValues() {
+    return this.m_lower;
+  }
+
+  /**
+   * Get the upper boundary of the band. The array is shared by all
+   * callers, so it must not be modified.
+   *
+   * @return the upper boundary
+   */
+  public final double[] getUpperValues() {
+    return this.m_upper;
+  }
+
+  /**
+   * Append one boundary of a band segment to a path
+   *
+   * @param path
+   *          the path
+   * @param values
+   *          the boundary values
+   * @param start
+   *          the first index
+   * @param end
+   *          the last index (inclusive), may be smaller than
+   *          {@code start} for going backwards
+   * @param first
+   *          is this the first boundary, i.e., should the path be started
+   *          with a move?
+   */
+  private final void __append(final Path2D.Double path,
+      final double[] values, final int start, final int end,
+      final boolean first) {
+    final int step;
+    double previousX, previousY, currentX, currentY;
+    int i;
+
+    step = ((end >= start) ? 1 : (-1));
+    previousX = previousY = 0d;
+    for (i = start;; i += step) {
+      currentX = Line2DVisitor.clamp(this.m_x[i]);
+      currentY = Line2DVisitor.clamp(values[i]);
+      if (i == start) {
+        if (first) {
+          path.moveTo(currentX, currentY);
+        } else {
+          path.lineTo(currentX, currentY);
+        }
+      } else {
+        switch (this.m_type) {
+          case STAIRS_KEEP_LEFT: {
+            // walking backwards, the corner is mirrored
+            if (step > 0) {
+              path.lineTo(currentX, previousY);
+            } else {
+              path.lineTo(previousX, currentY);
+            }
+            break;
+          }
+          case STAIRS_PREVIEW_RIGHT: {
+            if (step > 0) {
+              path.lineTo(previousX, currentY);
+            } else {
+              path.lineTo(currentX, previousY);
+            }
+            break;
+          }
+          default: {
+            break;
+          }
+        }
+        path.lineTo(currentX, currentY);
+      }
+      previousX = currentX;
+      previousY = currentY;
+      if (i == end) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Get the outline of this band in data coordinates, i.e., a shape that
+   * can be filled with a single
+   * {@link java.awt.Graphics2D#fill(java.awt.Shape) fill} call after
+   * being transformed to device space. Each run of
+   * points where both boundaries are defined becomes one closed polygon,
+   * which follows the upper boundary forward and the lower boundary back.
+   * The path is cached and shared, so it must not be modified.
+   *
+   * @return the path
+   */
+  public synchronized final Path2D getPath() {
+    final Path2D.Double path;
+    final double[] lower, upper;
+    int start, i;
+
+    if (this.m_path != null) {
+      return this.m_path;
+    }
+
+    lower = this.m_lower;
+    upper = this.m_upper;
+    path = new Path2D.Double(Path2D.WIND_NON_ZERO,
+        ((this.m_x.length << 2) + 1));
+    start = (-1);
+    for (i = 0; i <= this.m_x.length; i++) {
+      if ((i < this.m_x.length) && (lower[i] == lower[i])
+          && (upper[i] == upper[i])) {
+        if (start < 0) {
+          start = i;
+        }
+        continue;
+      }
+      if (start >= 0) {
+        this.__append(path, upper, start, (i - 1), true);
+        this.__append(path, lower, (i - 1), start, false);
+        path.closePath();
+        start = (-1);
+      }
+    }
+
+    return (this.m_path = path);
+  }
+}
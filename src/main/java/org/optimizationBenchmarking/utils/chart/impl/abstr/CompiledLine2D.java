@@ -3,6 +3,7 @@ package org.optimizationBenchmarking.utils.chart.impl.abstr;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Stroke;
+import java.awt.geom.Path2D;
 
 import org.optimizationBenchmarking.utils.chart.spec.ELineType;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
@@ -13,6 +14,25 @@ public class CompiledLine2D extends CompiledDataSeries {
   /** the line type */
   private final ELineType m_type;
 
+  /** the line reduction */
+  private final ELineReduction m_reduction;
+
+  /**
+   * the order of the x-coordinates, or {@code null} if not yet known: this
+   * field is initialized lazily and without lock, see
+   * {@link #getDomainOrder()}
+   */
+  private volatile EDomainOrder m_order;
+
+  /** the packed x-coordinates, or {@code null} if not yet created */
+  private double[] m_x;
+
+  /**
+   * the packed y-coordinates, or {@code null} if not yet created: this
+   * field is written after {@link #m_x} and guards its visibility
+   */
+  private volatile double[] m_y;
+
   /**
    * Create a data series
    *
@@ -34,9 +54,39 @@ public class CompiledLine2D extends CompiledDataSeries {
   protected CompiledLine2D(final int id, final String title,
       final Font titleFont, final Color color, final Stroke stroke,
       final IMatrix data, final ELineType type) {
+    this(id, title, titleFont, color, stroke, data, type,
+        ELineReduction.DEFAULT);
+  }
+
+  /**
+   * Create a data series
+   *
+   * @param id
+   *          the id
+   * @param title
+   *          the title
+   * @param titleFont
+   *          the title font
+   * @param color
+   *          the color
+   * @param stroke
+   *          the stroke
+   * @param data
+   *          the matrix
+   * @param type
+   *          the line type
+   * @param reduction
+   *          the line reduction
+   */
+  protected CompiledLine2D(final int id, final String title,
+      final Font titleFont, final Color color, final Stroke stroke,
+      final IMatrix data, final ELineType type,
+      final ELineReduction reduction) {
     super(id, title, titleFont, color, stroke, data);
     CompiledLine2D._assertType(type);
+    CompiledLine2D._assertReduction(reduction);
     this.m_type = type;
+    this.m_reduction = reduction;
   }
 
   /**
@@ -51,6 +101,19 @@ public class CompiledLine2D extends CompiledDataSeries {
     }
   }
 
+  /**
+   * Assert the line reduction
+   *
+   * @param reduction
+   *          the line reduction
+   */
+  static final void _assertReduction(final ELineReduction reduction) {
+    if (reduction == null) {
+      throw new IllegalArgumentException(
+          "Line reduction must not be null."); //$NON-NLS-1$
+    }
+  }
+
   /**
    * Get the line type
    *
@@ -60,4 +123,272 @@ public class CompiledLine2D extends CompiledDataSeries {
     return this.m_type;
   }
 
+  /**
+   * Get the way in which this line may be reduced if it has more points
+   * than the graphic it is rendered to has pixels
+   *
+   * @return the line reduction
+   */
+  public final ELineReduction getReduction() {
+    return this.m_reduction;
+  }
+
+  /**
+   * Set the domain order of this line, if it is already known
+   *
+   * @param order
+   *          the domain order
+   */
+  final void _setDomainOrder(final EDomainOrder order) {
+    this.m_order = order;
+  }
+
+  /**
+   * Get the order of the {@code x}-coordinates of the points of this line.
+   * The order is detected only once, when the line is added to its chart,
+   * and is then kept for all derived lines. If several threads ask for the
+   * order of a line before it is known, each of them may scan the data,
+   * but they all compute and publish the same immutable enum constant, so
+   * this racy initialization is harmless.
+   *
+   * @return the domain order
+   */
+  public final EDomainOrder getDomainOrder() {
+    final EDomainOrder known;
+    final IMatrix data;
+    final double[] x;
+    int order, i, cmp;
+    double old, cur;
+
+    known = this.m_order;
+    if (known != null) {
+      return known;
+    }
+
+    data = this.getData();
+    // packed data is scanned directly, the drivers need the column anyway
+    x = ((data instanceof _PackedMatrix) ? this.getXValues() : null);
+    order = 0;
+    i = data.m();
+    if (i > 0) {
+      cur = ((x != null) ? x[--i] : data.getDouble(--i, 0));
+      if (cur != cur) {
+        return (this.m_order = EDomainOrder.UNSORTED);
+      }
+
+      for (; (--i) >= 0;) {
+        old = cur;
+        cur = ((x != null) ? x[i] : data.getDouble(i, 0));
+        if (cur < old) {
+          cmp = (-1);
+        } else {
+          if (cur > old) {
+            cmp = 1;
+          } else {
+            if (cur != cur) {
+              return (this.m_order = EDomainOrder.UNSORTED);
+            }
+            continue;
+          }
+        }
+        if (order == (-cmp)) {
+          return (this.m_order = EDomainOrder.UNSORTED);
+        }
+        order = cmp;
+      }
+    }
+
+    return (this.m_order = ((order > 0) ? EDomainOrder.DESCENDING
+        : EDomainOrder.ASCENDING));
+  }
+
+  /**
+   * Set the packed coordinate columns of this line, if they are already
+   * available. They are clamped like the columns created on demand.
+   *
+   * @param x
+   *          the x-coordinates
+   * @param y
+   *          the y-coordinates
+   */
+  final void _setColumns(final double[] x, final double[] y) {
+    this.m_x = CompiledLine2D.__clamp(x);
+    this.m_y = CompiledLine2D.__clamp(y);
+  }
+
+  /** create the packed coordinate columns of this line */
+  private synchronized final void __makeColumns() {
+    final IMatrix data;
+    final double[] x, y;
+    int i;
+
+    if (this.m_y != null) {
+      return;
+    }
+
+    data = this.getData();
+    if (data instanceof _PackedMatrix) {
+      this.m_x = CompiledLine2D.__clamp(((_PackedMatrix) data)._getColumn(0));
+      this.m_y = CompiledLine2D.__clamp(((_PackedMatrix) data)._getColumn(1));
+      return;
+    }
+
+    i = data.m();
+    x = new double[i];
+    y = new double[i];
+    for (; (--i) >= 0;) {
+      x[i] = Line2DVisitor.clamp(data.getDouble(i, 0));
+      y[i] = Line2DVisitor.clamp(data.getDouble(i, 1));
+    }
+    this.m_x = x;
+    this.m_y = y;
+  }
+
+  /**
+   * Get the x-coordinates of the points of this line as packed array of
+   * exactly {@code getData().m()} elements. The array is created only once
+   * and shared by all callers, so it must not be modified. Infinite
+   * coordinates are clamped to &plusmn;10<sup>20</sup> once, when the array
+   * is created, so drivers can use it without further checks. Lines
+   * produced by the reduction stage get it for free, as do lines whose
+   * data was set from whole {@code double[]} arrays via
+   * {@link Line2D#setData(double[], double[])}. For lines backed by an
+   * {@link OffHeapMatrix}, this copies the whole column to the heap, so
+   * drivers should read such data via {@link #getData()} instead.
+   *
+   * @return the x-coordinates
+   */
+  public final double[] getXValues() {
+    if (this.m_y == null) {
+      this.__makeColumns();
+    }
+    return this.m_x;
+  }
+
+  /**
+   * Get the y-coordinates of the points of this line as packed array of
+   * exactly {@code getData().m()} elements. The array is created only once
+   * and shared by all callers, so it must not be modified. Infinite
+   * coordinates are clamped to &plusmn;10<sup>20</sup> once, when the array
+   * is created, so drivers can use it without further checks. Lines
+   * produced by the reduction stage get it for free, as do lines whose
+   * data was set from whole {@code double[]} arrays via
+   * {@link Line2D#setData(double[], double[])}. For lines backed by an
+   * {@link OffHeapMatrix}, this copies the whole column to the heap, so
+   * drivers should read such data via {@link #getData()} instead.
+   *
+   * @return the y-coordinates
+   */
+  public final double[] getYValues() {
+    if (this.m_y == null) {
+      this.__makeColumns();
+    }
+    return this.m_y;
+  }
+
+  /**
+   * Clamp an array of coordinates. If all values are already in the
+   * range, the array itself is returned, otherwise a clamped copy is made,
+   * as the array may belong to the caller.
+   *
+   * @param data
+   *          the data
+   * @return the clamped data
+   */
+  private static final double[] __clamp(final double[] data) {
+    double[] result;
+    double d;
+    int i;
+
+    result = data;
+    for (i = data.length; (--i) >= 0;) {
+      d = data[i];
+      if ((d <= (-Line2DVisitor.MAX_COORD))
+          || (d >= Line2DVisitor.MAX_COORD)) {
+        if (result == data) {
+          result = data.clone();
+        }
+        result[i] = Line2DVisitor.clamp(d);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * <p>
+   * Create the path of this line in data coordinates, i.e., a shape that
+   * can be drawn with a single
+   * {@link java.awt.Graphics2D#draw(java.awt.Shape) draw} call after being
+   * transformed to device space. The path follows the
+   * {@link Line2DVisitor walk shared by all drivers}: Stair-type lines
+   * are expanded inline, {@link Double#NaN} coordinates interrupt the
+   * path, and infinite coordinates are clamped to &plusmn;10<sup>20</sup>.
+   * </p>
+   * <p>
+   * Every call creates a new path, as a compiled line is immutable and
+   * may be rendered by several threads at once. Drivers which draw the
+   * same compiled chart repeatedly should keep the path in their own
+   * render state.
+   * </p>
+   *
+   * @param start
+   *          the first row to include
+   * @param end
+   *          the end row (exclusive)
+   * @return the path
+   */
+  public final Path2D createPath(final int start, final int end) {
+    final int size;
+    final __PathVisitor visitor;
+
+    size = this.getData().m();
+    if ((start < 0) || (end > size) || (start >= end)) {
+      throw new IllegalArgumentException(//
+          "Invalid row range " + start + ".." + end + //$NON-NLS-1$ //$NON-NLS-2$
+              " for line with " + size + " points."); //$NON-NLS-1$//$NON-NLS-2$
+    }
+
+    switch (this.m_type) {
+      case STAIRS_KEEP_LEFT:
+      case STAIRS_PREVIEW_RIGHT: {
+        visitor = new __PathVisitor(((end - start) << 1) - 1);
+        break;
+      }
+      default: {
+        visitor = new __PathVisitor(end - start);
+      }
+    }
+    visitor.visit(this, start, end);
+    return visitor.m_path;
+  }
+
+  /** the visitor collecting a line into a path */
+  private static final class __PathVisitor extends Line2DVisitor {
+
+    /** the path */
+    final Path2D.Double m_path;
+
+    /**
+     * create the visitor
+     *
+     * @param capacity
+     *          the initial number of points of the path
+     */
+    __PathVisitor(final int capacity) {
+      super();
+      this.m_path = new Path2D.Double(Path2D.WIND_NON_ZERO, capacity);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void moveTo(final double x, final double y) {
+      this.m_path.moveTo(x, y);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void lineTo(final double x, final double y) {
+      this.m_path.lineTo(x, y);
+    }
+  }
 }
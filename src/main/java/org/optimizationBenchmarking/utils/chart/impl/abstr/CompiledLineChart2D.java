@@ -14,6 +14,10 @@ public class CompiledLineChart2D extends CompiledChart {
   private final CompiledAxis m_yAxis;
   /** the lines */
   private final ArrayListView<CompiledLine2D> m_lines;
+  /** the bands */
+  private final ArrayListView<CompiledBand2D> m_bands;
+  /** the way the lines are rendered */
+  private final ELineChartRendering m_rendering;
 
   /**
    * Create a titled element
@@ -34,6 +38,61 @@ public class CompiledLineChart2D extends CompiledChart {
   protected CompiledLineChart2D(final String title, final Font titleFont,
       final ELegendMode legendMode, final CompiledAxis x,
       final CompiledAxis y, final ArrayListView<CompiledLine2D> lines) {
+    this(title, titleFont, legendMode, x, y, lines,
+        ELineChartRendering.DEFAULT);
+  }
+
+  /**
+   * Create a titled element
+   *
+   * @param title
+   *          the title, or {@code null} if no title is specified
+   * @param titleFont
+   *          the title font, or {@code null} if no specific font is set
+   * @param legendMode
+   *          the legend mode
+   * @param x
+   *          the x-axis
+   * @param y
+   *          the y-axis
+   * @param lines
+   *          the lines
+   * @param rendering
+   *          the way the lines are rendered
+   */
+  protected CompiledLineChart2D(final String title, final Font titleFont,
+      final ELegendMode legendMode, final CompiledAxis x,
+      final CompiledAxis y, final ArrayListView<CompiledLine2D> lines,
+      final ELineChartRendering rendering) {
+    this(title, titleFont, legendMode, x, y, lines,
+        new ArrayListView<>(new CompiledBand2D[0], false), rendering);
+  }
+
+  /**
+   * Create a titled element
+   *
+   * @param title
+   *          the title, or {@code null} if no title is specified
+   * @param titleFont
+   *          the title font, or {@code null} if no specific font is set
+   * @param legendMode
+   *          the legend mode
+   * @param x
+   *          the x-axis
+   * @param y
+   *          the y-axis
+   * @param lines
+   *          the lines
+   * @param bands
+   *          the bands, painted below the lines
+   * @param rendering
+   *          the way the lines are rendered
+   */
+  protected CompiledLineChart2D(final String title, final Font titleFont,
+      final ELegendMode legendMode, final CompiledAxis x,
+      final CompiledAxis y, final ArrayListView<CompiledLine2D> lines,
+      final ArrayListView<CompiledBand2D> bands,
+      final ELineChartRendering rendering) {
     super(title, titleFont, legendMode);
 
     if (x == null) {
@@ -46,9 +105,28 @@ public class CompiledLineChart2D extends CompiledChart {
       throw new IllegalArgumentException(
           "Line set must not be null or empty."); //$NON-NLS-1$
     }
+    if (bands == null) {
+      throw new IllegalArgumentException("Band set must not be null."); //$NON-NLS-1$
+    }
+    CompiledLineChart2D._assertRendering(rendering);
     this.m_xAxis = x;
     this.m_yAxis = y;
     this.m_lines = lines;
+    this.m_bands = bands;
+    this.m_rendering = rendering;
+  }
+
+  /**
+   * Check a line chart rendering
+   *
+   * @param rendering
+   *          the rendering
+   */
+  static final void _assertRendering(final ELineChartRendering rendering) {
+    if (rendering == null) {
+      throw new IllegalArgumentException(//
+          "Line chart rendering must not be null."); //$NON-NLS-1$
+    }
   }
 
   /**
@@ -77,4 +155,22 @@ public class CompiledLineChart2D extends CompiledChart {
   public final ArrayListView<CompiledLine2D> getLines() {
     return this.m_lines;
   }
+
+  /**
+   * Get the bands, which are painted below the lines
+   *
+   * @return the bands
+   */
+  public final ArrayListView<CompiledBand2D> getBands() {
+    return this.m_bands;
+  }
+
+  /**
+   * Get the way the lines are rendered
+   *
+   * @return the way the lines are rendered
+   */
+  public final ELineChartRendering getRendering() {
+    return this.m_rendering;
+  }
 }
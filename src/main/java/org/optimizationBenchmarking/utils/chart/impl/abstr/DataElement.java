@@ -123,6 +123,49 @@ public class DataElement extends TitledElement implements IDataElement {
     this.m_stroke = stroke;
   }
 
+  /**
+   * Get the title font to compile into a data element, shared by the
+   * checked and the unchecked builders
+   *
+   * @param driver
+   *          the chart driver
+   * @param styles
+   *          the style set
+   * @param defaults
+   *          the defaults of the style set
+   * @param title
+   *          the title, or {@code null} if none was set
+   * @param titleFont
+   *          the title font, or {@code null} if none was set
+   * @return the title font, or {@code null} if there is no title
+   */
+  static final Font _compileTitleFont(final ChartDriver driver,
+      final IBasicStyles styles, final _StyleDefaults defaults,
+      final String title, final Font titleFont) {
+    if (title == null) {
+      return null;
+    }
+    if (titleFont == null) {
+      return defaults.m_dataTitleFont;
+    }
+    return driver.scaleDataTitleFont(styles, titleFont);
+  }
+
+  /**
+   * Get the stroke to compile into a data element, shared by the checked
+   * and the unchecked builders
+   *
+   * @param defaults
+   *          the defaults of the style set
+   * @param stroke
+   *          the stroke, or {@code null} if none was set
+   * @return the stroke
+   */
+  static final Stroke _compileStroke(final _StyleDefaults defaults,
+      final Stroke stroke) {
+    return ((stroke == null) ? defaults.m_dataStroke : stroke);
+  }
+
   /**
    * Process the data element
    *
@@ -157,8 +200,6 @@ public class DataElement extends TitledElement implements IDataElement {
     final ChartDriver driver;
     final IBasicStyles styles;
     final Logger logger;
-    Font titleFont;
-    Stroke stroke;
 
     this.fsmFlagsAssertTrue(DataElement.FLAG_HAS_COLOR);
 
@@ -166,24 +207,11 @@ public class DataElement extends TitledElement implements IDataElement {
     driver = owner.m_driver;
     styles = owner.m_styles;
 
-    if (this.m_title != null) {
-      titleFont = this.m_titleFont;
-      if (titleFont == null) {
-        titleFont = driver.getDefaultDataTitleFont(styles);
-      } else {
-        titleFont = driver.scaleDataTitleFont(titleFont);
-      }
-    } else {
-      titleFont = null;
-    }
-
-    stroke = this.m_stroke;
-    if (stroke == null) {
-      stroke = driver.getDefaultDataStroke(styles);
-    }
-
-    this.process(owner, driver, styles, this.m_id, this.m_title, titleFont,
-        this.m_color, stroke);
+    this.process(owner, driver, styles, this.m_id, this.m_title,
+        DataElement._compileTitleFont(driver, styles, owner.m_defaults,
+            this.m_title, this.m_titleFont),
+        this.m_color,
+        DataElement._compileStroke(owner.m_defaults, this.m_stroke));
 
     logger = this.getLogger();
     if ((logger != null) && (logger.isLoggable(Level.FINEST))) {
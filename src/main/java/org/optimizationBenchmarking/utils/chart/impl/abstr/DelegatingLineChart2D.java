@@ -1,6 +1,8 @@
 package org.optimizationBenchmarking.utils.chart.impl.abstr;
 
 import java.awt.Font;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.optimizationBenchmarking.utils.chart.spec.ELegendMode;
@@ -39,7 +41,52 @@ public class DelegatingLineChart2D implements ILineChart2D {
     this.m_chart.setTitleFont(titleFont);
   }
 
-  /** perform the closing */
+  /**
+   * Set the executor to render the chart on. The call is forwarded to the
+   * chart to delegate to, which must support
+   * {@link Chart#setRenderExecutor(Executor) asynchronous rendering},
+   * either itself or through another delegate.
+   *
+   * @param executor
+   *          the executor to render on
+   * @throws IllegalStateException
+   *           if the chart to delegate to cannot render asynchronously
+   */
+  public final void setRenderExecutor(final Executor executor) {
+    if (this.m_chart instanceof Chart) {
+      ((Chart) (this.m_chart)).setRenderExecutor(executor);
+      return;
+    }
+    if (this.m_chart instanceof DelegatingLineChart2D) {
+      ((DelegatingLineChart2D) (this.m_chart)).setRenderExecutor(executor);
+      return;
+    }
+    throw new IllegalStateException(//
+        "Cannot set render executor, since the line chart to delegate to (" //$NON-NLS-1$
+            + this.m_chart + ") cannot render asynchronously."); //$NON-NLS-1$
+  }
+
+  /**
+   * Get the future of the rendering of the chart
+   *
+   * @return the future of the rendering, or {@code null} if the chart has
+   *         not been closed yet or does not provide one
+   * @see Chart#getRenderFuture()
+   */
+  public final Future<Void> getRenderFuture() {
+    if (this.m_chart instanceof Chart) {
+      return ((Chart) (this.m_chart)).getRenderFuture();
+    }
+    if (this.m_chart instanceof DelegatingLineChart2D) {
+      return ((DelegatingLineChart2D) (this.m_chart)).getRenderFuture();
+    }
+    return null;
+  }
+
+  /**
+   * perform the closing: called once the chart has been rendered, which
+   * may happen on the thread of the render executor
+   */
   protected void doClose() {
     //
   }
@@ -51,7 +98,16 @@ public class DelegatingLineChart2D implements ILineChart2D {
       try {
         this.m_chart.close();
       } finally {
-        this.doClose();
+        if (this.m_chart instanceof Chart) {
+          ((Chart) (this.m_chart))._whenRendered(new Runnable() {
+            @Override
+            public final void run() {
+              DelegatingLineChart2D.this.doClose();
+            }
+          });
+        } else {
+          this.doClose();
+        }
       }
     }
   }
@@ -0,0 +1,23 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+/**
+ * The order of the {@code x}-coordinates of the points of a line.
+ */
+public enum EDomainOrder {
+
+  /**
+   * the {@code x}-coordinates never decrease from one point to the next
+   */
+  ASCENDING,
+
+  /**
+   * the {@code x}-coordinates never increase from one point to the next
+   */
+  DESCENDING,
+
+  /**
+   * the {@code x}-coordinates are not sorted or contain
+   * {@link java.lang.Double#NaN}
+   */
+  UNSORTED;
+}
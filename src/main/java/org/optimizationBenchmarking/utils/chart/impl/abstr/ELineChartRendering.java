@@ -0,0 +1,24 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+/**
+ * The ways in which the lines of a 2D line chart can be rendered. Drivers
+ * which cannot render a mode fall back to {@link #LINES}.
+ */
+public enum ELineChartRendering {
+
+  /** draw each line individually, in the order of the lines */
+  LINES,
+
+  /**
+   * Draw a density image: For all lines of the same color, count how many
+   * of them pass through each pixel and map these counts to the opacity
+   * of the color on a logarithmic ramp. The colors are composited in the
+   * order in which they first occur among the lines. This makes charts
+   * with hundreds or thousands of overlapping lines readable and its cost
+   * hardly depends on the number of lines.
+   */
+  DENSITY;
+
+  /** the default line chart rendering */
+  public static final ELineChartRendering DEFAULT = LINES;
+}
@@ -0,0 +1,33 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+/**
+ * The ways in which a line with more points than the target graphic has
+ * pixels can be reduced before rendering.
+ */
+public enum ELineReduction {
+
+  /** render all points of the line, no matter how many there are */
+  NONE,
+
+  /**
+   * Apply the Largest-Triangle-Three-Buckets algorithm, which keeps about
+   * two points per horizontal pixel. This preserves the visual shape of
+   * smooth lines well, but may lose isolated spikes, so it must be chosen
+   * explicitly.
+   */
+  LARGEST_TRIANGLE_THREE_BUCKETS,
+
+  /**
+   * Apply M4 aggregation, i.e., keep the first, last, minimum, and maximum
+   * point of each horizontal pixel column. The rasterized result is the
+   * same as if all points were drawn, but at most four points per pixel
+   * column are touched during rendering.
+   */
+  MIN_MAX_FIRST_LAST;
+
+  /**
+   * the default line reduction: M4 aggregation, which does not change the
+   * rasterized shape of a line
+   */
+  public static final ELineReduction DEFAULT = MIN_MAX_FIRST_LAST;
+}
@@ -0,0 +1,31 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Graphics2D;
+
+import org.optimizationBenchmarking.utils.chart.spec.IChartSelector;
+
+/**
+ * The specification of one chart of a batch rendered via
+ * {@link ChartDriver#renderBatch(java.util.Collection, org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles, java.util.logging.Logger, java.util.concurrent.ExecutorService)}
+ * : It provides the graphic to paint on and builds the chart on a given
+ * selector. The chart is rendered when the specification closes it.
+ * Since the charts of a batch are rendered in parallel, each
+ * specification must use its own graphic.
+ */
+public interface IChartSpecification {
+
+  /**
+   * Get the graphic to paint the chart on
+   *
+   * @return the graphic to paint the chart on
+   */
+  public abstract Graphics2D getGraphic();
+
+  /**
+   * Create, fill, and close the chart
+   *
+   * @param selector
+   *          the chart selector
+   */
+  public abstract void create(final IChartSelector selector);
+}
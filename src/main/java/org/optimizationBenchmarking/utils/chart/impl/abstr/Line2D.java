@@ -17,10 +17,15 @@ public class Line2D extends DataSeries implements ILine2D {
 
   /** the type has been set */
   static final int FLAG_HAS_TYPE = (DataElement.FLAG_HAS_DATA << 1);
+  /** the line reduction has been set */
+  static final int FLAG_HAS_REDUCTION = (Line2D.FLAG_HAS_TYPE << 1);
 
   /** the line type */
   ELineType m_type;
 
+  /** the line reduction */
+  ELineReduction m_reduction;
+
   /**
    * create the chart item
    *
@@ -33,6 +38,7 @@ public class Line2D extends DataSeries implements ILine2D {
     super(owner, id);
 
     this.m_type = ELineType.DEFAULT;
+    this.m_reduction = ELineReduction.DEFAULT;
     this.open();
   }
 
@@ -45,6 +51,10 @@ public class Line2D extends DataSeries implements ILine2D {
         append.append("typeSet"); //$NON-NLS-1$
         break;
       }
+      case FLAG_HAS_REDUCTION: {
+        append.append("reductionSet"); //$NON-NLS-1$
+        break;
+      }
       default: {
         super.fsmFlagsAppendName(flagValue, flagIndex, append);
       }
@@ -61,6 +71,103 @@ public class Line2D extends DataSeries implements ILine2D {
     this.m_type = type;
   }
 
+  /**
+   * Set the data of this line from packed arrays of coordinates. The
+   * arrays are not copied, but become the storage of the line all the way
+   * to the driver, so they must not be modified afterwards.
+   *
+   * @param x
+   *          the x-coordinates
+   * @param y
+   *          the y-coordinates, of the same length as {@code x}
+   */
+  public final void setData(final double[] x, final double[] y) {
+    this.setData(x, y, 0, ((x != null) ? x.length : 0));
+  }
+
+  /**
+   * Set the data of this line from a range of packed arrays of
+   * coordinates, which are not copied and must not be modified afterwards
+   *
+   * @param x
+   *          the x-coordinates
+   * @param y
+   *          the y-coordinates
+   * @param offset
+   *          the index of the first point in both arrays
+   * @param length
+   *          the number of points
+   */
+  public synchronized final void setData(final double[] x,
+      final double[] y, final int offset, final int length) {
+    this.__setData(_PackedMatrix._create(null, x, y, offset, length));
+  }
+
+  /**
+   * Set the data of this line from packed arrays of integer x-coordinates,
+   * such as evaluation counts, and floating point y-coordinates, such as
+   * objective values. The arrays are not copied and must not be modified
+   * afterwards.
+   *
+   * @param x
+   *          the x-coordinates
+   * @param y
+   *          the y-coordinates, of the same length as {@code x}
+   */
+  public final void setData(final long[] x, final double[] y) {
+    this.setData(x, y, 0, ((x != null) ? x.length : 0));
+  }
+
+  /**
+   * Set the data of this line from a range of packed arrays of integer
+   * x-coordinates and floating point y-coordinates, which are not copied
+   * and must not be modified afterwards
+   *
+   * @param x
+   *          the x-coordinates
+   * @param y
+   *          the y-coordinates
+   * @param offset
+   *          the index of the first point in both arrays
+   * @param length
+   *          the number of points
+   */
+  public synchronized final void setData(final long[] x,
+      final double[] y, final int offset, final int length) {
+    this.__setData(_PackedMatrix._create(x, null, y, offset, length));
+  }
+
+  /**
+   * Set the packed data
+   *
+   * @param data
+   *          the data
+   */
+  private final void __setData(final _PackedMatrix data) {
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertAndUpdate(FSM.FLAG_NOTHING,
+        DataElement.FLAG_HAS_DATA, DataElement.FLAG_HAS_DATA,
+        FSM.FLAG_NOTHING);
+    this.m_data = data;
+  }
+
+  /**
+   * Set the way in which this line may be reduced if it has more points
+   * than the graphic it is rendered to has pixels.
+   *
+   * @param reduction
+   *          the line reduction
+   */
+  public synchronized final void setReduction(
+      final ELineReduction reduction) {
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertAndUpdate(FSM.FLAG_NOTHING,
+        Line2D.FLAG_HAS_REDUCTION, Line2D.FLAG_HAS_REDUCTION,
+        FSM.FLAG_NOTHING);
+    CompiledLine2D._assertReduction(reduction);
+    this.m_reduction = reduction;
+  }
+
   /** {@inheritDoc} */
   @Override
   protected final void process(final Chart owner, final ChartDriver driver,
@@ -68,7 +175,8 @@ public class Line2D extends DataSeries implements ILine2D {
       final Font titleFont, final Color color, final Stroke stroke) {
     if (owner instanceof LineChart2D) {
       ((LineChart2D) owner)._addLine(new CompiledLine2D(id, title,
-          titleFont, color, stroke, this.m_data, this.m_type),
+          titleFont, color, stroke, this.m_data, this.m_type,
+          this.m_reduction),
           this.m_data);
     }
   }
@@ -0,0 +1,164 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * <p>
+ * The single walk over the points of a {@link CompiledLine2D} shared by
+ * all drivers: {@link #visit(CompiledLine2D, int, int)} feeds the
+ * vertices of the drawn line into {@link #moveTo(double, double)} and
+ * {@link #lineTo(double, double)}, so that every driver interrupts,
+ * clamps, and expands a line in exactly the same way:
+ * </p>
+ * <ul>
+ * <li>Rows with a {@link Double#NaN} coordinate interrupt the line. The
+ * next valid row starts a new run with {@link #moveTo(double, double)},
+ * no matter whether the gap is at the start, in the middle, or at the
+ * end of the line, or how many rows it spans.</li>
+ * <li>Coordinates are {@link #clamp(double) clamped} to &plusmn;
+ * {@link #MAX_COORD}, so that they stay finite when they are transformed
+ * to device space.</li>
+ * <li>Stair-type lines are expanded inline: For
+ * {@link ELineType#STAIRS_KEEP_LEFT}, each step first goes horizontally
+ * to the new {@code x} and then vertically to the new {@code y}, for
+ * {@link ELineType#STAIRS_PREVIEW_RIGHT} the other way around.</li>
+ * </ul>
+ * <p>
+ * Lines backed by an {@link OffHeapMatrix} are read row by row from
+ * their matrix, so they are never copied to the heap. All other lines
+ * are read from their {@link CompiledLine2D#getXValues() packed columns}.
+ * A visitor holds the state of one walk and is not thread-safe, but it
+ * can be re-used for several lines one after the other.
+ * </p>
+ */
+public abstract class Line2DVisitor {
+
+  /** the largest absolute coordinate passed to a visitor: {@value} */
+  public static final double MAX_COORD = 1e20d;
+
+  /** create the visitor */
+  protected Line2DVisitor() {
+    super();
+  }
+
+  /**
+   * Clamp a coordinate to &plusmn;{@link #MAX_COORD}, so that it stays
+   * finite when it is transformed to device space
+   *
+   * @param d
+   *          the coordinate
+   * @return the clamped coordinate, or {@link Double#NaN} if {@code d}
+   *         is {@link Double#NaN}
+   */
+  public static final double clamp(final double d) {
+    return ((d <= (-Line2DVisitor.MAX_COORD)) ? (-Line2DVisitor.MAX_COORD)
+        : ((d >= Line2DVisitor.MAX_COORD) ? Line2DVisitor.MAX_COORD : d));
+  }
+
+  /**
+   * Visit all points of a line
+   *
+   * @param line
+   *          the line
+   */
+  public final void visit(final CompiledLine2D line) {
+    this.visit(line, 0, line.getData().m());
+  }
+
+  /**
+   * Visit a range of the points of a line
+   *
+   * @param line
+   *          the line
+   * @param start
+   *          the first row to visit
+   * @param end
+   *          the end row (exclusive)
+   */
+  public final void visit(final CompiledLine2D line, final int start,
+      final int end) {
+    final IMatrix data;
+    final ELineType type;
+    final double[] x, y;
+    double currentX, currentY, previousX, previousY;
+    boolean hasPoint;
+    int i;
+
+    data = line.getData();
+    if ((start < 0) || (end > data.m()) || (start > end)) {
+      throw new IllegalArgumentException(//
+          "Invalid row range " + start + ".." + end + //$NON-NLS-1$ //$NON-NLS-2$
+              " for line with " + data.m() + " points."); //$NON-NLS-1$//$NON-NLS-2$
+    }
+    if (data instanceof OffHeapMatrix) {
+      // off-heap data is read directly, without copying it to the heap
+      x = y = null;
+    } else {
+      x = line.getXValues();
+      y = line.getYValues();
+    }
+
+    type = line.getType();
+    hasPoint = false;
+    previousX = previousY = 0d;
+    for (i = start; i < end; i++) {
+      if (x != null) {
+        currentX = x[i];
+        currentY = y[i];
+      } else {
+        currentX = data.getDouble(i, 0);
+        currentY = data.getDouble(i, 1);
+      }
+      if ((currentX != currentX) || (currentY != currentY)) {
+        hasPoint = false;
+        continue;
+      }
+      currentX = Line2DVisitor.clamp(currentX);
+      currentY = Line2DVisitor.clamp(currentY);
+
+      if (hasPoint) {
+        switch (type) {
+          case STAIRS_KEEP_LEFT: {
+            this.lineTo(currentX, previousY);
+            break;
+          }
+          case STAIRS_PREVIEW_RIGHT: {
+            this.lineTo(previousX, currentY);
+            break;
+          }
+          default: {
+            break;
+          }
+        }
+        this.lineTo(currentX, currentY);
+      } else {
+        this.moveTo(currentX, currentY);
+        hasPoint = true;
+      }
+      previousX = currentX;
+      previousY = currentY;
+    }
+  }
+
+  /**
+   * Start a new run of the line, i.e., the first point of the line or the
+   * first point after a gap
+   *
+   * @param x
+   *          the clamped x-coordinate
+   * @param y
+   *          the clamped y-coordinate
+   */
+  protected abstract void moveTo(final double x, final double y);
+
+  /**
+   * Continue the current run of the line with a straight segment
+   *
+   * @param x
+   *          the clamped x-coordinate of the end of the segment
+   * @param y
+   *          the clamped y-coordinate of the end of the segment
+   */
+  protected abstract void lineTo(final double x, final double y);
+}
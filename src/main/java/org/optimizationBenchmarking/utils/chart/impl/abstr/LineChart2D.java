@@ -1,11 +1,16 @@
 package org.optimizationBenchmarking.utils.chart.impl.abstr;
 
+import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.Stroke;
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.optimizationBenchmarking.utils.chart.spec.ELegendMode;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
 import org.optimizationBenchmarking.utils.chart.spec.IAxis;
 import org.optimizationBenchmarking.utils.chart.spec.ILine2D;
 import org.optimizationBenchmarking.utils.chart.spec.ILineChart2D;
@@ -16,6 +21,7 @@ import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
 import org.optimizationBenchmarking.utils.hierarchy.FSM;
 import org.optimizationBenchmarking.utils.hierarchy.HierarchicalFSM;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.text.TextUtils;
 import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
 
 /** The builder for two-dimensional line charts. */
@@ -27,6 +33,8 @@ public class LineChart2D extends Chart implements ILineChart2D {
   private static final int FLAG_HAS_Y_AXIS = (LineChart2D.FLAG_HAS_X_AXIS << 1);
   /** at least one line has been added */
   private static final int FLAG_HAS_LINE = (LineChart2D.FLAG_HAS_Y_AXIS << 1);
+  /** the rendering has been set */
+  private static final int FLAG_HAS_RENDERING = (LineChart2D.FLAG_HAS_LINE << 1);
 
   /** the id counter */
   private volatile int m_idCounter;
@@ -34,11 +42,17 @@ public class LineChart2D extends Chart implements ILineChart2D {
   /** the lines */
   private ArrayList<CompiledLine2D> m_lines;
 
+  /** the bands */
+  private ArrayList<CompiledBand2D> m_bands;
+
   /** the internal x-axis builder */
   private Axis m_xAxis;
   /** the internal y-axis builder */
   private Axis m_yAxis;
 
+  /** the way the lines are rendered */
+  private ELineChartRendering m_rendering;
+
   /**
    * create the line chart
    *
@@ -68,6 +82,8 @@ public class LineChart2D extends Chart implements ILineChart2D {
     super(graphic, styles, logger, driver);
 
     this.m_lines = new ArrayList<>();
+    this.m_bands = new ArrayList<>();
+    this.m_rendering = ELineChartRendering.DEFAULT;
 
     this.open();
   }
@@ -89,12 +105,32 @@ public class LineChart2D extends Chart implements ILineChart2D {
         append.append("hasLine"); //$NON-NLS-1$
         break;
       }
+      case FLAG_HAS_RENDERING: {
+        append.append("renderingSet"); //$NON-NLS-1$
+        break;
+      }
       default: {
         super.fsmFlagsAppendName(flagValue, flagIndex, append);
       }
     }
   }
 
+  /**
+   * Set the way in which the lines of this chart are rendered.
+   *
+   * @param rendering
+   *          the line chart rendering
+   */
+  public synchronized final void setRendering(
+      final ELineChartRendering rendering) {
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertAndUpdate(FSM.FLAG_NOTHING,
+        LineChart2D.FLAG_HAS_RENDERING, LineChart2D.FLAG_HAS_RENDERING,
+        FSM.FLAG_NOTHING);
+    CompiledLineChart2D._assertRendering(rendering);
+    this.m_rendering = rendering;
+  }
+
   /**
    * Add a new line
    *
@@ -113,7 +149,211 @@ public class LineChart2D extends Chart implements ILineChart2D {
     if (line != null) {
       this.m_xAxis._registerData(originalData);
       this.m_yAxis._registerData(originalData);
-      this.m_lines.add(line);
+      // detect the order of the x-coordinates once, while adding the line
+      line.getDomainOrder();
+      this.m_lines.add(_Line2DReducer._compact(line));
+    }
+  }
+
+  /**
+   * Add many lines at once. This is much cheaper than creating one
+   * {@link #line() line builder} per line: The lines are compiled
+   * directly, in one locked section, and their data is registered with
+   * the axes in a single pass.
+   *
+   * @param data
+   *          the data of the lines, i.e., matrices with the x-coordinates
+   *          in their first and the y-coordinates in their second column
+   * @param colors
+   *          the colors of the lines, one per line
+   * @param strokes
+   *          the strokes of the lines, or {@code null} to use the default
+   *          stroke for all lines; single elements may be {@code null}, too
+   * @param titles
+   *          the titles of the lines, or {@code null} if the lines have no
+   *          titles; single elements may be {@code null}, too
+   * @param type
+   *          the line type of all lines
+   */
+  public synchronized final void addLines(final IMatrix[] data,
+      final Color[] colors, final Stroke[] strokes, final String[] titles,
+      final ELineType type) {
+    final CompiledLine2D[] lines;
+    int index;
+
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertTrue(
+        LineChart2D.FLAG_HAS_X_AXIS | LineChart2D.FLAG_HAS_Y_AXIS);
+    if (data == null) {
+      throw new IllegalArgumentException(//
+          "Line data array cannot be null."); //$NON-NLS-1$
+    }
+    LineChart2D._checkBulk(data.length, colors, strokes, titles);
+    for (index = data.length; (--index) >= 0;) {
+      CompiledDataSeries._checkMatrix(data[index]);
+    }
+    CompiledLine2D._assertType(type);
+    if (data.length <= 0) {
+      return;
+    }
+
+    lines = LineChart2D._compileLines(this.m_idCounter, this.m_defaults,
+        data, colors, strokes, titles, type);
+    this.m_idCounter += lines.length;
+
+    this.fsmFlagsAssertAndUpdate(FSM.FLAG_NOTHING, FSM.FLAG_NOTHING,
+        LineChart2D.FLAG_HAS_LINE, FSM.FLAG_NOTHING);
+    this.m_lines.ensureCapacity(this.m_lines.size() + lines.length);
+    for (index = 0; index < lines.length; index++) {
+      this.m_xAxis._registerData(data[index]);
+      this.m_yAxis._registerData(data[index]);
+      lines[index].getDomainOrder();
+      this.m_lines.add(_Line2DReducer._compact(lines[index]));
+    }
+  }
+
+  /**
+   * Check the arrays passed to a bulk method
+   *
+   * @param size
+   *          the number of data elements
+   * @param colors
+   *          the colors
+   * @param strokes
+   *          the strokes, or {@code null}
+   * @param titles
+   *          the titles, or {@code null}
+   */
+  static final void _checkBulk(final int size, final Color[] colors,
+      final Stroke[] strokes, final String[] titles) {
+    if ((colors == null) || (colors.length != size)) {
+      throw new IllegalArgumentException(//
+          "There must be exactly one color per data element."); //$NON-NLS-1$
+    }
+    for (final Color color : colors) {
+      if (color == null) {
+        throw new IllegalArgumentException(//
+            "Colors of data elements cannot be null."); //$NON-NLS-1$
+      }
+    }
+    if ((strokes != null) && (strokes.length != size)) {
+      throw new IllegalArgumentException(//
+          "If strokes are given, there must be exactly one per data element."); //$NON-NLS-1$
+    }
+    if ((titles != null) && (titles.length != size)) {
+      throw new IllegalArgumentException(//
+          "If titles are given, there must be exactly one per data element."); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Compile many lines at once, filling in the defaults of the style set
+   *
+   * @param lastId
+   *          the id of the last line created so far, the lines get the
+   *          following ids
+   * @param defaults
+   *          the defaults of the style set
+   * @param data
+   *          the data of the lines
+   * @param colors
+   *          the colors of the lines
+   * @param strokes
+   *          the strokes of the lines, or {@code null}
+   * @param titles
+   *          the titles of the lines, or {@code null}
+   * @param type
+   *          the line type
+   * @return the compiled lines
+   */
+  static final CompiledLine2D[] _compileLines(final int lastId,
+      final _StyleDefaults defaults, final IMatrix[] data,
+      final Color[] colors, final Stroke[] strokes, final String[] titles,
+      final ELineType type) {
+    final CompiledLine2D[] lines;
+    Stroke stroke;
+    String title;
+    int index;
+
+    lines = new CompiledLine2D[data.length];
+    for (index = 0; index < lines.length; index++) {
+      title = ((titles != null) ? TextUtils.normalize(titles[index])
+          : null);
+      stroke = ((strokes != null) ? strokes[index] : null);
+      lines[index] = new CompiledLine2D((lastId + index + 1), title,
+          ((title != null) ? defaults.m_dataTitleFont : null),
+          colors[index], DataElement._compileStroke(defaults, stroke),
+          data[index], type, ELineReduction.DEFAULT);
+    }
+    return lines;
+  }
+
+  /**
+   * Create a compiled line chart, shared by the checked and the
+   * unchecked builders
+   *
+   * @param title
+   *          the title, or {@code null} if there is none
+   * @param titleFont
+   *          the compiled title font
+   * @param legendMode
+   *          the legend mode
+   * @param xAxis
+   *          the compiled x-axis
+   * @param yAxis
+   *          the compiled y-axis
+   * @param lines
+   *          the compiled lines
+   * @param bands
+   *          the compiled bands, or {@code null} if there are none
+   * @param rendering
+   *          the rendering
+   * @return the compiled chart
+   */
+  static final CompiledLineChart2D _compile(final String title,
+      final Font titleFont, final ELegendMode legendMode,
+      final CompiledAxis xAxis, final CompiledAxis yAxis,
+      final ArrayList<CompiledLine2D> lines,
+      final ArrayList<CompiledBand2D> bands,
+      final ELineChartRendering rendering) {
+    return new CompiledLineChart2D(title, titleFont, legendMode, xAxis,
+        yAxis,
+        new ArrayListView<>(
+            lines.toArray(new CompiledLine2D[lines.size()]), false),
+        new ArrayListView<>(((bands != null)
+            ? bands.toArray(new CompiledBand2D[bands.size()])
+            : new CompiledBand2D[0]), false),
+        rendering);
+  }
+
+  /**
+   * Add a new quantile band
+   *
+   * @param band
+   *          the band, or {@code null} if there is no band to paint
+   * @param median
+   *          the median line, or {@code null} if there is no line to
+   *          paint
+   * @param runs
+   *          the runs summarized by the band
+   */
+  synchronized final void _addBand(final CompiledBand2D band,
+      final CompiledLine2D median, final IMatrix[] runs) {
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertAndUpdate(
+        (LineChart2D.FLAG_HAS_X_AXIS | LineChart2D.FLAG_HAS_Y_AXIS),
+        FSM.FLAG_NOTHING, LineChart2D.FLAG_HAS_LINE, FSM.FLAG_NOTHING);
+
+    for (final IMatrix run : runs) {
+      this.m_xAxis._registerData(run);
+      this.m_yAxis._registerData(run);
+    }
+    if (band != null) {
+      this.m_bands.add(band);
+    }
+    if (median != null) {
+      median.getDomainOrder();
+      this.m_lines.add(median);
     }
   }
 
@@ -135,7 +375,7 @@ public class LineChart2D extends Chart implements ILineChart2D {
           FSM.FLAG_NOTHING);
       return;
     }
-    if (child instanceof Line2D) {
+    if ((child instanceof Line2D) || (child instanceof QuantileBand2D)) {
       return;
     }
     this.throwChildNotAllowed(child);
@@ -144,10 +384,12 @@ public class LineChart2D extends Chart implements ILineChart2D {
   /** {@inheritDoc} */
   @Override
   protected synchronized void onClose() {
-    Logger logger;
-    Graphics2D graphic;
+    final Logger logger;
+    final Graphics2D graphic;
+    final ChartDriver driver;
+    final CompiledLineChart2D compiled;
+    final String id;
     CompiledLineChart2D chart;
-    Font titleFont;
 
     this.fsmStateAssertAndSet(ChartElement.STATE_ALIVE,
         ChartElement.STATE_DEAD);
@@ -156,47 +398,59 @@ public class LineChart2D extends Chart implements ILineChart2D {
 
     graphic = this.m_graphic;
     logger = this.getLogger();
+    driver = this.m_driver;
+    id = this._id();
+    chart = null;
     try {
       if ((logger != null) && (logger.isLoggable(Level.FINEST))) {
-        logger.finest("Now compiling " + this._id()); //$NON-NLS-1$
+        logger.finest("Now compiling " + id); //$NON-NLS-1$
       }
 
-      if (this.m_title != null) {
-        titleFont = this.m_titleFont;
-        if (titleFont == null) {
-          titleFont = this.m_driver
-              .getDefaultChartTitleFont(this.m_styles);
-        } else {
-          titleFont = this.m_driver.scaleTitleFont(this.m_titleFont);
-        }
-      } else {
-        titleFont = null;
-      }
-
-      chart = new CompiledLineChart2D(this.m_title, titleFont,
+      chart = LineChart2D._compile(this.m_title,
+          Chart._compileTitleFont(driver, this.m_styles, this.m_defaults,
+              this.m_title, this.m_titleFont),
           this.m_legendMode, this.m_xAxis._getAxis(),
-          this.m_yAxis._getAxis(), new ArrayListView<>(this.m_lines
-              .toArray(new CompiledLine2D[this.m_lines.size()]), false));
-      if ((logger != null) && (logger.isLoggable(Level.FINEST))) {
-        logger.finest("Now rendering the compiled " + this._id()); //$NON-NLS-1$
-      }
-      this.m_xAxis = null;
-      this.m_yAxis = null;
-      this.m_lines = null;
-      this.m_driver.renderLineChart2D(chart, graphic, logger);
+          this.m_yAxis._getAxis(), this.m_lines, this.m_bands,
+          this.m_rendering);
     } catch (final Throwable error) {
       ErrorUtils.logError(logger,
-          ("Unrecoverable error during rendering of compiled 2D line chart #" //$NON-NLS-1$
-              + this._id()),
+          ("Unrecoverable error during compilation of 2D line chart #" //$NON-NLS-1$
+              + id),
           error, true, RethrowMode.AS_RUNTIME_EXCEPTION);
     } finally {
       this.m_lines = null;
+      this.m_bands = null;
       this.m_xAxis = null;
       this.m_yAxis = null;
-      chart = null;
-      graphic = null;
     }
 
+    if (graphic == null) {
+      this._setCompiled(chart);
+      super.onClose();
+      return;
+    }
+
+    compiled = chart;
+    this._render(new Callable<Void>() {
+      @Override
+      public final Void call() {
+        try {
+          if ((logger != null) && (logger.isLoggable(Level.FINEST))) {
+            logger.finest("Now rendering the compiled " + id); //$NON-NLS-1$
+          }
+          driver.renderLineChart2D(
+              driver.prepareLineChart2D(compiled, graphic, logger),
+              graphic, logger);
+        } catch (final Throwable error) {
+          ErrorUtils.logError(logger,
+              ("Unrecoverable error during rendering of compiled 2D line chart #" //$NON-NLS-1$
+                  + id),
+              error, true, RethrowMode.AS_RUNTIME_EXCEPTION);
+        }
+        return null;
+      }
+    });
+
     super.onClose();
   }
 
@@ -235,4 +489,22 @@ public class LineChart2D extends Chart implements ILineChart2D {
     return new Line2D(this, (++this.m_idCounter));
   }
 
+  /**
+   * Create a quantile band summarizing a group of runs by its median and
+   * the area between two quantiles, instead of drawing one line per run.
+   *
+   * @return the quantile band builder
+   */
+  public synchronized final QuantileBand2D band() {
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertTrue(
+        LineChart2D.FLAG_HAS_X_AXIS | LineChart2D.FLAG_HAS_Y_AXIS);
+    return new QuantileBand2D(this, (++this.m_idCounter));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final CompiledLineChart2D getCompiledChart() {
+    return ((CompiledLineChart2D) (super.getCompiledChart()));
+  }
 }
@@ -0,0 +1,361 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+
+import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * <p>
+ * A read-only matrix whose data is stored outside of the Java heap. Each
+ * column is kept in its own buffer, either a direct
+ * {@link java.nio.ByteBuffer} or, if the matrix is larger than a given
+ * threshold, a region of a memory-mapped temporary file. Such matrices
+ * can be passed to {@link Line2D#setData(IMatrix)} like any other matrix:
+ * the axis aggregation, the line reduction, and the drivers read them
+ * row by row, so very long series do not occupy the heap and data larger
+ * than the available memory is streamed through the mapping by the
+ * operating system.
+ * </p>
+ * <p>
+ * Matrices are filled with a {@link OffHeapMatrix.Builder} or copied from
+ * an existing matrix via {@link #copyOf(IMatrix)}. Since one column must
+ * fit into a single buffer, a matrix can have at most {@link #MAX_ROWS}
+ * rows.
+ * </p>
+ */
+public final class OffHeapMatrix extends AbstractMatrix {
+
+  /**
+   * the default number of bytes above which the data is mapped to a
+   * temporary file instead of being held in direct buffers: {@value}
+   */
+  public static final long DEFAULT_MAPPING_THRESHOLD = (256L << 20);
+
+  /** the maximum number of rows: {@value} */
+  public static final int MAX_ROWS = (Integer.MAX_VALUE >>> 3);
+
+  /** the number of rows */
+  private final int m_m;
+
+  /** the columns, if this is an integer matrix */
+  private final LongBuffer[] m_longs;
+
+  /** the columns, if this is a floating point matrix */
+  private final DoubleBuffer[] m_doubles;
+
+  /**
+   * create the matrix
+   *
+   * @param m
+   *          the number of rows
+   * @param longs
+   *          the long columns, or {@code null}
+   * @param doubles
+   *          the double columns, or {@code null}
+   */
+  OffHeapMatrix(final int m, final LongBuffer[] longs,
+      final DoubleBuffer[] doubles) {
+    super();
+    this.m_m = m;
+    this.m_longs = longs;
+    this.m_doubles = doubles;
+  }
+
+  /**
+   * Copy a given matrix to off-heap storage, using the
+   * {@link #DEFAULT_MAPPING_THRESHOLD default mapping threshold}.
+   *
+   * @param source
+   *          the source matrix
+   * @return the off-heap copy
+   * @throws IOException
+   *           if the temporary file cannot be created or mapped
+   */
+  public static final OffHeapMatrix copyOf(final IMatrix source)
+      throws IOException {
+    return OffHeapMatrix.copyOf(source,
+        OffHeapMatrix.DEFAULT_MAPPING_THRESHOLD);
+  }
+
+  /**
+   * Copy a given matrix to off-heap storage.
+   *
+   * @param source
+   *          the source matrix
+   * @param mappingThreshold
+   *          the number of bytes above which the data is mapped to a
+   *          temporary file
+   * @return the off-heap copy
+   * @throws IOException
+   *           if the temporary file cannot be created or mapped
+   */
+  public static final OffHeapMatrix copyOf(final IMatrix source,
+      final long mappingThreshold) throws IOException {
+    final Builder builder;
+    final int m, n;
+    int i, j;
+
+    if (source instanceof OffHeapMatrix) {
+      return ((OffHeapMatrix) source);
+    }
+
+    m = source.m();
+    n = source.n();
+    builder = new Builder(m, n, source.isIntegerMatrix(),
+        mappingThreshold);
+    for (j = n; (--j) >= 0;) {
+      if (builder.m_longs != null) {
+        for (i = 0; i < m; i++) {
+          builder.m_longs[j].put(i, source.getLong(i, j));
+        }
+      } else {
+        for (i = 0; i < m; i++) {
+          builder.m_doubles[j].put(i, source.getDouble(i, j));
+        }
+      }
+    }
+    return builder.build();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int m() {
+    return this.m_m;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int n() {
+    return ((this.m_longs != null) ? this.m_longs.length
+        : this.m_doubles.length);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isIntegerMatrix() {
+    return (this.m_longs != null);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int row, final int column) {
+    if (this.m_longs != null) {
+      return this.m_longs[column].get(row);
+    }
+    return this.m_doubles[column].get(row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int row, final int column) {
+    if (this.m_longs != null) {
+      return this.m_longs[column].get(row);
+    }
+    return ((long) (this.m_doubles[column].get(row)));
+  }
+
+  /**
+   * A builder for off-heap matrices. The storage for all rows is
+   * allocated when the builder is created and filled in column by column
+   * or row by row via {@link #setLong(int, int, long)} or
+   * {@link #setDouble(int, int, double)}.
+   */
+  public static final class Builder {
+
+    /** the number of rows */
+    private final int m_m;
+
+    /** the columns, if this is an integer matrix */
+    LongBuffer[] m_longs;
+
+    /** the columns, if this is a floating point matrix */
+    DoubleBuffer[] m_doubles;
+
+    /**
+     * create the builder, using the
+     * {@link OffHeapMatrix#DEFAULT_MAPPING_THRESHOLD default mapping
+     * threshold}
+     *
+     * @param m
+     *          the number of rows
+     * @param n
+     *          the number of columns
+     * @param isInteger
+     *          {@code true} if the matrix stores {@code long} values,
+     *          {@code false} if it stores {@code double} values
+     * @throws IOException
+     *           if the temporary file cannot be created or mapped
+     */
+    public Builder(final int m, final int n, final boolean isInteger)
+        throws IOException {
+      this(m, n, isInteger, OffHeapMatrix.DEFAULT_MAPPING_THRESHOLD);
+    }
+
+    /**
+     * create the builder
+     *
+     * @param m
+     *          the number of rows
+     * @param n
+     *          the number of columns
+     * @param isInteger
+     *          {@code true} if the matrix stores {@code long} values,
+     *          {@code false} if it stores {@code double} values
+     * @param mappingThreshold
+     *          the number of bytes above which the data is mapped to a
+     *          temporary file
+     * @throws IOException
+     *           if the temporary file cannot be created or mapped
+     */
+    public Builder(final int m, final int n, final boolean isInteger,
+        final long mappingThreshold) throws IOException {
+      super();
+
+      final ByteBuffer[] buffers;
+      final long columnBytes;
+      final File file;
+      int j;
+
+      if ((m <= 0) || (m > OffHeapMatrix.MAX_ROWS)) {
+        throw new IllegalArgumentException(//
+            "Number of rows must be in 1.." + OffHeapMatrix.MAX_ROWS + //$NON-NLS-1$
+                ", but is " + m); //$NON-NLS-1$
+      }
+      if (n <= 0) {
+        throw new IllegalArgumentException(//
+            "Number of columns must be positive, but is " + n); //$NON-NLS-1$
+      }
+
+      this.m_m = m;
+      columnBytes = (((long) m) << 3);
+      buffers = new ByteBuffer[n];
+
+      if ((columnBytes * n) > mappingThreshold) {
+        file = File.createTempFile("offHeapMatrix", ".bin"); //$NON-NLS-1$//$NON-NLS-2$
+        try {
+          try (final RandomAccessFile raf = new RandomAccessFile(file,
+              "rw")) { //$NON-NLS-1$
+            raf.setLength(columnBytes * n);
+            try (final FileChannel channel = raf.getChannel()) {
+              for (j = 0; j < n; j++) {
+                buffers[j] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    (j * columnBytes), columnBytes);
+              }
+            }
+          }
+        } finally {
+          // the mappings stay valid after the file has been deleted on
+          // most systems, otherwise we delete it when the JVM exits
+          if (!(file.delete())) {
+            file.deleteOnExit();
+          }
+        }
+      } else {
+        for (j = n; (--j) >= 0;) {
+          buffers[j] = ByteBuffer.allocateDirect((int) columnBytes);
+        }
+      }
+
+      if (isInteger) {
+        this.m_longs = new LongBuffer[n];
+        for (j = n; (--j) >= 0;) {
+          this.m_longs[j] = buffers[j].order(ByteOrder.nativeOrder())
+              .asLongBuffer();
+        }
+      } else {
+        this.m_doubles = new DoubleBuffer[n];
+        for (j = n; (--j) >= 0;) {
+          this.m_doubles[j] = buffers[j].order(ByteOrder.nativeOrder())
+              .asDoubleBuffer();
+        }
+      }
+    }
+
+    /** make sure that the builder has not yet been used */
+    private final void __assertAlive() {
+      if ((this.m_longs == null) && (this.m_doubles == null)) {
+        throw new IllegalStateException(
+            "The matrix has already been built."); //$NON-NLS-1$
+      }
+    }
+
+    /**
+     * Set a {@code long} value
+     *
+     * @param row
+     *          the row
+     * @param column
+     *          the column
+     * @param value
+     *          the value
+     */
+    public final void setLong(final int row, final int column,
+        final long value) {
+      this.__assertAlive();
+      if (this.m_longs != null) {
+        this.m_longs[column].put(row, value);
+      } else {
+        this.m_doubles[column].put(row, value);
+      }
+    }
+
+    /**
+     * Set a {@code double} value
+     *
+     * @param row
+     *          the row
+     * @param column
+     *          the column
+     * @param value
+     *          the value
+     */
+    public final void setDouble(final int row, final int column,
+        final double value) {
+      this.__assertAlive();
+      if (this.m_doubles != null) {
+        this.m_doubles[column].put(row, value);
+      } else {
+        throw new IllegalArgumentException(//
+            "Cannot store double value " + value + //$NON-NLS-1$
+                " in integer matrix."); //$NON-NLS-1$
+      }
+    }
+
+    /**
+     * Build the matrix. After this method has been called, the builder
+     * cannot be used anymore.
+     *
+     * @return the matrix
+     */
+    public final OffHeapMatrix build() {
+      final LongBuffer[] longs;
+      final DoubleBuffer[] doubles;
+      int j;
+
+      this.__assertAlive();
+      longs = this.m_longs;
+      doubles = this.m_doubles;
+      this.m_longs = null;
+      this.m_doubles = null;
+
+      if (longs != null) {
+        for (j = longs.length; (--j) >= 0;) {
+          longs[j] = longs[j].asReadOnlyBuffer();
+        }
+      } else {
+        for (j = doubles.length; (--j) >= 0;) {
+          doubles[j] = doubles[j].asReadOnlyBuffer();
+        }
+      }
+      return new OffHeapMatrix(this.m_m, longs, doubles);
+    }
+  }
+}
@@ -0,0 +1,191 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Stroke;
+import java.util.ArrayList;
+
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
+import org.optimizationBenchmarking.utils.hierarchy.FSM;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
+
+/**
+ * <p>
+ * The builder for a quantile band: Instead of one line per run, a group
+ * of runs is summarized by its median as a line and the area between a
+ * lower and an upper quantile (by default, 25% and 75%) as a filled band
+ * in a translucent shade of the same color. Only the median line appears
+ * in the legend.
+ * </p>
+ * <p>
+ * The quantiles are computed over a common grid made of the
+ * x-coordinates of all runs, thinned to at most 1024 of them if there
+ * are more, so that the steps of the runs are met. The runs are held
+ * constant between their points if the {@link #setType(ELineType) line
+ * type} is a stair type and are interpolated linearly otherwise.
+ * </p>
+ */
+public class QuantileBand2D extends DataElement {
+
+  /** the type has been set */
+  static final int FLAG_HAS_TYPE = (DataElement.FLAG_HAS_DATA << 1);
+  /** the quantiles have been set */
+  static final int FLAG_HAS_QUANTILES = (QuantileBand2D.FLAG_HAS_TYPE << 1);
+
+  /** the default lower quantile: {@value} */
+  public static final double DEFAULT_LOWER_QUANTILE = 0.25d;
+  /** the default upper quantile: {@value} */
+  public static final double DEFAULT_UPPER_QUANTILE = 0.75d;
+
+  /** the alpha value of the band color: {@value} */
+  private static final int BAND_ALPHA = 64;
+
+  /** the runs */
+  private final ArrayList<IMatrix> m_runs;
+
+  /** the line type */
+  private ELineType m_type;
+
+  /** the lower quantile */
+  private double m_lower;
+
+  /** the upper quantile */
+  private double m_upper;
+
+  /**
+   * create the quantile band
+   *
+   * @param owner
+   *          the owner
+   * @param id
+   *          the id
+   */
+  protected QuantileBand2D(final Chart owner, final int id) {
+    super(owner, id);
+
+    this.m_runs = new ArrayList<>();
+    this.m_type = ELineType.DEFAULT;
+    this.m_lower = QuantileBand2D.DEFAULT_LOWER_QUANTILE;
+    this.m_upper = QuantileBand2D.DEFAULT_UPPER_QUANTILE;
+    this.open();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void fsmFlagsAppendName(final int flagValue,
+      final int flagIndex, final MemoryTextOutput append) {
+    switch (flagValue) {
+      case FLAG_HAS_TYPE: {
+        append.append("typeSet"); //$NON-NLS-1$
+        break;
+      }
+      case FLAG_HAS_QUANTILES: {
+        append.append("quantilesSet"); //$NON-NLS-1$
+        break;
+      }
+      default: {
+        super.fsmFlagsAppendName(flagValue, flagIndex, append);
+      }
+    }
+  }
+
+  /**
+   * Add a run, i.e., a matrix with the x-coordinates in its first and the
+   * y-coordinates in its second column.
+   *
+   * @param run
+   *          the run
+   */
+  public synchronized final void addRun(final IMatrix run) {
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertAndUpdate(FSM.FLAG_NOTHING, FSM.FLAG_NOTHING,
+        DataElement.FLAG_HAS_DATA, FSM.FLAG_NOTHING);
+    CompiledDataSeries._checkMatrix(run);
+    this.m_runs.add(run);
+  }
+
+  /**
+   * Set the line type, which determines how runs are evaluated between
+   * their points and how the median and the band are drawn
+   *
+   * @param type
+   *          the line type
+   */
+  public synchronized final void setType(final ELineType type) {
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertAndUpdate(FSM.FLAG_NOTHING,
+        QuantileBand2D.FLAG_HAS_TYPE, QuantileBand2D.FLAG_HAS_TYPE,
+        FSM.FLAG_NOTHING);
+    CompiledLine2D._assertType(type);
+    this.m_type = type;
+  }
+
+  /**
+   * Set the quantiles delimiting the band, e.g., {@code 0} and {@code 1}
+   * for the range between minimum and maximum.
+   *
+   * @param lower
+   *          the lower quantile, in {@code [0, upper)}
+   * @param upper
+   *          the upper quantile, in {@code (lower, 1]}
+   */
+  public synchronized final void setQuantiles(final double lower,
+      final double upper) {
+    this.fsmStateAssert(ChartElement.STATE_ALIVE);
+    this.fsmFlagsAssertAndUpdate(FSM.FLAG_NOTHING,
+        QuantileBand2D.FLAG_HAS_QUANTILES,
+        QuantileBand2D.FLAG_HAS_QUANTILES, FSM.FLAG_NOTHING);
+    if ((!(lower >= 0d)) || (!(upper <= 1d)) || (!(lower < upper))) {
+      throw new IllegalArgumentException(//
+          "Quantiles must fulfill 0<=lower<upper<=1, but are " //$NON-NLS-1$
+              + lower + " and " + upper); //$NON-NLS-1$
+    }
+    this.m_lower = lower;
+    this.m_upper = upper;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void process(final Chart owner, final ChartDriver driver,
+      final IBasicStyles styles, final int id, final String title,
+      final Font titleFont, final Color color, final Stroke stroke) {
+    final IMatrix[] runs;
+    final _QuantileBands bands;
+    final double[] median;
+    final int size;
+    int index;
+
+    if (!(owner instanceof LineChart2D)) {
+      return;
+    }
+    this.fsmFlagsAssertTrue(DataElement.FLAG_HAS_DATA);
+
+    runs = this.m_runs.toArray(new IMatrix[this.m_runs.size()]);
+    bands = _QuantileBands._compute(runs, this.m_type, this.m_lower,
+        this.m_upper);
+    size = bands.m_x.length;
+    if (size <= 0) {
+      ((LineChart2D) owner)._addBand(null, null, runs);
+      return;
+    }
+
+    median = new double[size << 1];
+    for (index = size; (--index) >= 0;) {
+      median[index << 1] = bands.m_x[index];
+      median[(index << 1) + 1] = bands.m_median[index];
+    }
+
+    ((LineChart2D) owner)._addBand(
+        new CompiledBand2D(id, null, null,
+            new Color(color.getRed(), color.getGreen(), color.getBlue(),
+                ((color.getAlpha() * QuantileBand2D.BAND_ALPHA) / 255)),
+            stroke, this.m_type, bands.m_x, bands.m_lower,
+            bands.m_upper), //
+        new CompiledLine2D(id, title, titleFont, color, stroke,
+            new DoubleMatrix1D(median, size, 2), this.m_type), //
+        runs);
+  }
+}
@@ -0,0 +1,300 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * A view of a shape, or of a sequence of shapes drawn as one, under an
+ * affine transformation. Unlike
+ * {@link java.awt.geom.AffineTransform#createTransformedShape(Shape)},
+ * this view does not copy the coordinates of the shape: The transformation
+ * is applied on the fly by the path iterator. This allows drivers to draw
+ * a data-space path, e.g., {@link CompiledLine2D#createPath(int, int)},
+ * in device space with a single
+ * {@link java.awt.Graphics2D#draw(java.awt.Shape) draw} call and without
+ * scaling the stroke. Several paths sharing the same color and stroke can
+ * be drawn together the same way. Instances are mutable and can be
+ * re-used for several shapes, but are not thread-safe.
+ */
+public final class TransformedShape implements Shape {
+
+  /** the transformation */
+  private final AffineTransform m_transform;
+
+  /** the shapes */
+  private Shape[] m_shapes;
+
+  /** the number of shapes */
+  private int m_count;
+
+  /** create the transformed shape */
+  public TransformedShape() {
+    super();
+    this.m_transform = new AffineTransform();
+  }
+
+  /**
+   * Set the shape and the transformation to apply to it
+   *
+   * @param shape
+   *          the shape
+   * @param transform
+   *          the transformation
+   */
+  public final void set(final Shape shape,
+      final AffineTransform transform) {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape must not be null."); //$NON-NLS-1$
+    }
+    this.set(new Shape[] { shape }, 1, transform);
+  }
+
+  /**
+   * Set several shapes to be drawn as one and the transformation to apply
+   * to them
+   *
+   * @param shapes
+   *          the array with the shapes, which is used directly and not
+   *          copied
+   * @param count
+   *          the number of shapes in {@code shapes} to use
+   * @param transform
+   *          the transformation
+   */
+  public final void set(final Shape[] shapes, final int count,
+      final AffineTransform transform) {
+    if ((shapes == null) || (count <= 0) || (count > shapes.length)) {
+      throw new IllegalArgumentException(//
+          "At least one shape must be provided."); //$NON-NLS-1$
+    }
+    this.m_shapes = shapes;
+    this.m_count = count;
+    this.m_transform.setTransform(transform);
+  }
+
+  /**
+   * Get the transformation, which may be modified directly
+   *
+   * @return the transformation
+   */
+  public final AffineTransform getTransform() {
+    return this.m_transform;
+  }
+
+  /**
+   * Create a copy of the shape with the transformation applied
+   *
+   * @return the copy
+   */
+  private final Shape __transformed() {
+    final Path2D.Double path;
+    int i;
+
+    if (this.m_count <= 1) {
+      return this.m_transform.createTransformedShape(this.m_shapes[0]);
+    }
+    path = new Path2D.Double();
+    for (i = 0; i < this.m_count; i++) {
+      path.append(this.m_shapes[i].getPathIterator(this.m_transform),
+          false);
+    }
+    return path;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Rectangle getBounds() {
+    return this.getBounds2D().getBounds();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Rectangle2D getBounds2D() {
+    final Rectangle2D bounds;
+    int i;
+
+    bounds = this.m_shapes[0].getBounds2D();
+    for (i = 1; i < this.m_count; i++) {
+      bounds.add(this.m_shapes[i].getBounds2D());
+    }
+    return this.m_transform.createTransformedShape(bounds).getBounds2D();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean contains(final double x, final double y) {
+    return this.__transformed().contains(x, y);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean contains(final Point2D p) {
+    return this.__transformed().contains(p);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean intersects(final double x, final double y,
+      final double w, final double h) {
+    return this.__transformed().intersects(x, y, w, h);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean intersects(final Rectangle2D r) {
+    return this.__transformed().intersects(r);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean contains(final double x, final double y,
+      final double w, final double h) {
+    return this.__transformed().contains(x, y, w, h);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean contains(final Rectangle2D r) {
+    return this.__transformed().contains(r);
+  }
+
+  /**
+   * Get the transformation to pass to the path iterator of the shape
+   *
+   * @param at
+   *          the additional transformation, or {@code null}
+   * @return the transformation
+   */
+  private final AffineTransform __concat(final AffineTransform at) {
+    final AffineTransform result;
+
+    if ((at == null) || at.isIdentity()) {
+      return this.m_transform;
+    }
+    result = new AffineTransform(at);
+    result.concatenate(this.m_transform);
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final PathIterator getPathIterator(final AffineTransform at) {
+    final AffineTransform transform;
+
+    transform = this.__concat(at);
+    if (this.m_count <= 1) {
+      return this.m_shapes[0].getPathIterator(transform);
+    }
+    return new __Chain(this.m_shapes, this.m_count, transform, (-1d));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final PathIterator getPathIterator(final AffineTransform at,
+      final double flatness) {
+    final AffineTransform transform;
+
+    transform = this.__concat(at);
+    if (this.m_count <= 1) {
+      return this.m_shapes[0].getPathIterator(transform, flatness);
+    }
+    return new __Chain(this.m_shapes, this.m_count, transform, flatness);
+  }
+
+  /** a path iterator which iterates over several shapes in sequence */
+  private static final class __Chain implements PathIterator {
+
+    /** the shapes */
+    private final Shape[] m_shapes;
+
+    /** the number of shapes */
+    private final int m_count;
+
+    /** the transformation */
+    private final AffineTransform m_transform;
+
+    /** the flatness, or a negative value for none */
+    private final double m_flatness;
+
+    /** the index of the current shape */
+    private int m_index;
+
+    /** the current iterator */
+    private PathIterator m_current;
+
+    /**
+     * create the iterator
+     *
+     * @param shapes
+     *          the shapes
+     * @param count
+     *          the number of shapes
+     * @param transform
+     *          the transformation
+     * @param flatness
+     *          the flatness, or a negative value for none
+     */
+    __Chain(final Shape[] shapes, final int count,
+        final AffineTransform transform, final double flatness) {
+      super();
+      this.m_shapes = shapes;
+      this.m_count = count;
+      this.m_transform = transform;
+      this.m_flatness = flatness;
+      this.m_index = (-1);
+      this.__advance();
+    }
+
+    /** move to the next shape which is not empty */
+    private final void __advance() {
+      while ((++this.m_index) < this.m_count) {
+        this.m_current = ((this.m_flatness < 0d)
+            ? this.m_shapes[this.m_index].getPathIterator(this.m_transform)
+            : this.m_shapes[this.m_index].getPathIterator(this.m_transform,
+                this.m_flatness));
+        if (!(this.m_current.isDone())) {
+          return;
+        }
+      }
+      this.m_current = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int getWindingRule() {
+      return PathIterator.WIND_NON_ZERO;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean isDone() {
+      return (this.m_current == null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void next() {
+      this.m_current.next();
+      if (this.m_current.isDone()) {
+        this.__advance();
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int currentSegment(final float[] coords) {
+      return this.m_current.currentSegment(coords);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int currentSegment(final double[] coords) {
+      return this.m_current.currentSegment(coords);
+    }
+  }
+}
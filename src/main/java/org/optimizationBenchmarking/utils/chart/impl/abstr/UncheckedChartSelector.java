@@ -0,0 +1,111 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Graphics2D;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.utils.chart.spec.IChartSelector;
+import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
+import org.optimizationBenchmarking.utils.tools.impl.abstr.ToolJob;
+
+/**
+ * <p>
+ * The selector for charts built in the unchecked mode: The builders of
+ * this mode are plain objects without monitors and without the state
+ * machine bookkeeping of the normal builders, which validates each call
+ * against the current state of the element. They produce the same
+ * {@link CompiledLineChart2D} and {@link CompiledPieChart} as the normal
+ * builders and render them in the same way.
+ * </p>
+ * <p>
+ * Unchecked builders are meant for charts built entirely by one thread
+ * from trusted code which uses the builders correctly: axes are closed
+ * before the first line is created, each property is set at most once,
+ * every data element gets its data and color, and each element is closed
+ * exactly once. Misuse is not detected and results in undefined charts
+ * instead of exceptions. Builders must not be shared between threads.
+ * </p>
+ *
+ * @see ChartBuilder#createUnchecked()
+ * @see ChartDriver#compileUnchecked(IBasicStyles, Logger)
+ */
+public class UncheckedChartSelector extends ToolJob implements
+    IChartSelector {
+
+  /** the graphic to use */
+  final Graphics2D m_graphic;
+
+  /** the style set to use */
+  final IBasicStyles m_styles;
+
+  /** the chart driver */
+  final ChartDriver m_driver;
+
+  /**
+   * create the chart selector
+   *
+   * @param builder
+   *          the chart builder
+   */
+  public UncheckedChartSelector(final ChartBuilder builder) {
+    super(builder.getLogger());
+
+    ChartBuilder._checkGraphic(builder.getGraphic());
+    ChartBuilder._checkBasicStyles(builder.getStyles());
+    ChartBuilder._checkChartDriver(builder.getChartDriver());
+    this.m_graphic = builder.getGraphic();
+    this.m_styles = builder.getStyles();
+    this.m_driver = builder.getChartDriver();
+  }
+
+  /**
+   * create a chart selector for charts which are only compiled, but not
+   * rendered
+   *
+   * @param styles
+   *          the style set
+   * @param driver
+   *          the chart driver
+   * @param logger
+   *          the logger
+   * @see ChartDriver#compileUnchecked(IBasicStyles, Logger)
+   */
+  UncheckedChartSelector(final IBasicStyles styles,
+      final ChartDriver driver, final Logger logger) {
+    super(logger);
+    ChartBuilder._checkBasicStyles(styles);
+    ChartBuilder._checkChartDriver(driver);
+    this.m_graphic = null;
+    this.m_styles = styles;
+    this.m_driver = driver;
+  }
+
+  /**
+   * get the logger
+   *
+   * @return the logger
+   */
+  final Logger _getLogger() {
+    return this.getLogger();
+  }
+
+  /**
+   * Get the chart driver
+   *
+   * @return the chart driver
+   */
+  public final ChartDriver getChartDriver() {
+    return this.m_driver;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final UncheckedLineChart2D lineChart2D() {
+    return new UncheckedLineChart2D(this);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final UncheckedPieChart pieChart() {
+    return new UncheckedPieChart(this);
+  }
+}
@@ -0,0 +1,217 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.util.ArrayList;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.utils.chart.spec.ELegendMode;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.chart.spec.ILine2D;
+import org.optimizationBenchmarking.utils.chart.spec.ILineChart2D;
+import org.optimizationBenchmarking.utils.error.ErrorUtils;
+import org.optimizationBenchmarking.utils.error.RethrowMode;
+import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.text.TextUtils;
+
+/**
+ * The unchecked builder for two-dimensional line charts, which produces
+ * the same {@link CompiledLineChart2D} as {@link LineChart2D}, but
+ * neither locks nor validates the order of the calls.
+ *
+ * @see UncheckedChartSelector
+ */
+public final class UncheckedLineChart2D implements ILineChart2D {
+
+  /** the graphic */
+  private final Graphics2D m_graphic;
+
+  /** the logger */
+  private final Logger m_logger;
+
+  /** the chart driver */
+  final ChartDriver m_driver;
+
+  /** the style set */
+  final IBasicStyles m_styles;
+
+  /** the defaults of the style set */
+  final _StyleDefaults m_defaults;
+
+  /** the title */
+  private String m_title;
+
+  /** the title font */
+  private Font m_titleFont;
+
+  /** the legend mode */
+  private ELegendMode m_legendMode;
+
+  /** the x-axis */
+  private _UncheckedAxis m_xAxis;
+
+  /** the y-axis */
+  private _UncheckedAxis m_yAxis;
+
+  /** the lines */
+  private final ArrayList<CompiledLine2D> m_lines;
+
+  /** the id counter */
+  private int m_idCounter;
+
+  /** the compiled chart, if the chart is only compiled */
+  private CompiledLineChart2D m_compiled;
+
+  /**
+   * create the line chart
+   *
+   * @param selector
+   *          the selector
+   */
+  UncheckedLineChart2D(final UncheckedChartSelector selector) {
+    super();
+    this.m_graphic = selector.m_graphic;
+    this.m_logger = selector._getLogger();
+    this.m_driver = selector.m_driver;
+    this.m_styles = selector.m_styles;
+    this.m_defaults = selector.m_driver
+        ._getStyleDefaults(selector.m_styles);
+    this.m_legendMode = ELegendMode.SHOW_COMPLETE_LEGEND;
+    this.m_lines = new ArrayList<>();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setTitle(final String title) {
+    this.m_title = TextUtils.normalize(title);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setTitleFont(final Font titleFont) {
+    this.m_titleFont = titleFont;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setLegendMode(final ELegendMode legendMode) {
+    this.m_legendMode = legendMode;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IAxis xAxis() {
+    return (this.m_xAxis = new _UncheckedAxis(this, 0));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IAxis yAxis() {
+    return (this.m_yAxis = new _UncheckedAxis(this, 1));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ILine2D line() {
+    return new _UncheckedLine2D(this, (++this.m_idCounter));
+  }
+
+  /**
+   * Add a new line
+   *
+   * @param line
+   *          the line
+   * @param originalData
+   *          the original data to be aggregated over
+   */
+  final void _addLine(final CompiledLine2D line,
+      final IMatrix originalData) {
+    this.m_xAxis._registerData(originalData);
+    this.m_yAxis._registerData(originalData);
+    // detect the order of the x-coordinates once, while adding the line
+    line.getDomainOrder();
+    this.m_lines.add(_Line2DReducer._compact(line));
+  }
+
+  /**
+   * Add many lines at once, without creating one line builder per line
+   *
+   * @param data
+   *          the data of the lines
+   * @param colors
+   *          the colors of the lines, one per line
+   * @param strokes
+   *          the strokes of the lines, or {@code null} to use the default
+   *          stroke for all lines; single elements may be {@code null}, too
+   * @param titles
+   *          the titles of the lines, or {@code null} if the lines have no
+   *          titles; single elements may be {@code null}, too
+   * @param type
+   *          the line type of all lines
+   * @see LineChart2D#addLines(IMatrix[], Color[], Stroke[], String[],
+   *      ELineType)
+   */
+  public final void addLines(final IMatrix[] data, final Color[] colors,
+      final Stroke[] strokes, final String[] titles, final ELineType type) {
+    final CompiledLine2D[] lines;
+    int index;
+
+    lines = LineChart2D._compileLines(this.m_idCounter, this.m_defaults,
+        data, colors, strokes, titles, type);
+    this.m_idCounter += lines.length;
+    this.m_lines.ensureCapacity(this.m_lines.size() + lines.length);
+    for (index = 0; index < lines.length; index++) {
+      this._addLine(lines[index], data[index]);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void close() {
+    CompiledLineChart2D chart;
+
+    chart = null;
+    try {
+      chart = LineChart2D._compile(this.m_title,
+          Chart._compileTitleFont(this.m_driver, this.m_styles,
+              this.m_defaults, this.m_title, this.m_titleFont),
+          this.m_legendMode, this.m_xAxis._getAxis(),
+          this.m_yAxis._getAxis(), this.m_lines, null,
+          ELineChartRendering.DEFAULT);
+    } catch (final Throwable error) {
+      ErrorUtils.logError(this.m_logger,
+          "Unrecoverable error during compilation of unchecked 2D line chart.", //$NON-NLS-1$
+          error, true, RethrowMode.AS_RUNTIME_EXCEPTION);
+    }
+
+    if (this.m_graphic == null) {
+      this.m_compiled = chart;
+      return;
+    }
+
+    try {
+      this.m_driver.renderLineChart2D(this.m_driver.prepareLineChart2D(
+          chart, this.m_graphic, this.m_logger), this.m_graphic,
+          this.m_logger);
+    } catch (final Throwable error) {
+      ErrorUtils.logError(this.m_logger,
+          "Unrecoverable error during rendering of compiled unchecked 2D line chart.", //$NON-NLS-1$
+          error, true, RethrowMode.AS_RUNTIME_EXCEPTION);
+    }
+  }
+
+  /**
+   * Get the compiled chart of a chart created via
+   * {@link ChartDriver#compileUnchecked(org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles, Logger)}
+   *
+   * @return the compiled chart, or {@code null} if the chart has not been
+   *         closed yet or was rendered directly
+   */
+  public final CompiledLineChart2D getCompiledChart() {
+    return this.m_compiled;
+  }
+}
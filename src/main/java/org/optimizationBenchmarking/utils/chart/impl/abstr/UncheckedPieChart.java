@@ -0,0 +1,180 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.utils.chart.spec.ELegendMode;
+import org.optimizationBenchmarking.utils.chart.spec.IDataScalar;
+import org.optimizationBenchmarking.utils.chart.spec.IPieChart;
+import org.optimizationBenchmarking.utils.error.ErrorUtils;
+import org.optimizationBenchmarking.utils.error.RethrowMode;
+import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
+import org.optimizationBenchmarking.utils.text.TextUtils;
+
+/**
+ * The unchecked builder for pie charts, which produces the same
+ * {@link CompiledPieChart} as {@link PieChart}, but neither locks nor
+ * validates the order of the calls.
+ *
+ * @see UncheckedChartSelector
+ */
+public final class UncheckedPieChart implements IPieChart {
+
+  /** the graphic */
+  private final Graphics2D m_graphic;
+
+  /** the logger */
+  private final Logger m_logger;
+
+  /** the chart driver */
+  final ChartDriver m_driver;
+
+  /** the style set */
+  final IBasicStyles m_styles;
+
+  /** the defaults of the style set */
+  final _StyleDefaults m_defaults;
+
+  /** the title */
+  private String m_title;
+
+  /** the title font */
+  private Font m_titleFont;
+
+  /** the legend mode */
+  private ELegendMode m_legendMode;
+
+  /** the slices */
+  private final ArrayList<CompiledDataScalar> m_slices;
+
+  /** the id counter */
+  private int m_idCounter;
+
+  /** the compiled chart, if the chart is only compiled */
+  private CompiledPieChart m_compiled;
+
+  /**
+   * create the pie chart
+   *
+   * @param selector
+   *          the selector
+   */
+  UncheckedPieChart(final UncheckedChartSelector selector) {
+    super();
+    this.m_graphic = selector.m_graphic;
+    this.m_logger = selector._getLogger();
+    this.m_driver = selector.m_driver;
+    this.m_styles = selector.m_styles;
+    this.m_defaults = selector.m_driver
+        ._getStyleDefaults(selector.m_styles);
+    this.m_legendMode = ELegendMode.SHOW_COMPLETE_LEGEND;
+    this.m_slices = new ArrayList<>();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setTitle(final String title) {
+    this.m_title = TextUtils.normalize(title);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setTitleFont(final Font titleFont) {
+    this.m_titleFont = titleFont;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setLegendMode(final ELegendMode legendMode) {
+    this.m_legendMode = legendMode;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IDataScalar slice() {
+    return new _UncheckedDataScalar(this, (++this.m_idCounter));
+  }
+
+  /**
+   * Add a new slice
+   *
+   * @param slice
+   *          the slice
+   */
+  final void _addSlice(final CompiledDataScalar slice) {
+    this.m_slices.add(slice);
+  }
+
+  /**
+   * Add many slices at once, without creating one slice builder per slice
+   *
+   * @param values
+   *          the values of the slices
+   * @param titles
+   *          the titles of the slices, or {@code null} if the slices have
+   *          no titles; single elements may be {@code null}, too
+   * @param colors
+   *          the colors of the slices, one per slice
+   * @param strokes
+   *          the strokes of the slices, or {@code null} to use the default
+   *          stroke for all slices; single elements may be {@code null},
+   *          too
+   * @see PieChart#addSlices(double[], String[], Color[], Stroke[])
+   */
+  public final void addSlices(final double[] values, final String[] titles,
+      final Color[] colors, final Stroke[] strokes) {
+    final CompiledDataScalar[] slices;
+
+    slices = PieChart._compileSlices(this.m_idCounter, this.m_defaults,
+        values, titles, colors, strokes);
+    this.m_idCounter += slices.length;
+    this.m_slices.addAll(Arrays.asList(slices));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void close() {
+    CompiledPieChart chart;
+
+    chart = null;
+    try {
+      chart = PieChart._compile(this.m_title,
+          Chart._compileTitleFont(this.m_driver, this.m_styles,
+              this.m_defaults, this.m_title, this.m_titleFont),
+          this.m_legendMode, this.m_slices);
+    } catch (final Throwable error) {
+      ErrorUtils.logError(this.m_logger,
+          "Unrecoverable error during compilation of unchecked pie chart.", //$NON-NLS-1$
+          error, true, RethrowMode.AS_RUNTIME_EXCEPTION);
+    }
+
+    if (this.m_graphic == null) {
+      this.m_compiled = chart;
+      return;
+    }
+
+    try {
+      this.m_driver.renderPieChart(chart, this.m_graphic, this.m_logger);
+    } catch (final Throwable error) {
+      ErrorUtils.logError(this.m_logger,
+          "Unrecoverable error during rendering of compiled unchecked pie chart.", //$NON-NLS-1$
+          error, true, RethrowMode.AS_RUNTIME_EXCEPTION);
+    }
+  }
+
+  /**
+   * Get the compiled chart of a chart created via
+   * {@link ChartDriver#compileUnchecked(org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles, Logger)}
+   *
+   * @return the compiled chart, or {@code null} if the chart has not been
+   *         closed yet or was rendered directly
+   */
+  public final CompiledPieChart getCompiledChart() {
+    return this.m_compiled;
+  }
+}
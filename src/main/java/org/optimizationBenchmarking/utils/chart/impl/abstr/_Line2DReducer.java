@@ -0,0 +1,754 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+import org.optimizationBenchmarking.utils.math.matrix.impl.LongMatrix1D;
+
+/**
+ * <p>
+ * The reduction stage for 2D line charts: Lines with more points than
+ * could possibly be distinguished on the target graphic are reduced to a
+ * point budget which depends only on the width of the graphic (in device
+ * pixels). Depending on the {@link ELineReduction} of a line, this is done
+ * with the Largest-Triangle-Three-Buckets (LTTB) algorithm or with M4
+ * aggregation. Rows with a {@link Double#NaN} coordinate interrupt a
+ * line when it is drawn, so both algorithms keep them and reduce the
+ * parts of the line between them separately.
+ * </p>
+ * <p>
+ * The lines of a chart are reduced in parallel. The reduction picks
+ * original data points only, i.e., it does not invent new coordinates.
+ * Stair-type lines (see
+ * {@link org.optimizationBenchmarking.utils.chart.spec.ELineType#STAIRS_KEEP_LEFT}
+ * and
+ * {@link org.optimizationBenchmarking.utils.chart.spec.ELineType#STAIRS_PREVIEW_RIGHT}
+ * ) are treated differently: Their plateaus (runs of equal {@code y}
+ * values) are compacted losslessly to a single segment, which does not
+ * change the rendered shape at all. This happens once, via
+ * {@link #_compact(CompiledLine2D)}, when the line is added to its chart,
+ * so every driver and every render target gets the compacted line,
+ * whether it goes through the reduction stage or not. If they still exceed
+ * their budget, they are always reduced with M4 aggregation, regardless of
+ * their {@link ELineReduction}: LTTB would drop real steps and thus move
+ * the edges of the stairs, while M4 keeps the first and last point of
+ * every pixel column, so every step crossing a column boundary is kept
+ * exactly.
+ * </p>
+ */
+final class _Line2DReducer {
+
+  /** the number of points per pixel for LTTB: {@value} */
+  private static final int POINTS_PER_PIXEL = 2;
+
+  /** the number of points per pixel column for M4: {@value} */
+  private static final int POINTS_PER_COLUMN = 4;
+
+  /** the minimum number of points we would reduce a line to: {@value} */
+  private static final int MIN_POINTS = 16;
+
+  /** the forbidden constructor */
+  private _Line2DReducer() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the number of points a line may have before it gets reduced
+   *
+   * @param line
+   *          the line
+   * @param pixels
+   *          the width of the graphic in pixels
+   * @return the point budget
+   */
+  static final int _getBudget(final CompiledLine2D line,
+      final int pixels) {
+    final int budget;
+
+    switch (line.getReduction()) {
+      case LARGEST_TRIANGLE_THREE_BUCKETS: {
+        budget = (pixels * (_Line2DReducer.__isStairType(line.getType())//
+            ? _Line2DReducer.POINTS_PER_COLUMN
+            : _Line2DReducer.POINTS_PER_PIXEL));
+        break;
+      }
+      case MIN_MAX_FIRST_LAST: {
+        budget = (pixels * _Line2DReducer.POINTS_PER_COLUMN);
+        break;
+      }
+      default: {
+        return Integer.MAX_VALUE;
+      }
+    }
+    return Math.max(_Line2DReducer.MIN_POINTS, budget);
+  }
+
+  /**
+   * Check whether a line is a stair-type line which can be compacted
+   *
+   * @param line
+   *          the line
+   * @return {@code true} if the line is a stair line, {@code false}
+   *         otherwise
+   */
+  private static final boolean __isStairs(final CompiledLine2D line) {
+    return (_Line2DReducer.__isStairType(line.getType()) && //
+    (line.getData().m() > 2));
+  }
+
+  /**
+   * Check whether a line type is a stair type
+   *
+   * @param type
+   *          the line type
+   * @return {@code true} if the type is a stair type, {@code false}
+   *         otherwise
+   */
+  private static final boolean __isStairType(final ELineType type) {
+    switch (type) {
+      case STAIRS_KEEP_LEFT:
+      case STAIRS_PREVIEW_RIGHT: {
+        return true;
+      }
+      default: {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Losslessly compact a compiled line: The plateaus of stair-type lines
+   * are reduced to a single segment, other lines are left as they are.
+   *
+   * @param line
+   *          the line
+   * @return the compacted line, or {@code line} if nothing could be
+   *         compacted
+   */
+  static final CompiledLine2D _compact(final CompiledLine2D line) {
+    final int[] selected;
+
+    if (_Line2DReducer.__isStairs(line)) {
+      selected = _Line2DReducer._compactStairs(line.getData(),
+          line.getType());
+      if (selected[0] < line.getData().m()) {
+        return _Line2DReducer._select(line, selected, 1, selected[0]);
+      }
+    }
+    return line;
+  }
+
+  /**
+   * Reduce the lines of a given chart to a given pixel width
+   *
+   * @param chart
+   *          the chart
+   * @param pixels
+   *          the width of the graphic in pixels
+   * @return the reduced chart, or {@code chart} if no line needed to be
+   *         reduced
+   */
+  static final CompiledLineChart2D _reduce(final CompiledLineChart2D chart,
+      final int pixels) {
+    final ArrayListView<CompiledLine2D> lines;
+    final CompiledLine2D[] result;
+    final ArrayList<__ReduceLine> tasks;
+    CompiledLine2D line;
+    int index;
+    boolean changed;
+
+    lines = chart.getLines();
+    index = lines.size();
+    result = new CompiledLine2D[index];
+    tasks = new ArrayList<>();
+
+    for (; (--index) >= 0;) {
+      result[index] = line = lines.get(index);
+      if (line.getData().m() > _Line2DReducer._getBudget(line, pixels)) {
+        tasks.add(new __ReduceLine(result, index, pixels, chart
+            .getXAxis().getMinimum(), chart.getXAxis().getMaximum()));
+      }
+    }
+
+    switch (tasks.size()) {
+      case 0: {
+        return chart;
+      }
+      case 1: {
+        tasks.get(0).compute();
+        break;
+      }
+      default: {
+        ChartDriver.getForkJoinPool().invoke(new __ReduceAll(tasks));
+      }
+    }
+
+    changed = false;
+    for (index = result.length; (--index) >= 0;) {
+      if (result[index] != lines.get(index)) {
+        changed = true;
+        break;
+      }
+    }
+    if (!changed) {
+      return chart;
+    }
+
+    return new CompiledLineChart2D(chart.getTitle(), chart.getTitleFont(),
+        chart.getLegendMode(), chart.getXAxis(), chart.getYAxis(),
+        new ArrayListView<>(result, false), chart.getBands(),
+        chart.getRendering());
+  }
+
+  /**
+   * Create a copy of the given line which has only the selected points.
+   *
+   * @param line
+   *          the line
+   * @param selected
+   *          the indexes of the selected rows, in ascending order
+   * @param start
+   *          the index of the first selected row in {@code selected}
+   * @param count
+   *          the number of selected rows
+   * @return the new line
+   */
+  static final CompiledLine2D _select(final CompiledLine2D line,
+      final int[] selected, final int start, final int count) {
+    final IMatrix matrix, result;
+    final CompiledLine2D reduced;
+    final long[] longs;
+    final double[] doubles, x, y;
+    int index, row, dest;
+
+    matrix = line.getData();
+    dest = (count << 1);
+    x = new double[count];
+    y = new double[count];
+    if (matrix.isIntegerMatrix()) {
+      longs = new long[dest];
+      for (index = count; (--index) >= 0;) {
+        row = selected[start + index];
+        y[index] = longs[--dest] = matrix.getLong(row, 1);
+        x[index] = longs[--dest] = matrix.getLong(row, 0);
+      }
+      result = new LongMatrix1D(longs, count, 2);
+    } else {
+      doubles = new double[dest];
+      for (index = count; (--index) >= 0;) {
+        row = selected[start + index];
+        y[index] = doubles[--dest] = matrix.getDouble(row, 1);
+        x[index] = doubles[--dest] = matrix.getDouble(row, 0);
+      }
+      result = new DoubleMatrix1D(doubles, count, 2);
+    }
+
+    reduced = new CompiledLine2D(line.getID(), line.getTitle(),
+        line.getTitleFont(), line.getColor(), line.getStroke(), result,
+        line.getType(), line.getReduction());
+    // the selected rows keep their order
+    reduced._setDomainOrder(line.getDomainOrder());
+    reduced._setColumns(x, y);
+    return reduced;
+  }
+
+  /**
+   * Check whether a row of a data matrix interrupts the line, i.e., has a
+   * {@link Double#NaN} coordinate
+   *
+   * @param matrix
+   *          the matrix
+   * @param row
+   *          the row
+   * @return {@code true} if the row is a gap, {@code false} if it is a
+   *         point
+   */
+  private static final boolean __isGap(final IMatrix matrix,
+      final int row) {
+    final double x, y;
+
+    x = matrix.getDouble(row, 0);
+    y = matrix.getDouble(row, 1);
+    return ((x != x) || (y != y));
+  }
+
+  /**
+   * Apply the Largest-Triangle-Three-Buckets algorithm to a data matrix.
+   * Rows with a {@link Double#NaN} coordinate interrupt the line, just as
+   * they do when the line is drawn: The runs of points between them are
+   * reduced separately, each with a share of the budget proportional to
+   * its number of points, and the first row of every gap is kept, so
+   * gaps neither enter the bucket averages nor move the selected points.
+   *
+   * @param matrix
+   *          the matrix
+   * @param budget
+   *          the number of points to select, must be at least 3 and less
+   *          than {@code matrix.m()}
+   * @return the indexes of the selected rows, in ascending order, with
+   *         the number of selected rows stored at index 0 and the rows
+   *         starting at index 1
+   */
+  static final int[] _lttb(final IMatrix matrix, final int budget) {
+    final int m;
+    final int[] selected;
+    int points, runs, row, start, length, count;
+    boolean gap;
+
+    m = matrix.m();
+    points = runs = 0;
+    gap = true;
+    for (row = 0; row < m; row++) {
+      if (_Line2DReducer.__isGap(matrix, row)) {
+        gap = true;
+      } else {
+        points++;
+        if (gap) {
+          runs++;
+          gap = false;
+        }
+      }
+    }
+
+    // each run may get up to three points more than its share, and each
+    // gap keeps one row
+    selected = new int[2 + budget + (runs << 2)];
+    count = 0;
+    start = (-1);
+    gap = false;
+    for (row = 0; row <= m; row++) {
+      if ((row < m) && (!(_Line2DReducer.__isGap(matrix, row)))) {
+        if (start < 0) {
+          start = row;
+        }
+        gap = false;
+        continue;
+      }
+
+      if (start >= 0) {
+        length = (row - start);
+        count = _Line2DReducer.__lttb(matrix, start, row,
+            Math.max(3, ((int) ((((long) budget) * length) / points))),
+            selected, count);
+        start = (-1);
+      }
+      if ((row < m) && (!gap)) {
+        selected[++count] = row;
+        gap = true;
+      }
+    }
+
+    selected[0] = count;
+    return selected;
+  }
+
+  /**
+   * Apply the Largest-Triangle-Three-Buckets algorithm to a run of rows
+   * without gaps
+   *
+   * @param matrix
+   *          the matrix
+   * @param start
+   *          the first row of the run
+   * @param end
+   *          the end row of the run (exclusive)
+   * @param budget
+   *          the number of points to select, at least 3
+   * @param selected
+   *          the array receiving the indexes of the selected rows
+   * @param count
+   *          the number of rows selected so far
+   * @return the number of rows selected afterwards
+   */
+  private static final int __lttb(final IMatrix matrix, final int start,
+      final int end, final int budget, final int[] selected,
+      final int count) {
+    final int m, buckets;
+    final double every;
+    int bucket, result, first, last, nextStart, nextEnd, row, chosen;
+    double ax, ay, avgX, avgY, x, y, area, maxArea;
+
+    m = (end - start);
+    result = count;
+    if (m <= budget) {
+      for (row = start; row < end; row++) {
+        selected[++result] = row;
+      }
+      return result;
+    }
+
+    buckets = (budget - 2);
+    every = (((double) (m - 2)) / buckets);
+
+    chosen = start;
+    selected[++result] = start;
+    last = (start + 1);
+
+    for (bucket = 0; bucket < buckets; bucket++) {
+      first = last;
+      last = Math.min(end - 1, start + ((int) ((bucket + 1) * every)) + 1);
+      nextStart = last;
+      nextEnd = Math.min(end, start + ((int) ((bucket + 2) * every)) + 1);
+
+      avgX = avgY = 0d;
+      for (row = nextStart; row < nextEnd; row++) {
+        avgX += matrix.getDouble(row, 0);
+        avgY += matrix.getDouble(row, 1);
+      }
+      row = (nextEnd - nextStart);
+      if (row > 0) {
+        avgX /= row;
+        avgY /= row;
+      }
+
+      ax = matrix.getDouble(chosen, 0);
+      ay = matrix.getDouble(chosen, 1);
+      maxArea = Double.NEGATIVE_INFINITY;
+      for (row = first; row < last; row++) {
+        x = matrix.getDouble(row, 0);
+        y = matrix.getDouble(row, 1);
+        area = Math.abs(((ax - avgX) * (y - ay)) - ((ax - x) * (avgY - ay)));
+        if ((area > maxArea) || (row == first)) {
+          maxArea = area;
+          chosen = row;
+        }
+      }
+      selected[++result] = chosen;
+    }
+
+    selected[++result] = (end - 1);
+    return result;
+  }
+
+  /**
+   * Compact the plateaus of a stair-type line. For
+   * {@link ELineType#STAIRS_KEEP_LEFT}, a row is dropped if it has the same
+   * {@code y} value as its predecessor, as the horizontal segment then
+   * simply continues through it. For
+   * {@link ELineType#STAIRS_PREVIEW_RIGHT}, a row is dropped if it has the
+   * same {@code y} value as its successor. In both cases, a row is only
+   * dropped if its {@code x} value lies between the {@code x} values of
+   * the last kept row and the next row, so the drawn segments cover
+   * exactly the same coordinates as before. The first and last row are
+   * always kept. Rows with {@link Double#NaN} as {@code y} value are
+   * never dropped, since they interrupt the line.
+   *
+   * @param matrix
+   *          the matrix
+   * @param type
+   *          the line type
+   * @return the indexes of the selected rows, in ascending order, with
+   *         the number of selected rows stored at index 0 and the rows
+   *         starting at index 1
+   */
+  static final int[] _compactStairs(final IMatrix matrix,
+      final ELineType type) {
+    final int m;
+    final boolean keepLeft, isInteger;
+    final int[] selected;
+    int count, row, other;
+    double keptX, x, nextX;
+
+    m = matrix.m();
+    keepLeft = (type == ELineType.STAIRS_KEEP_LEFT);
+    isInteger = matrix.isIntegerMatrix();
+    selected = new int[m + 1];
+
+    selected[count = 1] = 0;
+    keptX = matrix.getDouble(0, 0);
+    nextX = matrix.getDouble(1, 0);
+
+    for (row = 1; row < (m - 1); row++) {
+      x = nextX;
+      nextX = matrix.getDouble(row + 1, 0);
+      other = (keepLeft ? (row - 1) : (row + 1));
+
+      if ((isInteger ? (matrix.getLong(row, 1) == matrix.getLong(other, 1))
+          : (matrix.getDouble(row, 1) == matrix.getDouble(other, 1)))
+          && (((keptX <= x) && (x <= nextX)) || //
+          ((keptX >= x) && (x >= nextX)))) {
+        continue;
+      }
+
+      selected[++count] = row;
+      keptX = x;
+    }
+
+    selected[++count] = (m - 1);
+    selected[0] = count;
+    return selected;
+  }
+
+  /**
+   * Apply M4 aggregation to a data matrix: For every run of consecutive
+   * points which fall into the same horizontal pixel column, only the
+   * first, last, minimum, and maximum point are kept. Points left or right
+   * of the axis range are collected in one column on either side, so
+   * segments entering or leaving the plot stay exact. Rows with
+   * {@link Double#NaN} as {@code y} value never become the minimum or
+   * maximum of a column. If the axis range is empty or not finite, there
+   * are no columns to aggregate and all rows are selected.
+   *
+   * @param matrix
+   *          the matrix
+   * @param min
+   *          the minimum of the x-axis
+   * @param max
+   *          the maximum of the x-axis
+   * @param pixels
+   *          the number of pixel columns between {@code min} and
+   *          {@code max}
+   * @return the indexes of the selected rows, in ascending order, with
+   *         the number of selected rows stored at index 0 and the rows
+   *         starting at index 1
+   */
+  static final int[] _m4(final IMatrix matrix, final double min,
+      final double max, final int pixels) {
+    final int m;
+    final double scale;
+    int[] selected;
+    int count, row, first, minRow, maxRow, column, current, low, high;
+    double x, y, minY, maxY;
+
+    m = matrix.m();
+    if (!(_Line2DReducer.__hasColumns(min, max, pixels))) {
+      selected = new int[m + 1];
+      for (row = m; row > 0; row--) {
+        selected[row] = (row - 1);
+      }
+      selected[0] = m;
+      return selected;
+    }
+
+    scale = (pixels / (max - min));
+    selected = new int[1 + Math.min(m, (_Line2DReducer.POINTS_PER_COLUMN
+        * (pixels + 2)))];
+    count = 0;
+
+    first = minRow = maxRow = 0;
+    minY = maxY = matrix.getDouble(0, 1);
+    current = _Line2DReducer.__column(matrix.getDouble(0, 0), min, max,
+        scale, pixels);
+
+    for (row = 1; row <= m; row++) {
+      if (row < m) {
+        x = matrix.getDouble(row, 0);
+        y = matrix.getDouble(row, 1);
+        column = _Line2DReducer.__column(x, min, max, scale, pixels);
+        if (column == current) {
+          if (y == y) {
+            // a column starting with NaN is seeded by its first number
+            if ((y < minY) || (minY != minY)) {
+              minY = y;
+              minRow = row;
+            }
+            if ((y > maxY) || (maxY != maxY)) {
+              maxY = y;
+              maxRow = row;
+            }
+          }
+          continue;
+        }
+      } else {
+        y = 0d;
+        column = current;
+      }
+
+      // the column ended: store first, extrema, and last point in order
+      if ((count + 4) >= selected.length) {
+        selected = Arrays.copyOf(selected, Math.min(m + 1, //
+            (selected.length << 1)));
+      }
+      low = Math.min(minRow, maxRow);
+      high = Math.max(minRow, maxRow);
+      selected[++count] = first;
+      if (low > first) {
+        selected[++count] = low;
+      }
+      if (high > low) {
+        selected[++count] = high;
+      }
+      if ((row - 1) > selected[count]) {
+        selected[++count] = (row - 1);
+      }
+
+      first = minRow = maxRow = row;
+      minY = maxY = y;
+      current = column;
+    }
+
+    selected[0] = count;
+    return selected;
+  }
+
+  /**
+   * Check whether an axis range can be divided into pixel columns
+   *
+   * @param min
+   *          the minimum of the x-axis
+   * @param max
+   *          the maximum of the x-axis
+   * @param pixels
+   *          the number of pixel columns
+   * @return {@code true} if the range is non-empty and the width of a
+   *         column is finite and positive, {@code false} otherwise
+   */
+  private static final boolean __hasColumns(final double min,
+      final double max, final int pixels) {
+    final double scale;
+
+    if (!((max - min) > 0d)) {
+      return false;
+    }
+    scale = (pixels / (max - min));
+    return ((scale > 0d) && (scale < Double.POSITIVE_INFINITY));
+  }
+
+  /**
+   * Get the pixel column of a given x-coordinate
+   *
+   * @param x
+   *          the x-coordinate
+   * @param min
+   *          the minimum of the x-axis
+   * @param max
+   *          the maximum of the x-axis
+   * @param scale
+   *          the number of pixels per unit
+   * @param pixels
+   *          the number of pixel columns
+   * @return the column
+   */
+  private static final int __column(final double x, final double min,
+      final double max, final double scale, final int pixels) {
+    if (x < min) {
+      return (-1);
+    }
+    if (x > max) {
+      return pixels;
+    }
+    if (x <= max) {
+      return Math.min((pixels - 1), ((int) ((x - min) * scale)));
+    }
+    return (-2);// NaN
+  }
+
+  /** the task to reduce a single line */
+  private static final class __ReduceLine extends RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the lines */
+    private final CompiledLine2D[] m_lines;
+
+    /** the index of the line to reduce */
+    private final int m_index;
+
+    /** the width of the graphic in pixels */
+    private final int m_pixels;
+
+    /** the minimum of the x-axis */
+    private final double m_min;
+
+    /** the maximum of the x-axis */
+    private final double m_max;
+
+    /**
+     * create the task
+     *
+     * @param lines
+     *          the lines
+     * @param index
+     *          the index of the line to reduce
+     * @param pixels
+     *          the width of the graphic in pixels
+     * @param min
+     *          the minimum of the x-axis
+     * @param max
+     *          the maximum of the x-axis
+     */
+    __ReduceLine(final CompiledLine2D[] lines, final int index,
+        final int pixels, final double min, final double max) {
+      super();
+      this.m_lines = lines;
+      this.m_index = index;
+      this.m_pixels = pixels;
+      this.m_min = min;
+      this.m_max = max;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void compute() {
+      CompiledLine2D line;
+      int[] selected;
+
+      line = this.m_lines[this.m_index];
+      switch (line.getReduction()) {
+        case LARGEST_TRIANGLE_THREE_BUCKETS: {
+          if (!(_Line2DReducer.__isStairType(line.getType()))) {
+            selected = _Line2DReducer._lttb(line.getData(),
+                _Line2DReducer._getBudget(line, this.m_pixels));
+            if (selected[0] < line.getData().m()) {
+              this.m_lines[this.m_index] = _Line2DReducer._select(line,
+                  selected, 1, selected[0]);
+            }
+            return;
+          }
+          // stair lines must keep their steps: reduce them per column
+        }
+        //$FALL-THROUGH$
+        case MIN_MAX_FIRST_LAST: {
+          if (!(_Line2DReducer.__hasColumns(this.m_min, this.m_max,
+              this.m_pixels))) {
+            return;
+          }
+          selected = _Line2DReducer._m4(line.getData(), this.m_min,
+              this.m_max, this.m_pixels);
+          if (selected[0] < line.getData().m()) {
+            this.m_lines[this.m_index] = _Line2DReducer._select(line,
+                selected, 1, selected[0]);
+          }
+          return;
+        }
+        default: {
+          return;
+        }
+      }
+    }
+  }
+
+  /** the task to reduce several lines in parallel */
+  private static final class __ReduceAll extends RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the tasks */
+    private final ArrayList<__ReduceLine> m_tasks;
+
+    /**
+     * create the task
+     *
+     * @param tasks
+     *          the tasks
+     */
+    __ReduceAll(final ArrayList<__ReduceLine> tasks) {
+      super();
+      this.m_tasks = tasks;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void compute() {
+      ForkJoinTask.invokeAll(this.m_tasks);
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.util.Arrays;
+
+import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+
+/**
+ * A read-only two-column matrix backed directly by the primitive arrays
+ * of x- and y-coordinates handed to
+ * {@link Line2D#setData(double[], double[], int, int)} or
+ * {@link Line2D#setData(long[], double[], int, int)}. The arrays are not
+ * copied: If they are used as a whole and the x-coordinates are
+ * {@code double}s, they become the {@link CompiledLine2D#getXValues()
+ * packed columns} of the compiled line and reach the drivers unchanged,
+ * unless they contain coordinates which need to be clamped.
+ * The axis aggregation runs over the arrays as well, instead of reading
+ * the matrix cell by cell.
+ */
+final class _PackedMatrix extends AbstractMatrix {
+
+  /** the x-coordinates, if they are integers */
+  private final long[] m_longX;
+
+  /** the x-coordinates, if they are floating point numbers */
+  private final double[] m_doubleX;
+
+  /** the y-coordinates */
+  private final double[] m_y;
+
+  /** the index of the first point in the arrays */
+  private final int m_offset;
+
+  /** the number of points */
+  private final int m_m;
+
+  /**
+   * create the matrix
+   *
+   * @param longX
+   *          the integer x-coordinates, or {@code null}
+   * @param doubleX
+   *          the floating point x-coordinates, or {@code null}
+   * @param y
+   *          the y-coordinates
+   * @param offset
+   *          the index of the first point in the arrays
+   * @param length
+   *          the number of points
+   */
+  private _PackedMatrix(final long[] longX, final double[] doubleX,
+      final double[] y, final int offset, final int length) {
+    super();
+    this.m_longX = longX;
+    this.m_doubleX = doubleX;
+    this.m_y = y;
+    this.m_offset = offset;
+    this.m_m = length;
+  }
+
+  /**
+   * Create a matrix over a range of primitive coordinate arrays
+   *
+   * @param longX
+   *          the integer x-coordinates, or {@code null} if
+   *          {@code doubleX} is given
+   * @param doubleX
+   *          the floating point x-coordinates, or {@code null} if
+   *          {@code longX} is given
+   * @param y
+   *          the y-coordinates
+   * @param offset
+   *          the index of the first point in the arrays
+   * @param length
+   *          the number of points
+   * @return the matrix
+   */
+  static final _PackedMatrix _create(final long[] longX,
+      final double[] doubleX, final double[] y, final int offset,
+      final int length) {
+    final int size;
+
+    if (((longX == null) && (doubleX == null)) || (y == null)) {
+      throw new IllegalArgumentException(//
+          "Coordinate arrays cannot be null."); //$NON-NLS-1$
+    }
+    size = ((longX != null) ? longX.length : doubleX.length);
+    if ((length <= 0) || (offset < 0) || (offset > (size - length))
+        || (offset > (y.length - length))) {
+      throw new IllegalArgumentException(//
+          "Cannot use " + length + //$NON-NLS-1$
+              " points starting at index " + offset + //$NON-NLS-1$
+              " of " + size + //$NON-NLS-1$
+              " x-coordinates and " + y.length + //$NON-NLS-1$
+              " y-coordinates as data series."); //$NON-NLS-1$
+    }
+    return new _PackedMatrix(longX, doubleX, y, offset, length);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int m() {
+    return this.m_m;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int n() {
+    return 2;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isIntegerMatrix() {
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int row, final int column) {
+    if (column <= 0) {
+      if (this.m_longX != null) {
+        return this.m_longX[this.m_offset + row];
+      }
+      return this.m_doubleX[this.m_offset + row];
+    }
+    return this.m_y[this.m_offset + row];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int row, final int column) {
+    if ((column <= 0) && (this.m_longX != null)) {
+      return this.m_longX[this.m_offset + row];
+    }
+    return ((long) (this.getDouble(row, column)));
+  }
+
+  /**
+   * Get a column as packed array of exactly {@link #m()} elements: the
+   * original array if it is used as a whole, otherwise a copy of the used
+   * range
+   *
+   * @param column
+   *          the column
+   * @return the column
+   */
+  final double[] _getColumn(final int column) {
+    final double[] result;
+    final int end;
+    int i;
+
+    end = (this.m_offset + this.m_m);
+    if ((column <= 0) && (this.m_longX != null)) {
+      result = new double[this.m_m];
+      for (i = this.m_m; (--i) >= 0;) {
+        result[i] = this.m_longX[this.m_offset + i];
+      }
+      return result;
+    }
+
+    result = ((column <= 0) ? this.m_doubleX : this.m_y);
+    if ((this.m_offset == 0) && (end == result.length)) {
+      return result;
+    }
+    return Arrays.copyOfRange(result, this.m_offset, end);
+  }
+
+  /**
+   * Aggregate a column of a matrix, directly over the arrays if the
+   * matrix is packed
+   *
+   * @param data
+   *          the matrix
+   * @param column
+   *          the column
+   * @param aggregate
+   *          the aggregate
+   */
+  static final void _aggregateColumn(final IMatrix data,
+      final int column, final IAggregate aggregate) {
+    final _PackedMatrix packed;
+    final double[] doubles;
+    final int end;
+    int i;
+
+    if (!(data instanceof _PackedMatrix)) {
+      data.aggregateColumn(column, aggregate);
+      return;
+    }
+
+    packed = ((_PackedMatrix) data);
+    end = (packed.m_offset + packed.m_m);
+    if ((column <= 0) && (packed.m_longX != null)) {
+      for (i = packed.m_offset; i < end; i++) {
+        aggregate.append(packed.m_longX[i]);
+      }
+      return;
+    }
+
+    doubles = ((column <= 0) ? packed.m_doubleX : packed.m_y);
+    for (i = packed.m_offset; i < end; i++) {
+      aggregate.append(doubles[i]);
+    }
+  }
+}
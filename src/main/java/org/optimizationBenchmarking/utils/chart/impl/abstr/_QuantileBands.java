@@ -0,0 +1,477 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * <p>
+ * The computation of quantile bands over a group of runs: All runs are
+ * evaluated on a common grid, and at each grid point, the lower
+ * quantile, the median, and the upper quantile of the values of the runs
+ * which cover that point are computed. The grid is the union of the
+ * x-coordinates of all runs, so that the band changes exactly where a
+ * run changes. If there are more than {@value #MAX_GRID} distinct
+ * coordinates, the grid is thinned to that many of them, evenly spaced
+ * in their sorted order, always keeping the smallest and largest one.
+ * </p>
+ * <p>
+ * The runs are evaluated according to their line type: Stair-type runs
+ * hold their values, other runs are interpolated linearly. The quantiles
+ * are the nearest-rank order statistics, found with Hoare's selection
+ * algorithm in expected linear time instead of sorting the values at
+ * every grid point. The median is selected first, which partitions the
+ * values so that the lower and upper quantiles only need to be selected
+ * from the respective halves. The grid is processed in parallel chunks,
+ * each of which walks the sorted runs with one cursor per run.
+ * </p>
+ */
+final class _QuantileBands {
+
+  /** the maximum number of grid points: {@value} */
+  static final int MAX_GRID = 1024;
+
+  /** the maximum number of grid points processed by one task */
+  private static final int CHUNK = 64;
+
+  /** the x-coordinates of the runs, sorted */
+  private final double[][] m_runX;
+
+  /** the y-coordinates of the runs */
+  private final double[][] m_runY;
+
+  /** the line type */
+  private final ELineType m_type;
+
+  /** the lower quantile */
+  private final double m_lowerQuantile;
+
+  /** the upper quantile */
+  private final double m_upperQuantile;
+
+  /** the x-coordinates of the grid */
+  final double[] m_x;
+
+  /** the lower quantiles */
+  final double[] m_lower;
+
+  /** the medians */
+  final double[] m_median;
+
+  /** the upper quantiles */
+  final double[] m_upper;
+
+  /**
+   * create the quantile bands
+   *
+   * @param runs
+   *          the runs
+   * @param type
+   *          the line type
+   * @param lower
+   *          the lower quantile
+   * @param upper
+   *          the upper quantile
+   */
+  private _QuantileBands(final IMatrix[] runs, final ELineType type,
+      final double lower, final double upper) {
+    super();
+
+    int index, size, total;
+
+    this.m_type = type;
+    this.m_lowerQuantile = lower;
+    this.m_upperQuantile = upper;
+    this.m_runX = new double[runs.length][];
+    this.m_runY = new double[runs.length][];
+
+    total = 0;
+    for (index = runs.length; (--index) >= 0;) {
+      this.__load(index, runs[index]);
+      total += this.m_runX[index].length;
+    }
+
+    this.m_x = _QuantileBands.__grid(this.m_runX, total);
+    size = this.m_x.length;
+    this.m_lower = new double[size];
+    this.m_median = new double[size];
+    this.m_upper = new double[size];
+  }
+
+  /**
+   * Build the grid from the x-coordinates of all runs
+   *
+   * @param runX
+   *          the sorted x-coordinates of the runs
+   * @param total
+   *          the total number of x-coordinates
+   * @return the sorted, distinct x-coordinates of the grid
+   */
+  private static final double[] __grid(final double[][] runX,
+      final int total) {
+    final double[] all, grid;
+    int index, count;
+
+    all = new double[total];
+    count = 0;
+    for (final double[] x : runX) {
+      System.arraycopy(x, 0, all, count, x.length);
+      count += x.length;
+    }
+    Arrays.sort(all);
+
+    count = 0;
+    for (index = 0; index < all.length; index++) {
+      if ((count <= 0) || (all[index] != all[count - 1])) {
+        all[count++] = all[index];
+      }
+    }
+    if (count <= _QuantileBands.MAX_GRID) {
+      return ((count < all.length) ? Arrays.copyOf(all, count) : all);
+    }
+
+    grid = new double[_QuantileBands.MAX_GRID];
+    for (index = grid.length; (--index) >= 0;) {
+      grid[index] = all[(int) ((((long) index) * (count - 1))
+          / (_QuantileBands.MAX_GRID - 1))];
+    }
+    return grid;
+  }
+
+  /**
+   * Compute the quantile bands of a group of runs
+   *
+   * @param runs
+   *          the runs
+   * @param type
+   *          the line type
+   * @param lower
+   *          the lower quantile
+   * @param upper
+   *          the upper quantile
+   * @return the quantile bands
+   */
+  static final _QuantileBands _compute(final IMatrix[] runs,
+      final ELineType type, final double lower, final double upper) {
+    final _QuantileBands bands;
+    final int size;
+
+    bands = new _QuantileBands(runs, type, lower, upper);
+    size = bands.m_x.length;
+    if (size <= _QuantileBands.CHUNK) {
+      bands._compute(0, size);
+    } else {
+      ChartDriver.getForkJoinPool().invoke(new __Chunk(bands, 0, size));
+    }
+    return bands;
+  }
+
+  /**
+   * Load a run into sorted, packed arrays without {@link Double#NaN}
+   * points
+   *
+   * @param index
+   *          the index of the run
+   * @param run
+   *          the run
+   */
+  private final void __load(final int index, final IMatrix run) {
+    final int size;
+    final double[] x, y;
+    final Integer[] order;
+    double[] sortedX, sortedY;
+    double currentX, currentY;
+    boolean sorted;
+    int row, count;
+
+    size = run.m();
+    x = new double[size];
+    y = new double[size];
+    count = 0;
+    sorted = true;
+    for (row = 0; row < size; row++) {
+      currentX = run.getDouble(row, 0);
+      currentY = run.getDouble(row, 1);
+      if ((currentX != currentX) || (currentY != currentY)
+          || (Math.abs(currentX) >= Double.POSITIVE_INFINITY)) {
+        continue;
+      }
+      if ((count > 0) && (currentX < x[count - 1])) {
+        sorted = false;
+      }
+      x[count] = currentX;
+      y[count++] = currentY;
+    }
+
+    if (sorted) {
+      this.m_runX[index] = ((count < size) ? Arrays.copyOf(x, count) : x);
+      this.m_runY[index] = ((count < size) ? Arrays.copyOf(y, count) : y);
+      return;
+    }
+
+    order = new Integer[count];
+    for (row = count; (--row) >= 0;) {
+      order[row] = Integer.valueOf(row);
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public final int compare(final Integer a, final Integer b) {
+        return Double.compare(x[a.intValue()], x[b.intValue()]);
+      }
+    });
+    sortedX = new double[count];
+    sortedY = new double[count];
+    for (row = count; (--row) >= 0;) {
+      sortedX[row] = x[order[row].intValue()];
+      sortedY[row] = y[order[row].intValue()];
+    }
+    this.m_runX[index] = sortedX;
+    this.m_runY[index] = sortedY;
+  }
+
+  /**
+   * Compute the quantiles for a range of grid points
+   *
+   * @param start
+   *          the first grid point
+   * @param end
+   *          the end grid point (exclusive)
+   */
+  final void _compute(final int start, final int end) {
+    final int runs;
+    final int[] cursors;
+    final double[] values;
+    double[] x, y;
+    double gridX;
+    int point, run, cursor, count, lower, median, upper;
+
+    runs = this.m_runX.length;
+    cursors = new int[runs];
+    values = new double[runs];
+    if (start < end) {
+      gridX = this.m_x[start];
+      for (run = runs; (--run) >= 0;) {
+        // the cursor points to the last point with x <= gridX
+        cursor = Arrays.binarySearch(this.m_runX[run], gridX);
+        if (cursor < 0) {
+          cursor = ((-cursor) - 2);
+        }
+        cursors[run] = cursor;
+      }
+    }
+
+    for (point = start; point < end; point++) {
+      gridX = this.m_x[point];
+      count = 0;
+      for (run = 0; run < runs; run++) {
+        x = this.m_runX[run];
+        if ((x.length <= 0) || (gridX < x[0])
+            || (gridX > x[x.length - 1])) {
+          continue;
+        }
+        y = this.m_runY[run];
+        cursor = Math.max(0, cursors[run]);
+        while (((cursor + 1) < x.length) && (x[cursor + 1] <= gridX)) {
+          cursor++;
+        }
+        cursors[run] = cursor;
+        values[count++] = this.__value(x, y, cursor, gridX);
+      }
+
+      if (count <= 0) {
+        this.m_lower[point] = this.m_median[point] = Double.NaN;
+        this.m_upper[point] = Double.NaN;
+        continue;
+      }
+
+      lower = _QuantileBands.__rank(this.m_lowerQuantile, count);
+      median = _QuantileBands.__rank(0.5d, count);
+      upper = _QuantileBands.__rank(this.m_upperQuantile, count);
+      this.m_median[point] = _QuantileBands._select(values, 0, count,
+          median);
+      this.m_lower[point] = ((lower < median)
+          ? _QuantileBands._select(values, 0, median, lower)
+          : values[median]);
+      this.m_upper[point] = ((upper > median)
+          ? _QuantileBands._select(values, (median + 1), count, upper)
+          : values[median]);
+    }
+  }
+
+  /**
+   * Evaluate a run at an x-coordinate
+   *
+   * @param x
+   *          the x-coordinates of the run
+   * @param y
+   *          the y-coordinates of the run
+   * @param cursor
+   *          the index of the last point with x-coordinate not above
+   *          {@code gridX}
+   * @param gridX
+   *          the x-coordinate
+   * @return the value
+   */
+  private final double __value(final double[] x, final double[] y,
+      final int cursor, final double gridX) {
+    final double x0, x1;
+
+    if ((x[cursor] >= gridX) || ((cursor + 1) >= x.length)) {
+      return y[cursor];
+    }
+    switch (this.m_type) {
+      case STAIRS_KEEP_LEFT: {
+        return y[cursor];
+      }
+      case STAIRS_PREVIEW_RIGHT: {
+        return y[cursor + 1];
+      }
+      default: {
+        x0 = x[cursor];
+        x1 = x[cursor + 1];
+        return (y[cursor]
+            + (((gridX - x0) / (x1 - x0)) * (y[cursor + 1] - y[cursor])));
+      }
+    }
+  }
+
+  /**
+   * Get the nearest rank of a quantile
+   *
+   * @param quantile
+   *          the quantile
+   * @param count
+   *          the number of values
+   * @return the rank, in {@code 0..count-1}
+   */
+  private static final int __rank(final double quantile,
+      final int count) {
+    return Math.max(0, Math.min((count - 1),
+        ((int) (Math.round(quantile * (count - 1))))));
+  }
+
+  /**
+   * Select the value of a given rank with Hoare's algorithm. Afterwards,
+   * all values before {@code k} are not larger and all values after it
+   * are not smaller than the value at {@code k}.
+   *
+   * @param values
+   *          the values
+   * @param from
+   *          the first index of the range to search
+   * @param to
+   *          the end index of the range to search (exclusive)
+   * @param k
+   *          the rank, in {@code from..to-1}
+   * @return the value of rank {@code k}
+   */
+  static final double _select(final double[] values,
+      final int from, final int to, final int k) {
+    double pivot, temp;
+    int left, right, i, j, middle;
+
+    left = from;
+    right = (to - 1);
+    while (right > left) {
+      // median-of-three pivot
+      middle = ((left + right) >>> 1);
+      if (values[middle] < values[left]) {
+        temp = values[middle];
+        values[middle] = values[left];
+        values[left] = temp;
+      }
+      if (values[right] < values[left]) {
+        temp = values[right];
+        values[right] = values[left];
+        values[left] = temp;
+      }
+      if (values[right] < values[middle]) {
+        temp = values[right];
+        values[right] = values[middle];
+        values[middle] = temp;
+      }
+      pivot = values[middle];
+
+      i = left;
+      j = right;
+      while (i <= j) {
+        while (values[i] < pivot) {
+          i++;
+        }
+        while (values[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          temp = values[i];
+          values[i] = values[j];
+          values[j] = temp;
+          i++;
+          j--;
+        }
+      }
+
+      if (k <= j) {
+        right = j;
+      } else {
+        if (k >= i) {
+          left = i;
+        } else {
+          break;
+        }
+      }
+    }
+    return values[k];
+  }
+
+  /** the task computing a chunk of grid points */
+  private static final class __Chunk extends RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the quantile bands */
+    private final _QuantileBands m_owner;
+
+    /** the first grid point */
+    private final int m_start;
+
+    /** the end grid point (exclusive) */
+    private final int m_end;
+
+    /**
+     * create the task
+     *
+     * @param owner
+     *          the quantile bands
+     * @param start
+     *          the first grid point
+     * @param end
+     *          the end grid point (exclusive)
+     */
+    __Chunk(final _QuantileBands owner, final int start, final int end) {
+      super();
+      this.m_owner = owner;
+      this.m_start = start;
+      this.m_end = end;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void compute() {
+      final int middle;
+
+      if ((this.m_end - this.m_start) > _QuantileBands.CHUNK) {
+        middle = ((this.m_start + this.m_end) >>> 1);
+        ForkJoinTask.invokeAll(
+            new __Chunk(this.m_owner, this.m_start, middle),
+            new __Chunk(this.m_owner, middle, this.m_end));
+      } else {
+        this.m_owner._compute(this.m_start, this.m_end);
+      }
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Stroke;
+
+import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
+
+/**
+ * An immutable snapshot of all the defaults a {@link ChartDriver}
+ * provides for one style set. It is resolved once when a {@link Chart} is
+ * created, so that the axes and data elements of the chart can read the
+ * defaults without going through the driver.
+ */
+final class _StyleDefaults {
+
+  /** the default chart title font */
+  final Font m_chartTitleFont;
+
+  /** the default data title font */
+  final Font m_dataTitleFont;
+
+  /** the default data stroke */
+  final Stroke m_dataStroke;
+
+  /** the default axis title font */
+  final Font m_axisTitleFont;
+
+  /** the default axis tick font */
+  final Font m_axisTickFont;
+
+  /** the default axis stroke */
+  final Stroke m_axisStroke;
+
+  /** the default axis color */
+  final Color m_axisColor;
+
+  /** the default grid line stroke */
+  final Stroke m_gridLineStroke;
+
+  /** the default grid line color */
+  final Color m_gridLineColor;
+
+  /**
+   * resolve the defaults
+   *
+   * @param driver
+   *          the chart driver
+   * @param styles
+   *          the style set
+   */
+  _StyleDefaults(final ChartDriver driver, final IBasicStyles styles) {
+    super();
+    this.m_chartTitleFont = driver.getDefaultChartTitleFont(styles);
+    this.m_dataTitleFont = driver.getDefaultDataTitleFont(styles);
+    this.m_dataStroke = driver.getDefaultDataStroke(styles);
+    this.m_axisTitleFont = driver.getDefaultAxisTitleFont(styles);
+    this.m_axisTickFont = driver.getDefaultAxisTickFont(styles);
+    this.m_axisStroke = driver.getDefaultAxisStroke(styles);
+    this.m_axisColor = driver.getDefaultAxisColor(styles);
+    this.m_gridLineStroke = driver.getDefaultGridLineStroke(styles);
+    this.m_gridLineColor = driver.getDefaultGridLineColor(styles);
+  }
+}
@@ -0,0 +1,162 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Stroke;
+
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.math.NumericalTypes;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+import org.optimizationBenchmarking.utils.text.TextUtils;
+
+/** An axis of the unchecked builder mode */
+final class _UncheckedAxis implements IAxis {
+
+  /** the owning chart */
+  private final UncheckedLineChart2D m_owner;
+
+  /** the column this axis is responsible for */
+  private final int m_col;
+
+  /** the title */
+  private String m_title;
+
+  /** the title font */
+  private Font m_titleFont;
+
+  /** the minimum */
+  private Number m_minimum;
+
+  /** the maximum */
+  private Number m_maximum;
+
+  /** the axis stroke */
+  private Stroke m_axisStroke;
+
+  /** the axis color */
+  private Color m_axisColor;
+
+  /** the grid line stroke */
+  private Stroke m_gridLineStroke;
+
+  /** the grid line color */
+  private Color m_gridLineColor;
+
+  /** the tick font */
+  private Font m_tickFont;
+
+  /** the aggregate */
+  private IAggregate m_aggregate;
+
+  /**
+   * create the axis
+   *
+   * @param owner
+   *          the owner
+   * @param col
+   *          the column this axis is responsible for
+   */
+  _UncheckedAxis(final UncheckedLineChart2D owner, final int col) {
+    super();
+    this.m_owner = owner;
+    this.m_col = col;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setTitle(final String title) {
+    this.m_title = TextUtils.normalize(title);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setTitleFont(final Font titleFont) {
+    this.m_titleFont = titleFont;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setAxisColor(final Color axisColor) {
+    this.m_axisColor = axisColor;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setTickFont(final Font tickFont) {
+    this.m_tickFont = tickFont;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setAxisStroke(final Stroke axisStroke) {
+    this.m_axisStroke = axisStroke;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setGridLineStroke(final Stroke gridLineStroke) {
+    this.m_gridLineStroke = gridLineStroke;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setGridLineColor(final Color gridLineColor) {
+    this.m_gridLineColor = gridLineColor;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setMinimum(final Number minimum) {
+    this.m_minimum = minimum;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setMaximum(final Number maximum) {
+    this.m_maximum = maximum;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setMinimum(final double minimum) {
+    this.m_minimum = NumericalTypes.valueOf(minimum);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setMaximum(final double maximum) {
+    this.m_maximum = NumericalTypes.valueOf(maximum);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void close() {
+    this.m_aggregate = Axis._aggregate(this.m_minimum, this.m_maximum);
+  }
+
+  /**
+   * Register some data
+   *
+   * @param data
+   *          the data set
+   */
+  final void _registerData(final IMatrix data) {
+    if (this.m_aggregate != null) {
+      _PackedMatrix._aggregateColumn(data, this.m_col, this.m_aggregate);
+    }
+  }
+
+  /**
+   * get the axis
+   *
+   * @return the axis
+   */
+  final CompiledAxis _getAxis() {
+    return Axis._compile(this.m_owner.m_driver, this.m_owner.m_styles,
+        this.m_owner.m_defaults, this.m_title, this.m_titleFont,
+        this.m_tickFont, this.m_axisStroke, this.m_axisColor,
+        this.m_gridLineStroke, this.m_gridLineColor, this.m_minimum,
+        this.m_maximum);
+  }
+}
@@ -0,0 +1,95 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Stroke;
+
+import org.optimizationBenchmarking.utils.chart.spec.IDataElement;
+import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
+import org.optimizationBenchmarking.utils.text.TextUtils;
+
+/**
+ * The base class for the data elements of the unchecked builder mode: a
+ * plain holder of the properties of a {@link DataElement}, which resolves
+ * the defaults with the same code.
+ */
+abstract class _UncheckedDataElement implements IDataElement {
+
+  /** the id */
+  final int m_id;
+
+  /** the title */
+  String m_title;
+
+  /** the title font */
+  Font m_titleFont;
+
+  /** the color */
+  Color m_color;
+
+  /** the stroke */
+  Stroke m_stroke;
+
+  /**
+   * create the data element
+   *
+   * @param id
+   *          the id
+   */
+  _UncheckedDataElement(final int id) {
+    super();
+    this.m_id = id;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setTitle(final String title) {
+    this.m_title = TextUtils.normalize(title);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setTitleFont(final Font titleFont) {
+    this.m_titleFont = titleFont;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setColor(final Color color) {
+    this.m_color = color;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setStroke(final Stroke stroke) {
+    this.m_stroke = stroke;
+  }
+
+  /**
+   * Get the title font to compile into the element
+   *
+   * @param driver
+   *          the chart driver
+   * @param styles
+   *          the style set
+   * @param defaults
+   *          the defaults of the style set
+   * @return the title font, or {@code null} if there is no title
+   */
+  final Font _getTitleFont(final ChartDriver driver,
+      final IBasicStyles styles, final _StyleDefaults defaults) {
+    return DataElement._compileTitleFont(driver, styles, defaults,
+        this.m_title, this.m_titleFont);
+  }
+
+  /**
+   * Get the stroke to compile into the element
+   *
+   * @param defaults
+   *          the defaults of the style set
+   * @return the stroke
+   */
+  final Stroke _getStroke(final _StyleDefaults defaults) {
+    return DataElement._compileStroke(defaults, this.m_stroke);
+  }
+}
@@ -0,0 +1,52 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import org.optimizationBenchmarking.utils.chart.spec.IDataScalar;
+import org.optimizationBenchmarking.utils.math.NumericalTypes;
+
+/** A pie slice of the unchecked builder mode */
+final class _UncheckedDataScalar extends _UncheckedDataElement implements
+    IDataScalar {
+
+  /** the owning chart */
+  private final UncheckedPieChart m_owner;
+
+  /** the number */
+  private Number m_data;
+
+  /**
+   * create the slice
+   *
+   * @param owner
+   *          the owner
+   * @param id
+   *          the id
+   */
+  _UncheckedDataScalar(final UncheckedPieChart owner, final int id) {
+    super(id);
+    this.m_owner = owner;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setData(final double value) {
+    this.m_data = NumericalTypes.valueOf(value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setData(final long value) {
+    this.m_data = NumericalTypes.valueOf(value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void close() {
+    final UncheckedPieChart owner;
+
+    owner = this.m_owner;
+    owner._addSlice(new CompiledDataScalar(this.m_id, this.m_title,
+        this._getTitleFont(owner.m_driver, owner.m_styles,
+            owner.m_defaults),
+        this.m_color, this._getStroke(owner.m_defaults), this.m_data));
+  }
+}
@@ -0,0 +1,58 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.ILine2D;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/** A line of the unchecked builder mode */
+final class _UncheckedLine2D extends _UncheckedDataElement implements
+    ILine2D {
+
+  /** the owning chart */
+  private final UncheckedLineChart2D m_owner;
+
+  /** the data */
+  private IMatrix m_data;
+
+  /** the line type */
+  private ELineType m_type;
+
+  /**
+   * create the line
+   *
+   * @param owner
+   *          the owner
+   * @param id
+   *          the id
+   */
+  _UncheckedLine2D(final UncheckedLineChart2D owner, final int id) {
+    super(id);
+    this.m_owner = owner;
+    this.m_type = ELineType.DEFAULT;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setData(final IMatrix matrix) {
+    this.m_data = matrix;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void setType(final ELineType type) {
+    this.m_type = type;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void close() {
+    final UncheckedLineChart2D owner;
+
+    owner = this.m_owner;
+    owner._addLine(new CompiledLine2D(this.m_id, this.m_title,
+        this._getTitleFont(owner.m_driver, owner.m_styles,
+            owner.m_defaults),
+        this.m_color, this._getStroke(owner.m_defaults), this.m_data,
+        this.m_type, ELineReduction.DEFAULT), this.m_data);
+  }
+}
@@ -1,10 +1,12 @@
 package org.optimizationBenchmarking.utils.chart.impl.export;
 
 import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
 import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.utils.chart.impl.abstr.ChartDriver;
 import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledAxis;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledBand2D;
 import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledDataScalar;
 import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D;
 import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
@@ -76,6 +78,26 @@ public final class ExportChartDriver extends ChartDriver {
    * of the current line
    */
   public static final String LINE_TYPE = "line-type"; //$NON-NLS-1$
+  /** the string indicating the number of bands in the line chart */
+  public static final String CHART_BANDS = "chart-bands"; //$NON-NLS-1$
+
+  /** the string indicating index of the current band (starts at 0) */
+  public static final String BAND_INDEX = "band-index"; //$NON-NLS-1$
+  /** the string indicating the number of points of the current band */
+  public static final String BAND_SIZE = "band-size"; //$NON-NLS-1$
+  /** the string indicating title of the current band */
+  public static final String BAND_TITLE = "band-title"; //$NON-NLS-1$
+  /**
+   * the string indicating
+   * {@link org.optimizationBenchmarking.utils.chart.spec.ELineType type}
+   * of the boundaries of the current band
+   */
+  public static final String BAND_TYPE = "band-type"; //$NON-NLS-1$
+  /** the title of the column of the lower boundary of a band */
+  public static final String BAND_LOWER = "lower"; //$NON-NLS-1$
+  /** the title of the column of the upper boundary of a band */
+  public static final String BAND_UPPER = "upper"; //$NON-NLS-1$
+
   /** the amount of a slice */
   public static final String SLICE_AMOUNT = "slice-amount"; //$NON-NLS-1$
   /** the title of a slice */
@@ -155,16 +177,49 @@ public final class ExportChartDriver extends ChartDriver {
         + "' in order to work, since it is intended to export data to text rather than actually rendering charts.");//$NON-NLS-1$
   }
 
-  /** {@inheritDoc} */
+  /**
+   * The export driver needs all the data and never reduces lines.
+   *
+   * @param chart
+   *          the compiled chart
+   * @param graphic
+   *          the graphic the chart will be rendered to
+   * @param bounds
+   *          the area of the graphic the chart will be rendered into
+   * @param logger
+   *          a logger for logging info, or {@code null} if none is needed
+   * @return {@code chart}
+   */
+  @Override
+  protected final CompiledLineChart2D prepareLineChart2D(
+      final CompiledLineChart2D chart, final Graphics2D graphic,
+      final Rectangle2D bounds, final Logger logger) {
+    return chart;
+  }
+
+  /**
+   * Export the lines of a line chart, followed by its bands. Each band is
+   * exported as three columns: the x-coordinate, the lower boundary, and
+   * the upper boundary.
+   *
+   * @param chart
+   *          the compiled chart
+   * @param graphic
+   *          the graphic, which must implement {@link ITextOutput}
+   * @param logger
+   *          a logger for logging info, or {@code null} if none is needed
+   */
   @Override
   protected final void renderLineChart2D(final CompiledLineChart2D chart,
       final Graphics2D graphic, final Logger logger) {
     final ITextOutput out;
     final String xAxisTitle, yAxisTitle, titles;
     final ArrayListView<CompiledLine2D> lines;
+    final ArrayListView<CompiledBand2D> bands;
     CompiledAxis axis;
+    double[] x, lower, upper;
     IMatrix matrix;
-    int index, i, m;
+    int index, i, j, m;
     boolean xIsLong, yIsLong;
 
     out = ExportChartDriver.__toText(graphic);
@@ -177,6 +232,11 @@ public final class ExportChartDriver extends ChartDriver {
     lines = chart.getLines();
     ExportChartDriver.__special(ExportChartDriver.CHART_SIZE,
         Integer.toString(lines.size()), out);
+    bands = chart.getBands();
+    if (!(bands.isEmpty())) {
+      ExportChartDriver.__special(ExportChartDriver.CHART_BANDS,
+          Integer.toString(bands.size()), out);
+    }
 
     axis = chart.getXAxis();
     ExportChartDriver.__special(ExportChartDriver.X_AXIS_TITLE,
@@ -247,6 +307,45 @@ public final class ExportChartDriver extends ChartDriver {
         out.appendLineBreak();
       }
     }
+
+    i = 0;
+    for (final CompiledBand2D band : bands) {
+      if ((index > 0) || (i > 0)) {
+        out.appendLineBreak();
+        out.appendLineBreak();
+      }
+      ExportChartDriver.__special(ExportChartDriver.BAND_INDEX,
+          Integer.toString(i++), out);
+      ExportChartDriver.__special(ExportChartDriver.BAND_TYPE,
+          String.valueOf(band.getType()), out);
+
+      x = band.getXValues();
+      lower = band.getLowerValues();
+      upper = band.getUpperValues();
+      ExportChartDriver.__special(ExportChartDriver.BAND_SIZE,
+          String.valueOf(x.length), out);
+      ExportChartDriver.__special(ExportChartDriver.BAND_TITLE,
+          band.getTitle(), out);
+      if (xAxisTitle != null) {
+        out.append(ExportChartDriver.COMMENT_LINE_BEGIN);
+        out.append(' ');
+        out.append(xAxisTitle);
+        out.append(ExportChartDriver.COLUMN_SEPARATOR);
+        out.append(ExportChartDriver.BAND_LOWER);
+        out.append(ExportChartDriver.COLUMN_SEPARATOR);
+        out.append(ExportChartDriver.BAND_UPPER);
+        out.appendLineBreak();
+      }
+
+      for (j = 0; j < x.length; j++) {
+        out.append(ExportChartDriver.__toString(x[j]));
+        out.append(ExportChartDriver.COLUMN_SEPARATOR);
+        out.append(ExportChartDriver.__toString(lower[j]));
+        out.append(ExportChartDriver.COLUMN_SEPARATOR);
+        out.append(ExportChartDriver.__toString(upper[j]));
+        out.appendLineBreak();
+      }
+    }
   }
 
   /** {@inheritDoc} */
@@ -0,0 +1,105 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.Graphics2D;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.ChartDriver;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledPieChart;
+
+/**
+ * <p>
+ * A chart driver which paints charts directly onto a
+ * {@link java.awt.Graphics2D} with its own, lean layout of titles, axes,
+ * ticks, grid lines, and legends.
+ * </p>
+ * <p>
+ * Unlike the
+ * {@link org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver
+ * JFreeChart-based driver}, this driver does not build a temporary object
+ * graph of plots, axes, and renderers for every chart, but computes the
+ * layout in a single pass and then draws each line with one
+ * {@link java.awt.Graphics2D#draw(java.awt.Shape) draw} call. It honors
+ * the same fonts, strokes, and colors of the compiled charts, but pie
+ * charts are drawn flat instead of in 3D.
+ * </p>
+ * <p>
+ * The {@link #getInstance() default instance} paints all lines one after
+ * the other. The {@link #getLayeredInstance() layered instance}
+ * rasterizes the lines of large charts painted onto images in parallel
+ * layers, which is faster on several cores, but may differ from
+ * sequential painting by a few units per color channel where the
+ * anti-aliased edges of lines in different layers overlap.
+ * </p>
+ */
+public final class Java2DChartDriver extends ChartDriver {
+
+  /** should the lines of large charts be painted in parallel layers? */
+  private final boolean m_layers;
+
+  /**
+   * create
+   *
+   * @param layers
+   *          should the lines of large charts be painted in parallel
+   *          layers?
+   */
+  Java2DChartDriver(final boolean layers) {
+    super();
+    this.m_layers = layers;
+  }
+
+  /**
+   * Get the instance of the {@link Java2DChartDriver}.
+   *
+   * @return the instance of the {@link Java2DChartDriver}
+   */
+  public static final Java2DChartDriver getInstance() {
+    return __Java2DChartDriverLoader.INSTANCE;
+  }
+
+  /**
+   * Get the instance of the {@link Java2DChartDriver} which paints the
+   * lines of large charts onto images in parallel layers. Its images may
+   * differ from the ones of the {@link #getInstance() default instance}
+   * by rounding where anti-aliased edges of lines overlap.
+   *
+   * @return the layered instance of the {@link Java2DChartDriver}
+   */
+  public static final Java2DChartDriver getLayeredInstance() {
+    return __Java2DChartDriverLoader.LAYERED;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void renderLineChart2D(final CompiledLineChart2D chart,
+      final Graphics2D graphic, final Logger logger) {
+    new _Java2DLineChart2DRenderer(chart, ChartDriver.getForkJoinPool(),
+        this.m_layers)._render(graphic);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void renderPieChart(final CompiledPieChart chart,
+      final Graphics2D graphic, final Logger logger) {
+    new _Java2DPieChartRenderer(chart)._render(graphic);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return (this.m_layers ? "Layered Java2D-based Chart Driver" //$NON-NLS-1$
+        : "Java2D-based Chart Driver"); //$NON-NLS-1$
+  }
+
+  /** the loader */
+  private static final class __Java2DChartDriverLoader {
+
+    /** the Java2D-based chart driver */
+    static final Java2DChartDriver INSTANCE = new Java2DChartDriver(false);
+
+    /** the layered Java2D-based chart driver */
+    static final Java2DChartDriver LAYERED = new Java2DChartDriver(true);
+
+  }
+}
@@ -0,0 +1,70 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.Graphics2D;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.ChartDriver;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledPieChart;
+
+/**
+ * <p>
+ * A chart driver which rasterizes line charts itself into an
+ * {@code int[]} ARGB pixel buffer and then paints the finished image onto
+ * the {@link java.awt.Graphics2D} in one step.
+ * </p>
+ * <p>
+ * Lines are drawn with anti-aliased Wu lines, the image is split into
+ * horizontal bands which are rasterized in parallel, and text is copied
+ * from cached glyph atlases. The layout is the one of the
+ * {@link Java2DChartDriver}. Line strokes are approximated by their
+ * width only: dashes, caps, and joins are ignored. Since the result is a
+ * bitmap, this driver is meant for raster output formats. Pie charts are
+ * painted like by the {@link Java2DChartDriver}.
+ * </p>
+ */
+public final class RasterChartDriver extends ChartDriver {
+
+  /** create */
+  RasterChartDriver() {
+    super();
+  }
+
+  /**
+   * Get the instance of the {@link RasterChartDriver}.
+   *
+   * @return the instance of the {@link RasterChartDriver}
+   */
+  public static final RasterChartDriver getInstance() {
+    return __RasterChartDriverLoader.INSTANCE;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void renderLineChart2D(final CompiledLineChart2D chart,
+      final Graphics2D graphic, final Logger logger) {
+    new _RasterLineChart2DRenderer(chart)._render(graphic,
+        ChartDriver.getForkJoinPool());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void renderPieChart(final CompiledPieChart chart,
+      final Graphics2D graphic, final Logger logger) {
+    new _Java2DPieChartRenderer(chart)._render(graphic);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return "Software Rasterizer Chart Driver"; //$NON-NLS-1$
+  }
+
+  /** the loader */
+  private static final class __RasterChartDriverLoader {
+
+    /** the software rasterizer chart driver */
+    static final RasterChartDriver INSTANCE = new RasterChartDriver();
+
+  }
+}
@@ -0,0 +1,203 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.FontMetrics;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledAxis;
+import org.optimizationBenchmarking.utils.text.ETextCase;
+import org.optimizationBenchmarking.utils.text.numbers.SimpleNumberAppender;
+
+/**
+ * The range and ticks of an axis of a Java2D chart. Infinite bounds are
+ * clamped and ranges too narrow to divide a device length by are widened
+ * around their center, so that the data-to-device transformation is
+ * always finite. Ticks are placed at multiples of a step of the form
+ * <code>{1, 2, 5}*10<sup>k</sup></code> which is chosen such that the
+ * tick labels do not overlap.
+ */
+final class _Java2DAxis {
+
+  /** the maximum number of ticks */
+  private static final int MAX_TICKS = 1000;
+
+  /** the maximum number of decimals printed in fixed-point notation */
+  private static final int MAX_DECIMALS = 6;
+
+  /**
+   * the largest absolute value of a bound, so that the width of the range
+   * is finite
+   */
+  private static final double MAX_BOUND = 1e250d;
+
+  /**
+   * the smallest width of the range, so that dividing a device length by
+   * it is finite
+   */
+  private static final double MIN_WIDTH = 1e-250d;
+
+  /** the axis */
+  final CompiledAxis m_axis;
+
+  /** the lower end of the painted range */
+  final double m_min;
+
+  /** the upper end of the painted range */
+  final double m_max;
+
+  /** the tick values */
+  double[] m_ticks;
+
+  /** the tick labels */
+  String[] m_labels;
+
+  /** the number of ticks */
+  int m_count;
+
+  /** the width of the widest tick label */
+  double m_maxLabelWidth;
+
+  /**
+   * create the axis
+   *
+   * @param axis
+   *          the axis
+   */
+  _Java2DAxis(final CompiledAxis axis) {
+    super();
+
+    final double center, half;
+    double min, max;
+
+    this.m_axis = axis;
+
+    min = _Java2DAxis.__clamp(axis.getMinimum());
+    max = _Java2DAxis.__clamp(axis.getMaximum());
+    if (!((max - min) >= _Java2DAxis.MIN_WIDTH)) {
+      center = ((0.5d * min) + (0.5d * max));
+      if (center == 0d) {
+        min = 0d;
+        max = 1d;
+      } else {
+        half = Math.max(_Java2DAxis.MIN_WIDTH, Math.abs(0.05d * center));
+        min = (center - half);
+        max = (center + half);
+      }
+    }
+    this.m_min = min;
+    this.m_max = max;
+  }
+
+  /**
+   * Clamp a bound of the range
+   *
+   * @param d
+   *          the bound
+   * @return the clamped bound
+   */
+  private static final double __clamp(final double d) {
+    return Math.max((-_Java2DAxis.MAX_BOUND),
+        Math.min(_Java2DAxis.MAX_BOUND, d));
+  }
+
+  /**
+   * Compute the ticks of the axis
+   *
+   * @param length
+   *          the length of the axis in device units
+   * @param metrics
+   *          the metrics of the tick font
+   * @param horizontal
+   *          is this a horizontal axis?
+   */
+  final void _computeTicks(final double length, final FontMetrics metrics,
+      final boolean horizontal) {
+    double spacing, needed, width;
+    int attempts, i;
+
+    spacing = (metrics.getHeight() * (horizontal ? 4d : 2d));
+    for (attempts = 4; (--attempts) >= 0;) {
+      this.__computeTicks(Math.max(1, ((int) (length / spacing))));
+
+      width = 0d;
+      for (i = this.m_count; (--i) >= 0;) {
+        width = Math.max(width, metrics.stringWidth(this.m_labels[i]));
+      }
+      this.m_maxLabelWidth = width;
+
+      needed = ((horizontal ? width : (2d * metrics.getHeight()))
+          + (2d * _Java2DRenderer.GAP));
+      if (needed <= spacing) {
+        return;
+      }
+      spacing = needed;
+    }
+  }
+
+  /**
+   * Compute the ticks for a given maximum number of intervals
+   *
+   * @param intervals
+   *          the maximum number of intervals
+   */
+  private final void __computeTicks(final int intervals) {
+    final double min, max, raw, magnitude, residual, step, first;
+    final int decimals;
+    int i, count;
+
+    min = this.m_min;
+    max = this.m_max;
+    raw = ((max - min) / intervals);
+    magnitude = Math.pow(10d, Math.floor(Math.log10(raw)));
+    residual = (raw / magnitude);
+    step = (magnitude * ((residual <= 1d) ? 1d
+        : ((residual <= 2d) ? 2d : ((residual <= 5d) ? 5d : 10d))));
+
+    if ((step <= 0d) || (step != step)
+        || (step >= Double.POSITIVE_INFINITY)) {
+      this.m_count = 0;
+      this.m_ticks = new double[0];
+      this.m_labels = new String[0];
+      return;
+    }
+
+    first = Math.ceil(min / step);
+    count = ((int) (Math.max(0d, Math.min(_Java2DAxis.MAX_TICKS,
+        ((Math.floor(max / step) - first) + 1d)))));
+    decimals = Math.max(0,
+        ((int) (-Math.floor(Math.log10(step) + 1e-9d))));
+
+    this.m_ticks = new double[count];
+    this.m_labels = new String[count];
+    for (i = 0; i < count; i++) {
+      this.m_ticks[i] = ((first + i) * step);
+      this.m_labels[i] = _Java2DAxis.__format(this.m_ticks[i], decimals);
+    }
+    this.m_count = count;
+  }
+
+  /**
+   * Format a tick value
+   *
+   * @param value
+   *          the value
+   * @param decimals
+   *          the number of decimals implied by the tick step
+   * @return the label
+   */
+  private static final String __format(final double value,
+      final int decimals) {
+    if (decimals <= 0) {
+      if (Math.abs(value) < 1e15d) {
+        return Long.toString(Math.round(value));
+      }
+    } else {
+      if (decimals <= _Java2DAxis.MAX_DECIMALS) {
+        return BigDecimal.valueOf(value)
+            .setScale(decimals, RoundingMode.HALF_EVEN).toPlainString();
+      }
+    }
+    return SimpleNumberAppender.INSTANCE.toString(value,
+        ETextCase.IN_SENTENCE);
+  }
+}
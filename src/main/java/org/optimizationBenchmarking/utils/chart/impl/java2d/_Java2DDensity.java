@@ -0,0 +1,843 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.Line2DVisitor;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+
+/**
+ * <p>
+ * The density image of a set of lines, used for
+ * {@link org.optimizationBenchmarking.utils.chart.impl.abstr.ELineChartRendering#DENSITY}
+ * . The lines are grouped by color. For each group, a hit-count buffer
+ * records how many lines of the group pass through each pixel. As each
+ * buffer is as large as the image, there are at most {@value #MAX_GROUPS}
+ * groups: If the lines have more colors, the colors are quantized to
+ * fewer bits per channel until they fall into few enough groups, and
+ * each group is painted in the color of its first line. The counts
+ * are mapped to the opacity of the group color on a logarithmic ramp,
+ * where the most-hit pixel of a group becomes opaque, and the groups are
+ * composited in the order in which their colors first occur.
+ * </p>
+ * <p>
+ * This happens in three parallel phases: First, the lines are
+ * transformed to image coordinates. Then, disjoint bands of rows are
+ * counted, each by walking all lines which intersect it, so that no two
+ * tasks ever write to the same counter. Finally, the bands are colored.
+ * </p>
+ * <p>
+ * Renderers must check whether an image {@link #_fits(int, int) fits}
+ * before rendering it, and paint the lines as lines otherwise.
+ * </p>
+ */
+final class _Java2DDensity {
+
+  /** the maximum number of rows counted or colored by one task */
+  private static final int ROWS = 32;
+
+  /** the maximum number of lines transformed by one task */
+  private static final int LINES = 16;
+
+  /** the number of rows of a line per chunk */
+  private static final int CHUNK = 4096;
+
+  /** the phase transforming the lines */
+  private static final int PHASE_TRANSFORM = 0;
+
+  /** the phase counting the hits */
+  private static final int PHASE_COUNT = 1;
+
+  /** the phase coloring the image */
+  private static final int PHASE_COLOR = 2;
+
+  /** the maximum number of groups, i.e., of hit-count buffers */
+  static final int MAX_GROUPS = 16;
+
+  /**
+   * the maximum number of pixels of a density image: As there may be
+   * {@value #MAX_GROUPS} hit-count buffers besides the image itself,
+   * larger images could exhaust the heap
+   */
+  static final long MAX_PIXELS = (1L << 22);
+
+  /** the lines */
+  private final ArrayListView<CompiledLine2D> m_lines;
+
+  /** the scale of the x-coordinates */
+  private final double m_scaleX;
+
+  /** the translation of the x-coordinates */
+  private final double m_translateX;
+
+  /** the scale of the y-coordinates */
+  private final double m_scaleY;
+
+  /** the translation of the y-coordinates */
+  private final double m_translateY;
+
+  /** the width of the image */
+  private final int m_width;
+
+  /** the height of the image */
+  private final int m_height;
+
+  /** the number of points of each line */
+  private final int[] m_points;
+
+  /** the smallest image y-coordinate of each chunk of each line */
+  private final double[][] m_minY;
+
+  /** the largest image y-coordinate of each chunk of each line */
+  private final double[][] m_maxY;
+
+  /** the group index of each line */
+  private final int[] m_group;
+
+  /** the color of each group */
+  private final int[] m_colors;
+
+  /** the hit counts of each group */
+  private final int[][] m_counts;
+
+  /** the largest hit count of each group */
+  private final int[] m_max;
+
+  /** the image */
+  private final BufferedImage m_image;
+
+  /** the pixels of the image */
+  private final int[] m_pixels;
+
+  /**
+   * create the density image
+   *
+   * @param lines
+   *          the lines
+   * @param scaleX
+   *          the scale of the x-coordinates
+   * @param translateX
+   *          the translation of the x-coordinates
+   * @param scaleY
+   *          the scale of the y-coordinates
+   * @param translateY
+   *          the translation of the y-coordinates
+   * @param width
+   *          the width of the image
+   * @param height
+   *          the height of the image
+   */
+  private _Java2DDensity(final ArrayListView<CompiledLine2D> lines,
+      final double scaleX, final double translateX, final double scaleY,
+      final double translateY, final int width, final int height) {
+    super();
+
+    final int size;
+    final int[] colors;
+    int index;
+
+    this.m_lines = lines;
+    this.m_scaleX = scaleX;
+    this.m_translateX = translateX;
+    this.m_scaleY = scaleY;
+    this.m_translateY = translateY;
+    this.m_width = width;
+    this.m_height = height;
+
+    size = lines.size();
+    this.m_points = new int[size];
+    this.m_minY = new double[size][];
+    this.m_maxY = new double[size][];
+    this.m_group = new int[size];
+
+    colors = new int[size];
+    for (index = size; (--index) >= 0;) {
+      colors[index] = (lines.get(index).getColor().getRGB() | 0xFF000000);
+    }
+    this.m_colors = _Java2DDensity._group(colors, this.m_group);
+    this.m_counts = new int[this.m_colors.length][width * height];
+    this.m_max = new int[this.m_colors.length];
+
+    this.m_image = new BufferedImage(width, height,
+        BufferedImage.TYPE_INT_ARGB);
+    this.m_pixels = ((DataBufferInt) (this.m_image.getRaster()
+        .getDataBuffer())).getData();
+  }
+
+  /**
+   * Group colors into at most {@link #MAX_GROUPS} groups, in the order in
+   * which they first occur. Colors are compared with all 8 bits per
+   * channel first and with one bit less each time there would be too
+   * many groups, which ends at one bit per channel and thus eight
+   * groups at the latest.
+   *
+   * @param colors
+   *          the opaque colors
+   * @param group
+   *          the array receiving the group index of each color
+   * @return the color of each group, i.e., of its first member
+   */
+  static final int[] _group(final int[] colors, final int[] group) {
+    final int[] keys, firsts, result;
+    int bits, mask, groups;
+
+    keys = new int[_Java2DDensity.MAX_GROUPS];
+    firsts = new int[_Java2DDensity.MAX_GROUPS];
+    groups = (-1);
+    for (bits = 8; groups < 0; bits--) {
+      mask = ((0xFF << (8 - bits)) & 0xFF);
+      mask |= ((mask << 8) | (mask << 16));
+      groups = _Java2DDensity.__group(colors, mask, group, keys, firsts);
+    }
+
+    result = new int[groups];
+    System.arraycopy(firsts, 0, result, 0, groups);
+    return result;
+  }
+
+  /**
+   * Group colors which are equal under a mask
+   *
+   * @param colors
+   *          the colors
+   * @param mask
+   *          the mask of the compared bits
+   * @param group
+   *          the array receiving the group index of each color
+   * @param keys
+   *          the array receiving the masked color of each group
+   * @param firsts
+   *          the array receiving the first color of each group
+   * @return the number of groups, or {@code -1} if there would be more
+   *         than {@link #MAX_GROUPS}
+   */
+  private static final int __group(final int[] colors, final int mask,
+      final int[] group, final int[] keys, final int[] firsts) {
+    int index, found, groups, key;
+
+    groups = 0;
+    for (index = 0; index < colors.length; index++) {
+      key = (colors[index] & mask);
+      for (found = 0; found < groups; found++) {
+        if (keys[found] == key) {
+          break;
+        }
+      }
+      if (found >= groups) {
+        if (groups >= _Java2DDensity.MAX_GROUPS) {
+          return (-1);
+        }
+        keys[groups] = key;
+        firsts[groups++] = colors[index];
+      }
+      group[index] = found;
+    }
+    return groups;
+  }
+
+  /**
+   * Check whether a density image of the given size can be rendered,
+   * i.e., whether it is not empty and has at most {@link #MAX_PIXELS}
+   * pixels
+   *
+   * @param width
+   *          the width of the image
+   * @param height
+   *          the height of the image
+   * @return {@code true} if the image can be rendered, {@code false} if
+   *         the lines must be painted as lines instead
+   */
+  static final boolean _fits(final int width, final int height) {
+    return ((width > 0) && (height > 0) && ((((long) width)
+        * height) <= _Java2DDensity.MAX_PIXELS));
+  }
+
+  /**
+   * Render the density image of a set of lines, which must
+   * {@link #_fits(int, int) fit}
+   *
+   * @param lines
+   *          the lines
+   * @param scaleX
+   *          the scale from data x-coordinates to image columns
+   * @param translateX
+   *          the translation from data x-coordinates to image columns
+   * @param scaleY
+   *          the scale from data y-coordinates to image rows
+   * @param translateY
+   *          the translation from data y-coordinates to image rows
+   * @param width
+   *          the width of the image
+   * @param height
+   *          the height of the image
+   * @param pool
+   *          the pool to render in, or {@code null} to render in the
+   *          current thread
+   * @return the image, transparent where no line passes
+   */
+  static final BufferedImage _render(
+      final ArrayListView<CompiledLine2D> lines, final double scaleX,
+      final double translateX, final double scaleY,
+      final double translateY, final int width, final int height,
+      final ForkJoinPool pool) {
+    final _Java2DDensity density;
+
+    density = new _Java2DDensity(lines, scaleX, translateX, scaleY,
+        translateY, width, height);
+    density.__run(_Java2DDensity.PHASE_TRANSFORM, lines.size(), pool);
+    density.__run(_Java2DDensity.PHASE_COUNT, height, pool);
+    density.__run(_Java2DDensity.PHASE_COLOR, height, pool);
+    return density.m_image;
+  }
+
+  /**
+   * Run a phase
+   *
+   * @param phase
+   *          the phase
+   * @param end
+   *          the end of the range to process
+   * @param pool
+   *          the pool, or {@code null} to run in the current thread
+   */
+  private final void __run(final int phase, final int end,
+      final ForkJoinPool pool) {
+    if (pool == null) {
+      this._process(phase, 0, end);
+    } else {
+      pool.invoke(new __Range(this, phase, 0, end));
+    }
+  }
+
+  /**
+   * Process a range of a phase
+   *
+   * @param phase
+   *          the phase
+   * @param start
+   *          the start of the range
+   * @param end
+   *          the end of the range (exclusive)
+   */
+  final void _process(final int phase, final int start, final int end) {
+    int index;
+
+    switch (phase) {
+      case PHASE_TRANSFORM: {
+        for (index = start; index < end; index++) {
+          this.__transform(index);
+        }
+        return;
+      }
+      case PHASE_COUNT: {
+        this.__count(start, end);
+        return;
+      }
+      default: {
+        this.__color(start, end);
+      }
+    }
+  }
+
+  /**
+   * Compute the image y-range of each chunk of {@link #CHUNK} rows of a
+   * line. The line itself is not copied: The counting phase streams the
+   * rows of the chunks touching its band directly from the line.
+   *
+   * @param index
+   *          the index of the line
+   */
+  private final void __transform(final int index) {
+    final CompiledLine2D line;
+    final int size;
+    final double[] minY, maxY;
+    final __BoundsVisitor visitor;
+    int chunk, start;
+
+    line = this.m_lines.get(index);
+    size = line.getData().m();
+    minY = new double[((size - 1) / _Java2DDensity.CHUNK) + 1];
+    maxY = new double[minY.length];
+    visitor = new __BoundsVisitor(this);
+    for (chunk = 0; chunk < minY.length; chunk++) {
+      start = Math.max(0, ((chunk * _Java2DDensity.CHUNK) - 1));
+      visitor.m_minY = Double.POSITIVE_INFINITY;
+      visitor.m_maxY = Double.NEGATIVE_INFINITY;
+      // the first row of a chunk overlaps with the chunk before
+      visitor.m_skip = _Java2DDensity.__continues(line, start);
+      visitor.visit(line, start,
+          Math.min(size, ((chunk + 1) * _Java2DDensity.CHUNK)));
+      minY[chunk] = visitor.m_minY;
+      maxY[chunk] = visitor.m_maxY;
+    }
+
+    this.m_points[index] = visitor.m_points;
+    this.m_minY[index] = minY;
+    this.m_maxY[index] = maxY;
+  }
+
+  /**
+   * Check whether a walk starting at a given row continues the line
+   * walked before it, i.e., whether the row is inside the line and
+   * valid
+   *
+   * @param line
+   *          the line
+   * @param row
+   *          the row
+   * @return {@code true} if the walk continues the line
+   */
+  private static final boolean __continues(final CompiledLine2D line,
+      final int row) {
+    final double x, y;
+
+    if (row <= 0) {
+      return false;
+    }
+    x = line.getData().getDouble(row, 0);
+    y = line.getData().getDouble(row, 1);
+    return ((x == x) && (y == y));
+  }
+
+  /**
+   * Count the hits of all lines in a band of rows. Each line is walked
+   * over the runs of its chunks which touch the band, each run starting
+   * at the last row of the chunk before, so that every segment is walked
+   * exactly once.
+   *
+   * @param minY
+   *          the first row
+   * @param maxY
+   *          the end row (exclusive)
+   */
+  private final void __count(final int minY, final int maxY) {
+    final int[] max;
+    final __CountVisitor visitor;
+    CompiledLine2D line;
+    double[] lineMinY, lineMaxY;
+    int[] counts;
+    int index, i, last, chunk, end, start, size;
+
+    max = new int[this.m_colors.length];
+    visitor = new __CountVisitor(this, minY, maxY);
+    for (index = this.m_lines.size(); (--index) >= 0;) {
+      if (this.m_points[index] <= 0) {
+        continue;
+      }
+      line = this.m_lines.get(index);
+      size = line.getData().m();
+      lineMinY = this.m_minY[index];
+      lineMaxY = this.m_maxY[index];
+      visitor._setLine(this.m_counts[this.m_group[index]],
+          (this.m_points[index] == 1));
+
+      for (chunk = 0; chunk < lineMinY.length; chunk++) {
+        if ((lineMaxY[chunk] < minY) || (lineMinY[chunk] >= maxY)) {
+          continue;
+        }
+        for (end = (chunk + 1); end < lineMinY.length; end++) {
+          if ((lineMaxY[end] < minY) || (lineMinY[end] >= maxY)) {
+            break;
+          }
+        }
+        start = Math.max(0, ((chunk * _Java2DDensity.CHUNK) - 1));
+        visitor.m_resume = _Java2DDensity.__continues(line, start);
+        visitor.visit(line, start,
+            Math.min(size, (end * _Java2DDensity.CHUNK)));
+        chunk = end;
+      }
+    }
+
+    for (index = this.m_counts.length; (--index) >= 0;) {
+      counts = this.m_counts[index];
+      last = 0;
+      for (i = (minY * this.m_width); i < (maxY * this.m_width); i++) {
+        if (counts[i] > last) {
+          last = counts[i];
+        }
+      }
+      max[index] = last;
+    }
+    synchronized (this.m_max) {
+      for (index = max.length; (--index) >= 0;) {
+        if (max[index] > this.m_max[index]) {
+          this.m_max[index] = max[index];
+        }
+      }
+    }
+  }
+
+  /**
+   * Count a hit of a pixel, unless it is outside of the band or it is the
+   * pixel hit last by the same line
+   *
+   * @param counts
+   *          the hit counts
+   * @param x
+   *          the x-coordinate
+   * @param y
+   *          the y-coordinate
+   * @param minY
+   *          the first row of the band
+   * @param maxY
+   *          the end row of the band (exclusive)
+   * @param last
+   *          the index of the pixel hit last by the line, or {@code -1}
+   * @return the index of the pixel hit last by the line
+   */
+  private final int __hit(final int[] counts, final double x,
+      final double y, final int minY, final int maxY, final int last) {
+    final int column, row, pixel;
+
+    column = ((int) (Math.floor(x)));
+    row = ((int) (Math.floor(y)));
+    if ((column < 0) || (column >= this.m_width) || (row < minY)
+        || (row >= maxY)) {
+      return last;
+    }
+    pixel = ((row * this.m_width) + column);
+    if (pixel != last) {
+      counts[pixel]++;
+    }
+    return pixel;
+  }
+
+  /**
+   * Count the hits of a segment inside a band of rows. The segment is
+   * first clipped to the band and then walked in steps of at most one
+   * pixel.
+   *
+   * @param counts
+   *          the hit counts
+   * @param x0
+   *          the x-coordinate of the start point
+   * @param y0
+   *          the y-coordinate of the start point
+   * @param x1
+   *          the x-coordinate of the end point
+   * @param y1
+   *          the y-coordinate of the end point
+   * @param minY
+   *          the first row of the band
+   * @param maxY
+   *          the end row of the band (exclusive)
+   * @param last
+   *          the index of the pixel hit last by the line, or {@code -1}
+   * @return the index of the pixel hit last by the line
+   */
+  private final int __segment(final int[] counts, final double x0,
+      final double y0, final double x1, final double y1, final int minY,
+      final int maxY, final int last) {
+    final double dx, dy;
+    final int steps;
+    double t0, t1, t, startX, startY, spanX, spanY;
+    int step, pixel;
+
+    dx = (x1 - x0);
+    dy = (y1 - y0);
+    t0 = 0d;
+    t1 = 1d;
+
+    // Liang-Barsky clipping against the band
+    if (dx != 0d) {
+      t = ((0d - x0) / dx);
+      if (dx > 0d) {
+        t0 = Math.max(t0, t);
+        t1 = Math.min(t1, ((this.m_width - x0) / dx));
+      } else {
+        t1 = Math.min(t1, t);
+        t0 = Math.max(t0, ((this.m_width - x0) / dx));
+      }
+    } else {
+      if ((x0 < 0d) || (x0 >= this.m_width)) {
+        return last;
+      }
+    }
+    if (dy != 0d) {
+      t = ((minY - y0) / dy);
+      if (dy > 0d) {
+        t0 = Math.max(t0, t);
+        t1 = Math.min(t1, ((maxY - y0) / dy));
+      } else {
+        t1 = Math.min(t1, t);
+        t0 = Math.max(t0, ((maxY - y0) / dy));
+      }
+    } else {
+      if ((y0 < minY) || (y0 >= maxY)) {
+        return last;
+      }
+    }
+    if (t0 > t1) {
+      return last;
+    }
+
+    startX = (x0 + (t0 * dx));
+    startY = (y0 + (t0 * dy));
+    spanX = ((t1 - t0) * dx);
+    spanY = ((t1 - t0) * dy);
+    steps = ((int) (Math.ceil(Math.max(Math.abs(spanX), Math.abs(spanY)))));
+
+    pixel = last;
+    for (step = 0; step <= steps; step++) {
+      t = ((steps > 0) ? (((double) step) / steps) : 0d);
+      pixel = this.__hit(counts, (startX + (t * spanX)),
+          (startY + (t * spanY)), minY, maxY, pixel);
+    }
+    return pixel;
+  }
+
+  /**
+   * Color a band of rows
+   *
+   * @param minY
+   *          the first row
+   * @param maxY
+   *          the end row (exclusive)
+   */
+  private final void __color(final int minY, final int maxY) {
+    final int groups;
+    final double[] norms;
+    int index, pixel, count, color;
+    double alpha, red, green, blue, opacity;
+
+    groups = this.m_colors.length;
+    norms = new double[groups];
+    for (index = groups; (--index) >= 0;) {
+      norms[index] = ((this.m_max[index] > 0)
+          ? (1d / Math.log1p(this.m_max[index])) : 0d);
+    }
+
+    for (pixel = (minY * this.m_width); pixel < (maxY
+        * this.m_width); pixel++) {
+      red = green = blue = opacity = 0d;
+      for (index = 0; index < groups; index++) {
+        count = this.m_counts[index][pixel];
+        if (count <= 0) {
+          continue;
+        }
+        alpha = Math.min(1d, (Math.log1p(count) * norms[index]));
+        color = this.m_colors[index];
+        // source-over with premultiplied colors
+        red = ((((color >>> 16) & 0xFF) * alpha) + (red * (1d - alpha)));
+        green = ((((color >>> 8) & 0xFF) * alpha)
+            + (green * (1d - alpha)));
+        blue = (((color & 0xFF) * alpha) + (blue * (1d - alpha)));
+        opacity = (alpha + (opacity * (1d - alpha)));
+      }
+      if (opacity > 0d) {
+        this.m_pixels[pixel] = ((((int) ((opacity * 255d) + 0.5d)) << 24)
+            | (((int) ((red / opacity) + 0.5d)) << 16)
+            | (((int) ((green / opacity) + 0.5d)) << 8)
+            | ((int) ((blue / opacity) + 0.5d)));
+      }
+    }
+  }
+
+  /** the visitor computing the image y-range of a chunk of a line */
+  private static final class __BoundsVisitor extends Line2DVisitor {
+
+    /** the density image */
+    private final _Java2DDensity m_owner;
+
+    /** the number of points visited */
+    int m_points;
+
+    /** is the next move a point already visited with the chunk before? */
+    boolean m_skip;
+
+    /** the smallest y-coordinate */
+    double m_minY;
+
+    /** the largest y-coordinate */
+    double m_maxY;
+
+    /**
+     * create the visitor
+     *
+     * @param owner
+     *          the density image
+     */
+    __BoundsVisitor(final _Java2DDensity owner) {
+      super();
+      this.m_owner = owner;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void moveTo(final double x, final double y) {
+      if (this.m_skip) {
+        this.m_skip = false;
+        this.m_points--;
+      }
+      this.lineTo(x, y);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void lineTo(final double x, final double y) {
+      final double imageY;
+
+      imageY = ((y * this.m_owner.m_scaleY) + this.m_owner.m_translateY);
+      if (imageY < this.m_minY) {
+        this.m_minY = imageY;
+      }
+      if (imageY > this.m_maxY) {
+        this.m_maxY = imageY;
+      }
+      this.m_points++;
+    }
+  }
+
+  /** the visitor counting the hits of a line inside a band of rows */
+  private static final class __CountVisitor extends Line2DVisitor {
+
+    /** the density image */
+    private final _Java2DDensity m_owner;
+
+    /** the first row of the band */
+    private final int m_minY;
+
+    /** the end row of the band (exclusive) */
+    private final int m_maxY;
+
+    /** the hit counts of the group of the line */
+    private int[] m_counts;
+
+    /** does the line consist of a single point? */
+    private boolean m_isPoint;
+
+    /** does the next move continue the line instead of starting a run? */
+    boolean m_resume;
+
+    /** the index of the pixel hit last by the line, or {@code -1} */
+    private int m_last;
+
+    /** the image x-coordinate of the previous point */
+    private double m_x;
+
+    /** the image y-coordinate of the previous point */
+    private double m_y;
+
+    /**
+     * create the visitor
+     *
+     * @param owner
+     *          the density image
+     * @param minY
+     *          the first row of the band
+     * @param maxY
+     *          the end row of the band (exclusive)
+     */
+    __CountVisitor(final _Java2DDensity owner, final int minY,
+        final int maxY) {
+      super();
+      this.m_owner = owner;
+      this.m_minY = minY;
+      this.m_maxY = maxY;
+    }
+
+    /**
+     * Set the line to count
+     *
+     * @param counts
+     *          the hit counts of the group of the line
+     * @param isPoint
+     *          does the line consist of a single point?
+     */
+    final void _setLine(final int[] counts, final boolean isPoint) {
+      this.m_counts = counts;
+      this.m_isPoint = isPoint;
+      this.m_last = (-1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void moveTo(final double x, final double y) {
+      if (this.m_resume) {
+        this.m_resume = false;
+      } else {
+        this.m_last = (-1);
+      }
+      this.m_x = ((x * this.m_owner.m_scaleX) + this.m_owner.m_translateX);
+      this.m_y = ((y * this.m_owner.m_scaleY) + this.m_owner.m_translateY);
+      if (this.m_isPoint) {
+        this.m_last = this.m_owner.__hit(this.m_counts, this.m_x, this.m_y,
+            this.m_minY, this.m_maxY, this.m_last);
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void lineTo(final double x, final double y) {
+      final double x0, y0;
+
+      x0 = this.m_x;
+      y0 = this.m_y;
+      this.m_x = ((x * this.m_owner.m_scaleX) + this.m_owner.m_translateX);
+      this.m_y = ((y * this.m_owner.m_scaleY) + this.m_owner.m_translateY);
+      this.m_last = this.m_owner.__segment(this.m_counts, x0, y0, this.m_x,
+          this.m_y, this.m_minY, this.m_maxY, this.m_last);
+    }
+  }
+
+  /** a task processing a range of a phase */
+  private static final class __Range extends RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the density image */
+    private final _Java2DDensity m_owner;
+
+    /** the phase */
+    private final int m_phase;
+
+    /** the start of the range */
+    private final int m_start;
+
+    /** the end of the range (exclusive) */
+    private final int m_end;
+
+    /**
+     * create the task
+     *
+     * @param owner
+     *          the density image
+     * @param phase
+     *          the phase
+     * @param start
+     *          the start of the range
+     * @param end
+     *          the end of the range (exclusive)
+     */
+    __Range(final _Java2DDensity owner, final int phase, final int start,
+        final int end) {
+      super();
+      this.m_owner = owner;
+      this.m_phase = phase;
+      this.m_start = start;
+      this.m_end = end;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void compute() {
+      final int middle, span;
+
+      span = ((this.m_phase == _Java2DDensity.PHASE_TRANSFORM)
+          ? _Java2DDensity.LINES : _Java2DDensity.ROWS);
+      if ((this.m_end - this.m_start) > span) {
+        middle = ((this.m_start + this.m_end) >>> 1);
+        ForkJoinTask.invokeAll(
+            new __Range(this.m_owner, this.m_phase, this.m_start, middle),
+            new __Range(this.m_owner, this.m_phase, middle, this.m_end));
+      } else {
+        this.m_owner._process(this.m_phase, this.m_start, this.m_end);
+      }
+    }
+  }
+}
@@ -0,0 +1,356 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledDataElement;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+
+/**
+ * The legend of a Java2D chart. Each titled data element is represented
+ * by a small symbol followed by its title, written in its title font and
+ * color. Items are either stacked vertically or flow in centered rows.
+ * The legend can be painted onto a {@link Graphics2D} or, laid out with
+ * glyph atlases, onto a {@link _RasterCanvas}.
+ */
+final class _Java2DLegend {
+
+  /** the size of the item symbols */
+  private static final double SYMBOL = 8d;
+
+  /** the gap between rows */
+  private static final double ROW_GAP = (0.5d * _Java2DRenderer.GAP);
+
+  /** the items */
+  private final ArrayList<CompiledDataElement> m_items;
+
+  /** should the items be represented by lines instead of boxes? */
+  private final boolean m_lines;
+
+  /** the font metrics of the items */
+  private final FontMetrics[] m_metrics;
+
+  /** the horizontal offsets of the items inside their rows */
+  private final double[] m_x;
+
+  /** the vertical offsets of the rows of the items */
+  private final double[] m_y;
+
+  /** the heights of the rows of the items */
+  private final double[] m_rowHeight;
+
+  /** the widths of the rows of the items */
+  private final double[] m_rowWidth;
+
+  /** are the items stacked vertically? */
+  private boolean m_vertical;
+
+  /** the scale of symbols and gaps */
+  private double m_scale;
+
+  /** the width of the legend, valid after {@link #_layout} */
+  double m_width;
+
+  /** the height of the legend, valid after {@link #_layout} */
+  double m_height;
+
+  /**
+   * create the legend
+   *
+   * @param elements
+   *          the data elements
+   * @param lines
+   *          should the items be represented by lines instead of boxes?
+   */
+  _Java2DLegend(final ArrayListView<? extends CompiledDataElement> elements,
+      final boolean lines) {
+    super();
+
+    final int size;
+
+    this.m_items = new ArrayList<>(elements.size());
+    for (final CompiledDataElement element : elements) {
+      if (element.getTitle() != null) {
+        this.m_items.add(element);
+      }
+    }
+    this.m_lines = lines;
+
+    size = this.m_items.size();
+    this.m_metrics = new FontMetrics[size];
+    this.m_x = new double[size];
+    this.m_y = new double[size];
+    this.m_rowHeight = new double[size];
+    this.m_rowWidth = new double[size];
+  }
+
+  /**
+   * Does this legend have no items?
+   *
+   * @return {@code true} if there is nothing to show
+   */
+  final boolean _isEmpty() {
+    return this.m_items.isEmpty();
+  }
+
+  /**
+   * Store the extent of a row
+   *
+   * @param start
+   *          the first item of the row
+   * @param end
+   *          the end item of the row (exclusive)
+   * @param top
+   *          the vertical offset of the row
+   * @param width
+   *          the width of the row
+   * @param height
+   *          the height of the row
+   */
+  private final void __closeRow(final int start, final int end,
+      final double top, final double width, final double height) {
+    int i;
+
+    for (i = start; i < end; i++) {
+      this.m_y[i] = top;
+      this.m_rowWidth[i] = width;
+      this.m_rowHeight[i] = height;
+    }
+  }
+
+  /**
+   * Compute the positions of the items and the size of the legend for
+   * painting on a graphic
+   *
+   * @param graphic
+   *          the graphic
+   * @param maxWidth
+   *          the width available for a row
+   * @param vertical
+   *          {@code true} to put each item into its own row
+   */
+  final void _layout(final Graphics2D graphic, final double maxWidth,
+      final boolean vertical) {
+    int i;
+
+    for (i = this.m_items.size(); (--i) >= 0;) {
+      this.m_metrics[i] = graphic
+          .getFontMetrics(this.m_items.get(i).getTitleFont());
+    }
+    this.__layout(maxWidth, vertical, 1d);
+  }
+
+  /**
+   * Compute the positions of the items and the size of the legend for
+   * painting on a {@link _RasterCanvas}
+   *
+   * @param scale
+   *          the scale from user space to device space
+   * @param maxWidth
+   *          the width available for a row, in device units
+   * @param vertical
+   *          {@code true} to put each item into its own row
+   */
+  final void _layout(final double scale, final double maxWidth,
+      final boolean vertical) {
+    int i;
+
+    for (i = this.m_items.size(); (--i) >= 0;) {
+      this.m_metrics[i] = _RasterFont
+          ._get(this.m_items.get(i).getTitleFont(), scale);
+    }
+    this.__layout(maxWidth, vertical, scale);
+  }
+
+  /**
+   * Compute the positions of the items and the size of the legend once
+   * the font metrics are known
+   *
+   * @param maxWidth
+   *          the width available for a row
+   * @param vertical
+   *          {@code true} to put each item into its own row
+   * @param scale
+   *          the scale of symbols and gaps
+   */
+  private final void __layout(final double maxWidth,
+      final boolean vertical, final double scale) {
+    final int size;
+    final double symbol, gap;
+    FontMetrics metrics;
+    double x, y, itemWidth, rowHeight, width;
+    int i, rowStart;
+
+    symbol = (_Java2DLegend.SYMBOL * scale);
+    gap = (_Java2DRenderer.GAP * scale);
+    size = this.m_items.size();
+    x = y = rowHeight = width = 0d;
+    rowStart = 0;
+    for (i = 0; i < size; i++) {
+      metrics = this.m_metrics[i];
+      itemWidth = (symbol + gap
+          + metrics.stringWidth(this.m_items.get(i).getTitle()));
+
+      if ((i > rowStart) && (vertical || ((x + itemWidth) > maxWidth))) {
+        x -= gap;
+        this.__closeRow(rowStart, i, y, x, rowHeight);
+        width = Math.max(width, x);
+        y += (rowHeight + (_Java2DLegend.ROW_GAP * scale));
+        x = rowHeight = 0d;
+        rowStart = i;
+      }
+
+      this.m_x[i] = x;
+      x += (itemWidth + gap);
+      rowHeight = Math.max(rowHeight,
+          Math.max(symbol, metrics.getHeight()));
+    }
+
+    x -= gap;
+    this.__closeRow(rowStart, size, y, x, rowHeight);
+    this.m_width = Math.max(width, x);
+    this.m_height = (y + rowHeight);
+    this.m_vertical = vertical;
+    this.m_scale = scale;
+  }
+
+  /**
+   * Paint the legend after it has been laid out
+   *
+   * @param graphic
+   *          the graphic
+   * @param left
+   *          the left coordinate of the legend
+   * @param top
+   *          the top coordinate of the legend
+   * @param background
+   *          should the legend area be cleared first?
+   */
+  final void _paint(final Graphics2D graphic, final double left,
+      final double top, final boolean background) {
+    final Line2D.Double line;
+    final Rectangle2D.Double box;
+    final int size;
+    CompiledDataElement item;
+    FontMetrics metrics;
+    Color color;
+    double x, centerY;
+    int i;
+
+    if (background) {
+      graphic.setPaint(Color.WHITE);
+      graphic.fill(new Rectangle2D.Double(left, top, this.m_width,
+          this.m_height));
+    }
+
+    line = new Line2D.Double();
+    box = new Rectangle2D.Double();
+    size = this.m_items.size();
+    for (i = 0; i < size; i++) {
+      item = this.m_items.get(i);
+      metrics = this.m_metrics[i];
+      color = item.getColor();
+
+      x = (left + this.m_x[i]);
+      if (!(this.m_vertical)) {
+        x += (0.5d * (this.m_width - this.m_rowWidth[i]));
+      }
+      centerY = (top + this.m_y[i] + (0.5d * this.m_rowHeight[i]));
+
+      if (this.m_lines) {
+        line.setLine(x, centerY, (x + _Java2DLegend.SYMBOL), centerY);
+        graphic.setPaint(color);
+        graphic.setStroke(item.getStroke());
+        graphic.draw(line);
+      } else {
+        box.setRect(x, (centerY - (0.5d * _Java2DLegend.SYMBOL)),
+            _Java2DLegend.SYMBOL, _Java2DLegend.SYMBOL);
+        graphic.setPaint(color);
+        graphic.fill(box);
+        graphic.setPaint(color.darker().darker());
+        graphic.setStroke(item.getStroke());
+        graphic.draw(box);
+      }
+
+      graphic.setFont(metrics.getFont());
+      graphic.setPaint(color);
+      graphic.drawString(item.getTitle(),
+          ((float) (x + _Java2DLegend.SYMBOL + _Java2DRenderer.GAP)),
+          ((float) (centerY
+              + (0.5d * (metrics.getAscent() - metrics.getDescent())))));
+    }
+  }
+
+  /**
+   * Paint the legend onto a raster canvas after it has been laid out
+   * via {@link #_layout(double, double, boolean)}
+   *
+   * @param canvas
+   *          the canvas
+   * @param left
+   *          the left coordinate of the legend
+   * @param top
+   *          the top coordinate of the legend
+   * @param background
+   *          should the legend area be cleared first?
+   */
+  final void _paint(final _RasterCanvas canvas, final double left,
+      final double top, final boolean background) {
+    final double symbol, gap;
+    final int size;
+    CompiledDataElement item;
+    FontMetrics metrics;
+    double x, centerY, width;
+    int color, outline, i;
+
+    if (background) {
+      canvas._fill(left, top, this.m_width, this.m_height, 0xFFFFFFFF);
+    }
+
+    symbol = (_Java2DLegend.SYMBOL * this.m_scale);
+    gap = (_Java2DRenderer.GAP * this.m_scale);
+    size = this.m_items.size();
+    for (i = 0; i < size; i++) {
+      item = this.m_items.get(i);
+      metrics = this.m_metrics[i];
+      color = item.getColor().getRGB();
+
+      x = (left + this.m_x[i]);
+      if (!(this.m_vertical)) {
+        x += (0.5d * (this.m_width - this.m_rowWidth[i]));
+      }
+      centerY = (top + this.m_y[i] + (0.5d * this.m_rowHeight[i]));
+
+      width = _RasterCanvas._getWidth(item.getStroke(), this.m_scale);
+      if (this.m_lines) {
+        canvas._stroke(x, centerY, (x + symbol), centerY, color, width, 0,
+            0, canvas.m_width, canvas.m_height);
+      } else {
+        canvas._fill(x, (centerY - (0.5d * symbol)), symbol, symbol,
+            color);
+        outline = item.getColor().darker().darker().getRGB();
+        canvas._stroke(x, (centerY - (0.5d * symbol)), (x + symbol),
+            (centerY - (0.5d * symbol)), outline, width, 0, 0,
+            canvas.m_width, canvas.m_height);
+        canvas._stroke(x, (centerY + (0.5d * symbol)), (x + symbol),
+            (centerY + (0.5d * symbol)), outline, width, 0, 0,
+            canvas.m_width, canvas.m_height);
+        canvas._stroke(x, (centerY - (0.5d * symbol)), x,
+            (centerY + (0.5d * symbol)), outline, width, 0, 0,
+            canvas.m_width, canvas.m_height);
+        canvas._stroke((x + symbol), (centerY - (0.5d * symbol)),
+            (x + symbol), (centerY + (0.5d * symbol)), outline, width, 0,
+            0, canvas.m_width, canvas.m_height);
+      }
+
+      canvas._drawString(((_RasterFont) metrics), item.getTitle(),
+          (x + symbol + gap), (centerY
+              + (0.5d * (metrics.getAscent() - metrics.getDescent()))),
+          color, false);
+    }
+  }
+}
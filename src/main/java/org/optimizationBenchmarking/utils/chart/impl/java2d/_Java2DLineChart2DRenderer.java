@@ -0,0 +1,773 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.AlphaComposite;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledAxis;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledBand2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.ELineChartRendering;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.Line2DVisitor;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.OffHeapMatrix;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.TransformedShape;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * <p>
+ * The 2d line chart painted with plain Java2D. The plot area is what
+ * remains after reserving space for the tick labels and axis titles. Each
+ * line is drawn with a single call as its data-space path under
+ * the data-to-device transformation, clipped to the plot area. Bands are
+ * filled the same way, below all lines.
+ * </p>
+ * <p>
+ * If layers are requested and a chart with many points is painted onto an
+ * image, the lines are split into contiguous partitions which are
+ * rasterized in parallel, each into its own transparent layer covering the
+ * plot area with the same transformation and rendering hints as the target.
+ * The layers are then composited onto the target in the order of the lines,
+ * so the z-order of the lines is kept. Source-over compositing is
+ * associative, but the layers store 8-bit premultiplied colors: Where the
+ * anti-aliased edges of lines in different layers overlap, the result may
+ * differ from painting the lines one after the other by rounding, i.e., by
+ * a few units per color channel. Therefore, layers are an explicit opt-in:
+ * They are only used if the renderer is asked for them and given a pool,
+ * the target is an image painted with plain source-over compositing and
+ * without shear, and the lines have at least {@value #MIN_LAYER_POINTS}
+ * points together. Vector targets are always painted sequentially, as
+ * layers would turn their lines into bitmaps.
+ * </p>
+ * <p>
+ * Charts with
+ * {@link org.optimizationBenchmarking.utils.chart.impl.abstr.ELineChartRendering#DENSITY
+ * density rendering} are painted as a single {@link _Java2DDensity
+ * density image} at device resolution instead. If that image would be
+ * too large for memory, the lines are painted as lines.
+ * </p>
+ */
+final class _Java2DLineChart2DRenderer
+    extends _Java2DRenderer<CompiledLineChart2D> {
+
+  /** the length of the tick marks */
+  private static final double TICK = 2d;
+
+  /** the number of segments per chunk when streaming off-heap lines */
+  private static final int CHUNK = 4096;
+
+  /** the minimum number of points for painting lines in layers */
+  private static final int MIN_LAYER_POINTS = 65536;
+
+  /** the maximum number of pixels of all layers together */
+  private static final long MAX_LAYER_PIXELS = (1L << 26);
+
+  /**
+   * the pool to paint layers and density images in, or {@code null} if
+   * everything is painted in the current thread
+   */
+  private final ForkJoinPool m_pool;
+
+  /** should the lines of large charts be painted in parallel layers? */
+  private final boolean m_layers;
+
+  /**
+   * Create a new line chart
+   *
+   * @param chart
+   *          the chart to paint
+   * @param pool
+   *          the pool to paint layers and density images in, or
+   *          {@code null} if everything should be painted in the current
+   *          thread
+   * @param layers
+   *          should the lines of large charts be painted in parallel
+   *          layers, which may differ from sequential painting by
+   *          rounding?
+   */
+  _Java2DLineChart2DRenderer(final CompiledLineChart2D chart,
+      final ForkJoinPool pool, final boolean layers) {
+    super(chart, chart.getLines(), true);
+    this.m_pool = pool;
+    this.m_layers = layers;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final boolean _isOverlayLegendAtTop() {
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final Rectangle2D _paintContent(final Graphics2D graphic,
+      final Rectangle2D area) {
+    final CompiledAxis x, y;
+    final FontMetrics xTicks, yTicks;
+    final _Java2DAxis xAxis, yAxis;
+    final Rectangle2D plot;
+    final AffineTransform transform;
+    final double top, height;
+    double bottom, left, right, width;
+
+    x = this.m_chart.getXAxis();
+    y = this.m_chart.getYAxis();
+    xTicks = graphic.getFontMetrics(x.getTickFont());
+    yTicks = graphic.getFontMetrics(y.getTickFont());
+
+    top = (0.5d * yTicks.getHeight());
+    bottom = (_Java2DLineChart2DRenderer.TICK + _Java2DRenderer.GAP
+        + xTicks.getHeight());
+    if (x.getTitle() != null) {
+      bottom += (_Java2DRenderer.GAP
+          + graphic.getFontMetrics(x.getTitleFont()).getHeight());
+    }
+    height = (area.getHeight() - top - bottom);
+    if (height <= 0d) {
+      return null;
+    }
+
+    yAxis = new _Java2DAxis(y);
+    yAxis._computeTicks(height, yTicks, false);
+    left = (_Java2DLineChart2DRenderer.TICK + _Java2DRenderer.GAP
+        + yAxis.m_maxLabelWidth);
+    if (y.getTitle() != null) {
+      left += (_Java2DRenderer.GAP
+          + graphic.getFontMetrics(y.getTitleFont()).getHeight());
+    }
+
+    xAxis = new _Java2DAxis(x);
+    xAxis._computeTicks((area.getWidth() - left - _Java2DRenderer.GAP),
+        xTicks, true);
+    right = Math.max(_Java2DRenderer.GAP, (0.5d * xAxis.m_maxLabelWidth));
+    width = (area.getWidth() - left - right);
+    if (width <= 0d) {
+      return null;
+    }
+
+    plot = new Rectangle2D.Double((area.getX() + left),
+        (area.getY() + top), width, height);
+    transform = new AffineTransform(//
+        (width / (xAxis.m_max - xAxis.m_min)), 0d, 0d, //
+        (-height / (yAxis.m_max - yAxis.m_min)), //
+        plot.getX(), plot.getMaxY());
+    transform.translate(-xAxis.m_min, -yAxis.m_min);
+
+    this.__paintGrid(graphic, plot, transform, xAxis, yAxis);
+    _Java2DLineChart2DRenderer.__paintXAxis(graphic, plot, transform,
+        xAxis, xTicks);
+    _Java2DLineChart2DRenderer.__paintYAxis(graphic, area, plot,
+        transform, yAxis, yTicks);
+    this.__paintLines(graphic, plot, transform);
+    return plot;
+  }
+
+  /**
+   * Paint the grid lines
+   *
+   * @param graphic
+   *          the graphic
+   * @param plot
+   *          the plot area
+   * @param transform
+   *          the data-to-device transformation
+   * @param xAxis
+   *          the x-axis
+   * @param yAxis
+   *          the y-axis
+   */
+  private final void __paintGrid(final Graphics2D graphic,
+      final Rectangle2D plot, final AffineTransform transform,
+      final _Java2DAxis xAxis, final _Java2DAxis yAxis) {
+    final Line2D.Double line;
+    double coord;
+    int i;
+
+    line = new Line2D.Double();
+
+    graphic.setPaint(xAxis.m_axis.getGridLineColor());
+    graphic.setStroke(xAxis.m_axis.getGridLineStroke());
+    for (i = xAxis.m_count; (--i) >= 0;) {
+      coord = ((xAxis.m_ticks[i] * transform.getScaleX())
+          + transform.getTranslateX());
+      line.setLine(coord, plot.getMinY(), coord, plot.getMaxY());
+      graphic.draw(line);
+    }
+
+    graphic.setPaint(yAxis.m_axis.getGridLineColor());
+    graphic.setStroke(yAxis.m_axis.getGridLineStroke());
+    for (i = yAxis.m_count; (--i) >= 0;) {
+      coord = ((yAxis.m_ticks[i] * transform.getScaleY())
+          + transform.getTranslateY());
+      line.setLine(plot.getMinX(), coord, plot.getMaxX(), coord);
+      graphic.draw(line);
+    }
+  }
+
+  /**
+   * Paint the x-axis
+   *
+   * @param graphic
+   *          the graphic
+   * @param plot
+   *          the plot area
+   * @param transform
+   *          the data-to-device transformation
+   * @param xAxis
+   *          the x-axis
+   * @param metrics
+   *          the metrics of the tick font
+   */
+  private static final void __paintXAxis(final Graphics2D graphic,
+      final Rectangle2D plot, final AffineTransform transform,
+      final _Java2DAxis xAxis, final FontMetrics metrics) {
+    final CompiledAxis axis;
+    final Line2D.Double line;
+    final FontMetrics titleMetrics;
+    final String title;
+    final double bottom, baseline;
+    double coord;
+    int i;
+
+    axis = xAxis.m_axis;
+    bottom = plot.getMaxY();
+    line = new Line2D.Double(plot.getMinX(), bottom, plot.getMaxX(),
+        bottom);
+    graphic.setPaint(axis.getAxisColor());
+    graphic.setStroke(axis.getAxisStroke());
+    graphic.draw(line);
+
+    graphic.setFont(metrics.getFont());
+    baseline = (bottom + _Java2DLineChart2DRenderer.TICK
+        + _Java2DRenderer.GAP + metrics.getAscent());
+    for (i = xAxis.m_count; (--i) >= 0;) {
+      coord = ((xAxis.m_ticks[i] * transform.getScaleX())
+          + transform.getTranslateX());
+      line.setLine(coord, bottom, coord,
+          (bottom + _Java2DLineChart2DRenderer.TICK));
+      graphic.draw(line);
+      graphic.drawString(xAxis.m_labels[i],
+          ((float) (coord
+              - (0.5d * metrics.stringWidth(xAxis.m_labels[i])))),
+          ((float) baseline));
+    }
+
+    title = axis.getTitle();
+    if (title != null) {
+      titleMetrics = graphic.getFontMetrics(axis.getTitleFont());
+      graphic.setFont(titleMetrics.getFont());
+      graphic.drawString(title,
+          ((float) (plot.getCenterX()
+              - (0.5d * titleMetrics.stringWidth(title)))),
+          ((float) (baseline + metrics.getDescent() + _Java2DRenderer.GAP
+              + titleMetrics.getAscent())));
+    }
+  }
+
+  /**
+   * Paint the y-axis
+   *
+   * @param graphic
+   *          the graphic
+   * @param area
+   *          the area available for the plot and axes
+   * @param plot
+   *          the plot area
+   * @param transform
+   *          the data-to-device transformation
+   * @param yAxis
+   *          the y-axis
+   * @param metrics
+   *          the metrics of the tick font
+   */
+  private static final void __paintYAxis(final Graphics2D graphic,
+      final Rectangle2D area, final Rectangle2D plot,
+      final AffineTransform transform, final _Java2DAxis yAxis,
+      final FontMetrics metrics) {
+    final CompiledAxis axis;
+    final Line2D.Double line;
+    final FontMetrics titleMetrics;
+    final AffineTransform old;
+    final String title;
+    final double left, right, shift;
+    double coord;
+    int i;
+
+    axis = yAxis.m_axis;
+    left = plot.getMinX();
+    line = new Line2D.Double(left, plot.getMinY(), left, plot.getMaxY());
+    graphic.setPaint(axis.getAxisColor());
+    graphic.setStroke(axis.getAxisStroke());
+    graphic.draw(line);
+
+    graphic.setFont(metrics.getFont());
+    right = (left - _Java2DLineChart2DRenderer.TICK - _Java2DRenderer.GAP);
+    shift = (0.5d * (metrics.getAscent() - metrics.getDescent()));
+    for (i = yAxis.m_count; (--i) >= 0;) {
+      coord = ((yAxis.m_ticks[i] * transform.getScaleY())
+          + transform.getTranslateY());
+      line.setLine((left - _Java2DLineChart2DRenderer.TICK), coord, left,
+          coord);
+      graphic.draw(line);
+      graphic.drawString(yAxis.m_labels[i],
+          ((float) (right - metrics.stringWidth(yAxis.m_labels[i]))),
+          ((float) (coord + shift)));
+    }
+
+    title = axis.getTitle();
+    if (title != null) {
+      titleMetrics = graphic.getFontMetrics(axis.getTitleFont());
+      graphic.setFont(titleMetrics.getFont());
+      old = graphic.getTransform();
+      try {
+        graphic.translate((area.getX() + titleMetrics.getAscent()),
+            plot.getCenterY());
+        graphic.rotate(-0.5d * Math.PI);
+        graphic.drawString(title,
+            ((float) (-0.5d * titleMetrics.stringWidth(title))), 0f);
+      } finally {
+        graphic.setTransform(old);
+      }
+    }
+  }
+
+  /**
+   * Paint the lines
+   *
+   * @param graphic
+   *          the graphic
+   * @param plot
+   *          the plot area
+   * @param transform
+   *          the data-to-device transformation
+   */
+  private final void __paintLines(final Graphics2D graphic,
+      final Rectangle2D plot, final AffineTransform transform) {
+    final ArrayListView<CompiledLine2D> lines;
+    final Shape clip;
+
+    lines = this.m_chart.getLines();
+    clip = graphic.getClip();
+    graphic.clip(plot);
+    try {
+      this.__paintBands(graphic, transform);
+      if ((this.m_chart.getRendering() == ELineChartRendering.DENSITY)
+          && this.__paintDensity(graphic, plot, transform, lines)) {
+        return;
+      }
+      if (!(this.__paintLayers(graphic, plot, transform, lines))) {
+        _Java2DLineChart2DRenderer.__paintRange(graphic, transform,
+            lines, 0, lines.size());
+      }
+    } finally {
+      graphic.setClip(clip);
+    }
+  }
+
+  /**
+   * Fill the bands
+   *
+   * @param graphic
+   *          the graphic, already clipped to the plot area
+   * @param transform
+   *          the data-to-device transformation
+   */
+  private final void __paintBands(final Graphics2D graphic,
+      final AffineTransform transform) {
+    final TransformedShape shape;
+
+    shape = new TransformedShape();
+    for (final CompiledBand2D band : this.m_chart.getBands()) {
+      graphic.setPaint(band.getColor());
+      shape.set(band.getPath(), transform);
+      graphic.fill(shape);
+    }
+  }
+
+  /**
+   * Paint the lines as density image, unless the image at device
+   * resolution would not {@link _Java2DDensity#_fits(int, int) fit}
+   *
+   * @param graphic
+   *          the graphic, already clipped to the plot area
+   * @param plot
+   *          the plot area
+   * @param transform
+   *          the data-to-device transformation
+   * @param lines
+   *          the lines
+   * @return {@code true} if the density image was painted, {@code false}
+   *         if the lines must be painted as lines instead
+   */
+  private final boolean __paintDensity(final Graphics2D graphic,
+      final Rectangle2D plot, final AffineTransform transform,
+      final ArrayListView<CompiledLine2D> lines) {
+    final AffineTransform device;
+    final double scale;
+    final int width, height;
+
+    device = graphic.getTransform();
+    scale = Math.max(1d,
+        Math.hypot(device.getScaleX(), device.getShearY()));
+    width = ((int) (Math.min(Integer.MAX_VALUE,
+        Math.ceil(plot.getWidth() * scale))));
+    height = ((int) (Math.min(Integer.MAX_VALUE,
+        Math.ceil(plot.getHeight() * scale))));
+    if (!(_Java2DDensity._fits(width, height))) {
+      return false;
+    }
+
+    graphic.drawImage(_Java2DDensity._render(lines,
+        (transform.getScaleX() * scale),
+        ((transform.getTranslateX() - plot.getX()) * scale),
+        (transform.getScaleY() * scale),
+        ((transform.getTranslateY() - plot.getY()) * scale), //
+        width, height, this.m_pool),
+        new AffineTransform((1d / scale), 0d, 0d, (1d / scale),
+            plot.getX(), plot.getY()),
+        null);
+    return true;
+  }
+
+  /**
+   * Paint a range of lines one after the other
+   *
+   * @param graphic
+   *          the graphic, already clipped to the plot area
+   * @param transform
+   *          the data-to-device transformation
+   * @param lines
+   *          the lines
+   * @param start
+   *          the index of the first line to paint
+   * @param end
+   *          the index after the last line to paint
+   */
+  private static final void __paintRange(final Graphics2D graphic,
+      final AffineTransform transform,
+      final ArrayListView<CompiledLine2D> lines, final int start,
+      final int end) {
+    final TransformedShape shape;
+    CompiledLine2D line;
+    IMatrix data;
+    int index;
+
+    shape = new TransformedShape();
+    for (index = start; index < end; index++) {
+      line = lines.get(index);
+      graphic.setPaint(line.getColor());
+      graphic.setStroke(line.getStroke());
+      data = line.getData();
+      if (data instanceof OffHeapMatrix) {
+        // off-heap data is streamed, without copying it to the heap
+        _Java2DLineChart2DRenderer.__streamLine(graphic, line, shape,
+            transform);
+      } else {
+        shape.set(line.createPath(0, data.m()), transform);
+        graphic.draw(shape);
+      }
+    }
+  }
+
+  /**
+   * Paint the lines in parallel into layers which are then composited onto
+   * the graphic, if layers are requested, possible, and worth it. The
+   * result equals sequential painting up to the rounding of the 8-bit
+   * layers where anti-aliased edges overlap.
+   *
+   * @param graphic
+   *          the graphic, already clipped to the plot area
+   * @param plot
+   *          the plot area
+   * @param transform
+   *          the data-to-device transformation
+   * @param lines
+   *          the lines
+   * @return {@code true} if the lines have been painted, {@code false}
+   *         if they must be painted sequentially
+   */
+  private final boolean __paintLayers(final Graphics2D graphic,
+      final Rectangle2D plot, final AffineTransform transform,
+      final ArrayListView<CompiledLine2D> lines) {
+    final AffineTransform device, shifted;
+    final Rectangle bounds;
+    final RenderingHints hints;
+    final ArrayList<__PaintLayer> layers;
+    final int size;
+    long points;
+    int count, index, start, end;
+
+    size = lines.size();
+    if ((!(this.m_layers)) || (this.m_pool == null) || (size <= 1)
+        || (this.m_pool.getParallelism() <= 1)) {
+      return false;
+    }
+    if ((graphic.getDeviceConfiguration().getDevice()
+        .getType() != GraphicsDevice.TYPE_IMAGE_BUFFER)
+        || (!(AlphaComposite.SrcOver.equals(graphic.getComposite())))) {
+      return false;
+    }
+    device = graphic.getTransform();
+    if ((device.getShearX() != 0d) || (device.getShearY() != 0d)) {
+      return false;
+    }
+
+    points = 0L;
+    for (final CompiledLine2D line : lines) {
+      points += line.getData().m();
+    }
+    if (points < _Java2DLineChart2DRenderer.MIN_LAYER_POINTS) {
+      return false;
+    }
+
+    bounds = device.createTransformedShape(plot).getBounds();
+    count = Math.min(size, this.m_pool.getParallelism());
+    if ((bounds.width <= 0) || (bounds.height <= 0)
+        || ((((long) bounds.width) * bounds.height
+            * count) > _Java2DLineChart2DRenderer.MAX_LAYER_PIXELS)) {
+      return false;
+    }
+
+    hints = graphic.getRenderingHints();
+    shifted = AffineTransform.getTranslateInstance(-bounds.x, -bounds.y);
+    shifted.concatenate(device);
+    layers = new ArrayList<>(count);
+    start = 0;
+    for (index = 0; index < count; index++) {
+      end = (int) ((((long) size) * (index + 1)) / count);
+      layers.add(new __PaintLayer(hints, shifted, plot, transform, bounds,
+          lines, start, end));
+      start = end;
+    }
+    this.m_pool.invoke(new __PaintLayers(layers));
+
+    graphic.setTransform(new AffineTransform());
+    try {
+      for (final __PaintLayer layer : layers) {
+        graphic.drawImage(layer.m_image, bounds.x, bounds.y, null);
+      }
+    } finally {
+      graphic.setTransform(device);
+    }
+    return true;
+  }
+
+  /**
+   * Draw a line read directly from its data matrix, flushing the path
+   * every {@link #CHUNK} segments
+   *
+   * @param graphic
+   *          the graphic
+   * @param line
+   *          the line
+   * @param shape
+   *          the shape to use for drawing
+   * @param transform
+   *          the data-to-device transformation
+   */
+  private static final void __streamLine(final Graphics2D graphic,
+      final CompiledLine2D line, final TransformedShape shape,
+      final AffineTransform transform) {
+    final __StreamVisitor visitor;
+
+    visitor = new __StreamVisitor(graphic, shape, transform);
+    visitor.visit(line);
+    visitor._flush();
+  }
+
+  /** the visitor drawing a line in chunks of {@link #CHUNK} segments */
+  private static final class __StreamVisitor extends Line2DVisitor {
+
+    /** the graphic */
+    private final Graphics2D m_graphic;
+
+    /** the shape to use for drawing */
+    private final TransformedShape m_shape;
+
+    /** the data-to-device transformation */
+    private final AffineTransform m_transform;
+
+    /** the path of the current chunk */
+    private final Path2D.Double m_path;
+
+    /** the number of segments in the current chunk */
+    private int m_segments;
+
+    /**
+     * create the visitor
+     *
+     * @param graphic
+     *          the graphic
+     * @param shape
+     *          the shape to use for drawing
+     * @param transform
+     *          the data-to-device transformation
+     */
+    __StreamVisitor(final Graphics2D graphic, final TransformedShape shape,
+        final AffineTransform transform) {
+      super();
+      this.m_graphic = graphic;
+      this.m_shape = shape;
+      this.m_transform = transform;
+      this.m_path = new Path2D.Double(Path2D.WIND_NON_ZERO,
+          (_Java2DLineChart2DRenderer.CHUNK + 1));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void moveTo(final double x, final double y) {
+      this.m_path.moveTo(x, y);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void lineTo(final double x, final double y) {
+      this.m_path.lineTo(x, y);
+      if ((++this.m_segments) >= _Java2DLineChart2DRenderer.CHUNK) {
+        this._flush();
+        this.m_path.moveTo(x, y);
+      }
+    }
+
+    /** draw and clear the current chunk */
+    final void _flush() {
+      if (this.m_segments > 0) {
+        this.m_shape.set(this.m_path, this.m_transform);
+        this.m_graphic.draw(this.m_shape);
+        this.m_segments = 0;
+      }
+      this.m_path.reset();
+    }
+  }
+
+  /** the task painting a contiguous range of lines into a layer */
+  private static final class __PaintLayer extends RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the rendering hints of the target graphic */
+    private final RenderingHints m_hints;
+
+    /** the device transformation of the layer */
+    private final AffineTransform m_device;
+
+    /** the plot area */
+    private final Rectangle2D m_plot;
+
+    /** the data-to-device transformation */
+    private final AffineTransform m_transform;
+
+    /** the device bounds of the layer */
+    private final Rectangle m_bounds;
+
+    /** the lines */
+    private final ArrayListView<CompiledLine2D> m_lines;
+
+    /** the index of the first line to paint */
+    private final int m_start;
+
+    /** the index after the last line to paint */
+    private final int m_end;
+
+    /** the layer, valid after the task has completed */
+    BufferedImage m_image;
+
+    /**
+     * create the task
+     *
+     * @param hints
+     *          the rendering hints of the target graphic
+     * @param device
+     *          the device transformation of the layer
+     * @param plot
+     *          the plot area
+     * @param transform
+     *          the data-to-device transformation
+     * @param bounds
+     *          the device bounds of the layer
+     * @param lines
+     *          the lines
+     * @param start
+     *          the index of the first line to paint
+     * @param end
+     *          the index after the last line to paint
+     */
+    __PaintLayer(final RenderingHints hints, final AffineTransform device,
+        final Rectangle2D plot, final AffineTransform transform,
+        final Rectangle bounds, final ArrayListView<CompiledLine2D> lines,
+        final int start, final int end) {
+      super();
+      this.m_hints = hints;
+      this.m_device = device;
+      this.m_plot = plot;
+      this.m_transform = transform;
+      this.m_bounds = bounds;
+      this.m_lines = lines;
+      this.m_start = start;
+      this.m_end = end;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void compute() {
+      final BufferedImage image;
+      final Graphics2D graphic;
+
+      image = new BufferedImage(this.m_bounds.width, this.m_bounds.height,
+          BufferedImage.TYPE_INT_ARGB_PRE);
+      graphic = image.createGraphics();
+      try {
+        graphic.setRenderingHints(this.m_hints);
+        graphic.setTransform(this.m_device);
+        graphic.clip(this.m_plot);
+        _Java2DLineChart2DRenderer.__paintRange(graphic, this.m_transform,
+            this.m_lines, this.m_start, this.m_end);
+      } finally {
+        graphic.dispose();
+      }
+      this.m_image = image;
+    }
+  }
+
+  /** the task painting several layers in parallel */
+  private static final class __PaintLayers extends RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the tasks */
+    private final ArrayList<__PaintLayer> m_tasks;
+
+    /**
+     * create the task
+     *
+     * @param tasks
+     *          the tasks
+     */
+    __PaintLayers(final ArrayList<__PaintLayer> tasks) {
+      super();
+      this.m_tasks = tasks;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void compute() {
+      ForkJoinTask.invokeAll(this.m_tasks);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Rectangle2D;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledDataScalar;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledPieChart;
+
+/**
+ * The pie chart painted with plain Java2D. Slices start at the top and
+ * proceed clockwise, each filled in its color and outlined in a darker
+ * shade of it with its stroke. Slices with non-positive or non-finite
+ * amounts are omitted.
+ */
+final class _Java2DPieChartRenderer
+    extends _Java2DRenderer<CompiledPieChart> {
+
+  /**
+   * Create a new pie chart
+   *
+   * @param chart
+   *          the chart to paint
+   */
+  _Java2DPieChartRenderer(final CompiledPieChart chart) {
+    super(chart, chart.getSlices(), false);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final boolean _isOverlayLegendAtTop() {
+    return false;
+  }
+
+  /**
+   * Get the amount of a slice
+   *
+   * @param slice
+   *          the slice
+   * @return the amount, or {@code 0} if the slice should be omitted
+   */
+  private static final double __amount(final CompiledDataScalar slice) {
+    final double amount;
+
+    amount = slice.getData().doubleValue();
+    return (((amount > 0d) && (amount < Double.POSITIVE_INFINITY))
+        ? amount : 0d);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final Rectangle2D _paintContent(final Graphics2D graphic,
+      final Rectangle2D area) {
+    final double diameter, left, top;
+    final Arc2D.Double arc;
+    double total, start, extent, amount;
+    Color color;
+
+    total = 0d;
+    for (final CompiledDataScalar slice : this.m_chart.getSlices()) {
+      total += _Java2DPieChartRenderer.__amount(slice);
+    }
+
+    diameter = (Math.min(area.getWidth(), area.getHeight())
+        - (2d * _Java2DRenderer.GAP));
+    if ((diameter > 0d) && (total > 0d)
+        && (total < Double.POSITIVE_INFINITY)) {
+      left = (area.getCenterX() - (0.5d * diameter));
+      top = (area.getCenterY() - (0.5d * diameter));
+      arc = new Arc2D.Double(Arc2D.PIE);
+      start = 90d;
+      for (final CompiledDataScalar slice : this.m_chart.getSlices()) {
+        amount = _Java2DPieChartRenderer.__amount(slice);
+        if (amount <= 0d) {
+          continue;
+        }
+        extent = ((360d * amount) / total);
+        arc.setArc(left, top, diameter, diameter, start, -extent,
+            Arc2D.PIE);
+        color = slice.getColor();
+        graphic.setPaint(color);
+        graphic.fill(arc);
+        graphic.setPaint(color.darker().darker());
+        graphic.setStroke(slice.getStroke());
+        graphic.draw(arc);
+        start -= extent;
+      }
+    }
+
+    return area;
+  }
+}
@@ -0,0 +1,177 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.geom.Rectangle2D;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledChart;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledDataElement;
+import org.optimizationBenchmarking.utils.chart.spec.ELegendMode;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.graphics.GraphicUtils;
+
+/**
+ * The base class for Java2D chart renderers. It paints the background,
+ * the chart title, and the legend, and leaves the remaining area to the
+ * chart-specific content.
+ *
+ * @param <C>
+ *          the chart type
+ */
+abstract class _Java2DRenderer<C extends CompiledChart> {
+
+  /** the gap between elements, in device units */
+  static final double GAP = 4d;
+
+  /** the chart */
+  final C m_chart;
+
+  /** the legend, or {@code null} if no legend is shown */
+  private final _Java2DLegend m_legend;
+
+  /**
+   * Create the renderer
+   *
+   * @param chart
+   *          the chart to paint
+   * @param elements
+   *          the data elements which may appear in the legend
+   * @param lineSymbols
+   *          {@code true} if legend items are represented by line
+   *          segments, {@code false} if they are represented by boxes
+   */
+  _Java2DRenderer(final C chart,
+      final ArrayListView<? extends CompiledDataElement> elements,
+      final boolean lineSymbols) {
+    super();
+
+    final _Java2DLegend legend;
+
+    this.m_chart = chart;
+    if (chart.getLegendMode().isLegendShown()) {
+      legend = new _Java2DLegend(elements, lineSymbols);
+      this.m_legend = (legend._isEmpty() ? null : legend);
+    } else {
+      this.m_legend = null;
+    }
+  }
+
+  /**
+   * Paint the chart-specific content
+   *
+   * @param graphic
+   *          the graphic to paint on
+   * @param area
+   *          the area left after painting title and legend
+   * @return the area over which the legend should be painted if the chart
+   *         is the legend, or {@code null} if nothing was painted
+   */
+  abstract Rectangle2D _paintContent(final Graphics2D graphic,
+      final Rectangle2D area);
+
+  /**
+   * Should a legend painted over the content be aligned at the top?
+   *
+   * @return {@code true} for the top, {@code false} for the bottom
+   */
+  abstract boolean _isOverlayLegendAtTop();
+
+  /**
+   * Render this chart
+   *
+   * @param graphic
+   *          the graphic to render on
+   */
+  final void _render(final Graphics2D graphic) {
+    final RenderingHints hints;
+    final Paint paint;
+    final Stroke stroke;
+    final Font font;
+    final Rectangle2D bounds, area;
+    final _Java2DLegend legend;
+    final String title;
+    final FontMetrics metrics;
+    final boolean overlay;
+    Rectangle2D content;
+    double size;
+
+    hints = graphic.getRenderingHints();
+    paint = graphic.getPaint();
+    stroke = graphic.getStroke();
+    font = graphic.getFont();
+    try {
+      graphic.addRenderingHints(GraphicUtils.createDefaultRenderingHints());
+
+      bounds = GraphicUtils.getBounds(graphic);
+      graphic.setPaint(Color.WHITE);
+      graphic.fill(bounds);
+      area = new Rectangle2D.Double(bounds.getX(), bounds.getY(),
+          bounds.getWidth(), bounds.getHeight());
+
+      title = this.m_chart.getTitle();
+      if (title != null) {
+        metrics = graphic.getFontMetrics(this.m_chart.getTitleFont());
+        graphic.setFont(metrics.getFont());
+        graphic.setPaint(Color.BLACK);
+        graphic.drawString(title,
+            ((float) (area.getCenterX()
+                - (0.5d * metrics.stringWidth(title)))),
+            ((float) (area.getY() + metrics.getAscent())));
+        size = (metrics.getHeight() + _Java2DRenderer.GAP);
+        area.setRect(area.getX(), (area.getY() + size), area.getWidth(),
+            (area.getHeight() - size));
+      }
+
+      legend = this.m_legend;
+      overlay = (this.m_chart
+          .getLegendMode() == ELegendMode.CHART_IS_LEGEND);
+      if ((legend != null) && (!overlay)) {
+        if (bounds.getHeight() < bounds.getWidth()) {
+          legend._layout(graphic, area.getWidth(), true);
+          legend._paint(graphic, (area.getMaxX() - legend.m_width),
+              (area.getCenterY() - (0.5d * legend.m_height)), false);
+          area.setRect(area.getX(), area.getY(), (area.getWidth()
+              - legend.m_width - (2d * _Java2DRenderer.GAP)),
+              area.getHeight());
+        } else {
+          legend._layout(graphic, area.getWidth(), false);
+          legend._paint(graphic,
+              (area.getCenterX() - (0.5d * legend.m_width)),
+              (area.getMaxY() - legend.m_height), false);
+          area.setRect(area.getX(), area.getY(), area.getWidth(),
+              (area.getHeight() - legend.m_height
+                  - (2d * _Java2DRenderer.GAP)));
+        }
+      }
+
+      if ((area.getWidth() <= 0d) || (area.getHeight() <= 0d)) {
+        return;
+      }
+      content = this._paintContent(graphic, area);
+
+      if ((legend != null) && overlay && (content != null)) {
+        content = new Rectangle2D.Double(//
+            (content.getX() + (0.05d * content.getWidth())), //
+            (content.getY() + (0.05d * content.getHeight())), //
+            (0.9d * content.getWidth()), //
+            (0.9d * content.getHeight()));
+        legend._layout(graphic, content.getWidth(), false);
+        legend._paint(graphic,
+            (content.getCenterX() - (0.5d * legend.m_width)),
+            (this._isOverlayLegendAtTop() ? content.getY()
+                : (content.getMaxY() - legend.m_height)),
+            true);
+      }
+    } finally {
+      graphic.setRenderingHints(hints);
+      graphic.setPaint(paint);
+      graphic.setStroke(stroke);
+      graphic.setFont(font);
+    }
+  }
+}
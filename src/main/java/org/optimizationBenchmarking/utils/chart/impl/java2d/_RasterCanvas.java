@@ -0,0 +1,473 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.BasicStroke;
+import java.awt.Stroke;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * An {@code int[]} ARGB pixel buffer with anti-aliased line drawing after
+ * Xiaolin Wu, rectangle filling, and text drawing from a
+ * {@link _RasterFont glyph atlas}. All drawing operations take a clip
+ * rectangle and never touch pixels outside of it, so disjoint horizontal
+ * bands of one canvas can be drawn by different threads at the same
+ * time. The canvas is opaque: it starts out white and colors are
+ * composited onto it.
+ */
+final class _RasterCanvas {
+
+  /** the image backed by the pixels */
+  final BufferedImage m_image;
+
+  /** the width */
+  final int m_width;
+
+  /** the height */
+  final int m_height;
+
+  /** the pixels */
+  private final int[] m_pixels;
+
+  /**
+   * create the canvas
+   *
+   * @param width
+   *          the width
+   * @param height
+   *          the height
+   */
+  _RasterCanvas(final int width, final int height) {
+    super();
+    this.m_width = width;
+    this.m_height = height;
+    this.m_image = new BufferedImage(width, height,
+        BufferedImage.TYPE_INT_ARGB);
+    this.m_pixels = ((DataBufferInt) (this.m_image.getRaster()
+        .getDataBuffer())).getData();
+    Arrays.fill(this.m_pixels, 0xFFFFFFFF);
+  }
+
+  /**
+   * Get the line width of a stroke in device units
+   *
+   * @param stroke
+   *          the stroke
+   * @param scale
+   *          the scale from user space to device space
+   * @return the width
+   */
+  static final double _getWidth(final Stroke stroke, final double scale) {
+    if (stroke instanceof BasicStroke) {
+      return (((BasicStroke) stroke).getLineWidth() * scale);
+    }
+    return scale;
+  }
+
+  /**
+   * Composite a color onto a pixel
+   *
+   * @param x
+   *          the x-coordinate
+   * @param y
+   *          the y-coordinate
+   * @param argb
+   *          the color
+   * @param coverage
+   *          the coverage in {@code 0..255}
+   */
+  private final void __blend(final int x, final int y, final int argb,
+      final int coverage) {
+    final int alpha, inverse, index, old;
+
+    alpha = (((argb >>> 24) * coverage) + 127) / 255;
+    if (alpha <= 0) {
+      return;
+    }
+    index = ((y * this.m_width) + x);
+    if (alpha >= 255) {
+      this.m_pixels[index] = (argb | 0xFF000000);
+      return;
+    }
+
+    inverse = (255 - alpha);
+    old = this.m_pixels[index];
+    this.m_pixels[index] = (0xFF000000 //
+        | ((((((argb >>> 16) & 0xFF) * alpha)
+            + (((old >>> 16) & 0xFF) * inverse) + 127) / 255) << 16) //
+        | ((((((argb >>> 8) & 0xFF) * alpha)
+            + (((old >>> 8) & 0xFF) * inverse) + 127) / 255) << 8) //
+        | ((((argb & 0xFF) * alpha) + ((old & 0xFF) * inverse) + 127)
+            / 255));
+  }
+
+  /**
+   * Composite an image onto the canvas
+   *
+   * @param image
+   *          the image, of type {@link BufferedImage#TYPE_INT_ARGB}
+   * @param x
+   *          the column of the left edge of the image
+   * @param y
+   *          the row of the top edge of the image
+   * @param clipY0
+   *          the first row to draw
+   * @param clipY1
+   *          the end row to draw (exclusive)
+   */
+  final void _drawImage(final BufferedImage image, final int x,
+      final int y, final int clipY0, final int clipY1) {
+    final int[] pixels;
+    final int width, startX, startY, endX, endY;
+    int u, v, argb;
+
+    width = image.getWidth();
+    pixels = ((DataBufferInt) (image.getRaster().getDataBuffer()))
+        .getData();
+    startX = Math.max(0, x);
+    startY = Math.max(Math.max(0, clipY0), y);
+    endX = Math.min(this.m_width, (x + width));
+    endY = Math.min(Math.min(this.m_height, clipY1),
+        (y + image.getHeight()));
+    for (v = startY; v < endY; v++) {
+      for (u = startX; u < endX; u++) {
+        argb = pixels[((v - y) * width) + (u - x)];
+        if ((argb >>> 24) != 0) {
+          this.__blend(u, v, (argb | 0xFF000000), (argb >>> 24));
+        }
+      }
+    }
+  }
+
+  /**
+   * Composite a color onto a pixel if it is inside the clip
+   *
+   * @param x
+   *          the x-coordinate
+   * @param y
+   *          the y-coordinate
+   * @param argb
+   *          the color
+   * @param coverage
+   *          the coverage in {@code [0, 1]}
+   * @param clipX0
+   *          the first column of the clip
+   * @param clipY0
+   *          the first row of the clip
+   * @param clipX1
+   *          the end column of the clip (exclusive)
+   * @param clipY1
+   *          the end row of the clip (exclusive)
+   */
+  private final void __plot(final int x, final int y, final int argb,
+      final double coverage, final int clipX0, final int clipY0,
+      final int clipX1, final int clipY1) {
+    if ((x >= clipX0) && (x < clipX1) && (y >= clipY0) && (y < clipY1)) {
+      this.__blend(x, y, argb, ((int) ((coverage * 255d) + 0.5d)));
+    }
+  }
+
+  /**
+   * Draw a thin, anti-aliased line with Xiaolin Wu's algorithm. Pixel
+   * centers are at half-integer coordinates, as in Java2D.
+   *
+   * @param sx0
+   *          the x-coordinate of the start point
+   * @param sy0
+   *          the y-coordinate of the start point
+   * @param sx1
+   *          the x-coordinate of the end point
+   * @param sy1
+   *          the y-coordinate of the end point
+   * @param argb
+   *          the color
+   * @param clipX0
+   *          the first column of the clip
+   * @param clipY0
+   *          the first row of the clip
+   * @param clipX1
+   *          the end column of the clip (exclusive)
+   * @param clipY1
+   *          the end row of the clip (exclusive)
+   */
+  final void _line(final double sx0, final double sy0, final double sx1,
+      final double sy1, final int argb, final int clipX0,
+      final int clipY0, final int clipX1, final int clipY1) {
+    final boolean steep;
+    double x0, y0, x1, y1, dx, dy, t0, t1, p, q, r, gradient, xEnd, yEnd,
+        xGap, interY, floorY;
+    int k, xPixel1, xPixel2, x, y;
+
+    x0 = (sx0 - 0.5d);
+    y0 = (sy0 - 0.5d);
+    dx = ((sx1 - 0.5d) - x0);
+    dy = ((sy1 - 0.5d) - y0);
+
+    // clip the segment after Liang and Barsky to the clip enlarged by two
+    // pixels, so that the faded end points of a cut segment are outside
+    t0 = 0d;
+    t1 = 1d;
+    for (k = 4; (--k) >= 0;) {
+      switch (k) {
+        case 0: {
+          p = (-dx);
+          q = (x0 - (clipX0 - 2));
+          break;
+        }
+        case 1: {
+          p = dx;
+          q = ((clipX1 + 1) - x0);
+          break;
+        }
+        case 2: {
+          p = (-dy);
+          q = (y0 - (clipY0 - 2));
+          break;
+        }
+        default: {
+          p = dy;
+          q = ((clipY1 + 1) - y0);
+        }
+      }
+      if (p == 0d) {
+        if (q < 0d) {
+          return;
+        }
+        continue;
+      }
+      r = (q / p);
+      if (p < 0d) {
+        if (r > t1) {
+          return;
+        }
+        if (r > t0) {
+          t0 = r;
+        }
+      } else {
+        if (r < t0) {
+          return;
+        }
+        if (r < t1) {
+          t1 = r;
+        }
+      }
+    }
+    x1 = (x0 + (t1 * dx));
+    y1 = (y0 + (t1 * dy));
+    x0 += (t0 * dx);
+    y0 += (t0 * dy);
+
+    steep = (Math.abs(y1 - y0) > Math.abs(x1 - x0));
+    if (steep) {
+      r = x0;
+      x0 = y0;
+      y0 = r;
+      r = x1;
+      x1 = y1;
+      y1 = r;
+    }
+    if (x0 > x1) {
+      r = x0;
+      x0 = x1;
+      x1 = r;
+      r = y0;
+      y0 = y1;
+      y1 = r;
+    }
+    dx = (x1 - x0);
+    gradient = ((dx <= 0d) ? 1d : ((y1 - y0) / dx));
+
+    // the first end point
+    xEnd = Math.rint(x0);
+    yEnd = (y0 + (gradient * (xEnd - x0)));
+    xGap = (1d - ((x0 + 0.5d) - Math.floor(x0 + 0.5d)));
+    xPixel1 = ((int) xEnd);
+    floorY = Math.floor(yEnd);
+    y = ((int) floorY);
+    r = (yEnd - floorY);
+    if (steep) {
+      this.__plot(y, xPixel1, argb, ((1d - r) * xGap), clipX0, clipY0,
+          clipX1, clipY1);
+      this.__plot((y + 1), xPixel1, argb, (r * xGap), clipX0, clipY0,
+          clipX1, clipY1);
+    } else {
+      this.__plot(xPixel1, y, argb, ((1d - r) * xGap), clipX0, clipY0,
+          clipX1, clipY1);
+      this.__plot(xPixel1, (y + 1), argb, (r * xGap), clipX0, clipY0,
+          clipX1, clipY1);
+    }
+    interY = (yEnd + gradient);
+
+    // the second end point
+    xEnd = Math.rint(x1);
+    yEnd = (y1 + (gradient * (xEnd - x1)));
+    xGap = ((x1 + 0.5d) - Math.floor(x1 + 0.5d));
+    xPixel2 = ((int) xEnd);
+    floorY = Math.floor(yEnd);
+    y = ((int) floorY);
+    r = (yEnd - floorY);
+    if (steep) {
+      this.__plot(y, xPixel2, argb, ((1d - r) * xGap), clipX0, clipY0,
+          clipX1, clipY1);
+      this.__plot((y + 1), xPixel2, argb, (r * xGap), clipX0, clipY0,
+          clipX1, clipY1);
+    } else {
+      this.__plot(xPixel2, y, argb, ((1d - r) * xGap), clipX0, clipY0,
+          clipX1, clipY1);
+      this.__plot(xPixel2, (y + 1), argb, (r * xGap), clipX0, clipY0,
+          clipX1, clipY1);
+    }
+
+    // the pixels in between
+    for (x = (xPixel1 + 1); x < xPixel2; x++) {
+      floorY = Math.floor(interY);
+      y = ((int) floorY);
+      r = (interY - floorY);
+      if (steep) {
+        this.__plot(y, x, argb, (1d - r), clipX0, clipY0, clipX1, clipY1);
+        this.__plot((y + 1), x, argb, r, clipX0, clipY0, clipX1, clipY1);
+      } else {
+        this.__plot(x, y, argb, (1d - r), clipX0, clipY0, clipX1, clipY1);
+        this.__plot(x, (y + 1), argb, r, clipX0, clipY0, clipX1, clipY1);
+      }
+      interY += gradient;
+    }
+  }
+
+  /**
+   * Draw an anti-aliased line of the given width. Lines wider than one
+   * pixel are approximated by parallel thin lines one pixel apart; caps,
+   * joins, and dash patterns are not supported.
+   *
+   * @param x0
+   *          the x-coordinate of the start point
+   * @param y0
+   *          the y-coordinate of the start point
+   * @param x1
+   *          the x-coordinate of the end point
+   * @param y1
+   *          the y-coordinate of the end point
+   * @param argb
+   *          the color
+   * @param width
+   *          the line width
+   * @param clipX0
+   *          the first column of the clip
+   * @param clipY0
+   *          the first row of the clip
+   * @param clipX1
+   *          the end column of the clip (exclusive)
+   * @param clipY1
+   *          the end row of the clip (exclusive)
+   */
+  final void _stroke(final double x0, final double y0, final double x1,
+      final double y1, final int argb, final double width,
+      final int clipX0, final int clipY0, final int clipX1,
+      final int clipY1) {
+    final int count;
+    final double length, offsetX, offsetY;
+    double offset;
+    int i;
+
+    count = ((int) (Math.rint(width)));
+    length = Math.hypot((x1 - x0), (y1 - y0));
+    if ((count <= 1) || (length <= 0d)) {
+      this._line(x0, y0, x1, y1, argb, clipX0, clipY0, clipX1, clipY1);
+      return;
+    }
+
+    offsetX = ((y0 - y1) / length);
+    offsetY = ((x1 - x0) / length);
+    for (i = count; (--i) >= 0;) {
+      offset = (i - (0.5d * (count - 1)));
+      this._line((x0 + (offset * offsetX)), (y0 + (offset * offsetY)),
+          (x1 + (offset * offsetX)), (y1 + (offset * offsetY)), argb,
+          clipX0, clipY0, clipX1, clipY1);
+    }
+  }
+
+  /**
+   * Fill a rectangle, rounded to whole pixels
+   *
+   * @param x
+   *          the left coordinate
+   * @param y
+   *          the top coordinate
+   * @param width
+   *          the width
+   * @param height
+   *          the height
+   * @param argb
+   *          the color
+   */
+  final void _fill(final double x, final double y, final double width,
+      final double height, final int argb) {
+    final int x0, y0, x1, y1;
+    int i, j;
+
+    x0 = Math.max(0, ((int) (Math.rint(x))));
+    y0 = Math.max(0, ((int) (Math.rint(y))));
+    x1 = Math.min(this.m_width, ((int) (Math.rint(x + width))));
+    y1 = Math.min(this.m_height, ((int) (Math.rint(y + height))));
+    for (j = y0; j < y1; j++) {
+      for (i = x0; i < x1; i++) {
+        this.__blend(i, j, argb, 255);
+      }
+    }
+  }
+
+  /**
+   * Draw a string from a glyph atlas
+   *
+   * @param font
+   *          the glyph atlas
+   * @param text
+   *          the text
+   * @param x
+   *          the x-coordinate of the start of the baseline
+   * @param y
+   *          the y-coordinate of the start of the baseline
+   * @param argb
+   *          the color
+   * @param rotated
+   *          {@code true} if the text should run upwards, i.e., be
+   *          rotated by 90 degrees counter-clockwise
+   */
+  final void _drawString(final _RasterFont font, final String text,
+      final double x, final double y, final int argb,
+      final boolean rotated) {
+    final int length, baseX, baseY;
+    _RasterFont.__Glyph glyph;
+    byte[] mask;
+    int pen, i, u, v, index, px, py;
+
+    length = text.length();
+    baseX = ((int) (Math.rint(x)));
+    baseY = ((int) (Math.rint(y)));
+    pen = 0;
+    for (i = 0; i < length; i++) {
+      glyph = font._glyph(text.charAt(i));
+      mask = glyph.m_mask;
+      if (mask != null) {
+        index = 0;
+        for (v = 0; v < glyph.m_height; v++) {
+          for (u = 0; u < glyph.m_width; u++) {
+            if (rotated) {
+              px = (baseX + glyph.m_y + v);
+              py = (baseY - pen - glyph.m_x - u);
+            } else {
+              px = (baseX + pen + glyph.m_x + u);
+              py = (baseY + glyph.m_y + v);
+            }
+            if ((px >= 0) && (px < this.m_width) && (py >= 0)
+                && (py < this.m_height)) {
+              this.__blend(px, py, argb, (mask[index] & 0xFF));
+            }
+            index++;
+          }
+        }
+      }
+      pen += glyph.m_advance;
+    }
+  }
+}
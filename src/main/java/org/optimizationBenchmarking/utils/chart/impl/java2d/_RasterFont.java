@@ -0,0 +1,306 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A glyph atlas for the software rasterizer: the coverage mask of each
+ * character of a font is rendered once with Java2D and then re-used by
+ * all charts drawn with that font. Since it extends {@link FontMetrics},
+ * the atlas can be used directly for laying out text, e.g., by
+ * {@link _Java2DAxis#_computeTicks(double, FontMetrics, boolean)}, and
+ * the measured widths always match the drawn glyphs.
+ */
+final class _RasterFont extends FontMetrics {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the number of characters with directly indexed glyphs */
+  private static final int DIRECT = 256;
+
+  /** the maximum number of cached atlases */
+  private static final int MAX_ATLASES = 64;
+
+  /** the atlases */
+  private static final ConcurrentHashMap<Font, _RasterFont> ATLASES = new ConcurrentHashMap<>();
+
+  /** the metrics of the font */
+  private final transient FontMetrics m_metrics;
+
+  /** the glyphs of the first {@link #DIRECT} characters */
+  private final transient __Glyph[] m_direct;
+
+  /** the glyphs of the other characters */
+  private final transient HashMap<Character, __Glyph> m_other;
+
+  /**
+   * create the atlas
+   *
+   * @param font
+   *          the font
+   */
+  private _RasterFont(final Font font) {
+    super(font);
+
+    final Graphics2D graphic;
+
+    graphic = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB)
+        .createGraphics();
+    try {
+      _RasterFont.__setHints(graphic);
+      this.m_metrics = graphic.getFontMetrics(font);
+    } finally {
+      graphic.dispose();
+    }
+    this.m_direct = new __Glyph[_RasterFont.DIRECT];
+    this.m_other = new HashMap<>();
+  }
+
+  /**
+   * Get the glyph atlas for a given font
+   *
+   * @param font
+   *          the font
+   * @return the atlas
+   */
+  static final _RasterFont _get(final Font font) {
+    _RasterFont atlas, found;
+
+    atlas = _RasterFont.ATLASES.get(font);
+    if (atlas == null) {
+      if (_RasterFont.ATLASES.size() >= _RasterFont.MAX_ATLASES) {
+        _RasterFont.ATLASES.clear();
+      }
+      atlas = new _RasterFont(font);
+      found = _RasterFont.ATLASES.putIfAbsent(font, atlas);
+      if (found != null) {
+        return found;
+      }
+    }
+    return atlas;
+  }
+
+  /**
+   * Get the glyph atlas for a given font scaled to device space
+   *
+   * @param font
+   *          the font
+   * @param scale
+   *          the scale from user space to device space
+   * @return the atlas
+   */
+  static final _RasterFont _get(final Font font, final double scale) {
+    if (scale == 1d) {
+      return _RasterFont._get(font);
+    }
+    return _RasterFont._get(font.deriveFont(//
+        (float) (font.getSize2D() * scale)));
+  }
+
+  /**
+   * Set the rendering hints used for creating glyphs
+   *
+   * @param graphic
+   *          the graphic
+   */
+  private static final void __setHints(final Graphics2D graphic) {
+    graphic.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+        RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    graphic.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS,
+        RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+    graphic.setRenderingHint(RenderingHints.KEY_RENDERING,
+        RenderingHints.VALUE_RENDER_QUALITY);
+  }
+
+  /**
+   * Render the glyph of a character
+   *
+   * @param c
+   *          the character
+   * @return the glyph
+   */
+  private final __Glyph __createGlyph(final char c) {
+    final BufferedImage image;
+    final Graphics2D graphic;
+    final int advance, ascent, pad, width, height;
+    final int[] pixels;
+    final byte[] mask;
+    int minX, minY, maxX, maxY, x, y, coverage;
+
+    advance = this.m_metrics.charWidth(c);
+    ascent = this.m_metrics.getAscent();
+    pad = Math.max(2, (this.m_metrics.getHeight() >>> 1));
+    width = (Math.max(1, advance) + (pad << 1));
+    height = (ascent + this.m_metrics.getDescent() + (pad << 1));
+
+    image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    graphic = image.createGraphics();
+    try {
+      _RasterFont.__setHints(graphic);
+      graphic.setFont(this.getFont());
+      graphic.setColor(Color.WHITE);
+      graphic.drawString(String.valueOf(c), pad, (pad + ascent));
+    } finally {
+      graphic.dispose();
+    }
+
+    // find the bounding box of the covered pixels
+    pixels = ((DataBufferInt) (image.getRaster().getDataBuffer()))
+        .getData();
+    minX = width;
+    minY = height;
+    maxX = maxY = (-1);
+    for (y = height; (--y) >= 0;) {
+      for (x = width; (--x) >= 0;) {
+        if ((pixels[(y * width) + x] & 0xFF) != 0) {
+          minX = Math.min(minX, x);
+          maxX = Math.max(maxX, x);
+          minY = Math.min(minY, y);
+          maxY = Math.max(maxY, y);
+        }
+      }
+    }
+    if (maxX < 0) {
+      return new __Glyph(advance, 0, 0, 0, 0, null);
+    }
+
+    // the blue channel holds the coverage, since we drew white on black
+    mask = new byte[((maxX - minX) + 1) * ((maxY - minY) + 1)];
+    coverage = 0;
+    for (y = minY; y <= maxY; y++) {
+      for (x = minX; x <= maxX; x++) {
+        mask[coverage++] = ((byte) (pixels[(y * width) + x]));
+      }
+    }
+    return new __Glyph(advance, (minX - pad), (minY - pad - ascent),
+        ((maxX - minX) + 1), ((maxY - minY) + 1), mask);
+  }
+
+  /**
+   * Get the glyph of a character
+   *
+   * @param c
+   *          the character
+   * @return the glyph
+   */
+  final __Glyph _glyph(final char c) {
+    __Glyph glyph;
+
+    if (c < _RasterFont.DIRECT) {
+      glyph = this.m_direct[c];
+      if (glyph == null) {
+        // racing threads create equal, immutable glyphs
+        this.m_direct[c] = glyph = this.__createGlyph(c);
+      }
+      return glyph;
+    }
+
+    synchronized (this.m_other) {
+      glyph = this.m_other.get(Character.valueOf(c));
+      if (glyph == null) {
+        glyph = this.__createGlyph(c);
+        this.m_other.put(Character.valueOf(c), glyph);
+      }
+    }
+    return glyph;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getAscent() {
+    return this.m_metrics.getAscent();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getDescent() {
+    return this.m_metrics.getDescent();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getLeading() {
+    return this.m_metrics.getLeading();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getMaxAdvance() {
+    return this.m_metrics.getMaxAdvance();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int charWidth(final char ch) {
+    return this._glyph(ch).m_advance;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int stringWidth(final String str) {
+    int i, width;
+
+    width = 0;
+    for (i = str.length(); (--i) >= 0;) {
+      width += this._glyph(str.charAt(i)).m_advance;
+    }
+    return width;
+  }
+
+  /** the coverage mask of a single character */
+  static final class __Glyph {
+
+    /** the horizontal advance */
+    final int m_advance;
+
+    /** the offset of the mask from the pen position */
+    final int m_x;
+
+    /** the offset of the mask from the baseline */
+    final int m_y;
+
+    /** the width of the mask */
+    final int m_width;
+
+    /** the height of the mask */
+    final int m_height;
+
+    /** the coverage mask, or {@code null} if the glyph is empty */
+    final byte[] m_mask;
+
+    /**
+     * create the glyph
+     *
+     * @param advance
+     *          the horizontal advance
+     * @param x
+     *          the offset of the mask from the pen position
+     * @param y
+     *          the offset of the mask from the baseline
+     * @param width
+     *          the width of the mask
+     * @param height
+     *          the height of the mask
+     * @param mask
+     *          the coverage mask, or {@code null} if the glyph is empty
+     */
+    __Glyph(final int advance, final int x, final int y, final int width,
+        final int height, final byte[] mask) {
+      super();
+      this.m_advance = advance;
+      this.m_x = x;
+      this.m_y = y;
+      this.m_width = width;
+      this.m_height = height;
+      this.m_mask = mask;
+    }
+  }
+}
@@ -0,0 +1,1020 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledAxis;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledBand2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.ELineChartRendering;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.Line2DVisitor;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.TransformedShape;
+import org.optimizationBenchmarking.utils.chart.spec.ELegendMode;
+import org.optimizationBenchmarking.utils.graphics.GraphicUtils;
+
+/**
+ * <p>
+ * The 2d line chart rasterized into a {@link _RasterCanvas}. The layout
+ * is the same as the one of the {@link _Java2DLineChart2DRenderer}, but
+ * computed in device pixels with {@link _RasterFont glyph atlases}.
+ * </p>
+ * <p>
+ * All grid lines and axes are first transformed into device space once.
+ * Data lines are not copied: Only the device-space bounds of each chunk
+ * of their rows are computed. The image is then split into horizontal
+ * bands which are rasterized in parallel on a fork-join pool, each band
+ * drawing every line clipped to its own rows and streaming the rows of
+ * the data-line chunks it touches directly from the line data. Text
+ * and the legend are drawn afterwards and the finished image is painted onto the target graphic with a
+ * single {@link java.awt.Graphics2D#drawImage(java.awt.Image,
+ * AffineTransform, java.awt.image.ImageObserver) drawImage} call.
+ * </p>
+ * <p>
+ * With
+ * {@link org.optimizationBenchmarking.utils.chart.impl.abstr.ELineChartRendering#DENSITY
+ * density rendering}, the data lines are replaced by a
+ * {@link _Java2DDensity density image} of the plot area, which is
+ * composited onto the canvas after the grid and axes. If that image
+ * would be too large for memory, the lines are rasterized as lines.
+ * </p>
+ * <p>
+ * Bands are filled with Java2D into a transparent image of the plot
+ * area, which each band of rows composites onto the canvas after the
+ * grid and axes but before the data lines.
+ * </p>
+ */
+final class _RasterLineChart2DRenderer {
+
+  /** the maximum number of rows rasterized by one task */
+  private static final int BAND = 64;
+
+  /** the length of the tick marks */
+  private static final double TICK = 2d;
+
+  /** the number of rows of a data line per chunk */
+  private static final int CHUNK = 4096;
+
+  /** the chart */
+  private final CompiledLineChart2D m_chart;
+
+  /** the grid and axis lines to rasterize, in drawing order */
+  private final ArrayList<__Polyline> m_polylines;
+
+  /** the data lines to rasterize, in drawing order */
+  private final ArrayList<__DataLine> m_dataLines;
+
+  /** the texts to draw */
+  private final ArrayList<__Text> m_texts;
+
+  /** the canvas */
+  private _RasterCanvas m_canvas;
+
+  /** the pool to rasterize in */
+  private ForkJoinPool m_pool;
+
+  /** the image with the filled bands, or {@code null} if there is none */
+  private BufferedImage m_bands;
+
+  /** the column of the left edge of the band image */
+  private int m_bandsX;
+
+  /** the row of the top edge of the band image */
+  private int m_bandsY;
+
+  /** the density image, or {@code null} if lines are drawn */
+  private BufferedImage m_density;
+
+  /** the column of the left edge of the density image */
+  private int m_densityX;
+
+  /** the row of the top edge of the density image */
+  private int m_densityY;
+
+  /** the legend, or {@code null} if none is drawn */
+  private _Java2DLegend m_legend;
+
+  /** the left coordinate of the legend */
+  private double m_legendX;
+
+  /** the top coordinate of the legend */
+  private double m_legendY;
+
+  /** is the legend painted over the plot? */
+  private boolean m_legendOverlay;
+
+  /**
+   * Create a new line chart
+   *
+   * @param chart
+   *          the chart to paint
+   */
+  _RasterLineChart2DRenderer(final CompiledLineChart2D chart) {
+    super();
+    this.m_chart = chart;
+    this.m_polylines = new ArrayList<>();
+    this.m_dataLines = new ArrayList<>();
+    this.m_texts = new ArrayList<>();
+  }
+
+  /**
+   * Render this chart
+   *
+   * @param graphic
+   *          the graphic to render on
+   * @param pool
+   *          the pool to rasterize the bands of the image in
+   */
+  final void _render(final Graphics2D graphic, final ForkJoinPool pool) {
+    final Rectangle2D bounds;
+    final AffineTransform transform;
+    final double scale, width, height;
+    final _RasterCanvas canvas;
+
+    bounds = GraphicUtils.getBounds(graphic);
+    transform = graphic.getTransform();
+    scale = Math.max(1d,
+        Math.hypot(transform.getScaleX(), transform.getShearY()));
+    width = Math.ceil(bounds.getWidth() * scale);
+    height = Math.ceil(bounds.getHeight() * scale);
+    if ((width <= 0d) || (height <= 0d) || (width >= Integer.MAX_VALUE)
+        || (height >= Integer.MAX_VALUE)) {
+      return;
+    }
+
+    this.m_canvas = canvas = new _RasterCanvas(((int) width),
+        ((int) height));
+    this.m_pool = pool;
+    this.__layout(scale);
+
+    pool.invoke(new __Band(this, 0, canvas.m_height));
+    if (this.m_density != null) {
+      canvas._drawImage(this.m_density, this.m_densityX, this.m_densityY,
+          0, canvas.m_height);
+    }
+
+    for (final __Text text : this.m_texts) {
+      canvas._drawString(text.m_font, text.m_text, text.m_x, text.m_y,
+          text.m_argb, text.m_rotated);
+    }
+    if (this.m_legend != null) {
+      this.m_legend._paint(canvas, this.m_legendX, this.m_legendY,
+          this.m_legendOverlay);
+    }
+
+    graphic.drawImage(canvas.m_image, new AffineTransform((1d / scale),
+        0d, 0d, (1d / scale), bounds.getX(), bounds.getY()), null);
+  }
+
+  /**
+   * Rasterize all lines inside a band of rows
+   *
+   * @param minY
+   *          the first row
+   * @param maxY
+   *          the end row (exclusive)
+   */
+  final void _paintBand(final int minY, final int maxY) {
+    final _RasterCanvas canvas;
+    final __StrokeVisitor visitor;
+    double[] x, y;
+    double x0, y0, x1, y1, margin;
+    int clipY0, clipY1, i, chunk, end, size;
+
+    canvas = this.m_canvas;
+    for (final __Polyline line : this.m_polylines) {
+      clipY0 = Math.max(line.m_clipY0, minY);
+      clipY1 = Math.min(line.m_clipY1, maxY);
+      if ((clipY0 >= clipY1) || (line.m_maxY < clipY0)
+          || (line.m_minY > clipY1)) {
+        continue;
+      }
+
+      margin = (line.m_width + 2d);
+      x = line.m_x;
+      y = line.m_y;
+      x1 = x[0];
+      y1 = y[0];
+      for (i = 1; i < line.m_count; i++) {
+        x0 = x1;
+        y0 = y1;
+        x1 = x[i];
+        y1 = y[i];
+        if ((Math.max(y0, y1) < (clipY0 - margin))
+            || (Math.min(y0, y1) > (clipY1 + margin))) {
+          continue;
+        }
+        canvas._stroke(x0, y0, x1, y1, line.m_argb, line.m_width,
+            line.m_clipX0, clipY0, line.m_clipX1, clipY1);
+      }
+    }
+
+    if (this.m_bands != null) {
+      canvas._drawImage(this.m_bands, this.m_bandsX, this.m_bandsY, minY,
+          maxY);
+    }
+
+    visitor = new __StrokeVisitor(canvas);
+    for (final __DataLine line : this.m_dataLines) {
+      clipY0 = Math.max(line.m_clipY0, minY);
+      clipY1 = Math.min(line.m_clipY1, maxY);
+      if (clipY0 >= clipY1) {
+        continue;
+      }
+      visitor._setLine(line, clipY0, clipY1);
+
+      // walk each run of chunks touching the band, starting at the last
+      // row of the chunk before, so every segment is stroked once
+      size = line.m_line.getData().m();
+      for (chunk = 0; chunk < line.m_minY.length; chunk++) {
+        if ((line.m_maxY[chunk] < clipY0)
+            || (line.m_minY[chunk] > clipY1)) {
+          continue;
+        }
+        for (end = (chunk + 1); end < line.m_minY.length; end++) {
+          if ((line.m_maxY[end] < clipY0) || (line.m_minY[end] > clipY1)) {
+            break;
+          }
+        }
+        visitor.visit(line.m_line,
+            Math.max(0, ((chunk * _RasterLineChart2DRenderer.CHUNK) - 1)),
+            Math.min(size, (end * _RasterLineChart2DRenderer.CHUNK)));
+        chunk = end;
+      }
+    }
+  }
+
+  /**
+   * Add a straight line
+   *
+   * @param x0
+   *          the x-coordinate of the start point
+   * @param y0
+   *          the y-coordinate of the start point
+   * @param x1
+   *          the x-coordinate of the end point
+   * @param y1
+   *          the y-coordinate of the end point
+   * @param argb
+   *          the color
+   * @param width
+   *          the width
+   * @param clip
+   *          the clip
+   */
+  private final void __addLine(final double x0, final double y0,
+      final double x1, final double y1, final int argb,
+      final double width, final int[] clip) {
+    this.m_polylines.add(new __Polyline(new double[] { x0, x1 },
+        new double[] { y0, y1 }, 2, argb, width, clip));
+  }
+
+  /**
+   * Add a text
+   *
+   * @param font
+   *          the glyph atlas
+   * @param text
+   *          the text
+   * @param x
+   *          the x-coordinate of the start of the baseline
+   * @param y
+   *          the y-coordinate of the start of the baseline
+   * @param argb
+   *          the color
+   * @param rotated
+   *          should the text run upwards?
+   */
+  private final void __addText(final _RasterFont font, final String text,
+      final double x, final double y, final int argb,
+      final boolean rotated) {
+    this.m_texts.add(new __Text(font, text, x, y, argb, rotated));
+  }
+
+  /**
+   * Add a data line. The line is not copied: Only the device-space
+   * bounds of each chunk of {@link #CHUNK} rows are computed here, and
+   * each band of rows later streams the rows of the chunks it touches
+   * from the line itself.
+   *
+   * @param line
+   *          the line
+   * @param transform
+   *          the data-to-device transformation
+   * @param scale
+   *          the scale from user space to device space
+   * @param clip
+   *          the clip
+   */
+  private final void __addLine(final CompiledLine2D line,
+      final AffineTransform transform, final double scale,
+      final int[] clip) {
+    final __DataLine dataLine;
+    final __BoundsVisitor visitor;
+    final int size;
+    final double margin;
+    int chunk;
+
+    dataLine = new __DataLine(line, transform, line.getColor().getRGB(),
+        _RasterCanvas._getWidth(line.getStroke(), scale), clip);
+    visitor = new __BoundsVisitor(dataLine);
+    size = line.getData().m();
+    margin = (dataLine.m_width + 2d);
+    for (chunk = dataLine.m_minY.length; (--chunk) >= 0;) {
+      visitor.m_minY = Double.POSITIVE_INFINITY;
+      visitor.m_maxY = Double.NEGATIVE_INFINITY;
+      visitor.visit(line,
+          Math.max(0, ((chunk * _RasterLineChart2DRenderer.CHUNK) - 1)),
+          Math.min(size, ((chunk + 1) * _RasterLineChart2DRenderer.CHUNK)));
+      dataLine.m_minY[chunk] = (visitor.m_minY - margin);
+      dataLine.m_maxY[chunk] = (visitor.m_maxY + margin);
+    }
+    this.m_dataLines.add(dataLine);
+  }
+
+  /**
+   * Lay out the chart and collect the lines and texts to draw
+   *
+   * @param scale
+   *          the scale from user space to device space
+   */
+  private final void __layout(final double scale) {
+    final _RasterCanvas canvas;
+    final double gap, tick;
+    final String title;
+    final _RasterFont font;
+    final ELegendMode mode;
+    final boolean overlay;
+    final int[] all;
+    final Rectangle2D plot;
+    _Java2DLegend legend;
+    double areaX, areaY, areaWidth, areaHeight, size;
+
+    canvas = this.m_canvas;
+    gap = (_Java2DRenderer.GAP * scale);
+    tick = (_RasterLineChart2DRenderer.TICK * scale);
+    all = new int[] { 0, 0, canvas.m_width, canvas.m_height };
+    areaX = areaY = 0d;
+    areaWidth = canvas.m_width;
+    areaHeight = canvas.m_height;
+
+    title = this.m_chart.getTitle();
+    if (title != null) {
+      font = _RasterFont._get(this.m_chart.getTitleFont(), scale);
+      this.__addText(font, title,
+          (areaX + (0.5d * (areaWidth - font.stringWidth(title)))),
+          (areaY + font.getAscent()), 0xFF000000, false);
+      size = (font.getHeight() + gap);
+      areaY += size;
+      areaHeight -= size;
+    }
+
+    mode = this.m_chart.getLegendMode();
+    overlay = (mode == ELegendMode.CHART_IS_LEGEND);
+    legend = null;
+    if (mode.isLegendShown()) {
+      legend = new _Java2DLegend(this.m_chart.getLines(), true);
+      if (legend._isEmpty()) {
+        legend = null;
+      } else {
+        if (!overlay) {
+          if (canvas.m_height < canvas.m_width) {
+            legend._layout(scale, areaWidth, true);
+            this.m_legendX = ((areaX + areaWidth) - legend.m_width);
+            this.m_legendY = ((areaY + (0.5d * areaHeight))
+                - (0.5d * legend.m_height));
+            areaWidth -= (legend.m_width + (2d * gap));
+          } else {
+            legend._layout(scale, areaWidth, false);
+            this.m_legendX = ((areaX + (0.5d * areaWidth))
+                - (0.5d * legend.m_width));
+            this.m_legendY = ((areaY + areaHeight) - legend.m_height);
+            areaHeight -= (legend.m_height + (2d * gap));
+          }
+          this.m_legend = legend;
+        }
+      }
+    }
+
+    if ((areaWidth <= 0d) || (areaHeight <= 0d)) {
+      return;
+    }
+    plot = this.__layoutPlot(scale, gap, tick, all, areaX, areaY,
+        areaWidth, areaHeight);
+
+    if ((legend != null) && overlay && (plot != null)) {
+      areaX = (plot.getX() + (0.05d * plot.getWidth()));
+      areaWidth = (0.9d * plot.getWidth());
+      legend._layout(scale, areaWidth, false);
+      this.m_legendX = ((areaX + (0.5d * areaWidth))
+          - (0.5d * legend.m_width));
+      this.m_legendY = (plot.getY() + (0.05d * plot.getHeight()));
+      this.m_legendOverlay = true;
+      this.m_legend = legend;
+    }
+  }
+
+  /**
+   * Lay out the plot area and the axes and collect their lines and texts
+   *
+   * @param scale
+   *          the scale from user space to device space
+   * @param gap
+   *          the gap between elements
+   * @param tick
+   *          the length of the tick marks
+   * @param all
+   *          the clip covering the whole canvas
+   * @param areaX
+   *          the left coordinate of the available area
+   * @param areaY
+   *          the top coordinate of the available area
+   * @param areaWidth
+   *          the width of the available area
+   * @param areaHeight
+   *          the height of the available area
+   * @return the plot area, or {@code null} if there is no space for it
+   */
+  private final Rectangle2D __layoutPlot(final double scale,
+      final double gap, final double tick, final int[] all,
+      final double areaX, final double areaY, final double areaWidth,
+      final double areaHeight) {
+    final CompiledAxis x, y;
+    final _RasterFont xTicks, yTicks;
+    final _Java2DAxis xAxis, yAxis;
+    final AffineTransform transform;
+    final double top, height, plotX, plotY, maxX, maxY;
+    final int[] clip;
+    _RasterFont font;
+    String title;
+    double bottom, left, right, width, coord, baseline, shift, lineWidth;
+    int i, argb;
+
+    x = this.m_chart.getXAxis();
+    y = this.m_chart.getYAxis();
+    xTicks = _RasterFont._get(x.getTickFont(), scale);
+    yTicks = _RasterFont._get(y.getTickFont(), scale);
+
+    top = (0.5d * yTicks.getHeight());
+    bottom = (tick + gap + xTicks.getHeight());
+    if (x.getTitle() != null) {
+      bottom += (gap
+          + _RasterFont._get(x.getTitleFont(), scale).getHeight());
+    }
+    height = (areaHeight - top - bottom);
+    if (height <= 0d) {
+      return null;
+    }
+
+    yAxis = new _Java2DAxis(y);
+    yAxis._computeTicks(height, yTicks, false);
+    left = (tick + gap + yAxis.m_maxLabelWidth);
+    if (y.getTitle() != null) {
+      left += (gap + _RasterFont._get(y.getTitleFont(), scale).getHeight());
+    }
+
+    xAxis = new _Java2DAxis(x);
+    xAxis._computeTicks((areaWidth - left - gap), xTicks, true);
+    right = Math.max(gap, (0.5d * xAxis.m_maxLabelWidth));
+    width = (areaWidth - left - right);
+    if (width <= 0d) {
+      return null;
+    }
+
+    plotX = (areaX + left);
+    plotY = (areaY + top);
+    maxX = (plotX + width);
+    maxY = (plotY + height);
+    clip = new int[] { ((int) (Math.floor(plotX))),
+        ((int) (Math.floor(plotY))), ((int) (Math.ceil(maxX))),
+        ((int) (Math.ceil(maxY))) };
+    transform = new AffineTransform(//
+        (width / (xAxis.m_max - xAxis.m_min)), 0d, 0d, //
+        (-height / (yAxis.m_max - yAxis.m_min)), plotX, maxY);
+    transform.translate(-xAxis.m_min, -yAxis.m_min);
+
+    // the grid
+    argb = x.getGridLineColor().getRGB();
+    lineWidth = _RasterCanvas._getWidth(x.getGridLineStroke(), scale);
+    for (i = xAxis.m_count; (--i) >= 0;) {
+      coord = ((xAxis.m_ticks[i] * transform.getScaleX())
+          + transform.getTranslateX());
+      this.__addLine(coord, plotY, coord, maxY, argb, lineWidth, clip);
+    }
+    argb = y.getGridLineColor().getRGB();
+    lineWidth = _RasterCanvas._getWidth(y.getGridLineStroke(), scale);
+    for (i = yAxis.m_count; (--i) >= 0;) {
+      coord = ((yAxis.m_ticks[i] * transform.getScaleY())
+          + transform.getTranslateY());
+      this.__addLine(plotX, coord, maxX, coord, argb, lineWidth, clip);
+    }
+
+    // the x-axis
+    argb = x.getAxisColor().getRGB();
+    lineWidth = _RasterCanvas._getWidth(x.getAxisStroke(), scale);
+    this.__addLine(plotX, maxY, maxX, maxY, argb, lineWidth, all);
+    baseline = (maxY + tick + gap + xTicks.getAscent());
+    for (i = xAxis.m_count; (--i) >= 0;) {
+      coord = ((xAxis.m_ticks[i] * transform.getScaleX())
+          + transform.getTranslateX());
+      this.__addLine(coord, maxY, coord, (maxY + tick), argb, lineWidth,
+          all);
+      this.__addText(xTicks, xAxis.m_labels[i],
+          (coord - (0.5d * xTicks.stringWidth(xAxis.m_labels[i]))),
+          baseline, argb, false);
+    }
+    title = x.getTitle();
+    if (title != null) {
+      font = _RasterFont._get(x.getTitleFont(), scale);
+      this.__addText(font, title,
+          ((plotX + (0.5d * width)) - (0.5d * font.stringWidth(title))),
+          (baseline + xTicks.getDescent() + gap + font.getAscent()), argb,
+          false);
+    }
+
+    // the y-axis
+    argb = y.getAxisColor().getRGB();
+    lineWidth = _RasterCanvas._getWidth(y.getAxisStroke(), scale);
+    this.__addLine(plotX, plotY, plotX, maxY, argb, lineWidth, all);
+    shift = (0.5d * (yTicks.getAscent() - yTicks.getDescent()));
+    for (i = yAxis.m_count; (--i) >= 0;) {
+      coord = ((yAxis.m_ticks[i] * transform.getScaleY())
+          + transform.getTranslateY());
+      this.__addLine((plotX - tick), coord, plotX, coord, argb, lineWidth,
+          all);
+      this.__addText(yTicks, yAxis.m_labels[i],
+          (plotX - tick - gap - yTicks.stringWidth(yAxis.m_labels[i])),
+          (coord + shift), argb, false);
+    }
+    title = y.getTitle();
+    if (title != null) {
+      font = _RasterFont._get(y.getTitleFont(), scale);
+      this.__addText(font, title, (areaX + font.getAscent()),
+          ((plotY + (0.5d * height)) + (0.5d * font.stringWidth(title))),
+          argb, true);
+    }
+
+    // the data
+    this.__fillBands(transform, clip);
+    if ((this.m_chart.getRendering() == ELineChartRendering.DENSITY)
+        && _Java2DDensity._fits((clip[2] - clip[0]), (clip[3] - clip[1]))) {
+      this.m_densityX = clip[0];
+      this.m_densityY = clip[1];
+      this.m_density = _Java2DDensity._render(this.m_chart.getLines(),
+          transform.getScaleX(), (transform.getTranslateX() - clip[0]),
+          transform.getScaleY(), (transform.getTranslateY() - clip[1]),
+          (clip[2] - clip[0]), (clip[3] - clip[1]), this.m_pool);
+    } else {
+      for (final CompiledLine2D line : this.m_chart.getLines()) {
+        this.__addLine(line, transform, scale, clip);
+      }
+    }
+
+    return new Rectangle2D.Double(plotX, plotY, width, height);
+  }
+
+  /**
+   * Fill the bands into a transparent image of the plot area
+   *
+   * @param transform
+   *          the data-to-device transformation
+   * @param clip
+   *          the clip of the plot area
+   */
+  private final void __fillBands(final AffineTransform transform,
+      final int[] clip) {
+    final BufferedImage image;
+    final Graphics2D graphic;
+    final TransformedShape shape;
+    final int width, height;
+
+    width = (clip[2] - clip[0]);
+    height = (clip[3] - clip[1]);
+    if (this.m_chart.getBands().isEmpty() || (width <= 0)
+        || (height <= 0)) {
+      return;
+    }
+
+    image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    graphic = image.createGraphics();
+    try {
+      graphic.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+          RenderingHints.VALUE_ANTIALIAS_ON);
+      graphic.translate(-clip[0], -clip[1]);
+      shape = new TransformedShape();
+      for (final CompiledBand2D band : this.m_chart.getBands()) {
+        graphic.setPaint(band.getColor());
+        shape.set(band.getPath(), transform);
+        graphic.fill(shape);
+      }
+    } finally {
+      graphic.dispose();
+    }
+
+    this.m_bands = image;
+    this.m_bandsX = clip[0];
+    this.m_bandsY = clip[1];
+  }
+
+  /** a polyline in device coordinates */
+  private static final class __Polyline {
+
+    /** the x-coordinates */
+    final double[] m_x;
+
+    /** the y-coordinates */
+    final double[] m_y;
+
+    /** the number of points */
+    final int m_count;
+
+    /** the color */
+    final int m_argb;
+
+    /** the width */
+    final double m_width;
+
+    /** the first column of the clip */
+    final int m_clipX0;
+
+    /** the first row of the clip */
+    final int m_clipY0;
+
+    /** the end column of the clip (exclusive) */
+    final int m_clipX1;
+
+    /** the end row of the clip (exclusive) */
+    final int m_clipY1;
+
+    /** the smallest y-coordinate, minus the width */
+    final double m_minY;
+
+    /** the largest y-coordinate, plus the width */
+    final double m_maxY;
+
+    /**
+     * create the polyline
+     *
+     * @param x
+     *          the x-coordinates
+     * @param y
+     *          the y-coordinates
+     * @param count
+     *          the number of points
+     * @param argb
+     *          the color
+     * @param width
+     *          the width
+     * @param clip
+     *          the clip
+     */
+    __Polyline(final double[] x, final double[] y, final int count,
+        final int argb, final double width, final int[] clip) {
+      super();
+
+      double min, max, value;
+      int i;
+
+      this.m_x = x;
+      this.m_y = y;
+      this.m_count = count;
+      this.m_argb = argb;
+      this.m_width = width;
+      this.m_clipX0 = clip[0];
+      this.m_clipY0 = clip[1];
+      this.m_clipX1 = clip[2];
+      this.m_clipY1 = clip[3];
+
+      min = Double.POSITIVE_INFINITY;
+      max = Double.NEGATIVE_INFINITY;
+      for (i = count; (--i) >= 0;) {
+        value = y[i];
+        if (value < min) {
+          min = value;
+        }
+        if (value > max) {
+          max = value;
+        }
+      }
+      this.m_minY = (min - width - 2d);
+      this.m_maxY = (max + width + 2d);
+    }
+  }
+
+  /** a data line, rasterized directly from its data */
+  private static final class __DataLine {
+
+    /** the line */
+    final CompiledLine2D m_line;
+
+    /** the scale of the x-coordinates */
+    final double m_scaleX;
+
+    /** the translation of the x-coordinates */
+    final double m_translateX;
+
+    /** the scale of the y-coordinates */
+    final double m_scaleY;
+
+    /** the translation of the y-coordinates */
+    final double m_translateY;
+
+    /** the color */
+    final int m_argb;
+
+    /** the width */
+    final double m_width;
+
+    /** the first column of the clip */
+    final int m_clipX0;
+
+    /** the first row of the clip */
+    final int m_clipY0;
+
+    /** the end column of the clip (exclusive) */
+    final int m_clipX1;
+
+    /** the end row of the clip (exclusive) */
+    final int m_clipY1;
+
+    /** the smallest y-coordinate of each chunk, minus the width */
+    final double[] m_minY;
+
+    /** the largest y-coordinate of each chunk, plus the width */
+    final double[] m_maxY;
+
+    /**
+     * create the data line
+     *
+     * @param line
+     *          the line
+     * @param transform
+     *          the data-to-device transformation
+     * @param argb
+     *          the color
+     * @param width
+     *          the width
+     * @param clip
+     *          the clip
+     */
+    __DataLine(final CompiledLine2D line, final AffineTransform transform,
+        final int argb, final double width, final int[] clip) {
+      super();
+
+      final int chunks;
+
+      this.m_line = line;
+      this.m_scaleX = transform.getScaleX();
+      this.m_translateX = transform.getTranslateX();
+      this.m_scaleY = transform.getScaleY();
+      this.m_translateY = transform.getTranslateY();
+      this.m_argb = argb;
+      this.m_width = width;
+      this.m_clipX0 = clip[0];
+      this.m_clipY0 = clip[1];
+      this.m_clipX1 = clip[2];
+      this.m_clipY1 = clip[3];
+
+      chunks = (((line.getData().m() - 1) / _RasterLineChart2DRenderer.CHUNK)
+          + 1);
+      this.m_minY = new double[chunks];
+      this.m_maxY = new double[chunks];
+    }
+  }
+
+  /** the visitor computing the device-space bounds of a chunk */
+  private static final class __BoundsVisitor extends Line2DVisitor {
+
+    /** the data line */
+    private final __DataLine m_line;
+
+    /** the smallest y-coordinate */
+    double m_minY;
+
+    /** the largest y-coordinate */
+    double m_maxY;
+
+    /**
+     * create the visitor
+     *
+     * @param line
+     *          the data line
+     */
+    __BoundsVisitor(final __DataLine line) {
+      super();
+      this.m_line = line;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void moveTo(final double x, final double y) {
+      this.lineTo(x, y);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void lineTo(final double x, final double y) {
+      final double deviceY;
+
+      deviceY = ((y * this.m_line.m_scaleY) + this.m_line.m_translateY);
+      if (deviceY < this.m_minY) {
+        this.m_minY = deviceY;
+      }
+      if (deviceY > this.m_maxY) {
+        this.m_maxY = deviceY;
+      }
+    }
+  }
+
+  /** the visitor stroking the segments of a line inside a band of rows */
+  private static final class __StrokeVisitor extends Line2DVisitor {
+
+    /** the canvas */
+    private final _RasterCanvas m_canvas;
+
+    /** the data line */
+    private __DataLine m_line;
+
+    /** the first row of the band */
+    private int m_clipY0;
+
+    /** the end row of the band (exclusive) */
+    private int m_clipY1;
+
+    /** the smallest y-coordinate of a segment touching the band */
+    private double m_minY;
+
+    /** the largest y-coordinate of a segment touching the band */
+    private double m_maxY;
+
+    /** the device x-coordinate of the previous point */
+    private double m_x;
+
+    /** the device y-coordinate of the previous point */
+    private double m_y;
+
+    /**
+     * create the visitor
+     *
+     * @param canvas
+     *          the canvas
+     */
+    __StrokeVisitor(final _RasterCanvas canvas) {
+      super();
+      this.m_canvas = canvas;
+    }
+
+    /**
+     * Set the line to stroke and the band to stroke it in
+     *
+     * @param line
+     *          the data line
+     * @param clipY0
+     *          the first row of the band
+     * @param clipY1
+     *          the end row of the band (exclusive)
+     */
+    final void _setLine(final __DataLine line, final int clipY0,
+        final int clipY1) {
+      final double margin;
+
+      this.m_line = line;
+      this.m_clipY0 = clipY0;
+      this.m_clipY1 = clipY1;
+      margin = (line.m_width + 2d);
+      this.m_minY = (clipY0 - margin);
+      this.m_maxY = (clipY1 + margin);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void moveTo(final double x, final double y) {
+      this.m_x = ((x * this.m_line.m_scaleX) + this.m_line.m_translateX);
+      this.m_y = ((y * this.m_line.m_scaleY) + this.m_line.m_translateY);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void lineTo(final double x, final double y) {
+      final __DataLine line;
+      final double x0, y0;
+
+      line = this.m_line;
+      x0 = this.m_x;
+      y0 = this.m_y;
+      this.moveTo(x, y);
+      if ((Math.max(y0, this.m_y) < this.m_minY)
+          || (Math.min(y0, this.m_y) > this.m_maxY)) {
+        return;
+      }
+      this.m_canvas._stroke(x0, y0, this.m_x, this.m_y, line.m_argb,
+          line.m_width, line.m_clipX0, this.m_clipY0, line.m_clipX1,
+          this.m_clipY1);
+    }
+  }
+
+  /** a text in device coordinates */
+  private static final class __Text {
+
+    /** the glyph atlas */
+    final _RasterFont m_font;
+
+    /** the text */
+    final String m_text;
+
+    /** the x-coordinate of the start of the baseline */
+    final double m_x;
+
+    /** the y-coordinate of the start of the baseline */
+    final double m_y;
+
+    /** the color */
+    final int m_argb;
+
+    /** should the text run upwards? */
+    final boolean m_rotated;
+
+    /**
+     * create the text
+     *
+     * @param font
+     *          the glyph atlas
+     * @param text
+     *          the text
+     * @param x
+     *          the x-coordinate of the start of the baseline
+     * @param y
+     *          the y-coordinate of the start of the baseline
+     * @param argb
+     *          the color
+     * @param rotated
+     *          should the text run upwards?
+     */
+    __Text(final _RasterFont font, final String text, final double x,
+        final double y, final int argb, final boolean rotated) {
+      super();
+      this.m_font = font;
+      this.m_text = text;
+      this.m_x = x;
+      this.m_y = y;
+      this.m_argb = argb;
+      this.m_rotated = rotated;
+    }
+  }
+
+  /** a task rasterizing a band of rows */
+  private static final class __Band extends RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the renderer */
+    private final _RasterLineChart2DRenderer m_owner;
+
+    /** the first row */
+    private final int m_start;
+
+    /** the end row (exclusive) */
+    private final int m_end;
+
+    /**
+     * create the task
+     *
+     * @param owner
+     *          the renderer
+     * @param start
+     *          the first row
+     * @param end
+     *          the end row (exclusive)
+     */
+    __Band(final _RasterLineChart2DRenderer owner, final int start,
+        final int end) {
+      super();
+      this.m_owner = owner;
+      this.m_start = start;
+      this.m_end = end;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void compute() {
+      final int middle;
+
+      if ((this.m_end - this.m_start) > _RasterLineChart2DRenderer.BAND) {
+        middle = ((this.m_start + this.m_end) >>> 1);
+        ForkJoinTask.invokeAll(
+            new __Band(this.m_owner, this.m_start, middle),
+            new __Band(this.m_owner, middle, this.m_end));
+      } else {
+        this.m_owner._paintBand(this.m_start, this.m_end);
+      }
+    }
+  }
+}
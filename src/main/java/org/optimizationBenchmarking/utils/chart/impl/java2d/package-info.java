@@ -0,0 +1,9 @@
+/**
+ * Lean implementations of the chart API without relying on any charting
+ * library: the {@link
+ * org.optimizationBenchmarking.utils.chart.impl.java2d.Java2DChartDriver}
+ * paints directly onto a {@link java.awt.Graphics2D}, while the {@link
+ * org.optimizationBenchmarking.utils.chart.impl.java2d.RasterChartDriver}
+ * rasterizes line charts into a pixel buffer in parallel.
+ */
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
@@ -1,9 +1,11 @@
 package org.optimizationBenchmarking.utils.chart.impl.jfree;
 
 import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
 import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.utils.chart.impl.abstr.ChartDriver;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledChart;
 import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
 import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledPieChart;
 import org.optimizationBenchmarking.utils.reflection.ReflectionUtils;
@@ -60,6 +62,7 @@ public final class JFreeChartDriver extends ChartDriver {
           "org.jfree.chart.plot.PlotRenderingInfo", //$NON-NLS-1$
           "org.jfree.chart.plot.SeriesRenderingOrder", //$NON-NLS-1$
           "org.jfree.chart.plot.XYPlot", //$NON-NLS-1$
+          "org.jfree.chart.renderer.xy.AbstractXYItemRenderer", //$NON-NLS-1$
           "org.jfree.chart.renderer.xy.XYItemRenderer", //$NON-NLS-1$
           "org.jfree.chart.renderer.xy.XYItemRendererState", //$NON-NLS-1$
           "org.jfree.chart.renderer.xy.XYLineAndShapeRenderer", //$NON-NLS-1$
@@ -114,11 +117,86 @@ public final class JFreeChartDriver extends ChartDriver {
     return __JFreeChartDriverLoader.INSTANCE;
   }
 
+  /**
+   * Create a handle which builds the JFreeChart object graph for a
+   * compiled chart once and can then draw it any number of times, e.g.,
+   * at different sizes. This saves the construction of the chart, plot,
+   * axes, legend, and data set on every rendering. Like
+   * {@link #render(CompiledChart, java.awt.Graphics2D)}, the handle
+   * prepares a line chart for each target size, i.e., reduces its lines
+   * to the device width of the target, and keeps one object graph per
+   * recently used width.
+   *
+   * @param chart
+   *          the compiled chart
+   * @return the render handle
+   * @see #compile(org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles,
+   *      Logger)
+   */
+  public final JFreeChartRenderHandle createRenderHandle(
+      final CompiledChart chart) {
+    this.checkCanUse();
+    if (chart instanceof CompiledLineChart2D) {
+      return new JFreeChartRenderHandle(this, ((CompiledLineChart2D) chart));
+    }
+    if (chart instanceof CompiledPieChart) {
+      return new JFreeChartRenderHandle(
+          new _JFreeChartPieChartRenderer((CompiledPieChart) chart));
+    }
+    throw new IllegalArgumentException(//
+        "Cannot create render handle for compiled chart " + chart); //$NON-NLS-1$
+  }
+
+  /**
+   * Get the width of an area of a graphic in device pixels, which
+   * determines how a line chart is
+   * {@link #_prepare(CompiledLineChart2D, Graphics2D, Rectangle2D)
+   * prepared}
+   *
+   * @param graphic
+   *          the graphic
+   * @param bounds
+   *          the area
+   * @return the width in device pixels, or {@code -1} if it is empty or
+   *         too large
+   */
+  static final int _getDeviceWidth(final Graphics2D graphic,
+      final Rectangle2D bounds) {
+    return ChartDriver.getDeviceWidth(graphic, bounds);
+  }
+
+  /**
+   * Prepare a line chart for rendering into an area of a graphic and
+   * build its object graph
+   *
+   * @param chart
+   *          the compiled chart
+   * @param graphic
+   *          the graphic
+   * @param bounds
+   *          the area
+   * @return the renderer holding the object graph
+   */
+  final _JFreeChartLineChart2DRenderer _prepare(
+      final CompiledLineChart2D chart, final Graphics2D graphic,
+      final Rectangle2D bounds) {
+    return new _JFreeChartLineChart2DRenderer(
+        this.prepareLineChart2D(chart, graphic, bounds, null),
+        new _JFreeChartLineChartSkeleton());
+  }
+
   /** {@inheritDoc} */
   @Override
   protected final void renderLineChart2D(final CompiledLineChart2D chart,
       final Graphics2D graphic, final Logger logger) {
-    new _JFreeChartLineChart2DRenderer(chart)._render(graphic);
+    final _JFreeChartLineChartSkeleton skeleton;
+
+    skeleton = _JFreeChartLineChartSkeleton._acquire();
+    try {
+      new _JFreeChartLineChart2DRenderer(chart, skeleton)._render(graphic);
+    } finally {
+      skeleton._release();
+    }
   }
 
   /** {@inheritDoc} */
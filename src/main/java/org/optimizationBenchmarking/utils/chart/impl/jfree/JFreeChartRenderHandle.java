@@ -0,0 +1,152 @@
+package org.optimizationBenchmarking.utils.chart.impl.jfree;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.graphics.GraphicUtils;
+
+/**
+ * A handle to the JFreeChart object graph of one compiled chart, which
+ * is built once and can then be drawn any number of times, to different
+ * graphics and at different sizes. The layout state chosen for one size,
+ * such as the position of the legend, does not carry over to the next
+ * drawing. The lines of a line chart are prepared for each size like by
+ * {@link JFreeChartDriver#render(org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledChart, Graphics2D)}
+ * , i.e., reduced to the device width of the target, and one object graph
+ * is kept for each of the {@value #WIDTHS} most recently used widths.
+ * Since the object graphs are mutable, drawings of the same handle are
+ * performed one after the other.
+ *
+ * @see JFreeChartDriver#createRenderHandle(org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledChart)
+ */
+public final class JFreeChartRenderHandle {
+
+  /** the maximum number of device widths to keep object graphs for */
+  private static final int WIDTHS = 8;
+
+  /** the driver, or {@code null} for charts which are not prepared */
+  private final JFreeChartDriver m_driver;
+
+  /** the line chart, or {@code null} for charts which are not prepared */
+  private final CompiledLineChart2D m_chart;
+
+  /**
+   * the renderer of a chart which does not depend on the size, or
+   * {@code null} if the chart is prepared for each size
+   */
+  private final _JFreeChartRenderer<?, ?, ?> m_renderer;
+
+  /**
+   * the renderers of the prepared line chart by device width, in the
+   * order of their last use: the eldest entry is the least-recently used
+   * one
+   */
+  private final LinkedHashMap<Integer, _JFreeChartRenderer<?, ?, ?>> m_renderers;
+
+  /**
+   * create the render handle of a chart which does not depend on the
+   * size
+   *
+   * @param renderer
+   *          the renderer
+   */
+  JFreeChartRenderHandle(final _JFreeChartRenderer<?, ?, ?> renderer) {
+    super();
+    this.m_driver = null;
+    this.m_chart = null;
+    this.m_renderer = renderer;
+    this.m_renderers = null;
+  }
+
+  /**
+   * create the render handle of a line chart, which is prepared for each
+   * size
+   *
+   * @param driver
+   *          the driver
+   * @param chart
+   *          the line chart
+   */
+  JFreeChartRenderHandle(final JFreeChartDriver driver,
+      final CompiledLineChart2D chart) {
+    super();
+    this.m_driver = driver;
+    this.m_chart = chart;
+    this.m_renderer = null;
+    this.m_renderers = new LinkedHashMap<>(
+        ((JFreeChartRenderHandle.WIDTHS << 2) / 3) + 2, 0.75f, true);
+  }
+
+  /**
+   * Draw the chart so that it fills the bounds of a graphic
+   *
+   * @param graphic
+   *          the graphic
+   */
+  public final void render(final Graphics2D graphic) {
+    if (graphic == null) {
+      throw new IllegalArgumentException(//
+          "The graphic for a chart cannot be null."); //$NON-NLS-1$
+    }
+    this.render(graphic, GraphicUtils.getBounds(graphic));
+  }
+
+  /**
+   * Get the renderer for an area of a graphic, preparing the line chart
+   * if no renderer is kept for the device width of the area
+   *
+   * @param graphic
+   *          the graphic
+   * @param bounds
+   *          the area
+   * @return the renderer
+   */
+  private final _JFreeChartRenderer<?, ?, ?> __getRenderer(
+      final Graphics2D graphic, final Rectangle2D bounds) {
+    final Integer width;
+    final Iterator<Integer> eldest;
+    _JFreeChartRenderer<?, ?, ?> renderer;
+
+    if (this.m_renderers == null) {
+      return this.m_renderer;
+    }
+
+    width = Integer.valueOf(JFreeChartDriver._getDeviceWidth(graphic,
+        bounds));
+    renderer = this.m_renderers.get(width);
+    if (renderer == null) {
+      renderer = this.m_driver._prepare(this.m_chart, graphic, bounds);
+      this.m_renderers.put(width, renderer);
+      if (this.m_renderers.size() > JFreeChartRenderHandle.WIDTHS) {
+        eldest = this.m_renderers.keySet().iterator();
+        eldest.next();
+        eldest.remove();
+      }
+    }
+    return renderer;
+  }
+
+  /**
+   * Draw the chart into the given bounds of a graphic
+   *
+   * @param graphic
+   *          the graphic
+   * @param bounds
+   *          the bounds
+   */
+  public synchronized final void render(final Graphics2D graphic,
+      final Rectangle2D bounds) {
+    if (graphic == null) {
+      throw new IllegalArgumentException(//
+          "The graphic for a chart cannot be null."); //$NON-NLS-1$
+    }
+    if (bounds == null) {
+      throw new IllegalArgumentException(//
+          "The bounds for a chart cannot be null."); //$NON-NLS-1$
+    }
+    this.__getRenderer(graphic, bounds)._render(graphic, bounds);
+  }
+}
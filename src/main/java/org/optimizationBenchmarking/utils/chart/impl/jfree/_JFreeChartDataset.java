@@ -6,6 +6,7 @@ import org.jfree.data.general.Dataset;
 import org.jfree.data.general.DatasetChangeListener;
 import org.jfree.data.general.DatasetGroup;
 import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledDataElement;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.Line2DVisitor;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
 
@@ -19,7 +20,7 @@ class _JFreeChartDataset<T extends CompiledDataElement>
     implements Dataset {
 
   /** the maximum allowed coordinate */
-  static final double MAX_COORD = (1e20);
+  static final double MAX_COORD = Line2DVisitor.MAX_COORD;
   /** the minimum allowed coordinate */
   static final double MIN_COORD = (-_JFreeChartDataset.MAX_COORD);
 
@@ -73,10 +74,7 @@ class _JFreeChartDataset<T extends CompiledDataElement>
    * @return the formatted double
    */
   static final double _f(final double d) {
-    return ((d <= _JFreeChartDataset.MIN_COORD)
-        ? _JFreeChartDataset.MIN_COORD
-        : ((d >= _JFreeChartDataset.MAX_COORD)
-            ? _JFreeChartDataset.MAX_COORD : d));
+    return Line2DVisitor.clamp(d);
   }
 
   /**
@@ -0,0 +1,154 @@
+package org.optimizationBenchmarking.utils.chart.impl.jfree;
+
+import java.awt.Color;
+import java.util.Locale;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.LegendItemCollection;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.TickUnitSource;
+import org.jfree.chart.plot.DatasetRenderingOrder;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.SeriesRenderingOrder;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.title.LegendTitle;
+
+/**
+ * <p>
+ * The skeleton of a JFreeChart 2D line chart: the chart, plot, axes, and
+ * legend together with all settings which do not depend on the chart to
+ * paint, such as the tick units, insets, rendering order, and rendering
+ * hints.
+ * </p>
+ * <p>
+ * Building this object graph costs more than painting many small
+ * charts, so each thread keeps one skeleton, which is
+ * {@link #_retarget(_JFreeChartXYDataset) re-targeted} to the data set of
+ * each new chart and {@link #_release() released} after painting.
+ * Change events of the chart and plot are switched off for good, since
+ * nobody listens to them: This way, re-targeting the skeleton does not
+ * cause any re-configuration cascades.
+ * </p>
+ */
+final class _JFreeChartLineChartSkeleton {
+
+  /** the tick unit source */
+  private static final TickUnitSource UNITS = NumberAxis
+      .createStandardTickUnits(Locale.US);
+
+  /** the skeletons of the threads */
+  private static final ThreadLocal<_JFreeChartLineChartSkeleton> POOL = new ThreadLocal<_JFreeChartLineChartSkeleton>() {
+    /** {@inheritDoc} */
+    @Override
+    protected final _JFreeChartLineChartSkeleton initialValue() {
+      return new _JFreeChartLineChartSkeleton();
+    }
+  };
+
+  /** the chart */
+  final JFreeChart m_chart;
+
+  /** the plot */
+  final XYPlot m_plot;
+
+  /** the x-axis */
+  final NumberAxis m_x;
+
+  /** the y-axis */
+  final NumberAxis m_y;
+
+  /** the legend */
+  final LegendTitle m_legend;
+
+  /** is the skeleton in use? */
+  private boolean m_inUse;
+
+  /** create the skeleton */
+  _JFreeChartLineChartSkeleton() {
+    super();
+
+    this.m_chart = _JFreeChartRenderer._configure(ChartFactory
+        .createXYLineChart(null, null, null, null,
+            PlotOrientation.VERTICAL, false, false, false));
+    this.m_chart.setNotify(false);
+    this.m_plot = ((XYPlot) (this.m_chart.getPlot()));
+    this.m_plot.setNotify(false);
+
+    this.m_plot.setDomainGridlinesVisible(true);
+    this.m_plot.setRangeGridlinesVisible(true);
+    this.m_plot.setAxisOffset(_JFreeChartRenderer.CHART_INSETS);
+    this.m_plot.setDomainMinorGridlinesVisible(false);
+    this.m_plot.setDatasetRenderingOrder(DatasetRenderingOrder.FORWARD);
+    this.m_plot.setSeriesRenderingOrder(SeriesRenderingOrder.FORWARD);
+
+    this.m_x = ((NumberAxis) (this.m_plot.getDomainAxis()));
+    _JFreeChartLineChartSkeleton.__configure(this.m_x);
+    this.m_y = ((NumberAxis) (this.m_plot.getRangeAxis()));
+    _JFreeChartLineChartSkeleton.__configure(this.m_y);
+
+    this.m_legend = new LegendTitle(this.m_plot);
+    this.m_legend.setBackgroundPaint(Color.WHITE);
+    this.m_legend.setVisible(true);
+  }
+
+  /**
+   * Apply the settings shared by all charts to an axis
+   *
+   * @param axis
+   *          the axis
+   */
+  private static final void __configure(final NumberAxis axis) {
+    axis.setTickMarksVisible(true);
+    axis.setTickLabelsVisible(true);
+    axis.setStandardTickUnits(_JFreeChartLineChartSkeleton.UNITS);
+    axis.setMinorTickCount(1);
+    axis.setMinorTickMarkInsideLength(0f);
+    axis.setMinorTickMarkOutsideLength(0f);
+    axis.setMinorTickMarksVisible(false);
+    axis.setAutoRange(false);
+  }
+
+  /**
+   * Get a skeleton for painting one chart on the current thread: the
+   * skeleton of the thread if it is not in use, otherwise a new one.
+   *
+   * @return the skeleton, which must be {@link #_release() released}
+   *         after painting
+   */
+  static final _JFreeChartLineChartSkeleton _acquire() {
+    _JFreeChartLineChartSkeleton skeleton;
+
+    skeleton = _JFreeChartLineChartSkeleton.POOL.get();
+    if (skeleton.m_inUse) {
+      skeleton = new _JFreeChartLineChartSkeleton();
+    }
+    skeleton.m_inUse = true;
+    return skeleton;
+  }
+
+  /**
+   * Re-target the skeleton to a new data set
+   *
+   * @param dataset
+   *          the data set
+   * @return the chart
+   */
+  final JFreeChart _retarget(final _JFreeChartXYDataset dataset) {
+    this.m_plot.setDataset(dataset);
+    return this.m_chart;
+  }
+
+  /**
+   * Release the skeleton after painting: all references to the data of
+   * the painted chart are dropped, so that it does not stay reachable via
+   * the pool.
+   */
+  final void _release() {
+    this.m_plot.setDataset(null);
+    this.m_plot.setRenderer((XYItemRenderer) null);
+    this.m_plot.setFixedLegendItems(new LegendItemCollection());
+    this.m_inUse = false;
+  }
+}
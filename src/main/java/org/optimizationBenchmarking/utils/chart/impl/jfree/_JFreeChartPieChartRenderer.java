@@ -26,7 +26,21 @@ final class _JFreeChartPieChartRenderer extends
    *          the chart to paint
    */
   _JFreeChartPieChartRenderer(final CompiledPieChart chart) {
-    super(chart);
+    this(chart, new _JFreeChartPieDataset(chart.getSlices()));
+  }
+
+  /**
+   * Create a new line chart
+   *
+   * @param chart
+   *          the chart to paint
+   * @param dataset
+   *          the data set
+   */
+  private _JFreeChartPieChartRenderer(final CompiledPieChart chart,
+      final _JFreeChartPieDataset dataset) {
+    super(chart, dataset, _JFreeChartPieChartRenderer.__createChart(chart,
+        dataset));
 
     final _JFreeChartPieDataset data;
     final ArrayListView<CompiledDataScalar> elements;
@@ -77,17 +91,17 @@ final class _JFreeChartPieChartRenderer extends
     return VerticalAlignment.BOTTOM;
   }
 
-  /** {@inheritDoc} */
-  @Override
-  final _JFreeChartPieDataset _createDataSet(
-      final CompiledPieChart chart) {
-    return new _JFreeChartPieDataset(chart.getSlices());
-  }
-
-  /** {@inheritDoc} */
-  @Override
-  final JFreeChart _createChart(final CompiledPieChart chart,
-      final _JFreeChartPieDataset dataset) {
+  /**
+   * create the chart
+   *
+   * @param chart
+   *          the chart
+   * @param dataset
+   *          the data set
+   * @return the JFreeChart instance
+   */
+  private static final JFreeChart __createChart(
+      final CompiledPieChart chart, final _JFreeChartPieDataset dataset) {
 
     _JFreeChartPiePlot3D plot;
     JFreeChart result;
@@ -96,9 +110,9 @@ final class _JFreeChartPieChartRenderer extends
     plot.setInsets(new RectangleInsets(0.0, 5.0, 5.0, 5.0));
 
     result = new JFreeChart(null, JFreeChart.DEFAULT_TITLE_FONT, plot,
-        this.m_legendMode.isLegendShown());
+        chart.getLegendMode().isLegendShown());
     ChartFactory.getChartTheme().apply(result);
-    return result;
+    return _JFreeChartRenderer._configure(result);
 
     // return ChartFactory.createPieChart3D(null, this.m_dataset,
     // this.m_legendMode.isLegendShown(), false, Locale.US);
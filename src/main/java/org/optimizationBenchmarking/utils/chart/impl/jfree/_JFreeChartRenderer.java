@@ -72,9 +72,16 @@ abstract class _JFreeChartRenderer<C extends CompiledChart, D extends Dataset, P
    *
    * @param chart
    *          the chart to paint
+   * @param dataset
+   *          the data set
+   * @param jfree
+   *          the {@link #_configure(JFreeChart) configured} JFreeChart
+   *          instance showing the data set, which may have been used for
+   *          another chart before
    */
   @SuppressWarnings("unchecked")
-  _JFreeChartRenderer(final C chart) {
+  _JFreeChartRenderer(final C chart, final D dataset,
+      final JFreeChart jfree) {
     super();
 
     TextTitle chartTitle;
@@ -82,16 +89,8 @@ abstract class _JFreeChartRenderer<C extends CompiledChart, D extends Dataset, P
 
     this.m_legendMode = chart.getLegendMode();
 
-    this.m_dataset = this._createDataSet(chart);
-    this.m_chart = this._createChart(chart, this.m_dataset);
-
-    this.m_chart.setBackgroundPaint(Color.WHITE);
-    this.m_chart.setPadding(_JFreeChartRenderer.CHART_INSETS);
-    this.m_chart.setAntiAlias(true);
-    this.m_chart.setTextAntiAlias(true);
-    this.m_chart.setBorderVisible(false);
-    this.m_chart.setRenderingHints(//
-        GraphicUtils.createDefaultRenderingHints());
+    this.m_dataset = dataset;
+    this.m_chart = jfree;
 
     title = chart.getTitle();
     if (title != null) {
@@ -99,63 +98,105 @@ abstract class _JFreeChartRenderer<C extends CompiledChart, D extends Dataset, P
       chartTitle = this.m_chart.getTitle();
       chartTitle.setFont(chart.getTitleFont());
       chartTitle.setVisible(true);
+    } else {
+      chartTitle = this.m_chart.getTitle();
+      if (chartTitle != null) {
+        chartTitle.setVisible(false);
+      }
     }
 
     this.m_plot = ((P) (this.m_chart.getPlot()));
-    this.m_plot.setBackgroundPaint(Color.WHITE);
-    this.m_plot.setBackgroundAlpha(0f);
-    this.m_plot.setForegroundAlpha(1f);
-    this.m_plot.setOutlineVisible(false);
   }
 
   /**
-   * create the data set
+   * Apply the settings shared by all charts to a newly created JFreeChart
+   * instance
    *
-   * @param chart
-   *          the chart
-   * @return the data set
+   * @param jfree
+   *          the JFreeChart instance
+   * @return the JFreeChart instance
    */
-  abstract D _createDataSet(final C chart);
+  static final JFreeChart _configure(final JFreeChart jfree) {
+    final Plot plot;
+
+    jfree.setBackgroundPaint(Color.WHITE);
+    jfree.setPadding(_JFreeChartRenderer.CHART_INSETS);
+    jfree.setAntiAlias(true);
+    jfree.setTextAntiAlias(true);
+    jfree.setBorderVisible(false);
+    jfree.setRenderingHints(//
+        GraphicUtils.createDefaultRenderingHints());
+
+    plot = jfree.getPlot();
+    plot.setBackgroundPaint(Color.WHITE);
+    plot.setBackgroundAlpha(0f);
+    plot.setForegroundAlpha(1f);
+    plot.setOutlineVisible(false);
+    return jfree;
+  }
 
   /**
-   * create the chart
+   * Render this chart
    *
-   * @param dataset
-   *          the data set
-   * @param chart
-   *          the chart
-   * @return the JFreeChart instance
+   * @param graphic
+   *          the graphic to render on
    */
-  abstract JFreeChart _createChart(final C chart, final D dataset);
+  final void _render(final Graphics2D graphic) {
+    this._render(graphic, GraphicUtils.getBounds(graphic));
+  }
 
   /**
-   * Render this chart
+   * Render this chart into the given bounds. The layout state which
+   * depends on the bounds, i.e., the legend position and visibility and
+   * the plot insets, is restored afterwards, so that the same renderer
+   * can draw the chart again at a different size.
    *
    * @param graphic
    *          the graphic to render on
+   * @param bounds
+   *          the bounds
    */
-  final void _render(final Graphics2D graphic) {
-    Rectangle2D rect;
+  final void _render(final Graphics2D graphic, final Rectangle2D bounds) {
+    final LegendTitle legend;
+    final RectangleInsets insets;
+    final RectangleEdge position;
+    final boolean visible;
     int attempts;
 
-    outer: for (attempts = 7; (--attempts) >= 0;) {
-      rect = GraphicUtils.getBounds(graphic);
-
-      try {
-        if (this.m_legendMode == ELegendMode.CHART_IS_LEGEND) {
-          this._paintAsLegend(graphic, rect);
-        } else {
-          this._paintNormal(graphic, rect);
-        }
-        return;
-      } catch (final IllegalStateException ise) {
-        // attempt to handle strange exceptions sometimes thrown by
-        // JFreeChart: maybe it is not deterministic, who knows
-        if (attempts > 0) {
-          continue outer;
+    legend = this.m_chart.getLegend();
+    if (legend != null) {
+      visible = legend.isVisible();
+      position = legend.getPosition();
+    } else {
+      visible = false;
+      position = null;
+    }
+    insets = this.m_plot.getInsets();
+
+    try {
+      outer: for (attempts = 7; (--attempts) >= 0;) {
+        try {
+          if (this.m_legendMode == ELegendMode.CHART_IS_LEGEND) {
+            this._paintAsLegend(graphic, bounds);
+          } else {
+            this._paintNormal(graphic, bounds);
+          }
+          return;
+        } catch (final IllegalStateException ise) {
+          // attempt to handle strange exceptions sometimes thrown by
+          // JFreeChart: maybe it is not deterministic, who knows
+          if (attempts > 0) {
+            continue outer;
+          }
+          throw ise;
         }
-        throw ise;
       }
+    } finally {
+      if (legend != null) {
+        legend.setVisible(visible);
+        legend.setPosition(position);
+      }
+      this.m_plot.setInsets(insets);
     }
   }
 
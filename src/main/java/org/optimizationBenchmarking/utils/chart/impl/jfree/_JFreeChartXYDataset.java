@@ -1,97 +1,218 @@
 package org.optimizationBenchmarking.utils.chart.impl.jfree;
 
+import java.awt.geom.Path2D;
+
 import org.jfree.data.DomainOrder;
 import org.jfree.data.xy.XYDataset;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledAxis;
 import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.EDomainOrder;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.OffHeapMatrix;
 import org.optimizationBenchmarking.utils.chart.spec.ELineType;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
 
-/** a 2D line for jfreechart */
+/**
+ * A 2D line for jfreechart. For each line whose {@code x}-coordinates are
+ * sorted, only the rows inside the range of the {@code x}-axis are
+ * exposed, plus one row on either side so that the segments leaving the
+ * plot are still drawn. This window is found via binary search, so
+ * off-screen prefixes and suffixes of long lines are never touched. The
+ * data-space paths of the windows are created on first use and kept for
+ * all further drawings of the same chart, whose object graph is only ever
+ * drawn by one thread at a time.
+ */
 final class _JFreeChartXYDataset extends _JFreeChartDataset<CompiledLine2D>
     implements XYDataset {
 
   /** the shortcut to the data matrices */
   private final IMatrix[] m_matrices;
+  /**
+   * the {@link CompiledLine2D#getXValues() packed and already clamped}
+   * x-coordinates of each line, or {@code null} for lines whose data is
+   * read directly from their matrix
+   */
+  private final double[][] m_x;
+  /**
+   * the {@link CompiledLine2D#getYValues() packed and already clamped}
+   * y-coordinates of each line, or {@code null} for lines whose data is
+   * read directly from their matrix
+   */
+  private final double[][] m_y;
   /** the type switch */
   private final ELineType[] m_typeSwitches;
+  /** the index of the first visible row of each line */
+  private final int[] m_starts;
+  /** the number of visible rows of each line */
+  private final int[] m_counts;
+  /** the data-space paths of the visible windows, created on demand */
+  private final Path2D[] m_paths;
   /** the domain order */
-  private DomainOrder m_order;
+  private final DomainOrder m_order;
 
   /**
    * create the line dataset
    *
    * @param lines
    *          the lines
+   * @param xAxis
+   *          the x-axis
    */
-  _JFreeChartXYDataset(final ArrayListView<CompiledLine2D> lines) {
+  _JFreeChartXYDataset(final ArrayListView<CompiledLine2D> lines,
+      final CompiledAxis xAxis) {
     super(lines);
 
     final int size;
+    final double min, max;
     CompiledLine2D line;
-    int i;
+    IMatrix matrix;
+    EDomainOrder order, allOrder;
+    int i, start, end;
 
     size = lines.size();
     this.m_matrices = new IMatrix[size];
     this.m_typeSwitches = new ELineType[size];
+    this.m_x = new double[size][];
+    this.m_y = new double[size][];
+    this.m_starts = new int[size];
+    this.m_counts = new int[size];
+    this.m_paths = new Path2D[size];
 
+    min = xAxis.getMinimum();
+    max = xAxis.getMaximum();
+    allOrder = null;
     for (i = size; (--i) >= 0;) {
       line = lines.get(i);
-      this.m_matrices[i] = line.getData();
+      this.m_matrices[i] = matrix = line.getData();
       this.m_typeSwitches[i] = line.getType();
-    }
-
-    this.m_order = null;
-  }
-
-  /** {@inheritDoc} */
-  @Override
-  public final DomainOrder getDomainOrder() {
-    int order, i, cmp;
-    double old, cur;
+      if (!(matrix instanceof OffHeapMatrix)) {
+        // off-heap data is read directly, without copying it to the heap
+        this.m_x[i] = line.getXValues();
+        this.m_y[i] = line.getYValues();
+      }
 
-    if (this.m_order != null) {
-      return this.m_order;
-    }
-    order = 0;
-    for (final IMatrix mat : this.m_matrices) {
-      i = mat.m();
-      cur = mat.getDouble(--i, 0);
-
-      for (; (--i) >= 0;) {
-        old = cur;
-        cur = mat.getDouble(i, 0);
-        cmp = Double.compare(cur, old);
-        if (cmp < 0) {
-          if (order > 0) {
-            return (this.m_order = DomainOrder.NONE);
+      start = 0;
+      end = matrix.m();
+      order = line.getDomainOrder();
+      if (end > 2) {
+        switch (order) {
+          case ASCENDING: {
+            start = Math.max(0, (_JFreeChartXYDataset.__search(matrix,
+                min, false, false) - 1));
+            end = Math.min(end,
+                (_JFreeChartXYDataset.__search(matrix, max, true, false)
+                    + 1));
+            break;
+          }
+          case DESCENDING: {
+            start = Math.max(0, (_JFreeChartXYDataset.__search(matrix,
+                max, false, true) - 1));
+            end = Math.min(end,
+                (_JFreeChartXYDataset.__search(matrix, min, true, true)
+                    + 1));
+            break;
           }
-          order = (-1);
-        } else {
-          if (cmp > 0) {
-            if (order < 0) {
-              return (this.m_order = DomainOrder.NONE);
-            }
-            order = 1;
+          default: {
+            break;
           }
         }
+        if (end <= start) {
+          end = (start + 1);
+        }
       }
-    }
+      this.m_starts[i] = start;
+      this.m_counts[i] = (end - start);
 
-    switch (order) {
-      case (-1): {
-        return (this.m_order = DomainOrder.ASCENDING);
+      if (allOrder == null) {
+        allOrder = order;
+      } else {
+        if (allOrder != order) {
+          allOrder = EDomainOrder.UNSORTED;
+        }
       }
-      case 0: {
-        return (this.m_order = DomainOrder.NONE);
+    }
+
+    if (allOrder == EDomainOrder.ASCENDING) {
+      this.m_order = DomainOrder.ASCENDING;
+    } else {
+      if (allOrder == EDomainOrder.DESCENDING) {
+        this.m_order = DomainOrder.DESCENDING;
+      } else {
+        this.m_order = DomainOrder.NONE;
       }
-      case 1: {
-        return (this.m_order = DomainOrder.DESCENDING);
+    }
+  }
+
+  /**
+   * Find the first row whose {@code x}-coordinate is beyond a given
+   * value in a sorted matrix.
+   *
+   * @param matrix
+   *          the matrix, sorted by its first column
+   * @param value
+   *          the value
+   * @param inclusive
+   *          {@code true} if rows equal to {@code value} are not beyond
+   *          it, {@code false} if they are
+   * @param descending
+   *          {@code true} if the matrix is sorted in descending order,
+   *          {@code false} if it is sorted in ascending order
+   * @return the index of the first row beyond {@code value}, or
+   *         {@code matrix.m()} if there is none
+   */
+  private static final int __search(final IMatrix matrix,
+      final double value, final boolean inclusive,
+      final boolean descending) {
+    int low, high, mid;
+    double x;
+
+    low = 0;
+    high = matrix.m();
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      x = matrix.getDouble(mid, 0);
+      if (descending) {
+        x = (-x);
       }
-      default: {
-        throw new IllegalStateException();
+      if ((x < (descending ? (-value) : value))
+          || (inclusive && (x == (descending ? (-value) : value)))) {
+        low = (mid + 1);
+      } else {
+        high = mid;
       }
     }
+    return low;
+  }
+
+  /**
+   * Get the data-space path of the visible window of a given series,
+   * creating it on the first call
+   *
+   * @param series
+   *          the series
+   * @return the path, or {@code null} if the series is read directly
+   *         from its matrix and should be streamed item by item instead
+   */
+  final Path2D _getPath(final int series) {
+    final int start;
+    Path2D path;
+
+    if (this.m_x[series] == null) {
+      return null;
+    }
+    path = this.m_paths[series];
+    if (path == null) {
+      start = this.m_starts[series];
+      this.m_paths[series] = path = this.m_data.get(series)
+          .createPath(start, (start + this.m_counts[series]));
+    }
+    return path;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final DomainOrder getDomainOrder() {
+    return this.m_order;
   }
 
   /** {@inheritDoc} */
@@ -99,7 +220,7 @@ final class _JFreeChartXYDataset extends _JFreeChartDataset<CompiledLine2D>
   public final int getItemCount(final int series) {
     final int count;
 
-    count = this.m_matrices[series].m();
+    count = this.m_counts[series];
     switch (this.m_typeSwitches[series]) {
       case STAIRS_KEEP_LEFT:
       case STAIRS_PREVIEW_RIGHT: {
@@ -136,13 +257,13 @@ final class _JFreeChartXYDataset extends _JFreeChartDataset<CompiledLine2D>
   private final int __getXIndex(final int series, final int item) {
     switch (this.m_typeSwitches[series]) {
       case STAIRS_KEEP_LEFT: {
-        return ((item + 1) >>> 1);
+        return (this.m_starts[series] + ((item + 1) >>> 1));
       }
       case STAIRS_PREVIEW_RIGHT: {
-        return (item >>> 1);
+        return (this.m_starts[series] + (item >>> 1));
       }
       default: {
-        return item;
+        return (this.m_starts[series] + item);
       }
     }
   }
@@ -159,13 +280,13 @@ final class _JFreeChartXYDataset extends _JFreeChartDataset<CompiledLine2D>
   private final int __getYIndex(final int series, final int item) {
     switch (this.m_typeSwitches[series]) {
       case STAIRS_KEEP_LEFT: {
-        return (item >>> 1);
+        return (this.m_starts[series] + (item >>> 1));
       }
       case STAIRS_PREVIEW_RIGHT: {
-        return ((item + 1) >>> 1);
+        return (this.m_starts[series] + ((item + 1) >>> 1));
       }
       default: {
-        return item;
+        return (this.m_starts[series] + item);
       }
     }
   }
@@ -173,6 +294,12 @@ final class _JFreeChartXYDataset extends _JFreeChartDataset<CompiledLine2D>
   /** {@inheritDoc} */
   @Override
   public final double getXValue(final int series, final int item) {
+    final double[] x;
+
+    x = this.m_x[series];
+    if (x != null) {
+      return x[this.__getXIndex(series, item)];
+    }
     return _JFreeChartDataset._f(this.m_matrices[series]
         .getDouble(this.__getXIndex(series, item), 0));
   }
@@ -193,6 +320,12 @@ final class _JFreeChartXYDataset extends _JFreeChartDataset<CompiledLine2D>
   /** {@inheritDoc} */
   @Override
   public final double getYValue(final int series, final int item) {
+    final double[] y;
+
+    y = this.m_y[series];
+    if (y != null) {
+      return y[this.__getYIndex(series, item)];
+    }
     return _JFreeChartDataset._f(this.m_matrices[series]
         .getDouble(this.__getYIndex(series, item), 1));
   }
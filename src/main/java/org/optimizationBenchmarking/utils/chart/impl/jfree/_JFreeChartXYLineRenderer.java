@@ -0,0 +1,620 @@
+package org.optimizationBenchmarking.utils.chart.impl.jfree;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.DrawingSupplier;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.AbstractXYItemRenderer;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.data.Range;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.ui.RectangleEdge;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledBand2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledDataElement;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.TransformedShape;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+
+/**
+ * <p>
+ * The renderer for the lines of a 2D line chart. Unlike
+ * {@link org.jfree.chart.renderer.xy.XYLineAndShapeRenderer}, which visits
+ * every item twice (once for lines, once for shapes) and draws each
+ * segment separately, this renderer strokes each series with a single
+ * {@link java.awt.Graphics2D#draw(Shape) draw} call: When the first
+ * visible item of a series is reached, the data-space path of the line
+ * (see
+ * {@link org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D#createPath(int, int)}
+ * ), which the dataset builds once and keeps for all drawings of the same
+ * chart, is drawn through a transformation to device space, and all further
+ * items of the series are skipped. Series which share the same opaque
+ * color and stroke are furthermore combined into a single draw call
+ * wherever this does not change the visible z-order. Series whose data is read directly
+ * from their matrix are streamed item by item into a path instead, which
+ * is drawn in chunks of bounded size. No shapes are drawn. The bands of
+ * the chart are filled below all series through the same transformation
+ * when rendering starts.
+ * </p>
+ * <p>
+ * This internal class also tries to avoid a problem with
+ * {@link org.jfree.chart.renderer.xy.XYLineAndShapeRenderer}.
+ * {@link org.jfree.chart.renderer.xy.XYLineAndShapeRenderer
+ * XYLineAndShapeRenderer} iterates over the dataElements in a data set. It
+ * paints them only if they are within the clip bounds of the drawing
+ * window. Only when it paints them, it will use methods such as
+ * {@link org.jfree.chart.plot.DefaultDrawingSupplier#getNextPaint()
+ * getNextPaint} of the {@link org.jfree.chart.plot.DefaultDrawingSupplier
+ * DefaultDrawingSupplier}. This, in turn, may lead to dataElements being
+ * painted with the wrong color if the dataElements before them are outside
+ * of the limits of the figure&hellip;
+ * </p>
+ * <p>
+ * This renderer furthermore makes sure that only the primitive
+ * {@link org.jfree.data.xy.XYDataset#getXValue(int, int) getXValue} and
+ * {@link org.jfree.data.xy.XYDataset#getYValue(int, int) getYValue}
+ * accessors of the dataset are used while rendering: It never creates
+ * entities or item labels, whose generators would query boxed
+ * {@link java.lang.Number} values for every item, and it reports the
+ * fixed ranges of the compiled axes as data bounds instead of scanning
+ * the dataset.
+ * </p>
+ */
+final class _JFreeChartXYLineRenderer extends AbstractXYItemRenderer
+    implements DrawingSupplier {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the maximum number of points in a streamed path chunk: {@value} */
+  private static final int CHUNK = 4096;
+
+  /** the stroke index */
+  private volatile int m_strokeIndex;
+  /** the color index */
+  private volatile int m_paintIndex;
+
+  /** the dataElements */
+  private final ArrayListView<CompiledDataElement> m_dataElements;
+
+  /** the bands */
+  private final ArrayListView<CompiledBand2D> m_bands;
+
+  /** the domain bounds */
+  private final Range m_domain;
+
+  /** the range bounds */
+  private final Range m_range;
+
+  /**
+   * create
+   *
+   * @param dataElements
+   *          the dataElements
+   * @param bands
+   *          the bands to fill below the series
+   * @param domain
+   *          the domain bounds
+   * @param range
+   *          the range bounds
+   */
+  _JFreeChartXYLineRenderer(
+      final ArrayListView<CompiledDataElement> dataElements,
+      final ArrayListView<CompiledBand2D> bands, final Range domain,
+      final Range range) {
+    super();
+    this.m_dataElements = dataElements;
+    this.m_bands = bands;
+    this.m_domain = domain;
+    this.m_range = range;
+    this.setBaseCreateEntities(false, false);
+    this.setBaseItemLabelsVisible(Boolean.FALSE, false);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getPassCount() {
+    return 1;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final XYItemRendererState initialise(final Graphics2D g2,
+      final Rectangle2D dataArea, final XYPlot plot,
+      final XYDataset data, final PlotRenderingInfo info) {
+    final __State state;
+
+    state = new __State(info, ((data != null) ? data.getSeriesCount()
+        : 0));
+    state.setProcessVisibleItemsOnly(true);
+    if (data instanceof _JFreeChartXYDataset) {
+      _JFreeChartXYLineRenderer.__setTransform(
+          state.m_shape.getTransform(), dataArea, plot);
+      this.__fillBands(g2, state.m_shape.getTransform());
+      this.__group(state, ((_JFreeChartXYDataset) data), dataArea);
+    }
+    return state;
+  }
+
+  /**
+   * Fill the bands below all series
+   *
+   * @param g2
+   *          the graphic
+   * @param transform
+   *          the transformation from data space to device space
+   */
+  private final void __fillBands(final Graphics2D g2,
+      final AffineTransform transform) {
+    final TransformedShape shape;
+
+    if (this.m_bands.isEmpty()) {
+      return;
+    }
+    shape = new TransformedShape();
+    for (final CompiledBand2D band : this.m_bands) {
+      g2.setPaint(band.getColor());
+      shape.set(band.getPath(), transform);
+      g2.fill(shape);
+    }
+  }
+
+  /**
+   * Compute the transformation from data space to device space
+   *
+   * @param transform
+   *          the transformation to set
+   * @param dataArea
+   *          the data area
+   * @param plot
+   *          the plot
+   */
+  private static final void __setTransform(
+      final AffineTransform transform, final Rectangle2D dataArea,
+      final XYPlot plot) {
+    final ValueAxis domainAxis, rangeAxis;
+    final RectangleEdge domainEdge, rangeEdge;
+    final double domainLow, domainHigh, rangeLow, rangeHigh;
+    double domainScale, domainShift, rangeScale, rangeShift;
+
+    domainAxis = plot.getDomainAxis();
+    rangeAxis = plot.getRangeAxis();
+    domainEdge = plot.getDomainAxisEdge();
+    rangeEdge = plot.getRangeAxisEdge();
+    domainLow = domainAxis.getLowerBound();
+    domainHigh = domainAxis.getUpperBound();
+    rangeLow = rangeAxis.getLowerBound();
+    rangeHigh = rangeAxis.getUpperBound();
+
+    domainShift = domainAxis.valueToJava2D(domainLow, dataArea,
+        domainEdge);
+    domainScale = ((domainHigh > domainLow) ? ((domainAxis.valueToJava2D(
+        domainHigh, dataArea, domainEdge) - domainShift)
+        / (domainHigh - domainLow)) : 0d);
+    domainShift -= (domainScale * domainLow);
+
+    rangeShift = rangeAxis.valueToJava2D(rangeLow, dataArea, rangeEdge);
+    rangeScale = ((rangeHigh > rangeLow) ? ((rangeAxis.valueToJava2D(
+        rangeHigh, dataArea, rangeEdge) - rangeShift)
+        / (rangeHigh - rangeLow)) : 0d);
+    rangeShift -= (rangeScale * rangeLow);
+
+    if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
+      transform.setTransform(0d, domainScale, rangeScale, 0d, rangeShift,
+          domainShift);
+    } else {
+      transform.setTransform(domainScale, 0d, 0d, rangeScale,
+          domainShift, rangeShift);
+    }
+  }
+
+  /**
+   * <p>
+   * Group the series which share the same color and stroke, so that each
+   * group can be drawn with a single call. The series of a group are all
+   * drawn at the position of its first series. A series is only moved
+   * forward into an earlier group if its device-space bounds (grown by
+   * its stroke width) do not intersect the bounds of any series drawn in
+   * between, so the visible z-order never changes.
+   * </p>
+   * <p>
+   * Only series with a cached path and an opaque color are grouped: A
+   * single stroke of overlapping translucent lines would blend their
+   * overlaps only once.
+   * </p>
+   *
+   * @param state
+   *          the state
+   * @param dataset
+   *          the dataset
+   * @param dataArea
+   *          the data area
+   */
+  private final void __group(final __State state,
+      final _JFreeChartXYDataset dataset, final Rectangle2D dataArea) {
+    final int size;
+    final Path2D[] paths;
+    final int[] leaders, next, last;
+    final Rectangle2D[] bounds;
+    final AffineTransform transform;
+    Rectangle2D box;
+    Paint paint;
+    Stroke stroke;
+    Path2D path;
+    double grow;
+    int series, group, groups, leader, joined;
+
+    size = dataset.getSeriesCount();
+    paths = new Path2D[size];
+    leaders = new int[size];
+    next = new int[size];
+    last = new int[size];
+    bounds = new Rectangle2D[size];
+    transform = state.m_shape.getTransform();
+    groups = 0;
+
+    for (series = 0; series < size; series++) {
+      next[series] = (-1);
+      paths[series] = path = dataset._getPath(series);
+      paint = this.getItemPaint(series, 0);
+      stroke = this.getItemStroke(series, 0);
+
+      if (path != null) {
+        box = transform.createTransformedShape(path.getBounds2D())
+            .getBounds2D();
+        grow = ((stroke instanceof BasicStroke)
+            ? (0.5d * ((BasicStroke) stroke).getLineWidth()) : 8d) + 1d;
+        box.setRect(box.getX() - grow, box.getY() - grow,
+            box.getWidth() + (2d * grow), box.getHeight() + (2d * grow));
+      } else {
+        box = dataArea.getBounds2D();
+      }
+
+      joined = (-1);
+      if ((path != null) && (paint instanceof Color)
+          && (((Color) paint).getAlpha() >= 255)) {
+        // look for the most recent compatible group we can join
+        for (group = groups; (--group) >= 0;) {
+          leader = leaders[group];
+          if ((paths[leader] != null)
+              && paint.equals(this.getItemPaint(leader, 0))
+              && stroke.equals(this.getItemStroke(leader, 0))) {
+            joined = group;
+            break;
+          }
+          if (bounds[group].intersects(box)) {
+            break;
+          }
+        }
+      }
+
+      if (joined < 0) {
+        leaders[groups] = leader = series;
+        bounds[groups] = box;
+        last[groups] = series;
+        groups++;
+      } else {
+        leader = leaders[joined];
+        next[last[joined]] = series;
+        last[joined] = series;
+        bounds[joined].add(box);
+      }
+      state.m_skipSeries[series] = (path != null);
+      state.m_leaderOf[series] = leader;
+    }
+
+    state.m_paths = paths;
+    state.m_next = next;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void drawItem(final Graphics2D g2,
+      final XYItemRendererState state, final Rectangle2D dataArea,
+      final PlotRenderingInfo info, final XYPlot plot,
+      final ValueAxis domainAxis, final ValueAxis rangeAxis,
+      final XYDataset dataset, final int series, final int item,
+      final CrosshairState crosshairState, final int pass) {
+    final __State lineState;
+    final Path2D.Double path;
+    final RectangleEdge domainEdge, rangeEdge;
+    double x, y, temp;
+
+    lineState = ((__State) state);
+    path = lineState.m_path;
+    if (item <= state.getFirstItemIndex()) {
+      path.reset();
+      lineState.m_hasPoint = false;
+      lineState.m_points = 0;
+
+      lineState.m_skip = ((lineState.m_paths != null)
+          && lineState.m_skipSeries[series]);
+      if (lineState.m_skip) {
+        if (lineState.m_leaderOf[series] == series) {
+          this.__drawGroup(g2, lineState, series);
+        }
+        return;
+      }
+    }
+    if (lineState.m_skip) {
+      return;
+    }
+
+    x = dataset.getXValue(series, item);
+    y = dataset.getYValue(series, item);
+    if ((x != x) || (y != y)) {
+      // NaN values interrupt the line
+      lineState.m_hasPoint = false;
+    } else {
+      domainEdge = plot.getDomainAxisEdge();
+      rangeEdge = plot.getRangeAxisEdge();
+      x = domainAxis.valueToJava2D(x, dataArea, domainEdge);
+      y = rangeAxis.valueToJava2D(y, dataArea, rangeEdge);
+      if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
+        temp = x;
+        x = y;
+        y = temp;
+      }
+      if (lineState.m_hasPoint) {
+        path.lineTo(x, y);
+        if ((++lineState.m_points) >= _JFreeChartXYLineRenderer.CHUNK) {
+          // draw the chunk and continue from its last point
+          g2.setPaint(this.getItemPaint(series, item));
+          g2.setStroke(this.getItemStroke(series, item));
+          g2.draw(path);
+          path.reset();
+          path.moveTo(x, y);
+          lineState.m_points = 0;
+        }
+      } else {
+        path.moveTo(x, y);
+        lineState.m_hasPoint = true;
+      }
+    }
+
+    if (item >= state.getLastItemIndex()) {
+      g2.setPaint(this.getItemPaint(series, item));
+      g2.setStroke(this.getItemStroke(series, item));
+      g2.draw(path);
+      path.reset();
+      lineState.m_hasPoint = false;
+    }
+  }
+
+  /**
+   * Draw the cached data-space paths of a group of series which share
+   * the same color and stroke with a single call
+   *
+   * @param g2
+   *          the graphics
+   * @param state
+   *          the state
+   * @param leader
+   *          the first series of the group
+   */
+  private final void __drawGroup(final Graphics2D g2, final __State state,
+      final int leader) {
+    int series, count;
+
+    count = 0;
+    for (series = leader; series >= 0; series = state.m_next[series]) {
+      state.m_group[count++] = state.m_paths[series];
+    }
+    state.m_shape.set(state.m_group, count, state.m_shape.getTransform());
+
+    g2.setPaint(this.getItemPaint(leader, 0));
+    g2.setStroke(this.getItemStroke(leader, 0));
+    g2.draw(state.m_shape);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Range findDomainBounds(final XYDataset dataset) {
+    return this.m_domain;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Range findRangeBounds(final XYDataset dataset) {
+    return this.m_range;
+  }
+
+  /**
+   * Returns always {@code false}
+   *
+   * @return {@code false}
+   */
+  @Override
+  public final boolean getItemCreateEntity(final int series,
+      final int item) {
+    return false;
+  }
+
+  /**
+   * Returns always {@code false}
+   *
+   * @return {@code false}
+   */
+  @Override
+  public final boolean isItemLabelVisible(final int series,
+      final int item) {
+    return false;
+  }
+
+  /**
+   * Get the paint for the given item
+   *
+   * @param row
+   *          the row (series)
+   * @param column
+   *          the column
+   * @return the paint
+   */
+  @Override
+  public final Paint getItemPaint(final int row, final int column) {
+    return this.m_dataElements.get(row).getColor();
+  }
+
+  /**
+   * Get the series paint for the given series
+   *
+   * @param series
+   *          the series
+   * @return the paint
+   */
+  @Override
+  public final Paint getSeriesPaint(final int series) {
+    return this.m_dataElements.get(series).getColor();
+  }
+
+  /**
+   * Get the stroke for the given item
+   *
+   * @param row
+   *          the row (series)
+   * @param column
+   *          the column
+   * @return the stroke
+   */
+  @Override
+  public final Stroke getItemStroke(final int row, final int column) {
+    return this.m_dataElements.get(row).getStroke();
+  }
+
+  /**
+   * Get the series stroke for the given series
+   *
+   * @param series
+   *          the series
+   * @return the stroke
+   */
+  @Override
+  public final Stroke getSeriesStroke(final int series) {
+    return this.m_dataElements.get(series).getStroke();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public synchronized final Stroke getNextStroke() {
+    return this.lookupSeriesStroke(this.m_strokeIndex++);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Stroke getNextOutlineStroke() {
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public synchronized final Paint getNextPaint() {
+    return this.lookupSeriesPaint(this.m_paintIndex++);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Paint lookupSeriesPaint(final int series) {
+    return this.m_dataElements.get(series).getColor();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Stroke lookupSeriesStroke(final int series) {
+    return this.m_dataElements.get(series).getStroke();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Paint getNextOutlinePaint() {
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Paint getNextFillPaint() {
+    return null;
+  }
+
+  /**
+   * Returns always {@code null}
+   *
+   * @return {@code null}
+   */
+  @Override
+  public final Shape getNextShape() {
+    return null;
+  }
+
+  /**
+   * Returns always {@code this}
+   *
+   * @return {@code this}
+   */
+  @Override
+  public final DrawingSupplier getDrawingSupplier() {
+    return this;
+  }
+
+  /** the state of the line renderer, which holds the path of a series */
+  private static final class __State extends XYItemRendererState {
+
+    /** the path of the current series */
+    final Path2D.Double m_path;
+
+    /** has the current path a current point? */
+    boolean m_hasPoint;
+
+    /** the number of segments in the current chunk of the path */
+    int m_points;
+
+    /** should the remaining items of the current series be skipped? */
+    boolean m_skip;
+
+    /** the shape used to draw cached paths */
+    final TransformedShape m_shape;
+
+    /**
+     * the cached paths of the series, or {@code null} if the dataset does
+     * not provide them
+     */
+    Path2D[] m_paths;
+
+    /** are the items of a series skipped, since it is drawn as path? */
+    boolean[] m_skipSeries;
+
+    /** the first series of the group of each series */
+    int[] m_leaderOf;
+
+    /** the next series in the same group, or {@code -1} */
+    int[] m_next;
+
+    /** the paths of the group currently drawn */
+    Shape[] m_group;
+
+    /**
+     * create the state
+     *
+     * @param info
+     *          the plot rendering info
+     * @param series
+     *          the number of series
+     */
+    __State(final PlotRenderingInfo info, final int series) {
+      super(info);
+      this.m_path = new Path2D.Double();
+      this.m_shape = new TransformedShape();
+      this.m_skipSeries = new boolean[series];
+      this.m_leaderOf = new int[series];
+      this.m_group = new Shape[series];
+    }
+  }
+}
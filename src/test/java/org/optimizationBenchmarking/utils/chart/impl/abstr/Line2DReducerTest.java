@@ -0,0 +1,414 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+/**
+ * Tests for the selection algorithms of {@link _Line2DReducer}. This test
+ * lives in the package of the reducer, as the algorithms are not visible
+ * outside of it.
+ */
+public class Line2DReducerTest {
+
+  /** create */
+  public Line2DReducerTest() {
+    super();
+  }
+
+  /**
+   * Create a two-column matrix
+   *
+   * @param x
+   *          the x-coordinates
+   * @param y
+   *          the y-coordinates
+   * @return the matrix
+   */
+  private static final IMatrix __matrix(final double[] x,
+      final double[] y) {
+    final double[] data;
+    int i;
+
+    data = new double[x.length << 1];
+    for (i = x.length; (--i) >= 0;) {
+      data[i << 1] = x[i];
+      data[(i << 1) + 1] = y[i];
+    }
+    return new DoubleMatrix1D(data, x.length, 2);
+  }
+
+  /**
+   * Create a line
+   *
+   * @param type
+   *          the line type
+   * @param reduction
+   *          the reduction
+   * @return the line
+   */
+  private static final CompiledLine2D __line(final ELineType type,
+      final ELineReduction reduction) {
+    return new CompiledLine2D(1, null, null, Color.BLACK,
+        new BasicStroke(1f), Line2DReducerTest.__matrix(
+            new double[] { 0d, 1d, 2d }, new double[] { 0d, 1d, 2d }),
+        type, reduction);
+  }
+
+  /**
+   * Check that a selection is strictly ascending
+   *
+   * @param selected
+   *          the selection
+   * @param start
+   *          the index of the first selected row
+   * @param count
+   *          the number of selected rows
+   */
+  private static final void __assertAscending(final int[] selected,
+      final int start, final int count) {
+    int i;
+
+    for (i = (start + 1); i < (start + count); i++) {
+      Assert.assertTrue(selected[i - 1] < selected[i]);
+    }
+  }
+
+  /**
+   * Check whether a row is selected
+   *
+   * @param selected
+   *          the selection, with the number of selected rows at index 0
+   * @param row
+   *          the row
+   * @return {@code true} if the row is selected
+   */
+  private static final boolean __contains(final int[] selected,
+      final int row) {
+    int i;
+
+    for (i = selected[0]; i > 0; i--) {
+      if (selected[i] == row) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** LTTB picks exactly the budget, in order, with both end points */
+  @Test
+  public void testLttbSelectsBudgetInOrder() {
+    final double[] x, y;
+    final int[] selected;
+    int i;
+
+    x = new double[1000];
+    y = new double[1000];
+    for (i = x.length; (--i) >= 0;) {
+      x[i] = i;
+      y[i] = Math.sin(i * 0.05d);
+    }
+
+    selected = _Line2DReducer._lttb(Line2DReducerTest.__matrix(x, y), 50);
+    Assert.assertEquals(50, selected[0]);
+    Assert.assertEquals(0, selected[1]);
+    Assert.assertEquals((x.length - 1), selected[50]);
+    Line2DReducerTest.__assertAscending(selected, 1, 50);
+  }
+
+  /** LTTB keeps a single outlier of an otherwise flat line */
+  @Test
+  public void testLttbKeepsSpike() {
+    final double[] x, y;
+    final int[] selected;
+    int i;
+
+    x = new double[1000];
+    y = new double[1000];
+    for (i = x.length; (--i) >= 0;) {
+      x[i] = i;
+    }
+    y[523] = 100d;
+
+    selected = _Line2DReducer._lttb(Line2DReducerTest.__matrix(x, y), 20);
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 523));
+  }
+
+  /**
+   * LTTB keeps the gaps of a line and reduces the parts between them
+   * separately, keeping the end points of every part
+   */
+  @Test
+  public void testLttbSplitsAtNaN() {
+    final double[] x, y;
+    final int[] selected;
+    int i;
+
+    x = new double[1000];
+    y = new double[1000];
+    for (i = x.length; (--i) >= 0;) {
+      x[i] = i;
+      y[i] = Math.cos(i * 0.03d);
+    }
+    y[0] = Double.NaN;
+    y[300] = Double.NaN;
+    y[301] = Double.NaN;
+    x[700] = Double.NaN;
+
+    selected = _Line2DReducer._lttb(Line2DReducerTest.__matrix(x, y), 60);
+    Assert.assertTrue(selected[0] < x.length);
+    Line2DReducerTest.__assertAscending(selected, 1, selected[0]);
+    Assert.assertEquals(0, selected[1]);
+    Assert.assertEquals((x.length - 1), selected[selected[0]]);
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 1));
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 299));
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 300));
+    Assert.assertFalse(Line2DReducerTest.__contains(selected, 301));
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 302));
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 699));
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 700));
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 701));
+  }
+
+  /** compacting keep-left stairs drops rows continuing a plateau */
+  @Test
+  public void testCompactStairsKeepLeft() {
+    Assert.assertArrayEquals(new int[] { 0, 3, 5, 6 }, //
+        Line2DReducerTest.__compact(ELineType.STAIRS_KEEP_LEFT, //
+            new double[] { 1d, 1d, 1d, 2d, 2d, 3d, 3d }));
+  }
+
+  /** compacting preview-right stairs drops rows preceding a plateau */
+  @Test
+  public void testCompactStairsPreviewRight() {
+    Assert.assertArrayEquals(new int[] { 0, 2, 4, 6 }, //
+        Line2DReducerTest.__compact(ELineType.STAIRS_PREVIEW_RIGHT, //
+            new double[] { 1d, 1d, 1d, 2d, 2d, 3d, 3d }));
+  }
+
+  /** compacting stairs never drops the rows interrupting a line */
+  @Test
+  public void testCompactStairsKeepsNaN() {
+    Assert.assertArrayEquals(new int[] { 0, 1, 2, 3 }, //
+        Line2DReducerTest.__compact(ELineType.STAIRS_KEEP_LEFT, //
+            new double[] { 1d, Double.NaN, Double.NaN, 1d }));
+  }
+
+  /** compacting stairs does not drop rows going back on the x-axis */
+  @Test
+  public void testCompactStairsKeepsReversals() {
+    final int[] selected;
+
+    selected = _Line2DReducer._compactStairs(Line2DReducerTest.__matrix(//
+        new double[] { 0d, 2d, 1d, 3d }, new double[] { 1d, 1d, 1d, 1d }),
+        ELineType.STAIRS_KEEP_LEFT);
+    Assert.assertEquals(4, selected[0]);
+  }
+
+  /**
+   * Compacting a compiled stair line keeps its attributes and only the
+   * rows delimiting its plateaus, while other lines stay as they are
+   */
+  @Test
+  public void testCompactLine() {
+    final CompiledLine2D stairs, direct, compacted;
+
+    stairs = new CompiledLine2D(7, null, null, Color.RED,
+        new BasicStroke(2f), Line2DReducerTest.__matrix(
+            new double[] { 0d, 1d, 2d, 3d, 4d },
+            new double[] { 1d, 1d, 1d, 2d, 2d }),
+        ELineType.STAIRS_KEEP_LEFT, ELineReduction.NONE);
+    compacted = _Line2DReducer._compact(stairs);
+    Assert.assertNotSame(stairs, compacted);
+    Assert.assertEquals(7, compacted.getID());
+    Assert.assertEquals(Color.RED, compacted.getColor());
+    Assert.assertEquals(ELineType.STAIRS_KEEP_LEFT, compacted.getType());
+    Assert.assertEquals(ELineReduction.NONE, compacted.getReduction());
+    Assert.assertArrayEquals(new double[] { 0d, 3d, 4d },
+        compacted.getXValues(), 0d);
+    Assert.assertArrayEquals(new double[] { 1d, 2d, 2d },
+        compacted.getYValues(), 0d);
+
+    direct = new CompiledLine2D(8, null, null, Color.RED,
+        new BasicStroke(2f), stairs.getData(), ELineType.DIRECT,
+        ELineReduction.NONE);
+    Assert.assertSame(direct, _Line2DReducer._compact(direct));
+  }
+
+  /**
+   * Compact a stair line with {@code x = 0, 1, 2, ...}
+   *
+   * @param type
+   *          the line type
+   * @param y
+   *          the y-coordinates
+   * @return the selected rows
+   */
+  private static final int[] __compact(final ELineType type,
+      final double[] y) {
+    final double[] x;
+    final int[] selected, result;
+    int i;
+
+    x = new double[y.length];
+    for (i = x.length; (--i) >= 0;) {
+      x[i] = i;
+    }
+    selected = _Line2DReducer._compactStairs(
+        Line2DReducerTest.__matrix(x, y), type);
+    result = new int[selected[0]];
+    System.arraycopy(selected, 1, result, 0, result.length);
+    return result;
+  }
+
+  /**
+   * M4 keeps the first, last, minimum, and maximum row of every pixel
+   * column, and nothing else
+   */
+  @Test
+  public void testM4KeepsFirstLastMinMaxPerColumn() {
+    final Random random;
+    final double[] x, y;
+    final int[] selected;
+    int column, start, end, minRow, maxRow, row;
+
+    random = new Random(4711L);
+    x = new double[1000];
+    y = new double[1000];
+    for (row = x.length; (--row) >= 0;) {
+      x[row] = row;
+      y[row] = random.nextGaussian();
+    }
+
+    selected = _Line2DReducer._m4(Line2DReducerTest.__matrix(x, y), 0d,
+        1000d, 10);
+    Assert.assertTrue(selected[0] <= 40);
+    Line2DReducerTest.__assertAscending(selected, 1, selected[0]);
+
+    for (column = 0; column < 10; column++) {
+      start = (column * 100);
+      end = (start + 100);
+      minRow = maxRow = start;
+      for (row = start; row < end; row++) {
+        if (y[row] < y[minRow]) {
+          minRow = row;
+        }
+        if (y[row] > y[maxRow]) {
+          maxRow = row;
+        }
+      }
+      Assert.assertTrue(Line2DReducerTest.__contains(selected, start));
+      Assert.assertTrue(Line2DReducerTest.__contains(selected, end - 1));
+      Assert.assertTrue(Line2DReducerTest.__contains(selected, minRow));
+      Assert.assertTrue(Line2DReducerTest.__contains(selected, maxRow));
+    }
+  }
+
+  /**
+   * Every step of a stair line which crosses a pixel column boundary
+   * survives M4 with both of its rows, so the edges of the stairs stay
+   * where they are
+   */
+  @Test
+  public void testM4KeepsStepsAtColumnBoundaries() {
+    final double[] x, y;
+    final int[] selected;
+    int row;
+
+    x = new double[10000];
+    y = new double[10000];
+    for (row = x.length; (--row) >= 0;) {
+      x[row] = row;
+      y[row] = (row / 37);
+    }
+
+    selected = _Line2DReducer._m4(Line2DReducerTest.__matrix(x, y), 0d,
+        10000d, 100);
+    for (row = 100; row < x.length; row += 100) {
+      Assert.assertTrue(Line2DReducerTest.__contains(selected, row - 1));
+      Assert.assertTrue(Line2DReducerTest.__contains(selected, row));
+    }
+  }
+
+  /**
+   * A column whose first row has a {@link Double#NaN} {@code y} value
+   * still keeps its real minimum and maximum
+   */
+  @Test
+  public void testM4SkipsNaNInColumn() {
+    final double[] x, y;
+    final int[] selected;
+    int row;
+
+    x = new double[100];
+    y = new double[100];
+    for (row = x.length; (--row) >= 0;) {
+      x[row] = row;
+      y[row] = (row % 7);
+    }
+    y[0] = Double.NaN;
+    y[40] = (-5d);
+    y[60] = 15d;
+    y[50] = Double.NaN;
+
+    selected = _Line2DReducer._m4(Line2DReducerTest.__matrix(x, y), 0d,
+        100d, 1);
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 0));
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 40));
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 60));
+    Assert.assertTrue(Line2DReducerTest.__contains(selected, 99));
+    Assert.assertFalse(Line2DReducerTest.__contains(selected, 50));
+  }
+
+  /** M4 selects all rows if the axis range has no width */
+  @Test
+  public void testM4KeepsAllRowsOfEmptyRange() {
+    final double[] x, y;
+    final int[] selected;
+    int row;
+
+    x = new double[50];
+    y = new double[50];
+    for (row = x.length; (--row) >= 0;) {
+      x[row] = 3d;
+      y[row] = row;
+    }
+
+    selected = _Line2DReducer._m4(Line2DReducerTest.__matrix(x, y), 3d,
+        3d, 100);
+    Assert.assertEquals(x.length, selected[0]);
+    for (row = x.length; (--row) >= 0;) {
+      Assert.assertEquals(row, selected[row + 1]);
+    }
+    Assert.assertEquals(x.length, _Line2DReducer._m4(//
+        Line2DReducerTest.__matrix(x, y), 0d, Double.MIN_VALUE,
+        Integer.MAX_VALUE)[0]);
+  }
+
+  /** stair lines get the per-column budget even if they ask for LTTB */
+  @Test
+  public void testStairLinesUseColumnBudget() {
+    Assert.assertEquals(400, _Line2DReducer._getBudget(//
+        Line2DReducerTest.__line(ELineType.STAIRS_KEEP_LEFT,
+            ELineReduction.LARGEST_TRIANGLE_THREE_BUCKETS),
+        100));
+    Assert.assertEquals(400, _Line2DReducer._getBudget(//
+        Line2DReducerTest.__line(ELineType.STAIRS_PREVIEW_RIGHT,
+            ELineReduction.LARGEST_TRIANGLE_THREE_BUCKETS),
+        100));
+    Assert.assertEquals(200, _Line2DReducer._getBudget(//
+        Line2DReducerTest.__line(ELineType.DIRECT,
+            ELineReduction.LARGEST_TRIANGLE_THREE_BUCKETS),
+        100));
+    Assert.assertEquals(Integer.MAX_VALUE, _Line2DReducer._getBudget(//
+        Line2DReducerTest.__line(ELineType.STAIRS_KEEP_LEFT,
+            ELineReduction.NONE),
+        100));
+  }
+}
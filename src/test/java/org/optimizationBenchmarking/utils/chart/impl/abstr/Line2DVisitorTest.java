@@ -0,0 +1,132 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.geom.Rectangle2D;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+/**
+ * Tests for the {@link Line2DVisitor}, the walk over the points of a line
+ * shared by all drivers: Gaps must start new runs wherever they are,
+ * coordinates must be clamped, and stairs must be expanded.
+ */
+public class Line2DVisitorTest {
+
+  /** create */
+  public Line2DVisitorTest() {
+    super();
+  }
+
+  /**
+   * Create a line
+   *
+   * @param type
+   *          the line type
+   * @param data
+   *          the x- and y-coordinates, interleaved
+   * @return the line
+   */
+  private static final CompiledLine2D __line(final ELineType type,
+      final double... data) {
+    return new CompiledLine2D(1, null, null, Color.BLACK,
+        new BasicStroke(1f),
+        new DoubleMatrix1D(data, (data.length >>> 1), 2), type,
+        ELineReduction.NONE);
+  }
+
+  /**
+   * Visit a line and record the calls
+   *
+   * @param line
+   *          the line
+   * @return the calls, {@code M} for moves and {@code L} for lines, each
+   *         followed by the coordinates
+   */
+  private static final String __visit(final CompiledLine2D line) {
+    final StringBuilder calls;
+
+    calls = new StringBuilder();
+    new Line2DVisitor() {
+      @Override
+      protected final void moveTo(final double x, final double y) {
+        calls.append('M').append(x).append(',').append(y).append(' ');
+      }
+
+      @Override
+      protected final void lineTo(final double x, final double y) {
+        calls.append('L').append(x).append(',').append(y).append(' ');
+      }
+    }.visit(line);
+    return calls.toString().trim();
+  }
+
+  /** gaps at the start, in the middle, and at the end start new runs */
+  @Test
+  public void testGapsStartNewRuns() {
+    Assert.assertEquals("M1.0,1.0 L2.0,2.0 M4.0,4.0 L5.0,5.0", //$NON-NLS-1$
+        Line2DVisitorTest.__visit(Line2DVisitorTest.__line(
+            ELineType.DIRECT, //
+            Double.NaN, 0d, //
+            1d, 1d, //
+            2d, 2d, //
+            3d, Double.NaN, //
+            Double.NaN, Double.NaN, //
+            4d, 4d, //
+            5d, 5d, //
+            6d, Double.NaN)));
+  }
+
+  /** infinite coordinates are clamped */
+  @Test
+  public void testInfiniteCoordinatesAreClamped() {
+    Assert.assertEquals("M0.0,-1.0E20 L1.0E20,3.0", //$NON-NLS-1$
+        Line2DVisitorTest.__visit(Line2DVisitorTest.__line(
+            ELineType.DIRECT, //
+            0d, Double.NEGATIVE_INFINITY, //
+            Double.POSITIVE_INFINITY, 3d)));
+    Assert.assertEquals(Line2DVisitor.MAX_COORD,
+        Line2DVisitor.clamp(1e300d), 0d);
+    Assert.assertTrue(Double.isNaN(Line2DVisitor.clamp(Double.NaN)));
+  }
+
+  /** keep-left stairs go horizontally first */
+  @Test
+  public void testStairsKeepLeft() {
+    Assert.assertEquals(
+        "M0.0,0.0 L1.0,0.0 L1.0,2.0 M3.0,3.0 L4.0,3.0 L4.0,1.0", //$NON-NLS-1$
+        Line2DVisitorTest.__visit(Line2DVisitorTest.__line(
+            ELineType.STAIRS_KEEP_LEFT, //
+            0d, 0d, //
+            1d, 2d, //
+            2d, Double.NaN, //
+            3d, 3d, //
+            4d, 1d)));
+  }
+
+  /** preview-right stairs go vertically first */
+  @Test
+  public void testStairsPreviewRight() {
+    Assert.assertEquals("M0.0,0.0 L0.0,2.0 L1.0,2.0", //$NON-NLS-1$
+        Line2DVisitorTest.__visit(Line2DVisitorTest.__line(
+            ELineType.STAIRS_PREVIEW_RIGHT, //
+            0d, 0d, //
+            1d, 2d)));
+  }
+
+  /** the path of a line follows the walk of the visitor */
+  @Test
+  public void testPathFollowsVisitor() {
+    final CompiledLine2D line;
+
+    line = Line2DVisitorTest.__line(ELineType.DIRECT, //
+        Double.NaN, 0d, //
+        1d, 1d, //
+        2d, 2d);
+    Assert.assertEquals(new Rectangle2D.Double(1d, 1d, 1d, 1d),
+        line.createPath(0, 3).getBounds2D());
+  }
+}
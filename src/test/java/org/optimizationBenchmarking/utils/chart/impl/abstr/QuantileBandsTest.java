@@ -0,0 +1,159 @@
+package org.optimizationBenchmarking.utils.chart.impl.abstr;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+/**
+ * Tests for the grid and the quantile selection of
+ * {@link _QuantileBands}. This test lives in the package of the quantile
+ * bands, as they are not visible outside of it.
+ */
+public class QuantileBandsTest {
+
+  /** create */
+  public QuantileBandsTest() {
+    super();
+  }
+
+  /**
+   * Create a run
+   *
+   * @param coordinates
+   *          the coordinates, alternating x and y
+   * @return the run
+   */
+  private static final IMatrix __run(final double... coordinates) {
+    return new DoubleMatrix1D(coordinates, (coordinates.length >>> 1), 2);
+  }
+
+  /**
+   * Selecting any rank yields the value of that rank in the sorted array
+   * and partitions the values around it, also with many duplicates
+   */
+  @Test
+  public void testSelectMatchesSortedReference() {
+    final Random random;
+    double[] values, sorted;
+    int length, k, i, round;
+
+    random = new Random(4711L);
+    for (round = 0; round < 200; round++) {
+      length = (1 + random.nextInt(50));
+      values = new double[length];
+      for (i = length; (--i) >= 0;) {
+        values[i] = (((round & 1) == 0) ? random.nextGaussian()
+            : random.nextInt(4));
+      }
+      sorted = values.clone();
+      Arrays.sort(sorted);
+
+      for (k = 0; k < length; k++) {
+        values = values.clone();
+        Assert.assertEquals(sorted[k],
+            _QuantileBands._select(values, 0, length, k), 0d);
+        for (i = 0; i < k; i++) {
+          Assert.assertTrue(values[i] <= values[k]);
+        }
+        for (i = (k + 1); i < length; i++) {
+          Assert.assertTrue(values[i] >= values[k]);
+        }
+      }
+    }
+  }
+
+  /** selecting in a sub-range does not touch the values outside of it */
+  @Test
+  public void testSelectInRange() {
+    final double[] values;
+
+    values = new double[] { 9d, 5d, 3d, 4d, 1d, 2d, -9d };
+    Assert.assertEquals(3d, _QuantileBands._select(values, 1, 6, 3), 0d);
+    Assert.assertEquals(9d, values[0], 0d);
+    Assert.assertEquals(-9d, values[6], 0d);
+  }
+
+  /**
+   * The band of three small linear runs, computed by hand with the
+   * nearest-rank quantiles {@code round(q*(n-1))}: The grid consists of
+   * the x-coordinates of the runs, and each grid point only considers the
+   * runs covering it.
+   */
+  @Test
+  public void testSmallBandByHand() {
+    final _QuantileBands bands;
+
+    bands = _QuantileBands._compute(new IMatrix[] { //
+        QuantileBandsTest.__run(0d, 0d, 2d, 2d), //
+        QuantileBandsTest.__run(0d, 1d, 1d, 1d, 2d, 1d), //
+        QuantileBandsTest.__run(1d, 3d, 3d, 3d) },
+        ELineType.DIRECT, 0.25d, 0.75d);
+
+    Assert.assertArrayEquals(new double[] { 0d, 1d, 2d, 3d }, bands.m_x,
+        0d);
+    // x=0: {0, 1}; x=1: {1, 1, 3}; x=2: {1, 2, 3}; x=3: {3}
+    Assert.assertArrayEquals(new double[] { 0d, 1d, 2d, 3d },
+        bands.m_lower, 0d);
+    Assert.assertArrayEquals(new double[] { 1d, 1d, 2d, 3d },
+        bands.m_median, 0d);
+    Assert.assertArrayEquals(new double[] { 1d, 3d, 3d, 3d },
+        bands.m_upper, 0d);
+  }
+
+  /** stair runs are held between their points */
+  @Test
+  public void testStairsAreHeld() {
+    final _QuantileBands bands;
+
+    bands = _QuantileBands._compute(new IMatrix[] { //
+        QuantileBandsTest.__run(0d, 0d, 2d, 4d), //
+        QuantileBandsTest.__run(0d, 2d, 1d, 6d, 2d, 6d) },
+        ELineType.STAIRS_KEEP_LEFT, 0d, 1d);
+
+    Assert.assertArrayEquals(new double[] { 0d, 1d, 2d }, bands.m_x, 0d);
+    Assert.assertArrayEquals(new double[] { 0d, 0d, 4d }, bands.m_lower,
+        0d);
+    Assert.assertArrayEquals(new double[] { 2d, 6d, 6d }, bands.m_upper,
+        0d);
+  }
+
+  /**
+   * Runs with more distinct x-coordinates than the grid may have are
+   * thinned to coordinates of the runs, keeping both ends
+   */
+  @Test
+  public void testGridIsThinnedToRunCoordinates() {
+    final double[] first, second;
+    final _QuantileBands bands;
+    int i;
+
+    first = new double[6000];
+    for (i = 0; i < first.length; i += 2) {
+      first[i] = (i * 0.5d);
+      first[i + 1] = i;
+    }
+    second = new double[6000];
+    for (i = 0; i < second.length; i += 2) {
+      second[i] = ((i * 0.5d) + 0.25d);
+      second[i + 1] = -i;
+    }
+
+    bands = _QuantileBands._compute(new IMatrix[] { //
+        QuantileBandsTest.__run(first), QuantileBandsTest.__run(second) },
+        ELineType.DIRECT, 0.25d, 0.75d);
+
+    Assert.assertEquals(_QuantileBands.MAX_GRID, bands.m_x.length);
+    Assert.assertEquals(0d, bands.m_x[0], 0d);
+    Assert.assertEquals(2999.25d, bands.m_x[bands.m_x.length - 1], 0d);
+    for (i = 1; i < bands.m_x.length; i++) {
+      Assert.assertTrue(bands.m_x[i - 1] < bands.m_x[i]);
+      // all coordinates of the runs are multiples of 0.25
+      Assert.assertEquals(0d, (bands.m_x[i] * 4d) % 1d, 0d);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledAxis;
+
+/**
+ * Tests for the range and ticks of {@link _Java2DAxis}: Every range must
+ * lead to a finite data-to-device scale. This test lives in the package
+ * of the axis, as the axis is not visible outside of it.
+ */
+public class Java2DAxisTest {
+
+  /** the length of the axis in device units */
+  private static final double LENGTH = 500d;
+
+  /** create */
+  public Java2DAxisTest() {
+    super();
+  }
+
+  /**
+   * Create the painted axis for a given range
+   *
+   * @param min
+   *          the minimum
+   * @param max
+   *          the maximum
+   * @return the axis, with computed ticks
+   */
+  private static final _Java2DAxis __axis(final double min,
+      final double max) {
+    final BufferedImage image;
+    final Graphics2D graphic;
+    final FontMetrics metrics;
+    final _Java2DAxis axis;
+
+    axis = new _Java2DAxis(new CompiledAxis(null, null,
+        new Font(Font.SANS_SERIF, Font.PLAIN, 10), new BasicStroke(1f),
+        Color.BLACK, new BasicStroke(1f), Color.GRAY, min, max) {
+      /* only to access the protected constructor */
+    });
+
+    image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+    graphic = image.createGraphics();
+    try {
+      metrics = graphic.getFontMetrics(axis.m_axis.getTickFont());
+      axis._computeTicks(Java2DAxisTest.LENGTH, metrics, true);
+    } finally {
+      graphic.dispose();
+    }
+    return axis;
+  }
+
+  /**
+   * Check that an axis has a usable range and finite ticks
+   *
+   * @param axis
+   *          the axis
+   */
+  private static final void __assertUsable(final _Java2DAxis axis) {
+    final double scale, slack;
+    int i;
+
+    Assert.assertTrue(axis.m_max > axis.m_min);
+    scale = (Java2DAxisTest.LENGTH / (axis.m_max - axis.m_min));
+    Assert.assertTrue((scale > 0d) && (scale < Double.POSITIVE_INFINITY));
+    Assert.assertTrue(axis.m_count >= 0);
+    slack = (1e-9d * (axis.m_max - axis.m_min));
+    for (i = axis.m_count; (--i) >= 0;) {
+      Assert.assertTrue((axis.m_ticks[i] >= (axis.m_min - slack))
+          && (axis.m_ticks[i] <= (axis.m_max + slack)));
+      Assert.assertNotNull(axis.m_labels[i]);
+    }
+  }
+
+  /** a normal range is painted as it is */
+  @Test
+  public void testNormalRangeIsKept() {
+    final _Java2DAxis axis;
+
+    axis = Java2DAxisTest.__axis(-2d, 3d);
+    Java2DAxisTest.__assertUsable(axis);
+    Assert.assertEquals(-2d, axis.m_min, 0d);
+    Assert.assertEquals(3d, axis.m_max, 0d);
+    Assert.assertTrue(axis.m_count > 1);
+  }
+
+  /**
+   * a range of a single value too small to be widened by the compiled
+   * axis is widened around the value
+   */
+  @Test
+  public void testZeroWidthRangeIsWidened() {
+    final _Java2DAxis axis;
+
+    axis = Java2DAxisTest.__axis(Double.MIN_VALUE, Double.MIN_VALUE);
+    Java2DAxisTest.__assertUsable(axis);
+    Assert.assertTrue(axis.m_min <= Double.MIN_VALUE);
+    Assert.assertTrue(axis.m_max >= Double.MIN_VALUE);
+  }
+
+  /** a range too narrow to divide a device length by is widened */
+  @Test
+  public void testTinyRangeIsWidened() {
+    final _Java2DAxis axis;
+
+    axis = Java2DAxisTest.__axis(0d, Double.MIN_VALUE);
+    Java2DAxisTest.__assertUsable(axis);
+    Assert.assertTrue(axis.m_min <= 0d);
+    Assert.assertTrue(axis.m_max >= Double.MIN_VALUE);
+  }
+
+  /** infinite bounds are clamped to a finite range */
+  @Test
+  public void testInfiniteBoundsAreClamped() {
+    Java2DAxisTest.__assertUsable(
+        Java2DAxisTest.__axis(Double.NEGATIVE_INFINITY, 1d));
+    Java2DAxisTest.__assertUsable(Java2DAxisTest
+        .__axis(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+  }
+}
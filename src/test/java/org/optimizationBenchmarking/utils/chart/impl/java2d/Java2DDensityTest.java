@@ -0,0 +1,141 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+/**
+ * Tests for the hit counting, the color ramp, and the color groups of
+ * {@link _Java2DDensity}. This test lives in the package of the density
+ * image, as it is not visible outside of it.
+ */
+public class Java2DDensityTest {
+
+  /** create */
+  public Java2DDensityTest() {
+    super();
+  }
+
+  /**
+   * Create a line
+   *
+   * @param color
+   *          the color
+   * @param coordinates
+   *          the coordinates, alternating x and y
+   * @return the line
+   */
+  private static final CompiledLine2D __line(final Color color,
+      final double... coordinates) {
+    return new CompiledLine2D(1, null, null, color, new BasicStroke(1f),
+        new DoubleMatrix1D(coordinates, (coordinates.length >>> 1), 2),
+        ELineType.DIRECT) {
+      /* only to access the protected constructor */
+    };
+  }
+
+  /**
+   * On a 4*3 canvas, the hits of the lines of each color are counted per
+   * pixel and mapped to the opacity of the color on a logarithmic ramp,
+   * where the most-hit pixel of each color is opaque
+   */
+  @Test
+  public void testTinyCanvasCountsAndRamp() {
+    final BufferedImage image;
+    final int once;
+
+    image = _Java2DDensity._render(new ArrayListView<>(
+        new CompiledLine2D[] { //
+            Java2DDensityTest.__line(Color.RED, 0.5d, 0.5d, 3.5d, 0.5d),
+            Java2DDensityTest.__line(Color.RED, 0.5d, 0.5d, 1.5d, 0.5d),
+            Java2DDensityTest.__line(Color.BLUE, 0.5d, 2.5d) },
+        false), 1d, 0d, 1d, 0d, 4, 3, null);
+
+    Assert.assertEquals(4, image.getWidth());
+    Assert.assertEquals(3, image.getHeight());
+
+    // two red hits: the most-hit red pixels are opaque
+    Assert.assertEquals(0xFFFF0000, image.getRGB(0, 0));
+    Assert.assertEquals(0xFFFF0000, image.getRGB(1, 0));
+    // one red hit: opacity log(1+1)/log(1+2)
+    once = ((int) (((Math.log1p(1d) / Math.log1p(2d)) * 255d) + 0.5d));
+    Assert.assertEquals(((once << 24) | 0xFF0000), image.getRGB(2, 0));
+    Assert.assertEquals(((once << 24) | 0xFF0000), image.getRGB(3, 0));
+    // the single blue hit is the most-hit blue pixel
+    Assert.assertEquals(0xFF0000FF, image.getRGB(0, 2));
+    // no line passes the middle row
+    Assert.assertEquals(0, image.getRGB(0, 1));
+    Assert.assertEquals(0, image.getRGB(3, 1));
+    Assert.assertEquals(0, image.getRGB(3, 2));
+  }
+
+  /**
+   * empty images and images with more than
+   * {@link _Java2DDensity#MAX_PIXELS} pixels do not fit, so that the
+   * renderers paint lines instead
+   */
+  @Test
+  public void testSizeBound() {
+    Assert.assertTrue(_Java2DDensity._fits(1, 1));
+    Assert.assertTrue(_Java2DDensity._fits(1,
+        ((int) (_Java2DDensity.MAX_PIXELS))));
+    Assert.assertFalse(_Java2DDensity._fits(2,
+        ((int) (_Java2DDensity.MAX_PIXELS))));
+    Assert.assertFalse(_Java2DDensity._fits(0, 100));
+    Assert.assertFalse(_Java2DDensity._fits(100, 0));
+    Assert.assertFalse(_Java2DDensity._fits(Integer.MAX_VALUE,
+        Integer.MAX_VALUE));
+  }
+
+  /** few colors form one group each, in the order of first occurrence */
+  @Test
+  public void testFewColorsAreNotQuantized() {
+    final int[] group;
+
+    group = new int[5];
+    Assert.assertArrayEquals(
+        new int[] { 0xFF123456, 0xFF123457, 0xFF000000 },
+        _Java2DDensity._group(new int[] { 0xFF123456, 0xFF123457,
+            0xFF123456, 0xFF000000, 0xFF123457 }, group));
+    Assert.assertArrayEquals(new int[] { 0, 1, 0, 2, 1 }, group);
+  }
+
+  /**
+   * Many colors are quantized into a bounded number of groups, so the
+   * number of hit-count buffers does not grow with the number of colors
+   */
+  @Test
+  public void testManyColorsAreQuantized() {
+    final int[] colors, group, groups;
+    int index, next;
+
+    colors = new int[1000];
+    for (index = colors.length; (--index) >= 0;) {
+      colors[index] = (Color.HSBtoRGB((index / 1000f), 1f,
+          (0.2f + (0.8f * ((index % 7) / 6f)))) | 0xFF000000);
+    }
+    group = new int[colors.length];
+    groups = _Java2DDensity._group(colors, group);
+
+    Assert.assertTrue(groups.length > 1);
+    Assert.assertTrue(groups.length <= _Java2DDensity.MAX_GROUPS);
+
+    // each group starts with the color it is painted in, in order
+    next = 0;
+    for (index = 0; index < colors.length; index++) {
+      Assert.assertTrue((group[index] >= 0) && (group[index] <= next));
+      if (group[index] == next) {
+        Assert.assertEquals(colors[index], groups[next]);
+        next++;
+      }
+    }
+    Assert.assertEquals(groups.length, next);
+  }
+}
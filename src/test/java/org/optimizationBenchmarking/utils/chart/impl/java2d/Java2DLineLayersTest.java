@@ -0,0 +1,214 @@
+package org.optimizationBenchmarking.utils.chart.impl.java2d;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.Line2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+import test.junit.org.optimizationBenchmarking.utils.chart.TestStyles;
+
+/**
+ * Test that painting the lines of a chart in parallel layers looks like
+ * painting them one after the other. The layers hold 8-bit premultiplied
+ * colors, so the two images may differ by rounding where anti-aliased edges
+ * of lines in different layers overlap, but by no more than a few units per
+ * color channel. As layers are an opt-in, the default driver must paint
+ * exactly like sequential painting. This test lives in the package of the
+ * renderer, as the renderer is not visible outside of it.
+ */
+public class Java2DLineLayersTest {
+
+  /** the number of lines */
+  private static final int LINES = 8;
+
+  /** the number of points per line, enough to paint in layers */
+  private static final int POINTS = 20000;
+
+  /** the largest allowed difference of a color channel */
+  private static final int TOLERANCE = 8;
+
+  /** create */
+  public Java2DLineLayersTest() {
+    super();
+  }
+
+  /**
+   * Compile a chart with many overlapping lines
+   *
+   * @return the compiled chart
+   */
+  private static final CompiledLineChart2D __compile() {
+    final LineChart2D chart;
+    final double[] data;
+    int line, point;
+
+    chart = Java2DChartDriver.getInstance()
+        .compile(TestStyles.get(), null).lineChart2D();
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setMinimum(0d);
+      axis.setMaximum(Java2DLineLayersTest.POINTS - 1);
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setMinimum(-1.5d);
+      axis.setMaximum(1.5d);
+    }
+    for (line = 0; line < Java2DLineLayersTest.LINES; line++) {
+      data = new double[Java2DLineLayersTest.POINTS << 1];
+      for (point = Java2DLineLayersTest.POINTS; (--point) >= 0;) {
+        data[point << 1] = point;
+        data[(point << 1) + 1] = Math
+            .sin((point * 0.0007d * (line + 1)) + line);
+      }
+      try (final Line2D line2D = ((Line2D) (chart.line()))) {
+        line2D.setColor(Color.getHSBColor(
+            (line / ((float) (Java2DLineLayersTest.LINES))), 1f, 0.8f));
+        line2D.setType(ELineType.DIRECT);
+        line2D.setData(new DoubleMatrix1D(data,
+            Java2DLineLayersTest.POINTS, 2));
+      }
+    }
+    chart.close();
+    return ((CompiledLineChart2D) (chart.getCompiledChart()));
+  }
+
+  /**
+   * Paint a chart onto a new white image
+   *
+   * @param chart
+   *          the chart
+   * @param pool
+   *          the pool to paint layers in, or {@code null} to paint the
+   *          lines sequentially
+   * @param layers
+   *          should layers be requested?
+   * @return the image
+   */
+  private static final BufferedImage __paint(
+      final CompiledLineChart2D chart, final ForkJoinPool pool,
+      final boolean layers) {
+    final BufferedImage image;
+    final Graphics2D graphic;
+
+    image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+    graphic = image.createGraphics();
+    try {
+      graphic.setColor(Color.WHITE);
+      graphic.fillRect(0, 0, image.getWidth(), image.getHeight());
+      new _Java2DLineChart2DRenderer(chart, pool, layers)
+          ._render(graphic);
+    } finally {
+      graphic.dispose();
+    }
+    return image;
+  }
+
+  /**
+   * Get the largest difference of a color channel of two pixels
+   *
+   * @param a
+   *          the first pixel
+   * @param b
+   *          the second pixel
+   * @return the largest difference of a color channel
+   */
+  private static final int __difference(final int a, final int b) {
+    int shift, result;
+
+    result = 0;
+    for (shift = 0; shift < 24; shift += 8) {
+      result = Math.max(result,
+          Math.abs(((a >>> shift) & 0xff) - ((b >>> shift) & 0xff)));
+    }
+    return result;
+  }
+
+  /**
+   * The lines painted in parallel layers differ from the lines painted
+   * sequentially by rounding only
+   */
+  @Test(timeout = 60000)
+  public void testLayersMatchSequentialPainting() {
+    final CompiledLineChart2D chart;
+    final ForkJoinPool pool;
+    final BufferedImage layered, sequential;
+    int x, y, painted, worst, difference;
+
+    chart = Java2DLineLayersTest.__compile();
+    pool = new ForkJoinPool(4);
+    try {
+      layered = Java2DLineLayersTest.__paint(chart, pool, true);
+    } finally {
+      pool.shutdown();
+    }
+    sequential = Java2DLineLayersTest.__paint(chart, null, false);
+
+    painted = worst = 0;
+    for (x = sequential.getWidth(); (--x) >= 0;) {
+      for (y = sequential.getHeight(); (--y) >= 0;) {
+        if ((sequential.getRGB(x, y) & 0xffffff) != 0xffffff) {
+          painted++;
+        }
+        difference = Java2DLineLayersTest.__difference(
+            layered.getRGB(x, y), sequential.getRGB(x, y));
+        if (difference > worst) {
+          worst = difference;
+        }
+      }
+    }
+
+    Assert.assertTrue(painted > 0);
+    Assert.assertTrue(
+        ("Layered and sequential painting differ by " + worst), //$NON-NLS-1$
+        (worst <= Java2DLineLayersTest.TOLERANCE));
+  }
+
+  /**
+   * Without the opt-in, lines are painted sequentially even if a pool is
+   * available, so that the default driver paints exactly like sequential
+   * painting
+   */
+  @Test(timeout = 60000)
+  public void testDefaultDriverPaintsSequentially() {
+    final CompiledLineChart2D chart;
+    final ForkJoinPool pool;
+    final BufferedImage sequential, unrequested, driver;
+    final Graphics2D graphic;
+    int x, y;
+
+    chart = Java2DLineLayersTest.__compile();
+    sequential = Java2DLineLayersTest.__paint(chart, null, false);
+    pool = new ForkJoinPool(4);
+    try {
+      unrequested = Java2DLineLayersTest.__paint(chart, pool, false);
+    } finally {
+      pool.shutdown();
+    }
+    driver = new BufferedImage(sequential.getWidth(),
+        sequential.getHeight(), BufferedImage.TYPE_INT_RGB);
+    graphic = driver.createGraphics();
+    try {
+      graphic.setColor(Color.WHITE);
+      graphic.fillRect(0, 0, driver.getWidth(), driver.getHeight());
+      Java2DChartDriver.getInstance().render(chart, graphic);
+    } finally {
+      graphic.dispose();
+    }
+
+    for (x = sequential.getWidth(); (--x) >= 0;) {
+      for (y = sequential.getHeight(); (--y) >= 0;) {
+        Assert.assertEquals(sequential.getRGB(x, y),
+            unrequested.getRGB(x, y));
+        Assert.assertEquals(sequential.getRGB(x, y), driver.getRGB(x, y));
+      }
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package test.benchmark.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.ChartDriver;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.UncheckedLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.chart.spec.ILine2D;
+import org.optimizationBenchmarking.utils.chart.spec.ILineChart2D;
+import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+import test.junit.org.optimizationBenchmarking.utils.chart.TestStyles;
+
+/**
+ * A <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ * benchmark comparing the throughput of building and compiling line
+ * charts with the normal, checked builders and with the unchecked
+ * builders. The charts are only compiled, not rendered, so that only the
+ * cost of the builders is measured. Run it via {@link #main(String[])}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ChartBuilderBenchmark {
+
+  /** the number of points per line */
+  private static final int POINTS = 16;
+
+  /** the number of lines per chart */
+  @Param({ "1", "10", "100" })
+  public int lines;
+
+  /** the chart driver */
+  private ChartDriver m_driver;
+
+  /** the style set */
+  private IBasicStyles m_styles;
+
+  /** the data of the lines */
+  private IMatrix[] m_data;
+
+  /** the line colors */
+  private Color[] m_colors;
+
+  /** create */
+  public ChartBuilderBenchmark() {
+    super();
+  }
+
+  /** set up the data */
+  @Setup
+  public void setup() {
+    final double[] data;
+    int i, j;
+
+    this.m_driver = JFreeChartDriver.getInstance();
+    this.m_styles = TestStyles.get();
+    this.m_data = new IMatrix[this.lines];
+    this.m_colors = new Color[this.lines];
+    for (i = this.lines; (--i) >= 0;) {
+      data = new double[ChartBuilderBenchmark.POINTS << 1];
+      for (j = ChartBuilderBenchmark.POINTS; (--j) >= 0;) {
+        data[j << 1] = j;
+        data[(j << 1) + 1] = Math.sin(i + (j * 0.1d));
+      }
+      this.m_data[i] = new DoubleMatrix1D(data,
+          ChartBuilderBenchmark.POINTS, 2);
+      this.m_colors[i] = new Color(Color.HSBtoRGB(
+          (i / ((float) (this.lines))), 1f, 1f));
+    }
+  }
+
+  /**
+   * Fill a line chart
+   *
+   * @param chart
+   *          the chart
+   */
+  private final void __fill(final ILineChart2D chart) {
+    int i;
+
+    chart.setTitle("Benchmark"); //$NON-NLS-1$
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setTitle("x"); //$NON-NLS-1$
+      axis.setMinimum(0d);
+      axis.setMaximum(ChartBuilderBenchmark.POINTS - 1);
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setTitle("y"); //$NON-NLS-1$
+      axis.setMinimum(-1d);
+      axis.setMaximum(1d);
+    }
+    for (i = 0; i < this.lines; i++) {
+      try (final ILine2D line = chart.line()) {
+        line.setTitle("line " + i); //$NON-NLS-1$
+        line.setColor(this.m_colors[i]);
+        line.setStroke(new BasicStroke(1f));
+        line.setType(ELineType.DIRECT);
+        line.setData(this.m_data[i]);
+      }
+    }
+  }
+
+  /**
+   * Build a chart with the checked builders
+   *
+   * @return the compiled chart
+   */
+  @Benchmark
+  public CompiledLineChart2D checked() {
+    final LineChart2D chart;
+
+    chart = this.m_driver.compile(this.m_styles, null).lineChart2D();
+    try {
+      this.__fill(chart);
+    } finally {
+      chart.close();
+    }
+    return chart.getCompiledChart();
+  }
+
+  /**
+   * Build a chart with the unchecked builders
+   *
+   * @return the compiled chart
+   */
+  @Benchmark
+  public CompiledLineChart2D unchecked() {
+    final UncheckedLineChart2D chart;
+
+    chart = this.m_driver.compileUnchecked(this.m_styles, null)
+        .lineChart2D();
+    try {
+      this.__fill(chart);
+    } finally {
+      chart.close();
+    }
+    return chart.getCompiledChart();
+  }
+
+  /**
+   * Run the benchmark
+   *
+   * @param args
+   *          the command line arguments
+   * @throws RunnerException
+   *           if the benchmark fails
+   */
+  public static final void main(final String[] args)
+      throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ChartBuilderBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
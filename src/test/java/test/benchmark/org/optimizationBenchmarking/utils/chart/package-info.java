@@ -0,0 +1,9 @@
+/**
+ * <p>
+ * Here we benchmark the utility classes of the <a
+ * href="http://www.optimizationBenchmarking.org/"
+ * >optimizationBenchmarking.org</a> tool suite in package
+ * {@link org.optimizationBenchmarking.utils.chart}.
+ * </p>
+ */
+package test.benchmark.org.optimizationBenchmarking.utils.chart;
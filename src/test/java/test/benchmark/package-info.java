@@ -0,0 +1,18 @@
+/**
+ * <p>
+ * In this package we keep the <a
+ * href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ * benchmarks for our source codes. Different from the tests in package
+ * {@link test.junit}, the benchmarks are not executed automatically by
+ * the build. Each of them measures the performance of one aspect of a
+ * class and is started manually via its {@code main} method.
+ * </p>
+ * <p>
+ * The hierarchy of the sub-packages within this package reflects the
+ * source package hierarchy, i.e., package
+ * {@code test.benchmark.org.optimizationBenchmarking.utils.chart}
+ * contains the benchmarks for the classes in package
+ * {@link org.optimizationBenchmarking.utils.chart}.
+ * </p>
+ */
+package test.benchmark;
@@ -0,0 +1,282 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.IChartSpecification;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.chart.spec.IChartSelector;
+import org.optimizationBenchmarking.utils.chart.spec.IDataScalar;
+import org.optimizationBenchmarking.utils.chart.spec.ILine2D;
+import org.optimizationBenchmarking.utils.chart.spec.ILineChart2D;
+import org.optimizationBenchmarking.utils.chart.spec.IPieChart;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+/**
+ * Test rendering a batch of charts via
+ * {@link org.optimizationBenchmarking.utils.chart.impl.abstr.ChartDriver#renderBatch(java.util.Collection, org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles, java.util.logging.Logger, ExecutorService)}
+ * : Each chart must be painted on its own graphic, its future must
+ * complete when it is painted, and the failure of one chart must be
+ * reported by its future only.
+ */
+public class ChartBatchRenderTest {
+
+  /** create */
+  public ChartBatchRenderTest() {
+    super();
+  }
+
+  /**
+   * Create the specifications of a batch of line and pie charts
+   *
+   * @param count
+   *          the number of charts
+   * @param failing
+   *          the index of the chart whose specification fails, or
+   *          {@code -1} if none fails
+   * @return the specifications
+   */
+  private static final ArrayList<__Chart> __batch(final int count,
+      final int failing) {
+    final ArrayList<__Chart> charts;
+    int index;
+
+    charts = new ArrayList<>(count);
+    for (index = 0; index < count; index++) {
+      charts.add(new __Chart(((index & 1) == 0), (index == failing)));
+    }
+    return charts;
+  }
+
+  /**
+   * Wait for all futures of a batch and dispose the graphics
+   *
+   * @param charts
+   *          the charts
+   * @param futures
+   *          the futures
+   * @param failing
+   *          the index of the chart whose specification fails, or
+   *          {@code -1} if none fails
+   * @throws InterruptedException
+   *           if the test is interrupted
+   */
+  private static final void __check(final List<__Chart> charts,
+      final ArrayListView<Future<Void>> futures, final int failing)
+      throws InterruptedException {
+    int index;
+
+    Assert.assertEquals(charts.size(), futures.size());
+    for (index = 0; index < charts.size(); index++) {
+      try {
+        Assert.assertNull(futures.get(index).get());
+        Assert.assertTrue(index != failing);
+        Assert.assertTrue(
+            TestImages.isPainted(charts.get(index).m_image));
+      } catch (final ExecutionException error) {
+        Assert.assertEquals(failing, index);
+        Assert.assertSame(__Chart.ERROR, error.getCause());
+      } finally {
+        charts.get(index).m_graphic.dispose();
+      }
+    }
+  }
+
+  /**
+   * A batch of charts is painted on a bounded executor
+   *
+   * @throws Exception
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testBatchIsPaintedOnExecutor() throws Exception {
+    final JFreeChartDriver driver;
+    final ArrayList<__Chart> charts;
+    final ExecutorService executor;
+
+    driver = JFreeChartDriver.getInstance();
+    Assume.assumeTrue(driver.canUse());
+    charts = ChartBatchRenderTest.__batch(8, -1);
+    executor = Executors.newFixedThreadPool(2);
+    try {
+      ChartBatchRenderTest.__check(charts,
+          driver.renderBatch(charts, TestStyles.get(), null, executor), -1);
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10L, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Without an executor, a batch of charts is painted on the shared pool
+   *
+   * @throws Exception
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testBatchIsPaintedOnSharedPool() throws Exception {
+    final JFreeChartDriver driver;
+    final ArrayList<__Chart> charts;
+
+    driver = JFreeChartDriver.getInstance();
+    Assume.assumeTrue(driver.canUse());
+    charts = ChartBatchRenderTest.__batch(5, -1);
+    ChartBatchRenderTest.__check(charts,
+        driver.renderBatch(charts, TestStyles.get(), null, null), -1);
+  }
+
+  /**
+   * The failure of one chart is reported by its future and does not
+   * affect the other charts of the batch
+   *
+   * @throws Exception
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testFailureIsReportedPerChart() throws Exception {
+    final JFreeChartDriver driver;
+    final ArrayList<__Chart> charts;
+    final ExecutorService executor;
+
+    driver = JFreeChartDriver.getInstance();
+    Assume.assumeTrue(driver.canUse());
+    charts = ChartBatchRenderTest.__batch(6, 3);
+    executor = Executors.newFixedThreadPool(3);
+    try {
+      ChartBatchRenderTest.__check(charts,
+          driver.renderBatch(charts, TestStyles.get(), null, executor), 3);
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10L, TimeUnit.SECONDS);
+    }
+  }
+
+  /** a missing batch or a missing chart of a batch is refused */
+  @Test(timeout = 60000)
+  public void testMissingChartsAreRefused() {
+    final JFreeChartDriver driver;
+    final ArrayList<__Chart> charts;
+
+    driver = JFreeChartDriver.getInstance();
+    Assume.assumeTrue(driver.canUse());
+    try {
+      driver.renderBatch(null, TestStyles.get(), null, null);
+      Assert.fail("A missing batch must be refused."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+
+    charts = ChartBatchRenderTest.__batch(2, -1);
+    try {
+      driver.renderBatch(Arrays.asList(charts.get(0), null, charts.get(1)),
+          TestStyles.get(), null, null);
+      Assert.fail("A missing chart must be refused."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    } finally {
+      charts.get(0).m_graphic.dispose();
+      charts.get(1).m_graphic.dispose();
+    }
+  }
+
+  /** the specification of one line or pie chart, painted on an image */
+  private static final class __Chart implements IChartSpecification {
+
+    /** the error thrown by failing specifications */
+    static final IllegalStateException ERROR = new IllegalStateException(
+        "Cannot specify the chart."); //$NON-NLS-1$
+
+    /** the image */
+    final BufferedImage m_image;
+
+    /** the graphic of the image */
+    final Graphics2D m_graphic;
+
+    /** is this a line chart? */
+    private final boolean m_isLineChart;
+
+    /** does the specification fail? */
+    private final boolean m_fail;
+
+    /**
+     * create
+     *
+     * @param isLineChart
+     *          is this a line chart?
+     * @param fail
+     *          does the specification fail?
+     */
+    __Chart(final boolean isLineChart, final boolean fail) {
+      super();
+      this.m_isLineChart = isLineChart;
+      this.m_fail = fail;
+      this.m_image = new BufferedImage(200, 150,
+          BufferedImage.TYPE_INT_RGB);
+      this.m_graphic = this.m_image.createGraphics();
+      this.m_graphic.setColor(Color.WHITE);
+      this.m_graphic.fillRect(0, 0, 200, 150);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Graphics2D getGraphic() {
+      return this.m_graphic;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void create(final IChartSelector selector) {
+      final ILineChart2D lines;
+      final IPieChart pie;
+
+      if (this.m_fail) {
+        throw __Chart.ERROR;
+      }
+
+      if (this.m_isLineChart) {
+        lines = selector.lineChart2D();
+        try (final IAxis axis = lines.xAxis()) {
+          axis.setMinimum(0d);
+          axis.setMaximum(2d);
+        }
+        try (final IAxis axis = lines.yAxis()) {
+          axis.setMinimum(0d);
+          axis.setMaximum(2d);
+        }
+        try (final ILine2D line = lines.line()) {
+          line.setColor(Color.RED);
+          line.setType(ELineType.DIRECT);
+          line.setData(new DoubleMatrix1D(
+              new double[] { 0d, 0d, 1d, 2d, 2d, 1d }, 3, 2));
+        }
+        lines.close();
+      } else {
+        pie = selector.pieChart();
+        try (final IDataScalar slice = pie.slice()) {
+          slice.setColor(Color.BLUE);
+          slice.setData(3d);
+        }
+        try (final IDataScalar slice = pie.slice()) {
+          slice.setColor(Color.GREEN);
+          slice.setData(1d);
+        }
+        pie.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,292 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Stroke;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledDataScalar;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledPieChart;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.PieChart;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.chart.spec.IDataScalar;
+import org.optimizationBenchmarking.utils.chart.spec.ILine2D;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+/**
+ * Test adding many lines or slices at once via
+ * {@link LineChart2D#addLines(IMatrix[], Color[], Stroke[], String[], ELineType)}
+ * and {@link PieChart#addSlices(double[], String[], Color[], Stroke[])}:
+ * The elements must be compiled like elements added one by one, and
+ * invalid arguments must be refused without changing the chart.
+ */
+public class ChartBulkDataTest {
+
+  /** create */
+  public ChartBulkDataTest() {
+    super();
+  }
+
+  /**
+   * Create a two-point line
+   *
+   * @param x0
+   *          the first x-coordinate
+   * @param y0
+   *          the first y-coordinate
+   * @param x1
+   *          the second x-coordinate
+   * @param y1
+   *          the second y-coordinate
+   * @return the line data
+   */
+  private static final IMatrix __line(final double x0, final double y0,
+      final double x1, final double y1) {
+    return new DoubleMatrix1D(new double[] { x0, y0, x1, y1 }, 2, 2);
+  }
+
+  /**
+   * Create a line chart with open axes and one line added by a line
+   * builder
+   *
+   * @return the chart
+   */
+  private static final LineChart2D __lineChart() {
+    final LineChart2D chart;
+
+    chart = JFreeChartDriver.getInstance().compile(TestStyles.get(), null)
+        .lineChart2D();
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setTitle("x"); //$NON-NLS-1$
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setTitle("y"); //$NON-NLS-1$
+    }
+    try (final ILine2D line = chart.line()) {
+      line.setColor(Color.BLACK);
+      line.setType(ELineType.DIRECT);
+      line.setData(ChartBulkDataTest.__line(0d, 0d, 1d, 1d));
+    }
+    return chart;
+  }
+
+  /**
+   * Create a pie chart with one slice added by a slice builder
+   *
+   * @return the chart
+   */
+  private static final PieChart __pieChart() {
+    final PieChart chart;
+
+    chart = JFreeChartDriver.getInstance().compile(TestStyles.get(), null)
+        .pieChart();
+    try (final IDataScalar slice = chart.slice()) {
+      slice.setColor(Color.BLACK);
+      slice.setData(1d);
+    }
+    return chart;
+  }
+
+  /**
+   * Lines added at once get the following ids, the default stroke where
+   * none is given, and extend the ranges of the axes
+   */
+  @Test(timeout = 60000)
+  public void testAddLines() {
+    final LineChart2D chart;
+    final IMatrix[] data;
+    final Stroke stroke;
+    final CompiledLineChart2D compiled;
+    final CompiledLine2D first;
+    CompiledLine2D line;
+    int index;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    data = new IMatrix[] { ChartBulkDataTest.__line(-2d, 0d, 1d, 3d),
+        ChartBulkDataTest.__line(0d, -5d, 4d, 1d),
+        ChartBulkDataTest.__line(1d, 1d, 2d, 2d) };
+    stroke = new BasicStroke(4f);
+
+    chart = ChartBulkDataTest.__lineChart();
+    chart.addLines(data, new Color[] { Color.RED, Color.GREEN, Color.BLUE },
+        new Stroke[] { null, stroke, null },
+        new String[] { "run 1", null, "run 3" }, //$NON-NLS-1$//$NON-NLS-2$
+        ELineType.STAIRS_KEEP_LEFT);
+    chart.addLines(new IMatrix[0], new Color[0], null, null,
+        ELineType.DIRECT);
+    chart.close();
+    compiled = chart.getCompiledChart();
+
+    Assert.assertEquals(4, compiled.getLines().size());
+    first = compiled.getLines().get(0);
+    Assert.assertEquals(1, first.getID());
+    for (index = 0; index < data.length; index++) {
+      line = compiled.getLines().get(index + 1);
+      Assert.assertEquals((index + 2), line.getID());
+      Assert.assertSame(data[index], line.getData());
+      Assert.assertEquals(ELineType.STAIRS_KEEP_LEFT, line.getType());
+      Assert.assertEquals(first.getReduction(), line.getReduction());
+    }
+
+    line = compiled.getLines().get(1);
+    Assert.assertEquals("run 1", line.getTitle()); //$NON-NLS-1$
+    Assert.assertNotNull(line.getTitleFont());
+    Assert.assertEquals(Color.RED, line.getColor());
+    Assert.assertEquals(first.getStroke(), line.getStroke());
+
+    line = compiled.getLines().get(2);
+    Assert.assertNull(line.getTitle());
+    Assert.assertNull(line.getTitleFont());
+    Assert.assertEquals(Color.GREEN, line.getColor());
+    Assert.assertEquals(stroke, line.getStroke());
+
+    Assert.assertTrue(compiled.getXAxis().getMinimum() <= -2d);
+    Assert.assertTrue(compiled.getXAxis().getMaximum() >= 4d);
+    Assert.assertTrue(compiled.getYAxis().getMinimum() <= -5d);
+    Assert.assertTrue(compiled.getYAxis().getMaximum() >= 3d);
+  }
+
+  /**
+   * Invalid bulk arguments are refused before any line is added
+   */
+  @Test(timeout = 60000)
+  public void testAddLinesRefusesInvalidArguments() {
+    final LineChart2D chart;
+    final IMatrix[] data;
+    final Color[] colors;
+    final Object[][] invalid;
+    Object[] arguments;
+    int index;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    data = new IMatrix[] { ChartBulkDataTest.__line(0d, 0d, 1d, 1d),
+        ChartBulkDataTest.__line(0d, 1d, 1d, 0d) };
+    colors = new Color[] { Color.RED, Color.BLUE };
+    invalid = new Object[][] { //
+        { null, colors, null, null, ELineType.DIRECT }, //
+        { data, null, null, null, ELineType.DIRECT }, //
+        { data, new Color[] { Color.RED }, null, null, ELineType.DIRECT }, //
+        { data, new Color[] { Color.RED, null }, null, null,
+            ELineType.DIRECT }, //
+        { data, colors, new Stroke[1], null, ELineType.DIRECT }, //
+        { data, colors, null, new String[3], ELineType.DIRECT }, //
+        { new IMatrix[] { data[0], null }, colors, null, null,
+            ELineType.DIRECT }, //
+        { data, colors, null, null, null }, };
+
+    chart = ChartBulkDataTest.__lineChart();
+    for (index = 0; index < invalid.length; index++) {
+      arguments = invalid[index];
+      try {
+        chart.addLines(((IMatrix[]) (arguments[0])),
+            ((Color[]) (arguments[1])), ((Stroke[]) (arguments[2])),
+            ((String[]) (arguments[3])), ((ELineType) (arguments[4])));
+        Assert.fail("Invalid arguments " + index + //$NON-NLS-1$
+            " must be refused."); //$NON-NLS-1$
+      } catch (final IllegalArgumentException expected) {
+        // expected
+      }
+    }
+    chart.close();
+    Assert.assertEquals(1, chart.getCompiledChart().getLines().size());
+  }
+
+  /**
+   * Slices added at once get the following ids and the default stroke
+   * where none is given
+   */
+  @Test(timeout = 60000)
+  public void testAddSlices() {
+    final PieChart chart;
+    final Stroke stroke;
+    final CompiledPieChart compiled;
+    final CompiledDataScalar first;
+    CompiledDataScalar slice;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    stroke = new BasicStroke(3f);
+
+    chart = ChartBulkDataTest.__pieChart();
+    chart.addSlices(new double[] { 2d, 3.5d },
+        new String[] { null, "big" }, //$NON-NLS-1$
+        new Color[] { Color.RED, Color.GREEN },
+        new Stroke[] { stroke, null });
+    chart.addSlices(new double[0], null, new Color[0], null);
+    chart.close();
+    compiled = chart.getCompiledChart();
+
+    Assert.assertEquals(3, compiled.getSlices().size());
+    first = compiled.getSlices().get(0);
+
+    slice = compiled.getSlices().get(1);
+    Assert.assertEquals(2, slice.getID());
+    Assert.assertEquals(2d, slice.getData().doubleValue(), 0d);
+    Assert.assertNull(slice.getTitle());
+    Assert.assertEquals(Color.RED, slice.getColor());
+    Assert.assertEquals(stroke, slice.getStroke());
+
+    slice = compiled.getSlices().get(2);
+    Assert.assertEquals(3, slice.getID());
+    Assert.assertEquals(3.5d, slice.getData().doubleValue(), 0d);
+    Assert.assertEquals("big", slice.getTitle()); //$NON-NLS-1$
+    Assert.assertNotNull(slice.getTitleFont());
+    Assert.assertEquals(Color.GREEN, slice.getColor());
+    Assert.assertEquals(first.getStroke(), slice.getStroke());
+  }
+
+  /**
+   * Invalid bulk arguments are refused before any slice is added
+   */
+  @Test(timeout = 60000)
+  public void testAddSlicesRefusesInvalidArguments() {
+    final PieChart chart;
+    final double[] values;
+    final Color[] colors;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    values = new double[] { 1d, 2d };
+    colors = new Color[] { Color.RED, Color.BLUE };
+
+    chart = ChartBulkDataTest.__pieChart();
+    try {
+      chart.addSlices(null, null, colors, null);
+      Assert.fail("Missing values must be refused."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+    try {
+      chart.addSlices(values, null, new Color[] { Color.RED }, null);
+      Assert.fail("Missing colors must be refused."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+    try {
+      chart.addSlices(values, new String[1], colors, null);
+      Assert.fail("Missing titles must be refused."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+    try {
+      chart.addSlices(values, null, colors, new Stroke[3]);
+      Assert.fail("Extra strokes must be refused."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+    try {
+      chart.addSlices(new double[] { 1d, Double.NaN }, null, colors, null);
+      Assert.fail("NaN values must be refused."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+    chart.close();
+    Assert.assertEquals(1, chart.getCompiledChart().getSlices().size());
+  }
+}
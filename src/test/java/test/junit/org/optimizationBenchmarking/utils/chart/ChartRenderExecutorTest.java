@@ -0,0 +1,377 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.DelegatingLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.Line2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.chart.spec.ILineChart2D;
+import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
+
+/**
+ * Test closing charts whose rendering is handed to a
+ * {@link LineChart2D#setRenderExecutor(Executor) render executor}: The
+ * {@link LineChart2D#getRenderFuture() future} of the rendering must
+ * complete only after all work belonging to the rendering is done, and
+ * must report errors of the rendering as well as a rejected execution.
+ */
+public class ChartRenderExecutorTest {
+
+  /** create */
+  public ChartRenderExecutorTest() {
+    super();
+  }
+
+  /**
+   * Create a line chart rendering to an image
+   *
+   * @param image
+   *          the image
+   * @return the chart
+   */
+  private static final LineChart2D __chart(final BufferedImage image) {
+    final Graphics2D graphic;
+
+    graphic = image.createGraphics();
+    graphic.setColor(Color.WHITE);
+    graphic.fillRect(0, 0, image.getWidth(), image.getHeight());
+    return JFreeChartDriver.getInstance().use().setGraphic(graphic)
+        .setStyles(TestStyles.get()).create().lineChart2D();
+  }
+
+  /**
+   * Add the axes and one line to a chart
+   *
+   * @param chart
+   *          the chart
+   * @param data
+   *          the data of the line, or {@code null} to use a default line
+   */
+  private static final void __fill(final ILineChart2D chart,
+      final AbstractMatrix data) {
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setMinimum(0d);
+      axis.setMaximum(2d);
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setMinimum(0d);
+      axis.setMaximum(2d);
+    }
+    try (final Line2D line = ((Line2D) (chart.line()))) {
+      line.setColor(Color.RED);
+      line.setType(ELineType.DIRECT);
+      if (data != null) {
+        line.setData(data);
+      } else {
+        line.setData(new double[] { 0d, 1d, 2d },
+            new double[] { 0d, 2d, 1d });
+      }
+    }
+  }
+
+  /**
+   * Closing a chart with a render executor only compiles it, the
+   * rendering happens when the executor runs the task
+   *
+   * @throws Exception
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testCloseHandsRenderingToExecutor() throws Exception {
+    final BufferedImage image;
+    final LineChart2D chart;
+    final __QueueExecutor executor;
+    final Future<Void> future;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    image = new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB);
+    executor = new __QueueExecutor();
+    chart = ChartRenderExecutorTest.__chart(image);
+    chart.setRenderExecutor(executor);
+    ChartRenderExecutorTest.__fill(chart, null);
+    chart.close();
+
+    future = chart.getRenderFuture();
+    Assert.assertNotNull(future);
+    Assert.assertFalse(future.isDone());
+    Assert.assertFalse(TestImages.isPainted(image));
+
+    executor._runAll();
+    Assert.assertTrue(future.isDone());
+    Assert.assertNull(future.get());
+    Assert.assertTrue(TestImages.isPainted(image));
+  }
+
+  /**
+   * The future of the rendering completes only after the delegates of
+   * the chart have been closed
+   *
+   * @throws Exception
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testFutureCompletesAfterDelegateClosed() throws Exception {
+    final BufferedImage image;
+    final AtomicBoolean closed;
+    final ExecutorService executor;
+    final DelegatingLineChart2D chart;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    image = new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB);
+    closed = new AtomicBoolean();
+    executor = Executors.newSingleThreadExecutor();
+    try {
+      chart = new DelegatingLineChart2D(
+          ChartRenderExecutorTest.__chart(image)) {
+        @Override
+        protected final void doClose() {
+          try {
+            Thread.sleep(200L);
+          } catch (final InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+          }
+          closed.set(true);
+        }
+      };
+      chart.setRenderExecutor(executor);
+      ChartRenderExecutorTest.__fill(chart, null);
+      chart.close();
+
+      Assert.assertNull(chart.getRenderFuture().get());
+      Assert.assertTrue(closed.get());
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10L, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * A delegate forwards the render executor through another delegate,
+   * and refuses it if the chart it delegates to cannot render
+   * asynchronously
+   *
+   * @throws Exception
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testDelegateForwardsOrRefusesExecutor() throws Exception {
+    final BufferedImage image;
+    final __QueueExecutor executor;
+    final DelegatingLineChart2D chart, foreign;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    image = new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB);
+    executor = new __QueueExecutor();
+    chart = new DelegatingLineChart2D(new DelegatingLineChart2D(
+        ChartRenderExecutorTest.__chart(image)));
+    chart.setRenderExecutor(executor);
+    ChartRenderExecutorTest.__fill(chart, null);
+    chart.close();
+
+    Assert.assertFalse(chart.getRenderFuture().isDone());
+    executor._runAll();
+    Assert.assertNull(chart.getRenderFuture().get());
+    Assert.assertTrue(TestImages.isPainted(image));
+
+    foreign = new DelegatingLineChart2D(((ILineChart2D) (Proxy
+        .newProxyInstance(ILineChart2D.class.getClassLoader(),
+            new Class<?>[] { ILineChart2D.class },
+            new InvocationHandler() {
+              @Override
+              public final Object invoke(final Object proxy,
+                  final Method method, final Object[] args) {
+                if ("toString".equals(method.getName())) { //$NON-NLS-1$
+                  return "foreign chart"; //$NON-NLS-1$
+                }
+                throw new UnsupportedOperationException(method.getName());
+              }
+            }))));
+    try {
+      foreign.setRenderExecutor(executor);
+      Assert.fail("A chart without executor support must refuse it."); //$NON-NLS-1$
+    } catch (final IllegalStateException expected) {
+      // expected
+    }
+  }
+
+  /**
+   * An error during the rendering is reported by the future
+   *
+   * @throws Exception
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testRenderErrorReachesFuture() throws Exception {
+    final BufferedImage image;
+    final LineChart2D chart;
+    final __QueueExecutor executor;
+    final __FailingMatrix data;
+    Throwable cause;
+    boolean found;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    image = new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB);
+    executor = new __QueueExecutor();
+    data = new __FailingMatrix();
+    chart = ChartRenderExecutorTest.__chart(image);
+    chart.setRenderExecutor(executor);
+    ChartRenderExecutorTest.__fill(chart, data);
+    chart.close();
+
+    data.m_fail = true;
+    executor._runAll();
+    Assert.assertTrue(chart.getRenderFuture().isDone());
+    try {
+      chart.getRenderFuture().get();
+      Assert.fail("Rendering should have failed."); //$NON-NLS-1$
+    } catch (final ExecutionException expected) {
+      found = false;
+      for (cause = expected.getCause(); cause != null; cause = cause
+          .getCause()) {
+        found |= (cause == __FailingMatrix.ERROR);
+      }
+      Assert.assertTrue(found);
+    }
+  }
+
+  /**
+   * A rejected execution does not escape from {@code close()}, but
+   * completes the future with the rejection
+   *
+   * @throws Exception
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testRejectedRenderingReachesFuture() throws Exception {
+    final BufferedImage image;
+    final DelegatingLineChart2D chart;
+    final AtomicBoolean closed;
+    final Future<Void> future;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    image = new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB);
+    closed = new AtomicBoolean();
+    chart = new DelegatingLineChart2D(
+        ChartRenderExecutorTest.__chart(image)) {
+      @Override
+      protected final void doClose() {
+        closed.set(true);
+      }
+    };
+    chart.setRenderExecutor(new Executor() {
+      @Override
+      public final void execute(final Runnable command) {
+        throw new RejectedExecutionException("full"); //$NON-NLS-1$
+      }
+    });
+    ChartRenderExecutorTest.__fill(chart, null);
+    chart.close();
+
+    future = chart.getRenderFuture();
+    Assert.assertTrue(future.isDone());
+    Assert.assertTrue(closed.get());
+    try {
+      future.get();
+      Assert.fail("Rendering should have been rejected."); //$NON-NLS-1$
+    } catch (final ExecutionException expected) {
+      Assert.assertTrue(
+          expected.getCause() instanceof RejectedExecutionException);
+    }
+  }
+
+  /** an executor which queues tasks until they are run explicitly */
+  private static final class __QueueExecutor implements Executor {
+
+    /** the queued tasks */
+    private final ArrayList<Runnable> m_tasks;
+
+    /** create */
+    __QueueExecutor() {
+      super();
+      this.m_tasks = new ArrayList<>();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void execute(final Runnable command) {
+      this.m_tasks.add(command);
+    }
+
+    /** run all queued tasks on the current thread */
+    final void _runAll() {
+      for (final Runnable task : this.m_tasks) {
+        task.run();
+      }
+      this.m_tasks.clear();
+    }
+  }
+
+  /** a three-point matrix which can be made to fail when read */
+  private static final class __FailingMatrix extends AbstractMatrix {
+
+    /** the error thrown when reading a failing matrix */
+    static final IllegalStateException ERROR = new IllegalStateException(
+        "Cannot read the data anymore."); //$NON-NLS-1$
+
+    /** should reading fail? */
+    volatile boolean m_fail;
+
+    /** create */
+    __FailingMatrix() {
+      super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int m() {
+      return 3;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int n() {
+      return 2;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean isIntegerMatrix() {
+      return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final double getDouble(final int row, final int column) {
+      if (this.m_fail) {
+        throw __FailingMatrix.ERROR;
+      }
+      return ((column <= 0) ? row : (row % 2));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final long getLong(final int row, final int column) {
+      return ((long) (this.getDouble(row, column)));
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledChart;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledPieChart;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.PieChart;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.chart.spec.IDataScalar;
+import org.optimizationBenchmarking.utils.chart.spec.ILine2D;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+/**
+ * Test compiling charts without a graphic and rendering the compiled
+ * charts via
+ * {@link org.optimizationBenchmarking.utils.chart.impl.abstr.ChartDriver#render(CompiledChart, Graphics2D)}
+ * : One compiled chart must be renderable onto several graphics of
+ * different sizes, repeatedly, and on other threads.
+ */
+public class CompiledChartRenderTest {
+
+  /** create */
+  public CompiledChartRenderTest() {
+    super();
+  }
+
+  /**
+   * Compile a line chart
+   *
+   * @param driver
+   *          the driver
+   * @return the compiled chart
+   */
+  private static final CompiledLineChart2D __lineChart(
+      final JFreeChartDriver driver) {
+    final LineChart2D chart;
+
+    chart = driver.compile(TestStyles.get(), null).lineChart2D();
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setMinimum(0d);
+      axis.setMaximum(3d);
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setMinimum(0d);
+      axis.setMaximum(3d);
+    }
+    try (final ILine2D line = chart.line()) {
+      line.setColor(Color.RED);
+      line.setType(ELineType.DIRECT);
+      line.setData(new DoubleMatrix1D(
+          new double[] { 0d, 0d, 1d, 3d, 2d, 1d, 3d, 2d }, 4, 2));
+    }
+    chart.close();
+    return chart.getCompiledChart();
+  }
+
+  /**
+   * Compile a pie chart
+   *
+   * @param driver
+   *          the driver
+   * @return the compiled chart
+   */
+  private static final CompiledPieChart __pieChart(
+      final JFreeChartDriver driver) {
+    final PieChart chart;
+
+    chart = driver.compile(TestStyles.get(), null).pieChart();
+    try (final IDataScalar slice = chart.slice()) {
+      slice.setColor(Color.BLUE);
+      slice.setData(2d);
+    }
+    try (final IDataScalar slice = chart.slice()) {
+      slice.setColor(Color.ORANGE);
+      slice.setData(5L);
+    }
+    chart.close();
+    return chart.getCompiledChart();
+  }
+
+  /**
+   * Render a compiled chart onto a new white image
+   *
+   * @param driver
+   *          the driver
+   * @param chart
+   *          the compiled chart
+   * @param width
+   *          the width of the image
+   * @param height
+   *          the height of the image
+   * @return the image
+   */
+  private static final BufferedImage __render(
+      final JFreeChartDriver driver, final CompiledChart chart,
+      final int width, final int height) {
+    final BufferedImage image;
+    final Graphics2D graphic;
+
+    image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    graphic = image.createGraphics();
+    try {
+      graphic.setColor(Color.WHITE);
+      graphic.fillRect(0, 0, width, height);
+      driver.render(chart, graphic);
+    } finally {
+      graphic.dispose();
+    }
+    return image;
+  }
+
+  /**
+   * Render one compiled chart onto graphics of several sizes and
+   * repeatedly onto the same size
+   *
+   * @param driver
+   *          the driver
+   * @param chart
+   *          the compiled chart
+   */
+  private static final void __testReuse(final JFreeChartDriver driver,
+      final CompiledChart chart) {
+    final BufferedImage first, small, large;
+
+    first = CompiledChartRenderTest.__render(driver, chart, 300, 200);
+    small = CompiledChartRenderTest.__render(driver, chart, 90, 60);
+    large = CompiledChartRenderTest.__render(driver, chart, 640, 480);
+
+    Assert.assertTrue(TestImages.isPainted(first));
+    Assert.assertTrue(TestImages.isPainted(small));
+    Assert.assertTrue(TestImages.isPainted(large));
+    TestImages.assertEquals(first,
+        CompiledChartRenderTest.__render(driver, chart, 300, 200));
+  }
+
+  /** a compiled line chart can be rendered onto many graphics */
+  @Test(timeout = 60000)
+  public void testLineChartIsReusable() {
+    final JFreeChartDriver driver;
+
+    driver = JFreeChartDriver.getInstance();
+    Assume.assumeTrue(driver.canUse());
+    CompiledChartRenderTest.__testReuse(driver,
+        CompiledChartRenderTest.__lineChart(driver));
+  }
+
+  /** a compiled pie chart can be rendered onto many graphics */
+  @Test(timeout = 60000)
+  public void testPieChartIsReusable() {
+    final JFreeChartDriver driver;
+
+    driver = JFreeChartDriver.getInstance();
+    Assume.assumeTrue(driver.canUse());
+    CompiledChartRenderTest.__testReuse(driver,
+        CompiledChartRenderTest.__pieChart(driver));
+  }
+
+  /**
+   * A compiled chart rendered on other threads looks like the chart
+   * rendered on the compiling thread
+   *
+   * @throws Exception
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testRenderOnOtherThreads() throws Exception {
+    final JFreeChartDriver driver;
+    final CompiledLineChart2D chart;
+    final BufferedImage expected;
+    final ExecutorService executor;
+    final Callable<BufferedImage> render;
+
+    driver = JFreeChartDriver.getInstance();
+    Assume.assumeTrue(driver.canUse());
+    chart = CompiledChartRenderTest.__lineChart(driver);
+    expected = CompiledChartRenderTest.__render(driver, chart, 300, 200);
+
+    render = new Callable<BufferedImage>() {
+      @Override
+      public final BufferedImage call() {
+        return CompiledChartRenderTest.__render(driver, chart, 300, 200);
+      }
+    };
+    executor = Executors.newFixedThreadPool(2);
+    try {
+      TestImages.assertEquals(expected, executor.submit(render).get());
+      TestImages.assertEquals(expected, executor.submit(render).get());
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10L, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -25,7 +25,14 @@ import java.awt.image.renderable.RenderableImage;
 import java.text.AttributedCharacterIterator;
 import java.util.Map;
 
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.QuantileBand2D;
 import org.optimizationBenchmarking.utils.chart.impl.export.ExportChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
 import org.optimizationBenchmarking.utils.text.textOutput.ITextOutput;
 import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
 
@@ -45,6 +52,52 @@ public class ExportChartDriverTest extends ChartDriverTest {
     return new __ExportGraphics2D(super.createGraphic());
   }
 
+  /** the bands of a line chart are exported after its lines */
+  @Test(timeout = 60000)
+  public void testBandsAreExported() {
+    final LineChart2D chart;
+    final __ExportGraphics2D graphic;
+    final String text;
+
+    chart = ExportChartDriver.getInstance()
+        .compile(TestStyles.get(), null).lineChart2D();
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setTitle("x"); //$NON-NLS-1$
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setTitle("y"); //$NON-NLS-1$
+    }
+    try (final QuantileBand2D band = chart.band()) {
+      band.setColor(Color.RED);
+      band.setType(ELineType.DIRECT);
+      band.setQuantiles(0d, 1d);
+      band.addRun(new DoubleMatrix1D(new double[] { 0d, 0d, 1d, 1d }, 2,
+          2));
+      band.addRun(new DoubleMatrix1D(new double[] { 0d, 2d, 1d, 3d }, 2,
+          2));
+    }
+    chart.close();
+
+    graphic = new __ExportGraphics2D(super.createGraphic());
+    try {
+      ExportChartDriver.getInstance().render(chart.getCompiledChart(),
+          graphic);
+      text = graphic.m_to.toString();
+    } finally {
+      graphic.dispose();
+    }
+
+    Assert.assertTrue(text, text.contains(//
+        "# " + ExportChartDriver.CHART_BANDS + ": 1")); //$NON-NLS-1$ //$NON-NLS-2$
+    Assert.assertTrue(text, text.contains(//
+        "# " + ExportChartDriver.BAND_INDEX + ": 0")); //$NON-NLS-1$ //$NON-NLS-2$
+    Assert.assertTrue(text, text.contains(//
+        "# x\t" + ExportChartDriver.BAND_LOWER + '\t' //$NON-NLS-1$
+            + ExportChartDriver.BAND_UPPER));
+    Assert.assertTrue(text, text.contains("0\t0\t2")); //$NON-NLS-1$
+    Assert.assertTrue(text, text.contains("1\t1\t3")); //$NON-NLS-1$
+  }
+
   /** the internal graphics context for testing */
   private static final class __ExportGraphics2D extends Graphics2D
       implements ITextOutput {
@@ -0,0 +1,190 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.ELineReduction;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.Line2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+import org.optimizationBenchmarking.utils.math.matrix.impl.LongMatrix1D;
+
+/**
+ * Test that rendering a compiled line chart with JFreeChart allocates
+ * only a small constant amount of memory per point, i.e., that
+ * coordinates are not boxed into {@link java.lang.Number} objects and
+ * that the data is not copied for drawing. The lines are not reduced,
+ * so that every one of their million points passes through the item
+ * rendering path of JFreeChart, and the chart is compiled once and
+ * rendered twice, so that only the repeated rendering is measured.
+ */
+public class JFreeChartAllocationTest {
+
+  /** the number of points of the line */
+  private static final int POINTS = 1000000;
+
+  /**
+   * the number of bytes a repeated rendering may allocate per point: far
+   * below the 16 bytes a single boxed coordinate would cost
+   */
+  private static final long BYTES_PER_POINT = 2L;
+
+  /** create */
+  public JFreeChartAllocationTest() {
+    super();
+  }
+
+  /**
+   * Create the heap data of the line
+   *
+   * @param integer
+   *          should the line be an integer matrix?
+   * @return the line data
+   */
+  private static final IMatrix __makeData(final boolean integer) {
+    final double[] doubles;
+    final long[] longs;
+    int i;
+
+    if (integer) {
+      longs = new long[JFreeChartAllocationTest.POINTS << 1];
+      for (i = JFreeChartAllocationTest.POINTS; (--i) >= 0;) {
+        longs[i << 1] = i;
+        longs[(i << 1) + 1] = (i % 1000);
+      }
+      return new LongMatrix1D(longs, JFreeChartAllocationTest.POINTS, 2);
+    }
+
+    doubles = new double[JFreeChartAllocationTest.POINTS << 1];
+    for (i = JFreeChartAllocationTest.POINTS; (--i) >= 0;) {
+      doubles[i << 1] = i;
+      doubles[(i << 1) + 1] = Math.sin(i * 0.001d);
+    }
+    return new DoubleMatrix1D(doubles, JFreeChartAllocationTest.POINTS, 2);
+  }
+
+  /**
+   * Compile a line chart with one unreduced line
+   *
+   * @param data
+   *          the data of the line
+   * @return the compiled chart
+   */
+  private static final CompiledLineChart2D __compile(final IMatrix data) {
+    final LineChart2D chart;
+
+    chart = JFreeChartDriver.getInstance().compile(TestStyles.get(), null)
+        .lineChart2D();
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setMinimum(0d);
+      axis.setMaximum(data.m() - 1);
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setMinimum(-1000d);
+      axis.setMaximum(1000d);
+    }
+    try (final Line2D line = ((Line2D) (chart.line()))) {
+      line.setColor(Color.RED);
+      line.setType(ELineType.DIRECT);
+      line.setReduction(ELineReduction.NONE);
+      line.setData(data);
+    }
+    chart.close();
+    return chart.getCompiledChart();
+  }
+
+  /**
+   * Render a compiled chart and measure the bytes allocated on the
+   * current thread while doing so
+   *
+   * @param bean
+   *          the thread bean
+   * @param chart
+   *          the compiled chart
+   * @return the bytes allocated during rendering
+   */
+  private static final long __render(
+      final com.sun.management.ThreadMXBean bean,
+      final CompiledLineChart2D chart) {
+    final BufferedImage image;
+    final Graphics2D graphic;
+    final long threadId, before;
+
+    image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+    graphic = image.createGraphics();
+    threadId = Thread.currentThread().getId();
+
+    try {
+      before = bean.getThreadAllocatedBytes(threadId);
+      JFreeChartDriver.getInstance().render(chart, graphic);
+      return (bean.getThreadAllocatedBytes(threadId) - before);
+    } finally {
+      graphic.dispose();
+    }
+  }
+
+  /**
+   * Check that rendering a compiled chart with an unreduced line of
+   * {@link #POINTS} points again allocates at most
+   * {@link #BYTES_PER_POINT} bytes per point
+   *
+   * @param integer
+   *          should the line be an integer matrix?
+   */
+  private static final void __testBounded(final boolean integer) {
+    final java.lang.management.ThreadMXBean threads;
+    final com.sun.management.ThreadMXBean bean;
+    final CompiledLineChart2D chart;
+    final long bytes, limit;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    threads = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+    bean = ((com.sun.management.ThreadMXBean) threads);
+    Assume.assumeTrue(bean.isThreadAllocatedMemorySupported());
+    bean.setThreadAllocatedMemoryEnabled(true);
+
+    chart = JFreeChartAllocationTest.__compile(JFreeChartAllocationTest
+        .__makeData(integer));
+
+    // the first rendering loads and compiles classes, so only the
+    // repeated rendering is measured
+    JFreeChartAllocationTest.__render(bean, chart);
+    bytes = JFreeChartAllocationTest.__render(bean, chart);
+
+    limit = (JFreeChartAllocationTest.BYTES_PER_POINT
+        * JFreeChartAllocationTest.POINTS);
+    Assert.assertTrue((("Rendering " + JFreeChartAllocationTest.POINTS + //$NON-NLS-1$
+        " points allocated " + bytes) + //$NON-NLS-1$
+        " bytes, more than " + limit) + '.', //$NON-NLS-1$
+        bytes <= limit);
+  }
+
+  /**
+   * Test that rendering a heap {@code double} line allocates only a small
+   * constant per point
+   */
+  @Test(timeout = 120000)
+  public void testDoubleLineAllocationPerPoint() {
+    JFreeChartAllocationTest.__testBounded(false);
+  }
+
+  /**
+   * Test that rendering a heap {@code long} line allocates only a small
+   * constant per point
+   */
+  @Test(timeout = 120000)
+  public void testLongLineAllocationPerPoint() {
+    JFreeChartAllocationTest.__testBounded(true);
+  }
+}
@@ -0,0 +1,130 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartRenderHandle;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.chart.spec.ILine2D;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+/**
+ * Test the {@link JFreeChartRenderHandle}: A handle prepares a line chart
+ * for each size it is drawn at, so drawing the same handle at different
+ * sizes and back must give the same images as rendering the compiled
+ * chart directly.
+ */
+public class JFreeChartRenderHandleTest {
+
+  /** the number of points of the line, more than any image is wide */
+  private static final int POINTS = 100000;
+
+  /** create */
+  public JFreeChartRenderHandleTest() {
+    super();
+  }
+
+  /**
+   * Compile a line chart with one long line
+   *
+   * @return the compiled chart
+   */
+  private static final CompiledLineChart2D __compile() {
+    final LineChart2D chart;
+    final double[] data;
+    int i;
+
+    data = new double[JFreeChartRenderHandleTest.POINTS << 1];
+    for (i = JFreeChartRenderHandleTest.POINTS; (--i) >= 0;) {
+      data[i << 1] = i;
+      data[(i << 1) + 1] = Math.sin(i * 0.001d);
+    }
+
+    chart = JFreeChartDriver.getInstance().compile(TestStyles.get(), null)
+        .lineChart2D();
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setMinimum(0d);
+      axis.setMaximum(JFreeChartRenderHandleTest.POINTS - 1);
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setMinimum(-1d);
+      axis.setMaximum(1d);
+    }
+    try (final ILine2D line = chart.line()) {
+      line.setColor(Color.RED);
+      line.setType(ELineType.DIRECT);
+      line.setData(new DoubleMatrix1D(data,
+          JFreeChartRenderHandleTest.POINTS, 2));
+    }
+    chart.close();
+    return chart.getCompiledChart();
+  }
+
+  /**
+   * Draw a chart onto a new white image, either via a handle or directly
+   *
+   * @param handle
+   *          the handle, or {@code null} to render {@code chart} directly
+   * @param chart
+   *          the compiled chart
+   * @param width
+   *          the width of the image
+   * @param height
+   *          the height of the image
+   * @return the image
+   */
+  private static final BufferedImage __draw(
+      final JFreeChartRenderHandle handle, final CompiledLineChart2D chart,
+      final int width, final int height) {
+    final BufferedImage image;
+    final Graphics2D graphic;
+
+    image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    graphic = image.createGraphics();
+    try {
+      graphic.setColor(Color.WHITE);
+      graphic.fillRect(0, 0, width, height);
+      if (handle != null) {
+        handle.render(graphic);
+      } else {
+        JFreeChartDriver.getInstance().render(chart, graphic);
+      }
+    } finally {
+      graphic.dispose();
+    }
+    return image;
+  }
+
+  /**
+   * A handle drawn at several sizes, including a size it was drawn at
+   * before, draws like rendering the compiled chart directly
+   */
+  @Test(timeout = 60000)
+  public void testHandlePreparesEachSize() {
+    final CompiledLineChart2D chart;
+    final JFreeChartRenderHandle handle;
+    final int[][] sizes;
+    BufferedImage image;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    chart = JFreeChartRenderHandleTest.__compile();
+    handle = JFreeChartDriver.getInstance().createRenderHandle(chart);
+    sizes = new int[][] { { 200, 150 }, { 640, 480 }, { 200, 150 } };
+
+    for (final int[] size : sizes) {
+      image = JFreeChartRenderHandleTest.__draw(handle, chart, size[0],
+          size[1]);
+      Assert.assertTrue(TestImages.isPainted(image));
+      TestImages.assertEquals(JFreeChartRenderHandleTest.__draw(null,
+          chart, size[0], size[1]), image);
+    }
+  }
+}
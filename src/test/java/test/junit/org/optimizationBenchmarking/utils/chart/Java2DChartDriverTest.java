@@ -0,0 +1,14 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import org.optimizationBenchmarking.utils.chart.impl.java2d.Java2DChartDriver;
+
+import shared.junit.org.optimizationBenchmarking.utils.chart.ChartDriverTest;
+
+/** Test whether the Java2D chart driver can be used */
+public class Java2DChartDriverTest extends ChartDriverTest {
+
+  /** create */
+  public Java2DChartDriverTest() {
+    super(Java2DChartDriver.getInstance());
+  }
+}
@@ -0,0 +1,293 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.Color;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.Line2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * Test setting the data of lines from primitive arrays via
+ * {@link Line2D#setData(double[], double[])},
+ * {@link Line2D#setData(double[], double[], int, int)},
+ * {@link Line2D#setData(long[], double[])}, and
+ * {@link Line2D#setData(long[], double[], int, int)}: Whole
+ * {@code double} arrays must reach the compiled line without being
+ * copied, ranges and integer x-coordinates must be read exactly, and
+ * invalid ranges must be refused.
+ */
+public class LinePackedDataTest {
+
+  /** create */
+  public LinePackedDataTest() {
+    super();
+  }
+
+  /**
+   * Create a line chart with open axes
+   *
+   * @return the chart
+   */
+  private static final LineChart2D __chart() {
+    final LineChart2D chart;
+
+    chart = JFreeChartDriver.getInstance().compile(TestStyles.get(), null)
+        .lineChart2D();
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setTitle("x"); //$NON-NLS-1$
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setTitle("y"); //$NON-NLS-1$
+    }
+    return chart;
+  }
+
+  /**
+   * Create a line builder
+   *
+   * @param chart
+   *          the chart
+   * @return the line builder, with color and type set
+   */
+  private static final Line2D __line(final LineChart2D chart) {
+    final Line2D line;
+
+    line = ((Line2D) (chart.line()));
+    line.setColor(Color.RED);
+    line.setType(ELineType.DIRECT);
+    return line;
+  }
+
+  /**
+   * Close a chart and get its only line
+   *
+   * @param chart
+   *          the chart
+   * @return the compiled line
+   */
+  private static final CompiledLine2D __compile(final LineChart2D chart) {
+    final CompiledLineChart2D compiled;
+
+    chart.close();
+    compiled = chart.getCompiledChart();
+    Assert.assertEquals(1, compiled.getLines().size());
+    return compiled.getLines().get(0);
+  }
+
+  /** whole {@code double} arrays become the columns of the line */
+  @Test(timeout = 60000)
+  public void testWholeDoubleArraysAreNotCopied() {
+    final LineChart2D chart;
+    final double[] x, y;
+    final CompiledLine2D line;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    x = new double[] { 0d, 1d, 2d, 3d };
+    y = new double[] { 5d, -1d, 2d, 0.5d };
+    chart = LinePackedDataTest.__chart();
+    try (final Line2D builder = LinePackedDataTest.__line(chart)) {
+      builder.setData(x, y);
+    }
+    line = LinePackedDataTest.__compile(chart);
+
+    Assert.assertSame(x, line.getXValues());
+    Assert.assertSame(y, line.getYValues());
+    Assert.assertEquals(4, line.getData().m());
+    Assert.assertEquals(2, line.getData().n());
+    Assert.assertEquals(-1d, line.getData().getDouble(1, 1), 0d);
+  }
+
+  /**
+   * infinite coordinates are clamped in a copy, the arrays handed in stay
+   * unchanged
+   */
+  @Test(timeout = 60000)
+  public void testInfiniteCoordinatesAreClampedInCopy() {
+    final LineChart2D chart;
+    final double[] x, y;
+    final CompiledLine2D line;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    x = new double[] { 0d, 1d, 2d };
+    y = new double[] { 1d, Double.POSITIVE_INFINITY, 2d };
+    chart = LinePackedDataTest.__chart();
+    try (final Line2D builder = LinePackedDataTest.__line(chart)) {
+      builder.setData(x, y);
+    }
+    line = LinePackedDataTest.__compile(chart);
+
+    Assert.assertSame(x, line.getXValues());
+    Assert.assertNotSame(y, line.getYValues());
+    Assert.assertEquals(1e20d, line.getYValues()[1], 0d);
+    Assert.assertEquals(Double.POSITIVE_INFINITY, y[1], 0d);
+  }
+
+  /** a range of {@code double} arrays is used as line data */
+  @Test(timeout = 60000)
+  public void testDoubleRange() {
+    final LineChart2D chart;
+    final double[] x, y;
+    final CompiledLine2D line;
+    final IMatrix data;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    x = new double[] { -9d, 1d, 2d, 3d, 9d };
+    y = new double[] { -9d, 4d, 5d, 6d, 9d, 10d };
+    chart = LinePackedDataTest.__chart();
+    try (final Line2D builder = LinePackedDataTest.__line(chart)) {
+      builder.setData(x, y, 1, 3);
+    }
+    line = LinePackedDataTest.__compile(chart);
+
+    data = line.getData();
+    Assert.assertEquals(3, data.m());
+    Assert.assertEquals(2d, data.getDouble(1, 0), 0d);
+    Assert.assertEquals(6d, data.getDouble(2, 1), 0d);
+    Assert.assertArrayEquals(new double[] { 1d, 2d, 3d },
+        line.getXValues(), 0d);
+    Assert.assertArrayEquals(new double[] { 4d, 5d, 6d },
+        line.getYValues(), 0d);
+  }
+
+  /**
+   * integer x-coordinates are read exactly from the matrix, converted to
+   * {@code double} for the packed columns, and aggregated by the axis
+   */
+  @Test(timeout = 60000)
+  public void testLongXCoordinates() {
+    final LineChart2D chart;
+    final long[] x;
+    final double[] y;
+    final CompiledLineChart2D compiled;
+    final CompiledLine2D line;
+    final IMatrix data;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    x = new long[] { 7L, 1000L, ((1L << 60) + 1L), ((1L << 60) + 3L) };
+    y = new double[] { 3d, 2d, 1d, 0d };
+    chart = LinePackedDataTest.__chart();
+    try (final Line2D builder = LinePackedDataTest.__line(chart)) {
+      builder.setData(x, y);
+    }
+    chart.close();
+    compiled = chart.getCompiledChart();
+    line = compiled.getLines().get(0);
+
+    data = line.getData();
+    Assert.assertEquals(4, data.m());
+    Assert.assertEquals(((1L << 60) + 1L), data.getLong(2, 0));
+    Assert.assertEquals(((1L << 60) + 3L), data.getLong(3, 0));
+    Assert.assertEquals(1000d, data.getDouble(1, 0), 0d);
+    Assert.assertEquals(1d, data.getDouble(2, 1), 0d);
+    Assert.assertArrayEquals(
+        new double[] { 7d, 1000d, (1L << 60), (1L << 60) },
+        line.getXValues(), 0d);
+    Assert.assertSame(y, line.getYValues());
+
+    Assert.assertTrue(compiled.getXAxis().getMinimum() <= 7d);
+    Assert.assertTrue(compiled.getXAxis().getMaximum() >= (1L << 60));
+  }
+
+  /** a range of integer x-coordinates is used as line data */
+  @Test(timeout = 60000)
+  public void testLongRange() {
+    final LineChart2D chart;
+    final CompiledLine2D line;
+    final IMatrix data;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    chart = LinePackedDataTest.__chart();
+    try (final Line2D builder = LinePackedDataTest.__line(chart)) {
+      builder.setData(new long[] { 0L, 10L, 20L, 30L },
+          new double[] { 1d, 2d, 3d, 4d }, 2, 2);
+    }
+    line = LinePackedDataTest.__compile(chart);
+
+    data = line.getData();
+    Assert.assertEquals(2, data.m());
+    Assert.assertEquals(20L, data.getLong(0, 0));
+    Assert.assertEquals(30L, data.getLong(1, 0));
+    Assert.assertArrayEquals(new double[] { 20d, 30d },
+        line.getXValues(), 0d);
+    Assert.assertArrayEquals(new double[] { 3d, 4d }, line.getYValues(),
+        0d);
+  }
+
+  /**
+   * missing arrays and ranges outside of the arrays are refused, without
+   * setting the data of the line
+   */
+  @Test(timeout = 60000)
+  public void testInvalidRangesAreRefused() {
+    final LineChart2D chart;
+    final double[] x, y;
+    final long[] longX;
+    final int[][] ranges;
+    final CompiledLine2D line;
+    int index;
+
+    Assume.assumeTrue(JFreeChartDriver.getInstance().canUse());
+    x = new double[] { 0d, 1d, 2d, 3d };
+    y = new double[] { 0d, 1d, 2d };
+    longX = new long[] { 0L, 1L, 2L, 3L };
+    ranges = new int[][] { //
+        { 0, 0 }, // no points
+        { -1, 2 }, // negative offset
+        { 0, -1 }, // negative length
+        { 1, 3 }, // beyond y
+        { 2, 3 }, // beyond x and y
+        { 3, Integer.MAX_VALUE }, // overflowing end
+    };
+
+    chart = LinePackedDataTest.__chart();
+    try (final Line2D builder = LinePackedDataTest.__line(chart)) {
+      for (index = 0; index < ranges.length; index++) {
+        try {
+          builder.setData(x, y, ranges[index][0], ranges[index][1]);
+          Assert.fail("Range " + index + //$NON-NLS-1$
+              " must be refused."); //$NON-NLS-1$
+        } catch (final IllegalArgumentException expected) {
+          // expected
+        }
+        try {
+          builder.setData(longX, y, ranges[index][0], ranges[index][1]);
+          Assert.fail("Integer range " + index + //$NON-NLS-1$
+              " must be refused."); //$NON-NLS-1$
+        } catch (final IllegalArgumentException expected) {
+          // expected
+        }
+      }
+      try {
+        builder.setData(x, y);
+        Assert.fail("Arrays of unequal length must be refused."); //$NON-NLS-1$
+      } catch (final IllegalArgumentException expected) {
+        // expected
+      }
+      try {
+        builder.setData(((double[]) null), y);
+        Assert.fail("Missing x-coordinates must be refused."); //$NON-NLS-1$
+      } catch (final IllegalArgumentException expected) {
+        // expected
+      }
+      try {
+        builder.setData(longX, null);
+        Assert.fail("Missing y-coordinates must be refused."); //$NON-NLS-1$
+      } catch (final IllegalArgumentException expected) {
+        // expected
+      }
+
+      builder.setData(x, y, 1, 2);
+    }
+    line = LinePackedDataTest.__compile(chart);
+    Assert.assertArrayEquals(new double[] { 1d, 2d }, line.getXValues(),
+        0d);
+  }
+}
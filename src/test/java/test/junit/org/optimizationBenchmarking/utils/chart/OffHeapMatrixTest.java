@@ -0,0 +1,286 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.OffHeapMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+import org.optimizationBenchmarking.utils.math.matrix.impl.LongMatrix1D;
+
+/**
+ * Tests for the {@link OffHeapMatrix}: Matrices held in direct buffers
+ * and matrices mapped to a temporary file must both return the values
+ * they were filled with, and the temporary file must not outlive the
+ * mapping.
+ */
+public class OffHeapMatrixTest {
+
+  /** a mapping threshold which keeps all data in direct buffers */
+  private static final long DIRECT = Long.MAX_VALUE;
+
+  /** a mapping threshold which maps all data to a temporary file */
+  private static final long MAPPED = 0L;
+
+  /** create */
+  public OffHeapMatrixTest() {
+    super();
+  }
+
+  /**
+   * Create a floating point matrix with distinct values
+   *
+   * @param m
+   *          the number of rows
+   * @param n
+   *          the number of columns
+   * @return the matrix
+   */
+  private static final IMatrix __doubles(final int m, final int n) {
+    final double[] data;
+    int i;
+
+    data = new double[m * n];
+    for (i = data.length; (--i) >= 0;) {
+      data[i] = ((i * 0.37d) - 11.5d);
+    }
+    return new DoubleMatrix1D(data, m, n);
+  }
+
+  /**
+   * Create an integer matrix with distinct values, including values
+   * which cannot be represented exactly as {@code double}
+   *
+   * @param m
+   *          the number of rows
+   * @param n
+   *          the number of columns
+   * @return the matrix
+   */
+  private static final IMatrix __longs(final int m, final int n) {
+    final long[] data;
+    int i;
+
+    data = new long[m * n];
+    for (i = data.length; (--i) >= 0;) {
+      data[i] = (((i & 1) == 0) ? ((1L << 60) + i) : (-i));
+    }
+    return new LongMatrix1D(data, m, n);
+  }
+
+  /**
+   * Check that a matrix holds the same values as its source
+   *
+   * @param source
+   *          the source
+   * @param copy
+   *          the copy
+   */
+  private static final void __assertEquals(final IMatrix source,
+      final IMatrix copy) {
+    int i, j;
+
+    Assert.assertEquals(source.m(), copy.m());
+    Assert.assertEquals(source.n(), copy.n());
+    Assert.assertEquals(source.isIntegerMatrix(), copy.isIntegerMatrix());
+    for (i = source.m(); (--i) >= 0;) {
+      for (j = source.n(); (--j) >= 0;) {
+        Assert.assertEquals(source.getLong(i, j), copy.getLong(i, j));
+        Assert.assertEquals(source.getDouble(i, j), copy.getDouble(i, j),
+            0d);
+      }
+    }
+  }
+
+  /**
+   * Get the names of the temporary files which may have been created by
+   * off-heap matrices
+   *
+   * @return the names
+   */
+  private static final HashSet<String> __tempFiles() {
+    final String[] names;
+
+    names = new File(System.getProperty("java.io.tmpdir")) //$NON-NLS-1$
+        .list(new FilenameFilter() {
+          @Override
+          public final boolean accept(final File dir, final String name) {
+            return (name.startsWith("offHeapMatrix") && //$NON-NLS-1$
+                name.endsWith(".bin")); //$NON-NLS-1$
+          }
+        });
+    return new HashSet<>(
+        Arrays.asList((names != null) ? names : new String[0]));
+  }
+
+  /**
+   * A floating point matrix in direct buffers returns its values
+   *
+   * @throws IOException
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testDirectDoubleRoundTrip() throws IOException {
+    final IMatrix source;
+
+    source = OffHeapMatrixTest.__doubles(1000, 3);
+    OffHeapMatrixTest.__assertEquals(source,
+        OffHeapMatrix.copyOf(source, OffHeapMatrixTest.DIRECT));
+  }
+
+  /**
+   * A floating point matrix mapped to a file returns its values
+   *
+   * @throws IOException
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testMappedDoubleRoundTrip() throws IOException {
+    final IMatrix source;
+
+    source = OffHeapMatrixTest.__doubles(1000, 3);
+    OffHeapMatrixTest.__assertEquals(source,
+        OffHeapMatrix.copyOf(source, OffHeapMatrixTest.MAPPED));
+  }
+
+  /**
+   * An integer matrix in direct buffers returns its {@code long} values
+   * exactly
+   *
+   * @throws IOException
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testDirectLongRoundTrip() throws IOException {
+    final IMatrix source;
+
+    source = OffHeapMatrixTest.__longs(777, 2);
+    OffHeapMatrixTest.__assertEquals(source,
+        OffHeapMatrix.copyOf(source, OffHeapMatrixTest.DIRECT));
+  }
+
+  /**
+   * An integer matrix mapped to a file returns its {@code long} values
+   * exactly
+   *
+   * @throws IOException
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testMappedLongRoundTrip() throws IOException {
+    final IMatrix source;
+
+    source = OffHeapMatrixTest.__longs(777, 2);
+    OffHeapMatrixTest.__assertEquals(source,
+        OffHeapMatrix.copyOf(source, OffHeapMatrixTest.MAPPED));
+  }
+
+  /**
+   * The builder of an integer matrix stores {@code long} values, but
+   * refuses {@code double} values, and cannot be used after building
+   *
+   * @throws IOException
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testIntegerBuilder() throws IOException {
+    final OffHeapMatrix.Builder builder;
+    final OffHeapMatrix matrix;
+
+    builder = new OffHeapMatrix.Builder(2, 1, true);
+    builder.setLong(0, 0, Long.MAX_VALUE);
+    builder.setLong(1, 0, Long.MIN_VALUE);
+    try {
+      builder.setDouble(0, 0, 0.5d);
+      Assert.fail("An integer matrix must refuse doubles."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+    matrix = builder.build();
+
+    Assert.assertTrue(matrix.isIntegerMatrix());
+    Assert.assertEquals(Long.MAX_VALUE, matrix.getLong(0, 0));
+    Assert.assertEquals(Long.MIN_VALUE, matrix.getLong(1, 0));
+    Assert.assertSame(matrix, OffHeapMatrix.copyOf(matrix));
+    try {
+      builder.build();
+      Assert.fail("A builder must only build once."); //$NON-NLS-1$
+    } catch (final IllegalStateException expected) {
+      // expected
+    }
+  }
+
+  /**
+   * The builder of a floating point matrix stores {@code long} values as
+   * {@code double}
+   *
+   * @throws IOException
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testDoubleBuilderAcceptsLongs() throws IOException {
+    final OffHeapMatrix.Builder builder;
+    final OffHeapMatrix matrix;
+
+    builder = new OffHeapMatrix.Builder(1, 2, false);
+    builder.setLong(0, 0, 3L);
+    builder.setDouble(0, 1, -2.75d);
+    matrix = builder.build();
+
+    Assert.assertFalse(matrix.isIntegerMatrix());
+    Assert.assertEquals(3d, matrix.getDouble(0, 0), 0d);
+    Assert.assertEquals(-2.75d, matrix.getDouble(0, 1), 0d);
+    Assert.assertEquals(-2L, matrix.getLong(0, 1));
+  }
+
+  /**
+   * Empty matrices are refused
+   *
+   * @throws IOException
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testEmptyMatrixIsRefused() throws IOException {
+    try {
+      new OffHeapMatrix.Builder(0, 1, false);
+      Assert.fail("A matrix without rows must be refused."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+    try {
+      new OffHeapMatrix.Builder(1, 0, true);
+      Assert.fail("A matrix without columns must be refused."); //$NON-NLS-1$
+    } catch (final IllegalArgumentException expected) {
+      // expected
+    }
+  }
+
+  /**
+   * Mapping a matrix to a file leaves no temporary file behind, while the
+   * mapped data stays readable
+   *
+   * @throws IOException
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testTemporaryFileIsDeleted() throws IOException {
+    final HashSet<String> before, after;
+    final IMatrix source;
+    final OffHeapMatrix copy;
+
+    before = OffHeapMatrixTest.__tempFiles();
+    source = OffHeapMatrixTest.__doubles(4096, 2);
+    copy = OffHeapMatrix.copyOf(source, OffHeapMatrixTest.MAPPED);
+    after = OffHeapMatrixTest.__tempFiles();
+
+    after.removeAll(before);
+    Assert.assertTrue(("Temporary files left behind: " + after), //$NON-NLS-1$
+        after.isEmpty());
+    OffHeapMatrixTest.__assertEquals(source, copy);
+  }
+}
@@ -0,0 +1,117 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.ELineReduction;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.Line2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.OffHeapMatrix;
+import org.optimizationBenchmarking.utils.chart.impl.java2d.RasterChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+import shared.junit.org.optimizationBenchmarking.utils.chart.ChartDriverTest;
+
+/** Test whether the software rasterizer chart driver can be used */
+public class RasterChartDriverTest extends ChartDriverTest {
+
+  /** create */
+  public RasterChartDriverTest() {
+    super(RasterChartDriver.getInstance());
+  }
+
+  /**
+   * Compile a line chart with one unreduced stair line
+   *
+   * @param data
+   *          the data of the line
+   * @return the compiled chart
+   */
+  private static final CompiledLineChart2D __chart(final IMatrix data) {
+    final LineChart2D chart;
+
+    chart = RasterChartDriver.getInstance().compile(TestStyles.get(), null)
+        .lineChart2D();
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setMinimum(0d);
+      axis.setMaximum(data.m());
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setMinimum(-1d);
+      axis.setMaximum(1d);
+    }
+    try (final Line2D line = ((Line2D) (chart.line()))) {
+      line.setColor(Color.RED);
+      line.setType(ELineType.STAIRS_KEEP_LEFT);
+      line.setReduction(ELineReduction.NONE);
+      line.setData(data);
+    }
+    chart.close();
+    return chart.getCompiledChart();
+  }
+
+  /**
+   * Render a compiled chart onto a new white image
+   *
+   * @param chart
+   *          the compiled chart
+   * @return the image
+   */
+  private static final BufferedImage __render(
+      final CompiledLineChart2D chart) {
+    final BufferedImage image;
+    final Graphics2D graphic;
+
+    image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+    graphic = image.createGraphics();
+    try {
+      graphic.setColor(Color.WHITE);
+      graphic.fillRect(0, 0, 400, 300);
+      RasterChartDriver.getInstance().render(chart, graphic);
+    } finally {
+      graphic.dispose();
+    }
+    return image;
+  }
+
+  /**
+   * A line spanning many chunks of rows is rasterized exactly like the
+   * same line held off the heap
+   *
+   * @throws IOException
+   *           if something fails
+   */
+  @Test(timeout = 60000)
+  public void testChunkedLineEqualsOffHeapLine() throws IOException {
+    final double[] data;
+    final IMatrix matrix;
+    final BufferedImage heap, offHeap;
+    int row;
+
+    Assume.assumeTrue(RasterChartDriver.getInstance().canUse());
+    data = new double[20000 << 1];
+    for (row = (data.length >>> 1); (--row) >= 0;) {
+      data[row << 1] = row;
+      data[(row << 1) + 1] = (((row % 4099) == 17) ? Double.NaN
+          : Math.sin(row * 0.01d));
+    }
+    matrix = new DoubleMatrix1D(data, (data.length >>> 1), 2);
+
+    heap = RasterChartDriverTest.__render(RasterChartDriverTest
+        .__chart(matrix));
+    offHeap = RasterChartDriverTest.__render(RasterChartDriverTest
+        .__chart(OffHeapMatrix.copyOf(matrix)));
+
+    Assert.assertTrue(TestImages.isPainted(heap));
+    TestImages.assertEquals(heap, offHeap);
+  }
+}
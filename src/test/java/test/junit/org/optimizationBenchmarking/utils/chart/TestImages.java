@@ -0,0 +1,59 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Assert;
+
+/**
+ * The image checks shared by the chart tests: whether anything was
+ * painted onto a white image, and whether two images are equal pixel by
+ * pixel.
+ */
+public final class TestImages {
+
+  /** the forbidden constructor */
+  private TestImages() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Check whether an image contains anything but white pixels
+   *
+   * @param image
+   *          the image
+   * @return {@code true} if something was painted
+   */
+  public static final boolean isPainted(final BufferedImage image) {
+    int x, y;
+
+    for (x = image.getWidth(); (--x) >= 0;) {
+      for (y = image.getHeight(); (--y) >= 0;) {
+        if ((image.getRGB(x, y) & 0xffffff) != 0xffffff) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Assert that two images have the same size and the same pixels
+   *
+   * @param expected
+   *          the expected image
+   * @param actual
+   *          the actual image
+   */
+  public static final void assertEquals(final BufferedImage expected,
+      final BufferedImage actual) {
+    int x, y;
+
+    Assert.assertEquals(expected.getWidth(), actual.getWidth());
+    Assert.assertEquals(expected.getHeight(), actual.getHeight());
+    for (x = expected.getWidth(); (--x) >= 0;) {
+      for (y = expected.getHeight(); (--y) >= 0;) {
+        Assert.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+}
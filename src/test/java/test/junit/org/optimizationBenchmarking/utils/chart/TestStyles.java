@@ -0,0 +1,132 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Stroke;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.optimizationBenchmarking.utils.graphics.style.spec.IBasicStyles;
+
+/**
+ * The style set fixture shared by the chart tests and benchmarks: a
+ * minimal {@link IBasicStyles} which answers every font, stroke, and
+ * color request with one fixed value. Charts built with it thus do not
+ * depend on any style configuration, and all charts built with the same
+ * instance share the same style-default partition of their driver. Any
+ * other request, i.e., one for neither a font, stroke, color, primitive
+ * value, nor nested style interface, causes an
+ * {@link UnsupportedOperationException} instead of silently returning
+ * {@code null}.
+ */
+public final class TestStyles {
+
+  /** the shared style set */
+  private static final IBasicStyles STYLES = TestStyles.create();
+
+  /** the forbidden constructor */
+  private TestStyles() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the shared style set
+   *
+   * @return the shared style set
+   */
+  public static final IBasicStyles get() {
+    return TestStyles.STYLES;
+  }
+
+  /**
+   * Create a new style set, which is equal only to itself
+   *
+   * @return the new style set
+   */
+  public static final IBasicStyles create() {
+    return ((IBasicStyles) (TestStyles.__proxy(IBasicStyles.class)));
+  }
+
+  /**
+   * Create a proxy which returns fixed fonts, strokes, and colors, and
+   * proxies for all interface-typed results, and which refuses all other
+   * requests.
+   *
+   * @param clazz
+   *          the interface
+   * @return the proxy
+   */
+  private static final Object __proxy(final Class<?> clazz) {
+    return Proxy.newProxyInstance(clazz.getClassLoader(),
+        new Class<?>[] { clazz }, new __Styles());
+  }
+
+  /** the invocation handler for the style proxies */
+  private static final class __Styles implements InvocationHandler {
+
+    /** the font */
+    private static final Font FONT = new Font(Font.SANS_SERIF, Font.PLAIN,
+        10);
+
+    /** the stroke */
+    private static final Stroke STROKE = new BasicStroke(1f);
+
+    /** create */
+    __Styles() {
+      super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Object invoke(final Object proxy, final Method method,
+        final Object[] args) {
+      final Class<?> type;
+
+      switch (method.getName()) {
+        case "equals": {//$NON-NLS-1$
+          return Boolean.valueOf(proxy == args[0]);
+        }
+        case "hashCode": {//$NON-NLS-1$
+          return Integer.valueOf(System.identityHashCode(proxy));
+        }
+        case "toString": {//$NON-NLS-1$
+          return "styles"; //$NON-NLS-1$
+        }
+        default: {
+          type = method.getReturnType();
+          if (type == Font.class) {
+            return __Styles.FONT;
+          }
+          if (type == Stroke.class) {
+            return __Styles.STROKE;
+          }
+          if (type == Color.class) {
+            return Color.BLACK;
+          }
+          if (type.isInterface()) {
+            return TestStyles.__proxy(type);
+          }
+          if (type == boolean.class) {
+            return Boolean.FALSE;
+          }
+          if (type == double.class) {
+            return Double.valueOf(0d);
+          }
+          if (type == float.class) {
+            return Float.valueOf(0f);
+          }
+          if (type == long.class) {
+            return Long.valueOf(0L);
+          }
+          if (type == int.class) {
+            return Integer.valueOf(0);
+          }
+          throw new UnsupportedOperationException(//
+              "The test styles cannot answer " + method); //$NON-NLS-1$
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,268 @@
+package test.junit.org.optimizationBenchmarking.utils.chart;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Stroke;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledAxis;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledDataElement;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledDataScalar;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLine2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledPieChart;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.CompiledTitledElement;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.LineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.PieChart;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.UncheckedLineChart2D;
+import org.optimizationBenchmarking.utils.chart.impl.abstr.UncheckedPieChart;
+import org.optimizationBenchmarking.utils.chart.impl.jfree.JFreeChartDriver;
+import org.optimizationBenchmarking.utils.chart.spec.ELegendMode;
+import org.optimizationBenchmarking.utils.chart.spec.ELineType;
+import org.optimizationBenchmarking.utils.chart.spec.IAxis;
+import org.optimizationBenchmarking.utils.chart.spec.IDataScalar;
+import org.optimizationBenchmarking.utils.chart.spec.ILine2D;
+import org.optimizationBenchmarking.utils.chart.spec.ILineChart2D;
+import org.optimizationBenchmarking.utils.chart.spec.IPieChart;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+
+/**
+ * Test that the unchecked chart builders compile the same charts as the
+ * checked ones: The same chart is built in both modes and the compiled
+ * charts are compared field by field.
+ */
+public class UncheckedChartEquivalenceTest {
+
+  /** create */
+  public UncheckedChartEquivalenceTest() {
+    super();
+  }
+
+  /**
+   * Fill a line chart via its specification interface
+   *
+   * @param chart
+   *          the chart
+   * @param data
+   *          the data of the single line
+   */
+  private static final void __fill(final ILineChart2D chart,
+      final IMatrix data) {
+    chart.setTitle("Lines"); //$NON-NLS-1$
+    chart.setLegendMode(ELegendMode.SHOW_COMPLETE_LEGEND);
+    try (final IAxis axis = chart.xAxis()) {
+      axis.setTitle("x"); //$NON-NLS-1$
+      axis.setMinimum(0d);
+      axis.setMaximum(4d);
+    }
+    try (final IAxis axis = chart.yAxis()) {
+      axis.setTitle("y"); //$NON-NLS-1$
+      axis.setTitleFont(new Font(Font.SERIF, Font.BOLD, 13));
+      axis.setAxisColor(Color.BLUE);
+    }
+    try (final ILine2D line = chart.line()) {
+      line.setTitle("single"); //$NON-NLS-1$
+      line.setColor(Color.RED);
+      line.setType(ELineType.STAIRS_KEEP_LEFT);
+      line.setData(data);
+    }
+    try (final ILine2D line = chart.line()) {
+      line.setTitleFont(new Font(Font.MONOSPACED, Font.ITALIC, 9));
+      line.setColor(Color.GREEN);
+      line.setStroke(new BasicStroke(3f));
+      line.setData(data);
+    }
+  }
+
+  /**
+   * Fill a pie chart via its specification interface
+   *
+   * @param chart
+   *          the chart
+   */
+  private static final void __fill(final IPieChart chart) {
+    chart.setTitleFont(new Font(Font.SANS_SERIF, Font.PLAIN, 21));
+    chart.setTitle("Pie"); //$NON-NLS-1$
+    try (final IDataScalar slice = chart.slice()) {
+      slice.setTitle("a"); //$NON-NLS-1$
+      slice.setColor(Color.ORANGE);
+      slice.setData(2.5d);
+    }
+    try (final IDataScalar slice = chart.slice()) {
+      slice.setColor(Color.CYAN);
+      slice.setStroke(new BasicStroke(2f));
+      slice.setData(7L);
+    }
+  }
+
+  /**
+   * Check that two titled elements are equal
+   *
+   * @param expected
+   *          the expected element
+   * @param actual
+   *          the actual element
+   */
+  private static final void __assertTitles(
+      final CompiledTitledElement expected,
+      final CompiledTitledElement actual) {
+    Assert.assertEquals(expected.getTitle(), actual.getTitle());
+    Assert.assertEquals(expected.getTitleFont(), actual.getTitleFont());
+  }
+
+  /**
+   * Check that two data elements are equal
+   *
+   * @param expected
+   *          the expected element
+   * @param actual
+   *          the actual element
+   */
+  private static final void __assertElements(
+      final CompiledDataElement expected, final CompiledDataElement actual) {
+    UncheckedChartEquivalenceTest.__assertTitles(expected, actual);
+    Assert.assertEquals(expected.getID(), actual.getID());
+    Assert.assertEquals(expected.getColor(), actual.getColor());
+    Assert.assertEquals(expected.getStroke(), actual.getStroke());
+  }
+
+  /**
+   * Check that two axes are equal
+   *
+   * @param expected
+   *          the expected axis
+   * @param actual
+   *          the actual axis
+   */
+  private static final void __assertAxes(final CompiledAxis expected,
+      final CompiledAxis actual) {
+    UncheckedChartEquivalenceTest.__assertTitles(expected, actual);
+    Assert.assertEquals(expected.getTickFont(), actual.getTickFont());
+    Assert.assertEquals(expected.getAxisStroke(), actual.getAxisStroke());
+    Assert.assertEquals(expected.getAxisColor(), actual.getAxisColor());
+    Assert.assertEquals(expected.getGridLineStroke(),
+        actual.getGridLineStroke());
+    Assert.assertEquals(expected.getGridLineColor(),
+        actual.getGridLineColor());
+    Assert.assertEquals(expected.getMinimum(), actual.getMinimum(), 0d);
+    Assert.assertEquals(expected.getMaximum(), actual.getMaximum(), 0d);
+  }
+
+  /** a line chart compiles the same in checked and unchecked mode */
+  @Test(timeout = 60000)
+  public void testLineChartsAreEqual() {
+    final JFreeChartDriver driver;
+    final IMatrix data;
+    final IMatrix[] bulk;
+    final Color[] colors;
+    final Stroke[] strokes;
+    final String[] titles;
+    final LineChart2D checked;
+    final UncheckedLineChart2D unchecked;
+    final CompiledLineChart2D expected, actual;
+    CompiledLine2D expectedLine, actualLine;
+    int index;
+
+    driver = JFreeChartDriver.getInstance();
+    Assume.assumeTrue(driver.canUse());
+    data = new DoubleMatrix1D(
+        new double[] { 0d, 1d, 1d, 3d, 2d, 2d, 4d, 0d }, 4, 2);
+    bulk = new IMatrix[] { data, data };
+    colors = new Color[] { Color.MAGENTA, Color.BLACK };
+    strokes = new Stroke[] { null, new BasicStroke(0.5f) };
+    titles = new String[] { "bulk", null }; //$NON-NLS-1$
+
+    checked = driver.compile(TestStyles.get(), null).lineChart2D();
+    UncheckedChartEquivalenceTest.__fill(checked, data);
+    checked.addLines(bulk, colors, strokes, titles, ELineType.DIRECT);
+    checked.close();
+    expected = checked.getCompiledChart();
+
+    unchecked = driver.compileUnchecked(TestStyles.get(), null)
+        .lineChart2D();
+    UncheckedChartEquivalenceTest.__fill(unchecked, data);
+    unchecked.addLines(bulk, colors, strokes, titles, ELineType.DIRECT);
+    unchecked.close();
+    actual = unchecked.getCompiledChart();
+
+    UncheckedChartEquivalenceTest.__assertTitles(expected, actual);
+    Assert.assertEquals(expected.getLegendMode(), actual.getLegendMode());
+    Assert.assertEquals(expected.getRendering(), actual.getRendering());
+    UncheckedChartEquivalenceTest.__assertAxes(expected.getXAxis(),
+        actual.getXAxis());
+    UncheckedChartEquivalenceTest.__assertAxes(expected.getYAxis(),
+        actual.getYAxis());
+    Assert.assertEquals(expected.getBands().size(),
+        actual.getBands().size());
+
+    Assert.assertEquals(4, expected.getLines().size());
+    Assert.assertEquals(expected.getLines().size(),
+        actual.getLines().size());
+    for (index = expected.getLines().size(); (--index) >= 0;) {
+      expectedLine = expected.getLines().get(index);
+      actualLine = actual.getLines().get(index);
+      UncheckedChartEquivalenceTest.__assertElements(expectedLine,
+          actualLine);
+      Assert.assertEquals(expectedLine.getType(), actualLine.getType());
+      Assert.assertEquals(expectedLine.getReduction(),
+          actualLine.getReduction());
+      Assert.assertEquals(expectedLine.getDomainOrder(),
+          actualLine.getDomainOrder());
+      Assert.assertArrayEquals(expectedLine.getXValues(),
+          actualLine.getXValues(), 0d);
+      Assert.assertArrayEquals(expectedLine.getYValues(),
+          actualLine.getYValues(), 0d);
+    }
+  }
+
+  /** a pie chart compiles the same in checked and unchecked mode */
+  @Test(timeout = 60000)
+  public void testPieChartsAreEqual() {
+    final JFreeChartDriver driver;
+    final double[] values;
+    final String[] titles;
+    final Color[] colors;
+    final PieChart checked;
+    final UncheckedPieChart unchecked;
+    final CompiledPieChart expected, actual;
+    CompiledDataScalar expectedSlice, actualSlice;
+    int index;
+
+    driver = JFreeChartDriver.getInstance();
+    Assume.assumeTrue(driver.canUse());
+    values = new double[] { 1d, 4d };
+    titles = new String[] { null, "bulk" }; //$NON-NLS-1$
+    colors = new Color[] { Color.PINK, Color.GRAY };
+
+    checked = driver.compile(TestStyles.get(), null).pieChart();
+    UncheckedChartEquivalenceTest.__fill(checked);
+    checked.addSlices(values, titles, colors, null);
+    checked.close();
+    expected = checked.getCompiledChart();
+
+    unchecked = driver.compileUnchecked(TestStyles.get(), null)
+        .pieChart();
+    UncheckedChartEquivalenceTest.__fill(unchecked);
+    unchecked.addSlices(values, titles, colors, null);
+    unchecked.close();
+    actual = unchecked.getCompiledChart();
+
+    UncheckedChartEquivalenceTest.__assertTitles(expected, actual);
+    Assert.assertEquals(expected.getLegendMode(), actual.getLegendMode());
+
+    Assert.assertEquals(4, expected.getSlices().size());
+    Assert.assertEquals(expected.getSlices().size(),
+        actual.getSlices().size());
+    for (index = expected.getSlices().size(); (--index) >= 0;) {
+      expectedSlice = expected.getSlices().get(index);
+      actualSlice = actual.getSlices().get(index);
+      UncheckedChartEquivalenceTest.__assertElements(expectedSlice,
+          actualSlice);
+      Assert.assertEquals(expectedSlice.getData(), actualSlice.getData());
+    }
+  }
+}